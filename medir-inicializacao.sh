@@ -0,0 +1,71 @@
+#!/bin/bash
+# Mede o tempo até a primeira requisição respondida (time-to-first-request)
+# em quatro configurações, sempre com o mesmo banco H2 em arquivo (modo Oracle), já migrado
+# pelo Flyway na execução de treino, como um banco de produção entre dois deploys:
+#   default       - perfil default (ddl-auto=update, show-sql)
+#   prod          - perfil prod (Flyway + validate, sem log de SQL, beans lazy)
+#   prod+AOT      - perfil prod com definições de beans geradas no build (Spring AOT)
+#   prod+AOT+CDS  - idem, com arquivo CDS gerado por uma execução de treino
+#
+# (schema.sql só rodaria por ser banco embarcado; contra o Oracle ele nunca roda)
+#
+# Uso: bash medir-inicializacao.sh [repetições]   (padrão: 5; mostra a mediana)
+set -e
+cd "$(dirname "$0")"
+
+REPETICOES=${1:-5}
+PORTA=18080
+JAR=backend-conta-0.0.1-SNAPSHOT.jar
+DIR=target/inicializacao
+BANCO=(--spring.datasource.url="jdbc:h2:file:./$DIR/banco;MODE=Oracle" --spring.datasource.driver-class-name=org.h2.Driver
+       --spring.datasource.username=sa --spring.datasource.password= --server.port=$PORTA
+       --spring.jpa.database-platform=org.hibernate.dialect.H2Dialect --spring.sql.init.mode=never)
+# No H2 as colunas NUMBER(19,0) das migrations aparecem como NUMERIC (no Oracle, como BIGINT):
+# o perfil prod roda aqui com Flyway mas sem a validação do Hibernate
+PROD=(--spring.profiles.active=prod --spring.jpa.hibernate.ddl-auto=none)
+
+echo "==> Build de produção (Spring AOT)"
+bash ./mvnw -q -B -Pprod -DskipTests clean package > /dev/null
+rm -rf $DIR
+java -Djarmode=tools -jar target/$JAR extract --destination $DIR > /dev/null
+
+echo "==> Execução de treino do arquivo CDS (sobe o contexto e sai)"
+java -XX:ArchiveClassesAtExit=$DIR/app.jsa -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+    -jar $DIR/$JAR "${PROD[@]}" "${BANCO[@]}" > $DIR/treino.log 2>&1 \
+    || { echo "a execução de treino falhou (ver $DIR/treino.log)" >&2; exit 1; }
+
+# Sobe a aplicação e imprime os ms até o primeiro GET /contas com status 200
+medir() {
+    local inicio=$(date +%s%N)
+    java "$@" > $DIR/execucao.log 2>&1 &
+    local pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' localhost:$PORTA/contas)" = "200" ]; do
+        if ! kill -0 $pid 2>/dev/null; then
+            echo "a aplicação não subiu (ver $DIR/execucao.log)" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    local fim=$(date +%s%N)
+    kill $pid
+    wait $pid 2>/dev/null || true
+    echo $(( (fim - inicio) / 1000000 ))
+}
+
+rodar() {
+    local nome=$1
+    shift
+    local tempos=()
+    for i in $(seq 1 $REPETICOES); do
+        tempos+=($(medir "$@"))
+    done
+    local mediana=$(printf '%s\n' "${tempos[@]}" | sort -n | awk '{v[NR]=$1} END {print v[int((NR+1)/2)]}')
+    printf "%-14s mediana %6s ms   (%s)\n" "$nome" "$mediana" "${tempos[*]}"
+}
+
+echo "==> Tempo até a primeira requisição ($REPETICOES execuções de cada)"
+rodar "default"      -jar $DIR/$JAR "${BANCO[@]}"
+rodar "prod"         -jar $DIR/$JAR "${PROD[@]}" "${BANCO[@]}"
+rodar "prod+AOT"     -Dspring.aot.enabled=true -jar $DIR/$JAR "${PROD[@]}" "${BANCO[@]}"
+rodar "prod+AOT+CDS" -XX:SharedArchiveFile=$DIR/app.jsa -Dspring.aot.enabled=true \
+                     -jar $DIR/$JAR "${PROD[@]}" "${BANCO[@]}"
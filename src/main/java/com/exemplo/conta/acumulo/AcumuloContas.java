@@ -0,0 +1,241 @@
+package com.exemplo.conta.acumulo;
+
+import com.exemplo.conta.motor.MotorSaldos;
+import com.exemplo.conta.service.ConsultaSaldoService;
+import com.exemplo.conta.service.EstatisticasService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Lançamento diário de juros e mensal de tarifa em todas as contas
+ *
+ * As contas são divididas em faixas de ID processadas em paralelo em um ForkJoinPool
+ * limitado (conta.acumulo.paralelismo, que deve caber no pool de conexões). Cada
+ * execução tem uma chave (juros-AAAA-MM-DD, tarifa-AAAA-MM) e cada partição guarda
+ * seu progresso em MOTOR_CHECKPOINT, então rodar de novo a mesma data só completa
+ * as partições que ficaram pela metade.
+ *
+ * Com o motor de saldos ligado os saldos vivem em memória: o acúmulo pelo banco é recusado.
+ */
+@Component
+public class AcumuloContas implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AcumuloContas.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+    private final EstatisticasService estatisticasService;
+    private final ConsultaSaldoService consultaSaldoService;
+    private final MotorSaldos motor;
+
+    private final boolean habilitado;
+    private final LocalTime horario;
+    private final int paralelismo;
+    private final int particoes;
+    private final int tamanhoLote;
+    private final double taxaJurosAnual;
+    private final double tarifaMensal;
+
+    private final ForkJoinPool pool;
+    private ScheduledExecutorService agendador;
+    private volatile boolean executando;
+    private volatile Map<String, Object> ultimaExecucao;
+
+    public AcumuloContas(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         EstatisticasService estatisticasService, ConsultaSaldoService consultaSaldoService,
+                         MotorSaldos motor,
+                         @Value("${conta.acumulo.habilitado:false}") boolean habilitado,
+                         @Value("${conta.acumulo.horario:02:00}") String horario,
+                         @Value("${conta.acumulo.paralelismo:4}") int paralelismo,
+                         @Value("${conta.acumulo.particoes:16}") int particoes,
+                         @Value("${conta.acumulo.lote:1000}") int tamanhoLote,
+                         @Value("${conta.acumulo.taxa-juros-anual:0.06}") double taxaJurosAnual,
+                         @Value("${conta.acumulo.tarifa-mensal:12.90}") double tarifaMensal) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.estatisticasService = estatisticasService;
+        this.consultaSaldoService = consultaSaldoService;
+        this.motor = motor;
+        this.habilitado = habilitado;
+        this.horario = LocalTime.parse(horario);
+        this.paralelismo = paralelismo;
+        this.particoes = particoes;
+        this.tamanhoLote = tamanhoLote;
+        this.taxaJurosAnual = taxaJurosAnual;
+        this.tarifaMensal = tarifaMensal;
+        this.pool = new ForkJoinPool(paralelismo);
+    }
+
+    // LANÇAR JUROS DO DIA E, SE AINDA NÃO LANÇADA NO MÊS, A TARIFA
+    public synchronized Map<String, Object> executar(LocalDate data) {
+        if (motor.habilitado()) {
+            throw new IllegalStateException("Acúmulo de juros e tarifas indisponível com o motor de saldos ligado");
+        }
+        Timestamp dataLancamento = new Timestamp(System.currentTimeMillis());
+        Map<String, Object> execucao = new LinkedHashMap<>();
+        execucao.put("data", data.toString());
+        execucao.put("juros", aplicar(RegraAcumulo.juros("juros-" + data, taxaJurosAnual), dataLancamento));
+        execucao.put("tarifa", aplicar(RegraAcumulo.tarifa("tarifa-" + YearMonth.from(data), tarifaMensal), dataLancamento));
+        ultimaExecucao = execucao;
+        return execucao;
+    }
+
+    // CONFIGURAÇÃO E MÉTRICAS DA ÚLTIMA EXECUÇÃO (por partição)
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("habilitado", habilitado);
+        stats.put("horario", horario.toString());
+        stats.put("paralelismo", paralelismo);
+        stats.put("particoes", particoes);
+        stats.put("lote", tamanhoLote);
+        stats.put("taxaJurosAnual", taxaJurosAnual);
+        stats.put("tarifaMensal", tarifaMensal);
+        stats.put("ultimaExecucao", ultimaExecucao);
+        return stats;
+    }
+
+    // ======================= Ciclo de vida =======================
+
+    @Override
+    public void start() {
+        executando = true;
+        if (!habilitado) {
+            return;
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "acumulo-contas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime proxima = agora.toLocalDate().atTime(horario);
+        if (!proxima.isAfter(agora)) {
+            proxima = proxima.plusDays(1);
+        }
+        agendador.scheduleAtFixedRate(this::executarAgendado, Duration.between(agora, proxima).toMinutes(),
+                TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        pool.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    // ======================= Internos =======================
+
+    private void executarAgendado() {
+        try {
+            executar(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.error("Acúmulo de juros e tarifas falhou", e);
+        }
+    }
+
+    private Map<String, Object> aplicar(RegraAcumulo regra, Timestamp dataLancamento) {
+        long inicio = System.nanoTime();
+        // A faixa de contas é fixada na primeira execução da chave (contas abertas depois ficam de fora)
+        long ultimaConta = checkpoint(regra.chave(),
+                () -> jdbcTemplate.queryForObject("SELECT COALESCE(MAX(ID_CONTA), 0) FROM CONTA", Long.class));
+        long tamanhoFaixa = Math.max(1, (ultimaConta + particoes - 1) / particoes);
+
+        List<ParticaoAcumulo> pendentes = new ArrayList<>();
+        int concluidasAntes = 0;
+        for (int p = 0; p < particoes; p++) {
+            long de = Math.min(ultimaConta, p * tamanhoFaixa);
+            long ate = Math.min(ultimaConta, de + tamanhoFaixa);
+            if (de >= ate) {
+                continue;
+            }
+            String nome = regra.chave() + "/" + particoes + "/" + p;
+            long progresso = checkpoint(nome, () -> de);
+            if (progresso >= ate) {
+                concluidasAntes++;
+                continue;
+            }
+            pendentes.add(new ParticaoAcumulo(jdbcTemplate, transacao, estatisticasService, consultaSaldoService,
+                    regra, nome, p,
+                    progresso, ate, tamanhoLote, dataLancamento));
+        }
+
+        List<Map<String, Object>> metricas = new ArrayList<>();
+        List<String> falhas = new ArrayList<>();
+        long contas = 0;
+        long lancamentos = 0;
+        for (Future<Map<String, Object>> resultado : pool.invokeAll(pendentes)) {
+            try {
+                Map<String, Object> particao = resultado.get();
+                metricas.add(particao);
+                contas += (Long) particao.get("contas");
+                lancamentos += (Long) particao.get("lancamentos");
+            } catch (ExecutionException e) {
+                falhas.add(e.getCause().toString());
+                log.error("Acúmulo {}: partição falhou (será retomada na próxima execução)", regra.chave(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                falhas.add("interrompida");
+            }
+        }
+
+        long nanos = System.nanoTime() - inicio;
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("chave", regra.chave());
+        resumo.put("ateConta", ultimaConta);
+        resumo.put("particoesJaConcluidas", concluidasAntes);
+        resumo.put("contas", contas);
+        resumo.put("lancamentos", lancamentos);
+        resumo.put("duracaoMs", nanos / 1_000_000);
+        resumo.put("contasPorSegundo", nanos == 0 ? 0 : Math.round(contas * 1e9 / nanos));
+        resumo.put("falhas", falhas);
+        resumo.put("particoes", metricas);
+        if (!pendentes.isEmpty()) {
+            log.info("Acúmulo {}: {} contas, {} lançamentos em {} ms ({} partições, {} falhas)",
+                    regra.chave(), contas, lancamentos, nanos / 1_000_000, pendentes.size(), falhas.size());
+        }
+        return resumo;
+    }
+
+    // Lê o checkpoint ou cria com o valor inicial
+    private long checkpoint(String nome, LongSupplier inicial) {
+        List<Long> atual = jdbcTemplate.queryForList(
+                "SELECT SEQUENCIA FROM MOTOR_CHECKPOINT WHERE NOME = ?", Long.class, nome);
+        if (!atual.isEmpty()) {
+            return atual.get(0);
+        }
+        long valor = inicial.getAsLong();
+        jdbcTemplate.update("INSERT INTO MOTOR_CHECKPOINT (NOME, SEQUENCIA) VALUES (?, ?)", nome, valor);
+        return valor;
+    }
+}
@@ -0,0 +1,176 @@
+package com.exemplo.conta.acumulo;
+
+import com.exemplo.conta.eventos.RegistroEventos;
+import com.exemplo.conta.service.ConsultaSaldoService;
+import com.exemplo.conta.service.EstatisticasService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Aplica uma regra de acúmulo às contas de uma faixa de IDs (inicio, fim]
+ *
+ * Lê as contas em lotes ordenados por ID e, para cada lote, em uma única transação:
+ * atualiza os saldos com JDBC batch (condicionado ao saldo lido), insere as
+ * movimentações e os eventos no outbox e avança o checkpoint da partição. Uma conta alterada entre a leitura
+ * e o update é relida com lock e recalculada; saque e depósito pelo banco leem a conta
+ * com lock (ContaRepository.findParaAtualizarById), então também não sobrescrevem o saldo
+ * lançado aqui. Como o checkpoint vai junto com os lançamentos, uma execução
+ * interrompida retoma sem lançar duas vezes.
+ */
+final class ParticaoAcumulo implements Callable<Map<String, Object>> {
+
+    private static final String SQL_CONTAS =
+            "SELECT ID_CONTA, SALDO FROM CONTA WHERE ID_CONTA > ? AND ID_CONTA <= ? ORDER BY ID_CONTA FETCH FIRST ? ROWS ONLY";
+    private static final String SQL_SALDO_CONDICIONAL = "UPDATE CONTA SET SALDO = ? WHERE ID_CONTA = ? AND SALDO = ?";
+    private static final String SQL_SALDO_BLOQUEADO = "SELECT SALDO FROM CONTA WHERE ID_CONTA = ? FOR UPDATE";
+    private static final String SQL_SALDO = "UPDATE CONTA SET SALDO = ? WHERE ID_CONTA = ?";
+    private static final String SQL_MOVIMENTACAO =
+            "INSERT INTO MOVIMENTACAO (ID_MOV, ID_CONTA, TIPO, VALOR, DATA_MOV) VALUES (SEQ_MOVIMENTACAO.NEXTVAL, ?, ?, ?, ?)";
+    private static final String SQL_CHECKPOINT = "UPDATE MOTOR_CHECKPOINT SET SEQUENCIA = ? WHERE NOME = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+    private final EstatisticasService estatisticasService;
+    private final ConsultaSaldoService consultaSaldoService;
+    private final RegraAcumulo regra;
+    private final String nomeCheckpoint;
+    private final int numero;
+    private final long inicio;
+    private final long fim;
+    private final int tamanhoLote;
+    private final Timestamp dataLancamento;
+
+    // Lote atual (arrays reaproveitados entre lotes)
+    private final long[] ids;
+    private final double[] saldos;
+    private int quantidade;
+    private final List<Object[]> eventos;
+
+    private long contas;
+    private long lancamentos;
+    private long conflitos;
+    private long centavosLancados;
+
+    ParticaoAcumulo(JdbcTemplate jdbcTemplate, TransactionTemplate transacao, EstatisticasService estatisticasService,
+                    ConsultaSaldoService consultaSaldoService, RegraAcumulo regra, String nomeCheckpoint, int numero, long retomarApos, long fim,
+                    int tamanhoLote, Timestamp dataLancamento) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = transacao;
+        this.estatisticasService = estatisticasService;
+        this.consultaSaldoService = consultaSaldoService;
+        this.regra = regra;
+        this.nomeCheckpoint = nomeCheckpoint;
+        this.numero = numero;
+        this.inicio = retomarApos;
+        this.fim = fim;
+        this.tamanhoLote = tamanhoLote;
+        this.dataLancamento = dataLancamento;
+        this.ids = new long[tamanhoLote];
+        this.saldos = new double[tamanhoLote];
+        this.eventos = new ArrayList<>(tamanhoLote);
+    }
+
+    @Override
+    public Map<String, Object> call() {
+        long comeco = System.nanoTime();
+        long lotes = 0;
+        long ultima = inicio;
+        while (ultima < fim) {
+            quantidade = 0;
+            jdbcTemplate.query(SQL_CONTAS, linha -> {
+                ids[quantidade] = linha.getLong(1);
+                saldos[quantidade++] = linha.getDouble(2);
+            }, ultima, fim, tamanhoLote);
+            // Lote incompleto = fim da faixa: o checkpoint vai direto para o fim
+            long checkpoint = quantidade < tamanhoLote ? fim : ids[quantidade - 1];
+            transacao.executeWithoutResult(status -> aplicarLote(checkpoint));
+            contas += quantidade;
+            lotes++;
+            ultima = checkpoint;
+        }
+
+        long nanos = System.nanoTime() - comeco;
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("particao", numero);
+        metricas.put("faixa", inicio + " < ID_CONTA <= " + fim);
+        metricas.put("contas", contas);
+        metricas.put("lancamentos", lancamentos);
+        metricas.put("conflitos", conflitos);
+        metricas.put("valorLancado", centavosLancados / 100.0);
+        metricas.put("lotes", lotes);
+        metricas.put("duracaoMs", nanos / 1_000_000);
+        metricas.put("contasPorSegundo", nanos == 0 ? 0 : Math.round(contas * 1e9 / nanos));
+        return metricas;
+    }
+
+    private void aplicarLote(long checkpoint) {
+        List<Object[]> atualizacoes = new ArrayList<>(quantidade);
+        long[] lancados = new long[quantidade];
+        int[] posicoes = new int[quantidade];
+        int n = 0;
+        for (int i = 0; i < quantidade; i++) {
+            long centavos = Math.round(saldos[i] * 100);
+            long lancamento = regra.lancamento(centavos);
+            if (lancamento != 0) {
+                atualizacoes.add(new Object[]{(centavos + lancamento) / 100.0, ids[i], saldos[i]});
+                lancados[n] = lancamento;
+                posicoes[n++] = i;
+            }
+        }
+
+        List<Object[]> movimentacoes = new ArrayList<>(n);
+        eventos.clear();
+        if (n > 0) {
+            int[] resultado = jdbcTemplate.batchUpdate(SQL_SALDO_CONDICIONAL, atualizacoes);
+            for (int k = 0; k < n; k++) {
+                int i = posicoes[k];
+                if (resultado[k] > 0 || resultado[k] == Statement.SUCCESS_NO_INFO) {
+                    registrar(ids[i], saldos[i], lancados[k], movimentacoes);
+                } else {
+                    conflitos++;
+                    reaplicarComLock(ids[i], movimentacoes);
+                }
+            }
+        }
+        if (!movimentacoes.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_MOVIMENTACAO, movimentacoes);
+            jdbcTemplate.batchUpdate(RegistroEventos.SQL_INSERIR, eventos);
+        }
+        jdbcTemplate.update(SQL_CHECKPOINT, checkpoint, nomeCheckpoint);
+    }
+
+    // Conta alterada depois da leitura (saque/depósito concorrente): relê com lock e recalcula
+    private void reaplicarComLock(long idConta, List<Object[]> movimentacoes) {
+        List<Double> atual = jdbcTemplate.queryForList(SQL_SALDO_BLOQUEADO, Double.class, idConta);
+        if (atual.isEmpty()) {
+            return; // conta excluída no meio do caminho
+        }
+        double saldo = atual.get(0);
+        long centavos = Math.round(saldo * 100);
+        long lancamento = regra.lancamento(centavos);
+        if (lancamento != 0) {
+            jdbcTemplate.update(SQL_SALDO, (centavos + lancamento) / 100.0, idConta);
+            registrar(idConta, saldo, lancamento, movimentacoes);
+        }
+    }
+
+    private void registrar(long idConta, double saldoAnterior, long lancamento, List<Object[]> movimentacoes) {
+        double saldoNovo = (Math.round(saldoAnterior * 100) + lancamento) / 100.0;
+        movimentacoes.add(new Object[]{idConta, regra.tipo(), Math.abs(lancamento) / 100.0, dataLancamento});
+        eventos.add(RegistroEventos.linha(regra.tipo(), idConta,
+                RegistroEventos.movimentacao(null, Math.abs(lancamento) / 100.0, saldoNovo), dataLancamento));
+        estatisticasService.saldoAlterado(idConta, saldoAnterior, saldoNovo);
+        // Linha já atualizada nesta transação: o cache de saldos muda no commit do lote
+        consultaSaldoService.saldoAlterado(idConta, saldoNovo);
+        lancamentos++;
+        centavosLancados += lancamento;
+    }
+}
@@ -0,0 +1,54 @@
+package com.exemplo.conta.acumulo;
+
+/**
+ * Regra de um lançamento em lote: tipo da movimentação, chave de idempotência
+ * e o valor (em centavos) a lançar para um saldo
+ *
+ * Positivo = crédito, negativo = débito, zero = conta ignorada.
+ */
+final class RegraAcumulo {
+
+    private static final long BILHAO = 1_000_000_000L;
+
+    private final String tipo;
+    private final String chave;
+    private final long taxaPpb;
+    private final long valorFixoCentavos;
+
+    private RegraAcumulo(String tipo, String chave, long taxaPpb, long valorFixoCentavos) {
+        this.tipo = tipo;
+        this.chave = chave;
+        this.taxaPpb = taxaPpb;
+        this.valorFixoCentavos = valorFixoCentavos;
+    }
+
+    // Juros do dia: saldo * taxa diária, arredondado para baixo (taxa em partes por bilhão)
+    static RegraAcumulo juros(String chave, double taxaAnual) {
+        double taxaDiaria = Math.pow(1 + taxaAnual, 1.0 / 365) - 1;
+        return new RegraAcumulo("JUROS", chave, Math.round(taxaDiaria * BILHAO), 0);
+    }
+
+    // Tarifa fixa, cobrada só de quem tem saldo suficiente (o saldo não pode ficar negativo)
+    static RegraAcumulo tarifa(String chave, double valor) {
+        return new RegraAcumulo("TARIFA", chave, 0, Math.round(valor * 100));
+    }
+
+    String tipo() {
+        return tipo;
+    }
+
+    String chave() {
+        return chave;
+    }
+
+    long lancamento(long saldoCentavos) {
+        if (valorFixoCentavos > 0) {
+            return saldoCentavos >= valorFixoCentavos ? -valorFixoCentavos : 0;
+        }
+        if (saldoCentavos <= 0) {
+            return 0;
+        }
+        // floor(saldo * taxa / 1e9) sem estourar long: (q * 1e9 + r) * taxa / 1e9 = q * taxa + r * taxa / 1e9
+        return (saldoCentavos / BILHAO) * taxaPpb + (saldoCentavos % BILHAO) * taxaPpb / BILHAO;
+    }
+}
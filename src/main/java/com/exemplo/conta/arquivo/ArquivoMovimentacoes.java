@@ -0,0 +1,340 @@
+package com.exemplo.conta.arquivo;
+
+import com.exemplo.conta.entity.Movimentacao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Arquivamento de movimentações antigas em segmentos colunares comprimidos
+ *
+ * Movimentações com DATA_MOV anterior à janela quente (conta.arquivo.janela-dias) saem
+ * da tabela MOVIMENTACAO e vão para arquivos imutáveis no disco local, ordenados por
+ * (ID_CONTA, DATA_MOV). O extrato lê esses arquivos por mmap só quando o período
+ * pedido passa do início da janela quente.
+ *
+ * Ordem de cada segmento: grava o arquivo (tmp + force + move atômico), apaga do banco
+ * as linhas gravadas nele (por ID_MOV, um lote por bloco) e então avança o checkpoint
+ * "arquivamento" em MOTOR_CHECKPOINT. Se o processo cair no meio, a exclusão dos segmentos acima do
+ * checkpoint é refeita na inicialização (é idempotente); enquanto isso o extrato
+ * descarta as linhas arquivadas que ainda estão no banco.
+ */
+@Component
+public class ArquivoMovimentacoes implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivoMovimentacoes.class);
+    private static final String NOME_CHECKPOINT = "arquivamento";
+    private static final Pattern NOME_SEGMENTO = Pattern.compile("movimentacoes-(\\d{10})\\.seg");
+    private static final String SQL_ANTIGAS =
+            "SELECT ID_MOV, ID_CONTA, TIPO, VALOR, DATA_MOV FROM MOVIMENTACAO"
+            + " WHERE DATA_MOV < ? AND ID_CONTA > ? ORDER BY ID_CONTA, DATA_MOV, ID_MOV";
+    private static final String SQL_EXCLUIR = "DELETE FROM MOVIMENTACAO WHERE ID_MOV = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+    private final boolean habilitado;
+    private final Path diretorio;
+    private final int janelaDias;
+    private final int linhasPorBloco;
+    private final int linhasPorSegmento;
+    private final long intervaloHoras;
+
+    private volatile List<SegmentoMovimentacoes> segmentos = List.of();
+    private volatile long arquivadoAteMicros = Long.MIN_VALUE;
+    private volatile boolean executando;
+    private volatile Map<String, Object> ultimaExecucao;
+    private ScheduledExecutorService agendador;
+
+    public ArquivoMovimentacoes(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                @Value("${conta.arquivo.habilitado:false}") boolean habilitado,
+                                @Value("${conta.arquivo.diretorio:arquivo-movimentacoes}") String diretorio,
+                                @Value("${conta.arquivo.janela-dias:90}") int janelaDias,
+                                @Value("${conta.arquivo.linhas-por-bloco:4096}") int linhasPorBloco,
+                                @Value("${conta.arquivo.linhas-por-segmento:1000000}") int linhasPorSegmento,
+                                @Value("${conta.arquivo.intervalo-horas:24}") long intervaloHoras) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.diretorio = Paths.get(diretorio);
+        this.janelaDias = janelaDias;
+        this.linhasPorBloco = linhasPorBloco;
+        this.linhasPorSegmento = linhasPorSegmento;
+        this.intervaloHoras = intervaloHoras;
+    }
+
+    // O PERÍODO [desde, ...) ALCANÇA MOVIMENTAÇÕES ARQUIVADAS? (desde null = histórico completo)
+    public boolean alcanca(Timestamp desde) {
+        return !segmentos.isEmpty() && (desde == null || FormatoSegmento.paraMicros(desde) < arquivadoAteMicros);
+    }
+
+    // MOVIMENTAÇÕES ARQUIVADAS DE UMA CONTA COM DATA EM [desde, ate) (null = sem limite)
+    public List<Movimentacao> buscar(Long idConta, Timestamp desde, Timestamp ate) {
+        long desdeMicros = desde == null ? Long.MIN_VALUE : FormatoSegmento.paraMicros(desde);
+        long ateMicros = ate == null ? Long.MAX_VALUE : FormatoSegmento.paraMicros(ate);
+        List<Movimentacao> resultado = new ArrayList<>();
+        for (SegmentoMovimentacoes segmento : segmentos) {
+            if (idConta >= segmento.primeiraConta() && idConta <= segmento.ultimaConta()) {
+                segmento.buscar(idConta, desdeMicros, ateMicros, resultado);
+            }
+        }
+        return resultado;
+    }
+
+    // SOMA DOS VALORES ARQUIVADOS POR TIPO (complementa o somarPorTipo do banco)
+    public Map<String, Double> somarPorTipo() {
+        Map<String, Double> somas = new LinkedHashMap<>();
+        for (SegmentoMovimentacoes segmento : segmentos) {
+            segmento.somasPorTipo().forEach((tipo, soma) -> somas.merge(tipo, soma, Double::sum));
+        }
+        return somas;
+    }
+
+    // ARQUIVAR AS MOVIMENTAÇÕES ANTERIORES À JANELA QUENTE
+    public synchronized Map<String, Object> arquivar() {
+        long inicio = System.currentTimeMillis();
+        Timestamp corte = new Timestamp(inicio - Duration.ofDays(janelaDias).toMillis());
+        long corteMicros = FormatoSegmento.paraMicros(corte);
+        long linhas = 0;
+        int novos = 0;
+        long bytes = 0;
+        try {
+            Files.createDirectories(diretorio);
+            long ultimaConta = 0;
+            while (true) {
+                SegmentoMovimentacoes segmento = gravarSegmento(corte, corteMicros, ultimaConta);
+                if (segmento == null) {
+                    break;
+                }
+                publicar(segmento);
+                excluirDoBanco(segmento);
+                linhas += segmento.linhas();
+                bytes += segmento.bytes();
+                novos++;
+                ultimaConta = segmento.ultimaConta();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao arquivar movimentações", e);
+        }
+        Map<String, Object> execucao = new LinkedHashMap<>();
+        execucao.put("corte", corte.toString());
+        execucao.put("segmentosCriados", novos);
+        execucao.put("linhasArquivadas", linhas);
+        execucao.put("bytesGravados", bytes);
+        execucao.put("bytesPorLinha", linhas == 0 ? 0.0 : Math.round(bytes * 10.0 / linhas) / 10.0);
+        execucao.put("duracaoMs", System.currentTimeMillis() - inicio);
+        ultimaExecucao = execucao;
+        if (novos > 0) {
+            log.info("Arquivamento: {} movimentações anteriores a {} em {} segmento(s), {} bytes, {} ms",
+                    linhas, corte, novos, bytes, execucao.get("duracaoMs"));
+        }
+        return execucao;
+    }
+
+    // ESTATÍSTICAS DO ARQUIVO
+    public Map<String, Object> estatisticas() {
+        List<SegmentoMovimentacoes> atuais = segmentos;
+        long linhas = 0;
+        long bytes = 0;
+        for (SegmentoMovimentacoes segmento : atuais) {
+            linhas += segmento.linhas();
+            bytes += segmento.bytes();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("habilitado", habilitado);
+        stats.put("janelaDias", janelaDias);
+        stats.put("segmentos", atuais.size());
+        stats.put("linhas", linhas);
+        stats.put("bytes", bytes);
+        stats.put("arquivadoAte", atuais.isEmpty() ? null : FormatoSegmento.deMicros(arquivadoAteMicros).toString());
+        stats.put("ultimaExecucao", ultimaExecucao);
+        return stats;
+    }
+
+    // ======================= Ciclo de vida =======================
+
+    @Override
+    public void start() {
+        try {
+            abrirSegmentos();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o arquivo de movimentações", e);
+        }
+        executando = true;
+        if (habilitado && intervaloHoras > 0) {
+            agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "arquivo-movimentacoes");
+                thread.setDaemon(true);
+                return thread;
+            });
+            agendador.scheduleWithFixedDelay(this::arquivarAgendado, 1, TimeUnit.HOURS.toMinutes(intervaloHoras),
+                    TimeUnit.MINUTES);
+        }
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    // Antes do servidor web: o extrato precisa dos segmentos desde a primeira requisição
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    // ======================= Internos =======================
+
+    private void arquivarAgendado() {
+        try {
+            arquivar();
+        } catch (RuntimeException e) {
+            log.error("Arquivamento de movimentações falhou", e);
+        }
+    }
+
+    private void abrirSegmentos() throws IOException {
+        if (!Files.isDirectory(diretorio)) {
+            return;
+        }
+        List<SegmentoMovimentacoes> abertos = new ArrayList<>();
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path arquivo : (Iterable<Path>) arquivos::iterator) {
+                String nome = arquivo.getFileName().toString();
+                Matcher matcher = NOME_SEGMENTO.matcher(nome);
+                if (matcher.matches()) {
+                    abertos.add(new SegmentoMovimentacoes(arquivo, Long.parseLong(matcher.group(1))));
+                } else if (nome.endsWith(".tmp")) {
+                    Files.delete(arquivo);
+                }
+            }
+        }
+        abertos.sort(Comparator.comparingLong(SegmentoMovimentacoes::numero));
+        for (SegmentoMovimentacoes segmento : abertos) {
+            publicar(segmento);
+        }
+
+        // Segmentos gravados cuja exclusão no banco não chegou a ser confirmada
+        long confirmado = carregarCheckpoint();
+        for (SegmentoMovimentacoes segmento : abertos) {
+            if (segmento.numero() > confirmado) {
+                log.info("Arquivamento: refazendo a exclusão no banco do segmento {}", segmento.arquivo());
+                excluirDoBanco(segmento);
+            }
+        }
+        if (!abertos.isEmpty()) {
+            log.info("Arquivo de movimentações: {} segmento(s) abertos", abertos.size());
+        }
+    }
+
+    // Lê do banco (em streaming) as linhas de um segmento, sem dividir uma conta entre dois segmentos
+    private SegmentoMovimentacoes gravarSegmento(Timestamp corte, long corteMicros, long aposConta) throws IOException {
+        long numero = segmentos.isEmpty() ? 1 : segmentos.get(segmentos.size() - 1).numero() + 1;
+        Path arquivo = diretorio.resolve(String.format("movimentacoes-%010d.seg", numero));
+        long linhas;
+        try (EscritorSegmento escritor = new EscritorSegmento(arquivo, corteMicros, linhasPorBloco)) {
+            ResultSetExtractor<Long> leitor = resultado -> {
+                long contaLimite = -1;
+                try {
+                    while (resultado.next()) {
+                        long idConta = resultado.getLong(2);
+                        if (contaLimite >= 0 && idConta != contaLimite) {
+                            break;
+                        }
+                        escritor.adicionar(resultado.getLong(1), idConta, resultado.getString(3),
+                                resultado.getDouble(4), FormatoSegmento.paraMicros(resultado.getTimestamp(5)));
+                        if (contaLimite < 0 && escritor.linhas() >= linhasPorSegmento) {
+                            contaLimite = idConta;
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return escritor.linhas();
+            };
+            try {
+                linhas = jdbcTemplate.query(conexao -> {
+                    PreparedStatement comando = conexao.prepareStatement(SQL_ANTIGAS);
+                    comando.setFetchSize(1000);
+                    comando.setTimestamp(1, corte);
+                    comando.setLong(2, aposConta);
+                    return comando;
+                }, leitor);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (linhas == 0) {
+                return null;
+            }
+            escritor.concluir();
+        }
+        return new SegmentoMovimentacoes(arquivo, numero);
+    }
+
+    private synchronized void publicar(SegmentoMovimentacoes segmento) {
+        List<SegmentoMovimentacoes> novos = new ArrayList<>(segmentos);
+        novos.add(segmento);
+        segmentos = List.copyOf(novos);
+        arquivadoAteMicros = Math.max(arquivadoAteMicros, segmento.corteMicros());
+    }
+
+    /**
+     * Exclusão em transações curtas, uma por bloco, e depois o checkpoint. Só saem os ID_MOV
+     * gravados no segmento: uma linha antiga que fez commit depois da leitura (ex.: projetor
+     * do motor com DATA_MOV no passado) fica no banco para o próximo arquivamento.
+     */
+    private void excluirDoBanco(SegmentoMovimentacoes segmento) {
+        for (int b = 0; b < segmento.blocos(); b++) {
+            List<Object[]> ids = new ArrayList<>();
+            for (long idMov : segmento.idsMovimentacoes(b)) {
+                ids.add(new Object[]{idMov});
+            }
+            transacao.executeWithoutResult(status -> jdbcTemplate.batchUpdate(SQL_EXCLUIR, ids));
+        }
+        jdbcTemplate.update("UPDATE MOTOR_CHECKPOINT SET SEQUENCIA = ? WHERE NOME = ?",
+                segmento.numero(), NOME_CHECKPOINT);
+    }
+
+    private long carregarCheckpoint() {
+        List<Long> atual = jdbcTemplate.queryForList(
+                "SELECT SEQUENCIA FROM MOTOR_CHECKPOINT WHERE NOME = ?", Long.class, NOME_CHECKPOINT);
+        if (atual.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO MOTOR_CHECKPOINT (NOME, SEQUENCIA) VALUES (?, 0)", NOME_CHECKPOINT);
+            return 0;
+        }
+        return atual.get(0);
+    }
+}
@@ -0,0 +1,208 @@
+package com.exemplo.conta.arquivo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import static com.exemplo.conta.arquivo.FormatoSegmento.escreverVarint;
+import static com.exemplo.conta.arquivo.FormatoSegmento.zigzag;
+
+/**
+ * Grava um segmento de movimentações (formato em FormatoSegmento)
+ *
+ * As linhas precisam chegar ordenadas por (ID_CONTA, DATA_MOV, ID_MOV). O arquivo é
+ * escrito como .tmp e só aparece com o nome final em concluir(), após o force.
+ */
+final class EscritorSegmento implements Closeable {
+
+    private final Path arquivo;
+    private final Path temporario;
+    private final FileChannel canal;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final long corteMicros;
+
+    // Bloco em montagem (colunas em arrays primitivos)
+    private final long[] idsMov;
+    private final long[] idsConta;
+    private final long[] datas;
+    private final byte[] tipos;
+    private final double[] valores;
+    private int linhasBloco;
+
+    private final Map<String, Integer> dicionario = new LinkedHashMap<>();
+    private final List<Double> somas = new ArrayList<>();
+    private final List<long[]> indice = new ArrayList<>();
+    private long posicao;
+    private long linhas;
+    private boolean concluido;
+
+    EscritorSegmento(Path arquivo, long corteMicros, int linhasPorBloco) throws IOException {
+        this.arquivo = arquivo;
+        this.temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        this.corteMicros = corteMicros;
+        this.canal = FileChannel.open(temporario,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.idsMov = new long[linhasPorBloco];
+        this.idsConta = new long[linhasPorBloco];
+        this.datas = new long[linhasPorBloco];
+        this.tipos = new byte[linhasPorBloco];
+        this.valores = new double[linhasPorBloco];
+    }
+
+    void adicionar(long idMov, long idConta, String tipo, double valor, long dataMicros) throws IOException {
+        Integer codigo = dicionario.get(tipo);
+        if (codigo == null) {
+            if (dicionario.size() == 256) {
+                throw new IllegalStateException("Mais de 256 tipos de movimentação em um segmento");
+            }
+            codigo = dicionario.size();
+            dicionario.put(tipo, codigo);
+            somas.add(0.0);
+        }
+        somas.set(codigo, somas.get(codigo) + valor);
+
+        idsMov[linhasBloco] = idMov;
+        idsConta[linhasBloco] = idConta;
+        datas[linhasBloco] = dataMicros;
+        tipos[linhasBloco] = (byte) (int) codigo;
+        valores[linhasBloco] = valor;
+        linhas++;
+        if (++linhasBloco == idsMov.length) {
+            gravarBloco();
+        }
+    }
+
+    long linhas() {
+        return linhas;
+    }
+
+    // GRAVA O RODAPÉ, FORÇA PARA O DISCO E PUBLICA O ARQUIVO COM O NOME FINAL
+    void concluir() throws IOException {
+        if (linhasBloco > 0) {
+            gravarBloco();
+        }
+        ByteArrayOutputStream rodape = new ByteArrayOutputStream();
+        ByteBuffer numeros = ByteBuffer.allocate(8);
+        escreverLong(rodape, numeros, corteMicros);
+        escreverLong(rodape, numeros, linhas);
+        escreverInt(rodape, numeros, dicionario.size());
+        for (Map.Entry<String, Integer> tipo : dicionario.entrySet()) {
+            byte[] nome = tipo.getKey().getBytes(StandardCharsets.UTF_8);
+            escreverInt(rodape, numeros, nome.length);
+            rodape.write(nome);
+            escreverLong(rodape, numeros, Double.doubleToLongBits(somas.get(tipo.getValue())));
+        }
+        escreverInt(rodape, numeros, indice.size());
+        for (long[] entrada : indice) {
+            for (int i = 0; i < 5; i++) {
+                escreverLong(rodape, numeros, entrada[i]);
+            }
+            for (int i = 5; i < 9; i++) {
+                escreverInt(rodape, numeros, (int) entrada[i]);
+            }
+        }
+        byte[] bytes = rodape.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        ByteBuffer trailer = ByteBuffer.allocate(FormatoSegmento.TAMANHO_TRAILER)
+                .putLong(posicao).putInt((int) crc.getValue()).putInt(FormatoSegmento.MAGIC);
+        escrever(ByteBuffer.wrap(bytes));
+        escrever(trailer.flip());
+        canal.force(true);
+        canal.close();
+        Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE);
+        concluido = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        if (!concluido) {
+            canal.close();
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    private void gravarBloco() throws IOException {
+        int n = linhasBloco;
+        ByteArrayOutputStream colunas = new ByteArrayOutputStream(n * 12);
+        long anterior = 0;
+        for (int i = 0; i < n; i++) {
+            escreverVarint(colunas, idsConta[i] - anterior);
+            anterior = idsConta[i];
+        }
+        long dataMin = Long.MAX_VALUE;
+        long dataMax = Long.MIN_VALUE;
+        anterior = 0;
+        for (int i = 0; i < n; i++) {
+            escreverVarint(colunas, zigzag(datas[i] - anterior));
+            anterior = datas[i];
+            dataMin = Math.min(dataMin, datas[i]);
+            dataMax = Math.max(dataMax, datas[i]);
+        }
+        anterior = 0;
+        for (int i = 0; i < n; i++) {
+            escreverVarint(colunas, zigzag(idsMov[i] - anterior));
+            anterior = idsMov[i];
+        }
+        colunas.write(tipos, 0, n);
+        for (int i = 0; i < n; i++) {
+            long centavos = Math.round(valores[i] * 100);
+            if (centavos / 100.0 == valores[i]) {
+                escreverVarint(colunas, zigzag(centavos) << 1);
+            } else {
+                colunas.write(1);
+                long bits = Double.doubleToRawLongBits(valores[i]);
+                for (int b = 56; b >= 0; b -= 8) {
+                    colunas.write((int) (bits >>> b));
+                }
+            }
+        }
+
+        byte[] original = colunas.toByteArray();
+        deflater.reset();
+        deflater.setInput(original);
+        deflater.finish();
+        ByteArrayOutputStream comprimido = new ByteArrayOutputStream(original.length / 2);
+        byte[] pedaco = new byte[8192];
+        while (!deflater.finished()) {
+            comprimido.write(pedaco, 0, deflater.deflate(pedaco));
+        }
+        byte[] bytes = comprimido.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        indice.add(new long[]{idsConta[0], idsConta[n - 1], dataMin, dataMax, posicao,
+                bytes.length, original.length, n, crc.getValue()});
+        escrever(ByteBuffer.wrap(bytes));
+        posicao += bytes.length;
+        linhasBloco = 0;
+    }
+
+    private void escrever(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+
+    private static void escreverLong(ByteArrayOutputStream saida, ByteBuffer numeros, long valor) {
+        saida.write(numeros.clear().putLong(valor).array(), 0, 8);
+    }
+
+    private static void escreverInt(ByteArrayOutputStream saida, ByteBuffer numeros, int valor) {
+        saida.write(numeros.clear().putInt(valor).array(), 0, 4);
+    }
+}
@@ -0,0 +1,63 @@
+package com.exemplo.conta.arquivo;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+
+/**
+ * Formato dos segmentos de movimentações arquivadas
+ *
+ * Arquivo: blocos comprimidos (Deflate) + rodapé + trailer.
+ * - Bloco: até N linhas ordenadas por (ID_CONTA, DATA_MOV, ID_MOV), gravadas coluna a coluna:
+ *   ID_CONTA (delta varint), DATA_MOV em microssegundos (delta zigzag), ID_MOV (delta zigzag),
+ *   TIPO (1 byte, índice no dicionário do rodapé) e VALOR (centavos zigzag, ou double bruto
+ *   quando o valor não é um número exato de centavos).
+ * - Rodapé: dicionário de tipos com soma por tipo, corte, faixa de contas e índice esparso
+ *   (uma entrada por bloco: primeira/última conta, datas mínima/máxima, posição, tamanhos, CRC).
+ * - Trailer (16 bytes): posição do rodapé(8) CRC do rodapé(4) magic(4).
+ */
+final class FormatoSegmento {
+
+    static final int MAGIC = 0x4D4F5631;
+    static final int TAMANHO_TRAILER = 16;
+    static final int TAMANHO_ENTRADA_INDICE = 8 * 5 + 4 * 4;
+
+    private FormatoSegmento() {}
+
+    static long paraMicros(Timestamp data) {
+        return Math.floorDiv(data.getTime(), 1000) * 1_000_000L + data.getNanos() / 1000;
+    }
+
+    static Timestamp deMicros(long micros) {
+        Timestamp data = new Timestamp(Math.floorDiv(micros, 1_000_000L) * 1000);
+        data.setNanos((int) Math.floorMod(micros, 1_000_000L) * 1000);
+        return data;
+    }
+
+    static void escreverVarint(ByteArrayOutputStream saida, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            saida.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        saida.write((int) valor);
+    }
+
+    static long lerVarint(ByteBuffer entrada) {
+        long valor = 0;
+        for (int deslocamento = 0; ; deslocamento += 7) {
+            byte b = entrada.get();
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+    }
+
+    static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    static long deZigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+}
@@ -0,0 +1,259 @@
+package com.exemplo.conta.arquivo;
+
+import com.exemplo.conta.entity.Movimentacao;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static com.exemplo.conta.arquivo.FormatoSegmento.deZigzag;
+import static com.exemplo.conta.arquivo.FormatoSegmento.lerVarint;
+
+/**
+ * Segmento de movimentações arquivadas, lido por mapeamento em memória (somente leitura)
+ *
+ * Só o rodapé (dicionário e índice esparso) fica no heap. Uma consulta localiza pelo
+ * índice os blocos que contêm a conta e o período e descomprime apenas esses blocos.
+ */
+final class SegmentoMovimentacoes {
+
+    private final Path arquivo;
+    private final long numero;
+    private final MappedByteBuffer dados;
+    private final long tamanho;
+
+    private final long corteMicros;
+    private final long linhas;
+    private final String[] tipos;
+    private final double[] somas;
+
+    // Índice esparso: uma entrada por bloco
+    private final long[] contaInicial;
+    private final long[] contaFinal;
+    private final long[] dataMin;
+    private final long[] dataMax;
+    private final int[] posicao;
+    private final int[] tamanhoComprimido;
+    private final int[] tamanhoOriginal;
+    private final int[] linhasBloco;
+    private final int[] crcBloco;
+
+    SegmentoMovimentacoes(Path arquivo, long numero) throws IOException {
+        this.arquivo = arquivo;
+        this.numero = numero;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            this.tamanho = canal.size();
+            if (tamanho < FormatoSegmento.TAMANHO_TRAILER || tamanho > Integer.MAX_VALUE) {
+                throw new IOException("Segmento com tamanho inválido: " + arquivo);
+            }
+            this.dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+        }
+
+        ByteBuffer trailer = dados.slice((int) tamanho - FormatoSegmento.TAMANHO_TRAILER, FormatoSegmento.TAMANHO_TRAILER);
+        int inicioRodape = (int) trailer.getLong();
+        int crcRodape = trailer.getInt();
+        if (trailer.getInt() != FormatoSegmento.MAGIC) {
+            throw new IOException("Segmento inválido: " + arquivo);
+        }
+        ByteBuffer rodape = dados.slice(inicioRodape, (int) tamanho - FormatoSegmento.TAMANHO_TRAILER - inicioRodape);
+        CRC32 crc = new CRC32();
+        crc.update(rodape.duplicate());
+        if ((int) crc.getValue() != crcRodape) {
+            throw new IOException("Segmento corrompido (CRC do rodapé): " + arquivo);
+        }
+
+        this.corteMicros = rodape.getLong();
+        this.linhas = rodape.getLong();
+        int quantidadeTipos = rodape.getInt();
+        this.tipos = new String[quantidadeTipos];
+        this.somas = new double[quantidadeTipos];
+        for (int i = 0; i < quantidadeTipos; i++) {
+            byte[] nome = new byte[rodape.getInt()];
+            rodape.get(nome);
+            tipos[i] = new String(nome, StandardCharsets.UTF_8);
+            somas[i] = Double.longBitsToDouble(rodape.getLong());
+        }
+        int blocos = rodape.getInt();
+        contaInicial = new long[blocos];
+        contaFinal = new long[blocos];
+        dataMin = new long[blocos];
+        dataMax = new long[blocos];
+        posicao = new int[blocos];
+        tamanhoComprimido = new int[blocos];
+        tamanhoOriginal = new int[blocos];
+        linhasBloco = new int[blocos];
+        crcBloco = new int[blocos];
+        for (int b = 0; b < blocos; b++) {
+            contaInicial[b] = rodape.getLong();
+            contaFinal[b] = rodape.getLong();
+            dataMin[b] = rodape.getLong();
+            dataMax[b] = rodape.getLong();
+            posicao[b] = (int) rodape.getLong();
+            tamanhoComprimido[b] = rodape.getInt();
+            tamanhoOriginal[b] = rodape.getInt();
+            linhasBloco[b] = rodape.getInt();
+            crcBloco[b] = rodape.getInt();
+        }
+    }
+
+    long numero() {
+        return numero;
+    }
+
+    Path arquivo() {
+        return arquivo;
+    }
+
+    long corteMicros() {
+        return corteMicros;
+    }
+
+    long linhas() {
+        return linhas;
+    }
+
+    long bytes() {
+        return tamanho;
+    }
+
+    int blocos() {
+        return contaInicial.length;
+    }
+
+    long primeiraConta() {
+        return contaInicial.length == 0 ? 0 : contaInicial[0];
+    }
+
+    long ultimaConta() {
+        return contaFinal.length == 0 ? -1 : contaFinal[contaFinal.length - 1];
+    }
+
+    Map<String, Double> somasPorTipo() {
+        Map<String, Double> resultado = new LinkedHashMap<>();
+        for (int i = 0; i < tipos.length; i++) {
+            resultado.put(tipos[i], somas[i]);
+        }
+        return resultado;
+    }
+
+    // MOVIMENTAÇÕES DA CONTA COM DATA EM [desde, ate) (microssegundos)
+    void buscar(long idConta, long desdeMicros, long ateMicros, List<Movimentacao> saida) {
+        // Primeiro bloco cuja última conta é >= idConta (contaFinal é crescente)
+        int inicio = 0;
+        int fim = contaFinal.length;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (contaFinal[meio] < idConta) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        for (int b = inicio; b < contaInicial.length && contaInicial[b] <= idConta; b++) {
+            if (dataMax[b] >= desdeMicros && dataMin[b] < ateMicros) {
+                lerBloco(b, idConta, desdeMicros, ateMicros, saida);
+            }
+        }
+    }
+
+    // ID_MOV das linhas do bloco (exclusão no banco exatamente do que foi arquivado)
+    long[] idsMovimentacoes(int b) {
+        int n = linhasBloco[b];
+        ByteBuffer colunas = ByteBuffer.wrap(descomprimir(b));
+        // Pula as colunas ID_CONTA e DATA_MOV
+        for (int i = 0; i < 2 * n; i++) {
+            lerVarint(colunas);
+        }
+        long[] idsMov = new long[n];
+        long idMov = 0;
+        for (int i = 0; i < n; i++) {
+            idMov += deZigzag(lerVarint(colunas));
+            idsMov[i] = idMov;
+        }
+        return idsMov;
+    }
+
+    private void lerBloco(int b, long idConta, long desdeMicros, long ateMicros, List<Movimentacao> saida) {
+        byte[] original = descomprimir(b);
+        int n = linhasBloco[b];
+        ByteBuffer colunas = ByteBuffer.wrap(original);
+        // Coluna ID_CONTA: localiza o trecho [de, ate) da conta
+        int de = -1;
+        int ate = n;
+        long conta = 0;
+        for (int i = 0; i < n; i++) {
+            conta += lerVarint(colunas);
+            if (conta == idConta && de < 0) {
+                de = i;
+            } else if (conta > idConta && ate == n) {
+                ate = i;
+            }
+        }
+        if (de < 0) {
+            return;
+        }
+        long[] datas = new long[n];
+        long data = 0;
+        for (int i = 0; i < n; i++) {
+            data += deZigzag(lerVarint(colunas));
+            datas[i] = data;
+        }
+        long[] idsMov = new long[n];
+        long idMov = 0;
+        for (int i = 0; i < n; i++) {
+            idMov += deZigzag(lerVarint(colunas));
+            idsMov[i] = idMov;
+        }
+        int inicioTipos = colunas.position();
+        colunas.position(inicioTipos + n);
+        for (int i = 0; i < ate; i++) {
+            double valor;
+            long codigo = lerVarint(colunas);
+            if ((codigo & 1) == 1) {
+                valor = Double.longBitsToDouble(colunas.getLong());
+            } else {
+                valor = deZigzag(codigo >>> 1) / 100.0;
+            }
+            if (i >= de && datas[i] >= desdeMicros && datas[i] < ateMicros) {
+                Movimentacao movimentacao = new Movimentacao();
+                movimentacao.setId(idsMov[i]);
+                movimentacao.setIdConta(idConta);
+                movimentacao.setTipo(tipos[original[inicioTipos + i] & 0xFF]);
+                movimentacao.setValor(valor);
+                movimentacao.setDataMovimentacao(FormatoSegmento.deMicros(datas[i]));
+                saida.add(movimentacao);
+            }
+        }
+    }
+
+    // Confere o CRC e descomprime as colunas do bloco
+    private byte[] descomprimir(int b) {
+        ByteBuffer comprimido = dados.slice(posicao[b], tamanhoComprimido[b]);
+        CRC32 crc = new CRC32();
+        crc.update(comprimido.duplicate());
+        if ((int) crc.getValue() != crcBloco[b]) {
+            throw new IllegalStateException("Segmento corrompido (CRC do bloco " + b + "): " + arquivo);
+        }
+        byte[] original = new byte[tamanhoOriginal[b]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(comprimido);
+            inflater.inflate(original);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Segmento corrompido (bloco " + b + "): " + arquivo, e);
+        } finally {
+            inflater.end();
+        }
+        return original;
+    }
+}
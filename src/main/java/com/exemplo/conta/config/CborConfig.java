@@ -0,0 +1,31 @@
+package com.exemplo.conta.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Formato binário CBOR (application/cbor) para clientes de máquina
+ * Negociado pelo Accept / Content-Type: sem esses headers (ou com Accept genérico, caso do
+ * index.html) a API continua respondendo JSON, que vem antes na lista de conversores.
+ */
+@Configuration
+public class CborConfig {
+
+    /**
+     * Conversor CBOR com as mesmas configurações do ObjectMapper JSON do Spring Boot,
+     * exceto as datas: em CBOR vão como número (milissegundos desde 1970), não como texto ISO
+     * Substitui o conversor CBOR padrão do Spring MVC (que usaria um ObjectMapper sem as configurações do Boot)
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper mapper = builder.factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        return new MappingJackson2CborHttpMessageConverter(mapper);
+    }
+}
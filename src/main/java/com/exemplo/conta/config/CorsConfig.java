@@ -2,6 +2,7 @@ package com.exemplo.conta.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -31,8 +32,10 @@ public class CorsConfig implements WebMvcConfigurer {
     /**
      * Configuração alternativa usando CorsConfigurationSource
      * Mais flexível para configurações avançadas
+     * Lazy: só é criada se algum componente pedir (não atrasa a inicialização)
      */
     @Bean
+    @Lazy
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         
@@ -0,0 +1,266 @@
+package com.exemplo.conta.controller;
+
+import com.exemplo.conta.acumulo.AcumuloContas;
+import com.exemplo.conta.arquivo.ArquivoMovimentacoes;
+import com.exemplo.conta.eventos.RelayEventos;
+import com.exemplo.conta.extrato.ExtratosMensais;
+import com.exemplo.conta.filter.AdmissaoFilter;
+import com.exemplo.conta.monitoramento.MonitorRequisicoes;
+import com.exemplo.conta.monitoramento.MonitorSql;
+import com.exemplo.conta.motor.MotorSaldos;
+import com.exemplo.conta.service.AquecimentoService;
+import com.exemplo.conta.service.BuscaClienteService;
+import com.exemplo.conta.service.ConsultaSaldoService;
+import com.exemplo.conta.service.LimiteSaqueService;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controller REST com endpoints administrativos (monitoramento interno)
+ * Endpoints disponíveis:
+ * - GET /admin/limites-saque - Memória e bloqueios do controle de velocidade de saques
+ * - GET /admin/admissao - Estado do rate limiting e do limite de concorrência
+ * - GET /admin/indice-clientes - Tamanho e memória do índice de busca de clientes
+ * - GET /admin/motor - Fila, diário e atraso de projeção do motor de saldos
+ * - GET /admin/sql - Formas de SQL mais custosas (tempo, execuções, linhas)
+ * - GET /admin/sql/requisicoes - Comandos SQL, tempo no banco e espera por conexão por endpoint
+ * - DELETE /admin/sql - Zera as estatísticas de SQL (por forma e por endpoint)
+ * - GET /admin/arquivo - Segmentos de movimentações arquivadas
+ * - POST /admin/arquivo - Executa o arquivamento agora
+ * - GET /admin/acumulo - Configuração e métricas por partição do lançamento de juros e tarifas
+ * - POST /admin/acumulo - Lança juros (e tarifa do mês) agora
+ * - GET /admin/eventos - Outbox pendente, relay e segmentos do log de eventos
+ * - GET /admin/extratos - Configuração e métricas por partição da geração de extratos mensais
+ * - POST /admin/extratos - Gera os extratos de um mês agora
+ * - GET /admin/saldos - Ocupação, memória fora do heap e acertos do cache de saldos
+ * - GET /admin/aquecimento - Resultado do aquecimento da inicialização
+ *
+ * Lazy: endpoints de monitoramento não precisam estar prontos na inicialização
+ */
+@Lazy
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final LimiteSaqueService limiteSaqueService;
+    private final AdmissaoFilter admissaoFilter;
+    private final BuscaClienteService buscaClienteService;
+    private final MotorSaldos motorSaldos;
+    private final MonitorSql monitorSql;
+    private final MonitorRequisicoes monitorRequisicoes;
+    private final ArquivoMovimentacoes arquivoMovimentacoes;
+    private final AcumuloContas acumuloContas;
+    private final RelayEventos relayEventos;
+    private final ExtratosMensais extratosMensais;
+    private final ConsultaSaldoService consultaSaldoService;
+    private final AquecimentoService aquecimentoService;
+
+    public AdminController(LimiteSaqueService limiteSaqueService, AdmissaoFilter admissaoFilter,
+                           BuscaClienteService buscaClienteService, MotorSaldos motorSaldos,
+                           MonitorSql monitorSql, MonitorRequisicoes monitorRequisicoes,
+                           ArquivoMovimentacoes arquivoMovimentacoes,
+                           AcumuloContas acumuloContas, RelayEventos relayEventos,
+                           ExtratosMensais extratosMensais, ConsultaSaldoService consultaSaldoService,
+                           AquecimentoService aquecimentoService) {
+        this.limiteSaqueService = limiteSaqueService;
+        this.admissaoFilter = admissaoFilter;
+        this.buscaClienteService = buscaClienteService;
+        this.motorSaldos = motorSaldos;
+        this.monitorSql = monitorSql;
+        this.monitorRequisicoes = monitorRequisicoes;
+        this.arquivoMovimentacoes = arquivoMovimentacoes;
+        this.acumuloContas = acumuloContas;
+        this.relayEventos = relayEventos;
+        this.extratosMensais = extratosMensais;
+        this.consultaSaldoService = consultaSaldoService;
+        this.aquecimentoService = aquecimentoService;
+    }
+
+    /**
+     * GET /admin/limites-saque
+     * Contas monitoradas, memória estimada por conta e total de saques bloqueados
+     * @return Estatísticas em formato JSON
+     */
+    @GetMapping("/limites-saque")
+    public Map<String, Object> limitesSaque() {
+        return limiteSaqueService.estatisticas();
+    }
+
+    /**
+     * GET /admin/admissao
+     * Limite de concorrência atual, requisições em andamento e recusas
+     * @return Estatísticas em formato JSON
+     */
+    @GetMapping("/admissao")
+    public Map<String, Object> admissao() {
+        return admissaoFilter.estatisticas();
+    }
+
+    /**
+     * GET /admin/indice-clientes
+     * Quantidade de chaves e memória estimada do índice de busca
+     * @return Estatísticas em formato JSON
+     */
+    @GetMapping("/indice-clientes")
+    public Map<String, Object> indiceClientes() {
+        return buscaClienteService.estatisticas();
+    }
+
+    /**
+     * GET /admin/motor
+     * Comandos processados, tamanho médio do lote, sequência gravada no diário e atraso do projetor
+     * @return Estatísticas em formato JSON
+     */
+    @GetMapping("/motor")
+    public Map<String, Object> motor() {
+        return motorSaldos.estatisticas();
+    }
+
+    /**
+     * GET /admin/sql?top=10&ordem=tempo
+     * Formas de SQL normalizadas (literais trocados por ?) ordenadas por tempo total,
+     * execucoes, media ou maximo
+     * @param top Quantidade de formas retornadas (padrão 10)
+     * @param ordem Critério de ordenação (padrão tempo)
+     * @return Resumo e formas em formato JSON
+     */
+    @GetMapping("/sql")
+    public Map<String, Object> sql(@RequestParam(defaultValue = "10") int top,
+                                   @RequestParam(defaultValue = "tempo") String ordem) {
+        Map<String, Object> resposta = new LinkedHashMap<>(monitorSql.resumo());
+        resposta.put("formas", monitorSql.top(top, ordem));
+        return resposta;
+    }
+
+    /**
+     * DELETE /admin/sql
+     * Zera as estatísticas de SQL, por forma e por endpoint (útil antes de medir um cenário)
+     * @return 204 No Content
+     */
+    @DeleteMapping("/sql")
+    public ResponseEntity<Void> limparSql() {
+        monitorSql.limpar();
+        monitorRequisicoes.limpar();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * GET /admin/sql/requisicoes?top=10&ordem=comandos
+     * Endpoints ordenados por média de comandos SQL por requisição, maximo de comandos,
+     * tempo no banco ou espera por conexão, com o orçamento declarado (@OrcamentoSql)
+     * @param top Quantidade de endpoints retornados (padrão 10)
+     * @param ordem Critério de ordenação: comandos, maximo, tempo ou espera (padrão comandos)
+     * @return Resumo, endpoints acima do orçamento e endpoints em formato JSON
+     */
+    @GetMapping("/sql/requisicoes")
+    public Map<String, Object> sqlPorRequisicao(@RequestParam(defaultValue = "10") int top,
+                                                @RequestParam(defaultValue = "comandos") String ordem) {
+        Map<String, Object> resposta = new LinkedHashMap<>(monitorRequisicoes.resumo());
+        resposta.put("acimaDoOrcamento", monitorRequisicoes.acimaDoOrcamento());
+        resposta.put("endpoints", monitorRequisicoes.top(top, ordem));
+        return resposta;
+    }
+
+    /**
+     * GET /admin/arquivo
+     * Segmentos, linhas e bytes arquivados, data de corte e resultado da última execução
+     * @return Estatísticas em formato JSON
+     */
+    @GetMapping("/arquivo")
+    public Map<String, Object> arquivo() {
+        return arquivoMovimentacoes.estatisticas();
+    }
+
+    /**
+     * POST /admin/arquivo
+     * Arquiva agora as movimentações anteriores à janela quente
+     * @return Resultado da execução em formato JSON
+     */
+    @PostMapping("/arquivo")
+    public Map<String, Object> arquivar() {
+        return arquivoMovimentacoes.arquivar();
+    }
+
+    /**
+     * GET /admin/acumulo
+     * Taxas, paralelismo e métricas da última execução (contas/s por partição)
+     * @return Estatísticas em formato JSON
+     */
+    @GetMapping("/acumulo")
+    public Map<String, Object> acumulo() {
+        return acumuloContas.estatisticas();
+    }
+
+    /**
+     * POST /admin/acumulo?data=2024-01-31
+     * Lança os juros do dia e a tarifa do mês (se ainda não lançada). Repetir a mesma
+     * data só completa as partições que não terminaram.
+     * @param data Data dos juros (padrão hoje)
+     * @return Resultado da execução em formato JSON
+     */
+    @PostMapping("/acumulo")
+    public Map<String, Object> acumular(@RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        return acumuloContas.executar(data == null ? LocalDate.now() : data);
+    }
+
+    /**
+     * GET /admin/eventos
+     * Linhas pendentes no outbox, lotes publicados pelo relay e segmentos/offsets do log
+     * @return Estatísticas em formato JSON
+     */
+    @GetMapping("/eventos")
+    public Map<String, Object> eventos() {
+        return relayEventos.estatisticas();
+    }
+
+    /**
+     * GET /admin/extratos
+     * Diretório, paralelismo e métricas da última geração (contas/s e bytes por partição)
+     * @return Estatísticas em formato JSON
+     */
+    @GetMapping("/extratos")
+    public Map<String, Object> extratos() {
+        return extratosMensais.estatisticas();
+    }
+
+    /**
+     * POST /admin/extratos?mes=2024-01
+     * Gera um arquivo de extrato por conta com as movimentações do mês. Repetir o mesmo
+     * mês só completa as partições que não terminaram.
+     * @param mes Mês dos extratos (padrão mês anterior)
+     * @return Resultado da execução em formato JSON
+     */
+    @PostMapping("/extratos")
+    public Map<String, Object> gerarExtratos(@RequestParam(required = false) YearMonth mes) {
+        return extratosMensais.executar(mes == null ? YearMonth.now().minusMonths(1) : mes);
+    }
+
+    /**
+     * GET /admin/saldos
+     * Contas no cache de saldos, capacidade, bytes fora do heap, acertos e leituras que foram ao banco
+     * @return Estatísticas em formato JSON
+     */
+    @GetMapping("/saldos")
+    public Map<String, Object> saldos() {
+        return consultaSaldoService.estatisticas();
+    }
+
+    /**
+     * GET /admin/aquecimento
+     * Estado, duração, rodadas e tempo médio da rodada no início e no fim do aquecimento
+     * @return Estatísticas em formato JSON
+     */
+    @GetMapping("/aquecimento")
+    public Map<String, Object> aquecimento() {
+        return aquecimentoService.estatisticas();
+    }
+}
@@ -0,0 +1,37 @@
+package com.exemplo.conta.controller;
+
+import com.exemplo.conta.entity.Conta;
+import com.exemplo.conta.service.BuscaClienteService;
+
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller REST para consultas por Cliente
+ * Endpoints disponíveis:
+ * - GET /clientes/busca?q= - Busca contas pelo nome (ou sobrenome) do cliente ou CPF parcial
+ */
+@RestController
+@RequestMapping("/clientes")
+@CrossOrigin(origins = "*")
+public class ClienteController {
+
+    private final BuscaClienteService buscaClienteService;
+
+    public ClienteController(BuscaClienteService buscaClienteService) {
+        this.buscaClienteService = buscaClienteService;
+    }
+
+    /**
+     * GET /clientes/busca?q=joao&limite=20
+     * Busca por prefixo, sem diferenciar acentos nem maiúsculas
+     * @param q Início do nome, de um sobrenome ou do CPF
+     * @param limite Máximo de clientes no resultado (até 100)
+     * @return Contas dos clientes encontrados
+     */
+    @GetMapping("/busca")
+    public List<Conta> buscar(@RequestParam String q, @RequestParam(defaultValue = "20") int limite) {
+        return buscaClienteService.buscar(q, limite);
+    }
+}
@@ -2,17 +2,35 @@ package com.exemplo.conta.controller;
 
 import com.exemplo.conta.entity.Conta;
 import com.exemplo.conta.entity.Movimentacao;
+import com.exemplo.conta.service.ConsultaSaldoService;
 import com.exemplo.conta.service.ContaService;
+import com.exemplo.conta.service.ExclusaoContasService;
+import com.exemplo.conta.service.JobExclusao;
 import com.exemplo.conta.dto.ContaPatchDTO;
 import com.exemplo.conta.dto.ContaCompletaDTO;
 import com.exemplo.conta.dto.MovimentacaoDTO;
+import com.exemplo.conta.dto.EncerramentoContasDTO;
+import com.exemplo.conta.monitoramento.OrcamentoSql;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import jakarta.validation.Valid;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,10 +40,19 @@ import java.util.Map;
  * Endpoints disponíveis:
  * - GET /contas - Lista todas as contas
  * - GET /contas/{id} - Busca conta por ID
+ * - GET /contas/{id}/saldo - Só o saldo atual (cache fora do heap)
  * - POST /contas - Cria nova conta
  * - PUT /contas/{id} - Atualiza conta completa
  * - PATCH /contas/{id} - Atualiza conta parcial
- * - DELETE /contas/{id} - Exclui conta
+ * - DELETE /contas/{id} - Exclui conta (202 com job quando a conta é grande)
+ * - POST /contas/encerramentos - Encerra várias contas em segundo plano
+ * - GET /contas/exclusoes/{job} - Andamento de uma exclusão em segundo plano
+ *
+ * Todos aceitam e respondem JSON (padrão) ou CBOR (Accept / Content-Type: application/cbor);
+ * em CBOR o extrato é transmitido em streaming, sem montar a lista.
+ *
+ * Cada endpoint declara em @OrcamentoSql quantos comandos SQL pode executar por requisição
+ * (ContaControllerOrcamentoSqlTests reprova quem passar; o header Server-Timing mostra a contagem).
  */
 @RestController
 @RequestMapping("/contas")
@@ -33,10 +60,21 @@ import java.util.Map;
 public class ContaController {
 
     private final ContaService contaService;
+    private final ExclusaoContasService exclusaoContasService;
+    private final ConsultaSaldoService consultaSaldoService;
+    private final ObjectWriter escritorCbor;
 
     // Injeção de dependência via construtor (recomendado)
-    public ContaController(ContaService contaService) {
+    public ContaController(ContaService contaService, ExclusaoContasService exclusaoContasService,
+                           ConsultaSaldoService consultaSaldoService,
+                           MappingJackson2CborHttpMessageConverter conversorCbor) {
         this.contaService = contaService;
+        this.exclusaoContasService = exclusaoContasService;
+        this.consultaSaldoService = consultaSaldoService;
+        // Um flush por movimentação mandaria um pedaço HTTP por linha; o buffer do Tomcat decide quando enviar
+        this.escritorCbor = conversorCbor.getObjectMapper().writerFor(Movimentacao.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     /**
@@ -44,6 +82,7 @@ public class ContaController {
      * Lista todas as contas cadastradas
      * @return Lista de contas em formato JSON
      */
+    @OrcamentoSql(2)
     @GetMapping
     public List<Conta> listar() {
         return contaService.listar();
@@ -55,18 +94,36 @@ public class ContaController {
      * @param id ID da conta a ser buscada
      * @return Conta encontrada ou erro 404
      */
+    @OrcamentoSql(2)
     @GetMapping("/{id}")
     public ResponseEntity<Conta> buscarPorId(@PathVariable Long id) {
         Conta conta = contaService.buscarPorId(id);
         return ResponseEntity.ok(conta);
     }
 
+    /**
+     * GET /contas/{id}/saldo
+     * Saldo atual sem carregar conta e cliente: vem do cache de saldos fora do heap
+     * (conta fora do cache é lida do banco)
+     * @param id ID da conta
+     * @return ID e saldo ou erro 404
+     */
+    @OrcamentoSql(1)
+    @GetMapping("/{id}/saldo")
+    public Map<String, Object> buscarSaldo(@PathVariable Long id) {
+        Map<String, Object> saldo = new HashMap<>();
+        saldo.put("id", id);
+        saldo.put("saldo", consultaSaldoService.saldo(id));
+        return saldo;
+    }
+
     /**
      * POST /contas
      * Cria uma nova conta bancária com cliente
      * @param dto Dados completos (nome, cpf, saldo)
      * @return Conta criada com status 201 (Created)
      */
+    @OrcamentoSql(8)
     @PostMapping
     public ResponseEntity<Conta> criar(@Valid @RequestBody ContaCompletaDTO dto) {
         Conta novaConta = contaService.criarContaCompleta(dto);
@@ -74,17 +131,52 @@ public class ContaController {
     }
 
     /**
-     * DELETE /contas/{id}
-     * Exclui uma conta pelo ID
+     * DELETE /contas/{id}?assincrono=false
+     * Exclui uma conta pelo ID. Contas com mais movimentações que conta.exclusao.limite-sincrono
+     * (ou assincrono=true) são excluídas em segundo plano.
      * @param id ID da conta a ser excluída
-     * @return Status 204 (No Content) se sucesso
+     * @param assincrono Força a exclusão em segundo plano
+     * @return Status 204 (No Content) se excluída, ou 202 (Accepted) com o job
      */
+    @OrcamentoSql(12)
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> excluir(@PathVariable Long id) {
+    public ResponseEntity<JobExclusao> excluir(@PathVariable Long id,
+                                               @RequestParam(defaultValue = "false") boolean assincrono) {
+        if (assincrono || exclusaoContasService.deveSerAssincrona(id)) {
+            return aceito(exclusaoContasService.excluir(id));
+        }
         contaService.excluir(id);
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * POST /contas/encerramentos
+     * Encerra (exclui) várias contas em segundo plano, uma de cada vez
+     * @param encerramento IDs das contas
+     * @return Status 202 (Accepted) com o job
+     */
+    @OrcamentoSql(0)
+    @PostMapping("/encerramentos")
+    public ResponseEntity<JobExclusao> encerrar(@Valid @RequestBody EncerramentoContasDTO encerramento) {
+        return aceito(exclusaoContasService.encerrar(encerramento.getIds()));
+    }
+
+    /**
+     * GET /contas/exclusoes/{job}
+     * Andamento de uma exclusão em segundo plano (contas excluídas, não encontradas e falhas)
+     * @param job ID do job
+     * @return Job ou 404 se não existir (ou já tiver expirado)
+     */
+    @OrcamentoSql(0)
+    @GetMapping("/exclusoes/{job}")
+    public ResponseEntity<JobExclusao> buscarExclusao(@PathVariable String job) {
+        return ResponseEntity.of(exclusaoContasService.buscar(job));
+    }
+
+    private static ResponseEntity<JobExclusao> aceito(JobExclusao job) {
+        return ResponseEntity.accepted().location(URI.create("/contas/exclusoes/" + job.getId())).body(job);
+    }
+
     /**
      * PUT /contas/{id}
      * Atualização completa da conta (todos os campos)
@@ -92,6 +184,7 @@ public class ContaController {
      * @param contaAtualizada Novos dados da conta
      * @return Conta atualizada
      */
+    @OrcamentoSql(6)
     @PutMapping("/{id}")
     public ResponseEntity<Conta> atualizar(@PathVariable Long id, @Valid @RequestBody Conta contaAtualizada) {
         Conta conta = contaService.atualizar(id, contaAtualizada);
@@ -105,6 +198,7 @@ public class ContaController {
      * @param updates Campos a serem atualizados
      * @return Conta atualizada
      */
+    @OrcamentoSql(6)
     @PatchMapping("/{id}")
     public ResponseEntity<Conta> atualizarParcial(@PathVariable Long id, @RequestBody ContaPatchDTO updates) {
         Map<String, Object> mapUpdates = new HashMap<>();
@@ -116,14 +210,56 @@ public class ContaController {
     }
 
     /**
-     * GET /contas/{id}/extrato
-     * Busca extrato de movimentações de uma conta
+     * GET /contas/{id}/extrato?desde=2024-01-01&ate=2024-03-31
+     * Busca extrato de movimentações de uma conta (inclui as arquivadas quando o período
+     * passa do início da janela quente)
      * @param id ID da conta
-     * @return Lista de movimentações
+     * @param desde Primeiro dia do período (opcional)
+     * @param ate Último dia do período, inclusive (opcional)
+     * @return Lista de movimentações (mais recente primeiro)
      */
+    @OrcamentoSql(2)
     @GetMapping("/{id}/extrato")
-    public List<Movimentacao> buscarExtrato(@PathVariable Long id) {
-        return contaService.buscarExtrato(id);
+    public List<Movimentacao> buscarExtrato(@PathVariable Long id,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        return contaService.buscarExtrato(id,
+                desde == null ? null : Timestamp.valueOf(desde.atStartOfDay()),
+                ate == null ? null : Timestamp.valueOf(ate.plusDays(1).atStartOfDay()));
+    }
+
+    /**
+     * GET /contas/{id}/extrato?desde=2024-01-01&ate=2024-03-31 com Accept: application/cbor
+     * Mesmo extrato, em CBOR e em streaming: cada movimentação é lida do banco e escrita na
+     * resposta, sem montar a lista (extratos grandes não ocupam memória nem atrasam o primeiro byte)
+     * @param id ID da conta
+     * @param desde Primeiro dia do período (opcional)
+     * @param ate Último dia do período, inclusive (opcional)
+     * @return Array CBOR de movimentações (mais recente primeiro)
+     */
+    @OrcamentoSql(2)
+    @GetMapping(value = "/{id}/extrato", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirExtrato(@PathVariable Long id,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        // Verificada antes de começar a resposta: conta inexistente ainda sai como 404
+        contaService.verificarConta(id);
+        Timestamp inicio = desde == null ? null : Timestamp.valueOf(desde.atStartOfDay());
+        Timestamp fim = ate == null ? null : Timestamp.valueOf(ate.plusDays(1).atStartOfDay());
+        StreamingResponseBody corpo = saida -> {
+            try (JsonGenerator gerador = escritorCbor.createGenerator(saida)) {
+                gerador.writeStartArray();
+                contaService.percorrerExtrato(id, inicio, fim, movimentacao -> {
+                    try {
+                        escritorCbor.writeValue(gerador, movimentacao);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                gerador.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_CBOR).body(corpo);
     }
 
     /**
@@ -133,6 +269,7 @@ public class ContaController {
      * @param movimentacaoDTO Dados do saque
      * @return Movimentação criada
      */
+    @OrcamentoSql(6)
     @PostMapping("/{id}/saque")
     public ResponseEntity<Movimentacao> realizarSaque(@PathVariable Long id, @Valid @RequestBody MovimentacaoDTO movimentacaoDTO) {
         Movimentacao movimentacao = contaService.realizarSaque(id, movimentacaoDTO);
@@ -146,6 +283,7 @@ public class ContaController {
      * @param movimentacaoDTO Dados do depósito
      * @return Movimentação criada
      */
+    @OrcamentoSql(6)
     @PostMapping("/{id}/deposito")
     public ResponseEntity<Movimentacao> realizarDeposito(@PathVariable Long id, @Valid @RequestBody MovimentacaoDTO movimentacaoDTO) {
         Movimentacao movimentacao = contaService.realizarDeposito(id, movimentacaoDTO);
@@ -0,0 +1,58 @@
+package com.exemplo.conta.controller;
+
+import com.exemplo.conta.dto.RankingSaldoDTO;
+import com.exemplo.conta.service.EstatisticasService;
+
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST com estatísticas de saldos (risco / tesouraria)
+ * Endpoints disponíveis:
+ * - GET /estatisticas/resumo - Quantidade de contas, soma e média dos saldos, totais movimentados
+ * - GET /estatisticas/top-saldos?n=100 - Ranking dos maiores saldos
+ * - GET /estatisticas/percentis?p=50,90,99 - Distribuição aproximada dos saldos
+ */
+@RestController
+@RequestMapping("/estatisticas")
+@CrossOrigin(origins = "*")
+public class EstatisticasController {
+
+    private final EstatisticasService estatisticasService;
+
+    public EstatisticasController(EstatisticasService estatisticasService) {
+        this.estatisticasService = estatisticasService;
+    }
+
+    /**
+     * GET /estatisticas/resumo
+     * @return Agregados mantidos em memória
+     */
+    @GetMapping("/resumo")
+    public Map<String, Object> resumo() {
+        return estatisticasService.resumo();
+    }
+
+    /**
+     * GET /estatisticas/top-saldos?n=100
+     * @param n Tamanho do ranking (máximo configurado em conta.estatisticas.top-maximo)
+     * @return Contas com os maiores saldos, em ordem decrescente
+     */
+    @GetMapping("/top-saldos")
+    public List<RankingSaldoDTO> topSaldos(@RequestParam(defaultValue = "100") int n) {
+        return estatisticasService.topSaldos(n);
+    }
+
+    /**
+     * GET /estatisticas/percentis?p=50,90,99
+     * Valores com erro relativo de ~1% (sketch de quantis)
+     * @param p Percentis desejados, entre 0 e 100
+     * @return Mapa percentil -> saldo
+     */
+    @GetMapping("/percentis")
+    public Map<String, Double> percentis(@RequestParam(defaultValue = "25,50,75,90,99") List<Double> p) {
+        return estatisticasService.percentis(p);
+    }
+}
@@ -0,0 +1,57 @@
+package com.exemplo.conta.controller;
+
+import com.exemplo.conta.eventos.Evento;
+import com.exemplo.conta.eventos.RelayEventos;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST do log de eventos de alteração de contas (para sistemas consumidores)
+ * Endpoints disponíveis:
+ * - GET /eventos?offset=0&max=500&espera=0 - Eventos a partir de um offset
+ *
+ * O consumidor guarda o proximoOffset da resposta e pede a partir dele na próxima leitura
+ * (leitura incremental, no lugar de varrer GET /contas).
+ */
+@RestController
+@RequestMapping("/eventos")
+@CrossOrigin(origins = "*")
+public class EventosController {
+
+    private static final int MAX_EVENTOS = 5000;
+    private static final long MAX_ESPERA_MS = 30_000;
+
+    private final RelayEventos relayEventos;
+
+    public EventosController(RelayEventos relayEventos) {
+        this.relayEventos = relayEventos;
+    }
+
+    /**
+     * GET /eventos?offset=0&max=500&espera=0
+     * Só JSON: dados vai como o JSON gravado no outbox, sem reprocessar
+     * @param offset Primeiro offset desejado (inclusive)
+     * @param max Máximo de eventos na resposta (até 5000)
+     * @param espera Sem eventos a partir do offset, espera até esse tempo (ms, até 30000) por eles
+     * @return Eventos, proximoOffset (de onde continuar) e primeiroOffset (mais antigo ainda no log);
+     *         410 (Gone) se o offset já saiu do log pela retenção
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> ler(@RequestParam(defaultValue = "0") long offset,
+                                   @RequestParam(defaultValue = "500") int max,
+                                   @RequestParam(defaultValue = "0") long espera) {
+        List<Evento> eventos = relayEventos.ler(offset, Math.max(1, Math.min(max, MAX_EVENTOS)),
+                Math.max(0, Math.min(espera, MAX_ESPERA_MS)));
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("primeiroOffset", relayEventos.primeiroOffset());
+        resposta.put("proximoOffset", eventos.isEmpty() ? Math.min(offset, relayEventos.proximoOffset())
+                : eventos.get(eventos.size() - 1).getOffset() + 1);
+        resposta.put("eventos", eventos);
+        return resposta;
+    }
+}
@@ -1,46 +1,97 @@
 package com.exemplo.conta.controller;
 
+import com.exemplo.conta.dto.ErroDTO;
+import com.exemplo.conta.exception.CodigoErro;
+import com.exemplo.conta.exception.ContaNaoEncontradaException;
+import com.exemplo.conta.exception.NegocioException;
+import com.exemplo.conta.motor.ResultadoIncertoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import jakarta.persistence.EntityNotFoundException;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    // RuntimeException
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    // Regras de negócio: status decidido pelo código de erro (sem analisar a mensagem)
+    @ExceptionHandler(NegocioException.class)
+    public ResponseEntity<ErroDTO> tratarNegocio(NegocioException ex) {
+        return erro(statusDe(ex.getCodigo()), ex.getCodigo(), ex.getMessage());
+    }
+
+    // Motor de saldos sem resposta no prazo: a operação pode ter sido aplicada
+    @ExceptionHandler(ResultadoIncertoException.class)
+    public ResponseEntity<ErroDTO> tratarResultadoIncerto(ResultadoIncertoException ex) {
+        return erro(HttpStatus.GATEWAY_TIMEOUT, CodigoErro.RESULTADO_DESCONHECIDO,
+                ex.getMessage() + ". A operação pode ter sido aplicada: consulte o saldo antes de repetir.");
+    }
+
+    // Corpo ilegível (JSON malformado, tipo errado num campo): erro do cliente, sem detalhes do Jackson
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErroDTO> tratarCorpoInvalido(HttpMessageNotReadableException ex) {
+        return erro(HttpStatus.BAD_REQUEST, CodigoErro.DADOS_INVALIDOS, "Corpo da requisição inválido");
+    }
+
+    // Parâmetro de caminho ou de consulta com tipo errado (ex.: GET /contas/abc)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErroDTO> tratarParametroInvalido(MethodArgumentTypeMismatchException ex) {
+        return erro(HttpStatus.BAD_REQUEST, CodigoErro.DADOS_INVALIDOS, "Parâmetro inválido: " + ex.getName());
+    }
+
+    // RuntimeException inesperada: detalhes (SQL, driver) só no log, o cliente recebe a referência
     @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<String> tratarRuntime(RuntimeException ex) {
-        // Se for erro de saldo insuficiente, retornar BAD_REQUEST
-        if (ex.getMessage().contains("Saldo insuficiente")) {
-            return ResponseEntity
-                    .status(HttpStatus.BAD_REQUEST)
-                    .body(ex.getMessage());
-        }
-        // Outros erros como "não encontrado"
-        return ResponseEntity
-                .status(HttpStatus.NOT_FOUND)
-                .body(ex.getMessage());
+    public ResponseEntity<ErroDTO> tratarRuntime(RuntimeException ex) {
+        String referencia = UUID.randomUUID().toString();
+        log.error("Erro interno {}", referencia, ex);
+        return erro(HttpStatus.INTERNAL_SERVER_ERROR, CodigoErro.ERRO_INTERNO,
+                "Erro interno. Referência: " + referencia);
     }
 
     // Validação @Valid
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<String> handleValidation(MethodArgumentNotValidException ex) {
+    public ResponseEntity<ErroDTO> handleValidation(MethodArgumentNotValidException ex) {
         String erros = ex.getBindingResult()
                 .getFieldErrors()
                 .stream()
                 .map(e -> e.getField() + ": " + e.getDefaultMessage())
                 .collect(Collectors.joining(", "));
-        return ResponseEntity.badRequest().body(erros);
+        return erro(HttpStatus.BAD_REQUEST, CodigoErro.DADOS_INVALIDOS, erros);
     }
 
     // EntityNotFoundException (Oracle)
     @ExceptionHandler(EntityNotFoundException.class)
-    public ResponseEntity<String> handleNotFound(EntityNotFoundException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    public ResponseEntity<ErroDTO> handleNotFound(EntityNotFoundException ex) {
+        return erro(HttpStatus.NOT_FOUND, CodigoErro.CONTA_NAO_ENCONTRADA,
+                ContaNaoEncontradaException.INSTANCIA.getMessage());
+    }
+
+    static HttpStatus statusDe(CodigoErro codigo) {
+        return switch (codigo) {
+            case CONTA_NAO_ENCONTRADA -> HttpStatus.NOT_FOUND;
+            case SALDO_INSUFICIENTE, SALDO_INVALIDO, DADOS_INVALIDOS -> HttpStatus.BAD_REQUEST;
+            case CPF_JA_CADASTRADO -> HttpStatus.CONFLICT;
+            case LIMITE_SAQUE_EXCEDIDO -> HttpStatus.UNPROCESSABLE_ENTITY;
+            case MUITAS_REQUISICOES -> HttpStatus.TOO_MANY_REQUESTS;
+            case EVENTOS_EXPIRADOS -> HttpStatus.GONE;
+            case RESULTADO_DESCONHECIDO -> HttpStatus.GATEWAY_TIMEOUT;
+            case ERRO_INTERNO -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+    }
+
+    private static ResponseEntity<ErroDTO> erro(HttpStatus status, CodigoErro codigo, String mensagem) {
+        return ResponseEntity
+                .status(status)
+                .body(new ErroDTO(status.value(), codigo.name(), mensagem));
     }
 }
@@ -0,0 +1,36 @@
+package com.exemplo.conta.controller;
+
+import com.exemplo.conta.service.AquecimentoService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Controller REST das sondas de saúde (balanceador / orquestrador)
+ * Endpoints disponíveis:
+ * - GET /saude/prontidao - 200 quando pronta para tráfego, 503 durante a inicialização e o aquecimento
+ */
+@RestController
+@RequestMapping("/saude")
+public class SaudeController {
+
+    private final AquecimentoService aquecimentoService;
+
+    public SaudeController(AquecimentoService aquecimentoService) {
+        this.aquecimentoService = aquecimentoService;
+    }
+
+    /**
+     * GET /saude/prontidao
+     * Estado de prontidão do Spring Boot (só ACCEPTING_TRAFFIC depois do aquecimento)
+     * @return Prontidão e andamento do aquecimento; 503 (Service Unavailable) enquanto não estiver pronta
+     */
+    @GetMapping("/prontidao")
+    public ResponseEntity<Map<String, Object>> prontidao() {
+        HttpStatus status = aquecimentoService.pronta() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(aquecimentoService.estatisticas());
+    }
+}
@@ -0,0 +1,29 @@
+package com.exemplo.conta.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para encerramento de várias contas de uma vez
+ */
+public class EncerramentoContasDTO {
+
+    @NotEmpty(message = "Informe ao menos uma conta")
+    @Size(max = 10000, message = "No máximo 10000 contas por encerramento")
+    private List<@NotNull(message = "ID da conta não pode ser nulo") Long> ids;
+
+    // Construtor padrão
+    public EncerramentoContasDTO() {}
+
+    // Getters e Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
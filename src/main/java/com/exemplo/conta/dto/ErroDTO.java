@@ -0,0 +1,40 @@
+package com.exemplo.conta.dto;
+
+/**
+ * DTO do corpo JSON devolvido em respostas de erro
+ * Exemplo: {"status":400,"codigo":"SALDO_INSUFICIENTE","mensagem":"Saldo insuficiente. Saldo atual: R$ 10,00"}
+ */
+public class ErroDTO {
+
+    private final int status;
+    private final String codigo;
+    private final String mensagem;
+
+    public ErroDTO(int status, String codigo, String mensagem) {
+        this.status = status;
+        this.codigo = codigo;
+        this.mensagem = mensagem;
+    }
+
+    // Getters
+    public int getStatus() {
+        return status;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    @Override
+    public String toString() {
+        return "ErroDTO{" +
+                "status=" + status +
+                ", codigo='" + codigo + '\'' +
+                ", mensagem='" + mensagem + '\'' +
+                '}';
+    }
+}
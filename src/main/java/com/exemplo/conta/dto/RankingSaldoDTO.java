@@ -0,0 +1,39 @@
+package com.exemplo.conta.dto;
+
+/**
+ * DTO de uma posição no ranking de maiores saldos
+ */
+public class RankingSaldoDTO {
+
+    private final int posicao;
+    private final Long idConta;
+    private final Double saldo;
+
+    public RankingSaldoDTO(int posicao, Long idConta, Double saldo) {
+        this.posicao = posicao;
+        this.idConta = idConta;
+        this.saldo = saldo;
+    }
+
+    // Getters
+    public int getPosicao() {
+        return posicao;
+    }
+
+    public Long getIdConta() {
+        return idConta;
+    }
+
+    public Double getSaldo() {
+        return saldo;
+    }
+
+    @Override
+    public String toString() {
+        return "RankingSaldoDTO{" +
+                "posicao=" + posicao +
+                ", idConta=" + idConta +
+                ", saldo=" + saldo +
+                '}';
+    }
+}
@@ -0,0 +1,39 @@
+package com.exemplo.conta.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Última sequência do diário do motor de saldos já projetada no banco
+ * Mapeada para a tabela MOTOR_CHECKPOINT (atualizada na mesma transação das linhas projetadas)
+ */
+@Entity
+@Table(name = "MOTOR_CHECKPOINT")
+public class CheckpointMotor {
+
+    @Id
+    @Column(name = "NOME", length = 50)
+    private String nome;
+
+    @Column(name = "SEQUENCIA", nullable = false)
+    private Long sequencia;
+
+    // Construtor padrão
+    public CheckpointMotor() {}
+
+    // Getters e Setters
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public Long getSequencia() {
+        return sequencia;
+    }
+
+    public void setSequencia(Long sequencia) {
+        this.sequencia = sequencia;
+    }
+}
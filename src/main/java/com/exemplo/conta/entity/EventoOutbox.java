@@ -0,0 +1,77 @@
+package com.exemplo.conta.entity;
+
+import jakarta.persistence.*;
+
+import java.sql.Timestamp;
+
+/**
+ * Evento de alteração de conta ainda não publicado no log de eventos
+ * Mapeada para a tabela OUTBOX_EVENTO (gravada por JDBC na mesma transação da alteração
+ * e apagada pelo relay depois de copiada para o log)
+ */
+@Entity
+@Table(name = "OUTBOX_EVENTO")
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "SEQ_OUTBOX_EVENTO", allocationSize = 1)
+    @Column(name = "ID_EVENTO")
+    private Long id;
+
+    @Column(name = "TIPO", nullable = false, length = 30)
+    private String tipo;
+
+    @Column(name = "ID_CONTA", nullable = false)
+    private Long idConta;
+
+    @Column(name = "DADOS", nullable = false, length = 1000)
+    private String dados; // JSON
+
+    @Column(name = "DATA_EVENTO", nullable = false)
+    private Timestamp dataEvento;
+
+    // Construtor padrão
+    public EventoOutbox() {}
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getIdConta() {
+        return idConta;
+    }
+
+    public void setIdConta(Long idConta) {
+        this.idConta = idConta;
+    }
+
+    public String getDados() {
+        return dados;
+    }
+
+    public void setDados(String dados) {
+        this.dados = dados;
+    }
+
+    public Timestamp getDataEvento() {
+        return dataEvento;
+    }
+
+    public void setDataEvento(Timestamp dataEvento) {
+        this.dataEvento = dataEvento;
+    }
+}
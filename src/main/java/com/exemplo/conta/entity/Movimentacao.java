@@ -12,7 +12,10 @@ import java.sql.Timestamp;
  * Mapeada para a tabela MOVIMENTACAO no Oracle
  */
 @Entity
-@Table(name = "MOVIMENTACAO")
+@Table(name = "MOVIMENTACAO", indexes = {
+        @Index(name = "IX_MOVIMENTACAO_CONTA_DATA", columnList = "ID_CONTA, DATA_MOV"),
+        @Index(name = "IX_MOVIMENTACAO_DATA", columnList = "DATA_MOV")
+})
 public class Movimentacao {
 
     @Id
@@ -27,7 +30,7 @@ public class Movimentacao {
 
     @Column(name = "TIPO", nullable = false, length = 20)
     @NotBlank(message = "Tipo é obrigatório")
-    private String tipo; // DEPOSITO ou SAQUE
+    private String tipo; // DEPOSITO, SAQUE, JUROS ou TARIFA
 
     @Column(name = "VALOR", nullable = false)
     @NotNull(message = "Valor é obrigatório")
@@ -0,0 +1,55 @@
+package com.exemplo.conta.eventos;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.sql.Timestamp;
+
+/**
+ * Evento publicado no log de eventos, endereçado pelo offset (posição no log, a partir de 0)
+ *
+ * id é o ID do outbox (único, mas fora de ordem entre contas diferentes); a ordem que vale
+ * é a do offset. dados é o JSON gravado no outbox, devolvido como está.
+ */
+public final class Evento {
+
+    private final long offset;
+    private final long id;
+    private final String tipo;
+    private final long idConta;
+    private final Timestamp data;
+    private final String dados;
+
+    Evento(long offset, long id, String tipo, long idConta, Timestamp data, String dados) {
+        this.offset = offset;
+        this.id = id;
+        this.tipo = tipo;
+        this.idConta = idConta;
+        this.data = data;
+        this.dados = dados;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public long getIdConta() {
+        return idConta;
+    }
+
+    public Timestamp getData() {
+        return data;
+    }
+
+    @JsonRawValue
+    public String getDados() {
+        return dados;
+    }
+}
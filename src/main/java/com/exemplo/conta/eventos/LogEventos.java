@@ -0,0 +1,374 @@
+package com.exemplo.conta.eventos;
+
+import com.exemplo.conta.exception.EventosExpiradosException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Log de eventos local, só de acréscimo, dividido em segmentos e endereçado por offset
+ *
+ * Cada segmento se chama eventos-<primeiro offset>.log. Registro (tamanho variável):
+ *   tamanho(4) offset(8) id(8) idConta(8) timestamp(8) tamanhoTipo(2) tipo dados crc(4)
+ * tipo e dados em UTF-8; tamanho conta o registro inteiro. O CRC detecta escrita parcial
+ * após queda: na abertura, o segmento é truncado no primeiro registro inválido.
+ *
+ * De cada segmento fica em memória a posição de um a cada INTERVALO_INDICE registros
+ * (índice esparso): a leitura a partir de um offset pula no máximo INTERVALO_INDICE - 1
+ * registros até chegar nele. Um único escritor (anexar); leituras concorrentes por
+ * leitura posicional até o tamanho já publicado do segmento.
+ */
+final class LogEventos implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LogEventos.class);
+
+    private static final int CABECALHO = 4 + 8 + 8 + 8 + 8 + 2;
+    private static final int INTERVALO_INDICE = 64;
+    // Maior que qualquer registro (DADOS tem no máximo 1000 caracteres)
+    private static final int BLOCO = 64 * 1024;
+    private static final String PREFIXO = "eventos-";
+    private static final String SUFIXO = ".log";
+
+    private final Path diretorio;
+    private final long tamanhoSegmento;
+    private final int maxSegmentos;
+    private final boolean fsync;
+    private final ConcurrentSkipListMap<Long, Segmento> segmentos = new ConcurrentSkipListMap<>();
+    private final Object aviso = new Object();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer lote = ByteBuffer.allocate(BLOCO);
+    private volatile long proximoOffset;
+
+    LogEventos(Path diretorio, long tamanhoSegmento, int maxSegmentos, boolean fsync) throws IOException {
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.maxSegmentos = maxSegmentos;
+        this.fsync = fsync;
+        Files.createDirectories(diretorio);
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path arquivo : (Iterable<Path>) arquivos.filter(LogEventos::ehSegmento).sorted()::iterator) {
+                Segmento segmento = abrir(arquivo);
+                segmentos.put(segmento.primeiroOffset, segmento);
+            }
+        }
+        if (segmentos.isEmpty()) {
+            criarSegmento(0);
+        }
+        Segmento ultimo = segmentos.lastEntry().getValue();
+        proximoOffset = ultimo.primeiroOffset + ultimo.registros;
+    }
+
+    /**
+     * Acrescenta os eventos no fim do log (um único force para o lote todo)
+     * O offset dos eventos recebidos é ignorado: cada um recebe o próximo offset do log.
+     * @return Offset do último evento gravado
+     */
+    synchronized long anexar(List<Evento> eventos) throws IOException {
+        Segmento atual = segmentos.lastEntry().getValue();
+        if (atual.tamanho >= tamanhoSegmento && atual.registros > 0) {
+            atual = criarSegmento(proximoOffset);
+            aplicarRetencao();
+        }
+        long offset = proximoOffset;
+        long posicao = atual.tamanho;
+        int entradasAntes = atual.entradas;
+        lote.clear();
+        for (Evento evento : eventos) {
+            byte[] tipo = evento.getTipo().getBytes(StandardCharsets.UTF_8);
+            byte[] dados = evento.getDados().getBytes(StandardCharsets.UTF_8);
+            int tamanho = CABECALHO + tipo.length + dados.length + 4;
+            if (lote.remaining() < tamanho) {
+                lote = ByteBuffer.allocate(Math.max(lote.capacity() * 2, lote.position() + tamanho)).put(lote.flip());
+            }
+            int inicio = lote.position();
+            if ((offset - atual.primeiroOffset) % INTERVALO_INDICE == 0) {
+                atual.indexar(posicao + inicio);
+            }
+            lote.putInt(tamanho).putLong(offset).putLong(evento.getId()).putLong(evento.getIdConta())
+                    .putLong(evento.getData().getTime()).putShort((short) tipo.length).put(tipo).put(dados);
+            crc.reset();
+            crc.update(lote.array(), inicio, tamanho - 4);
+            lote.putInt((int) crc.getValue());
+            offset++;
+        }
+        lote.flip();
+        int bytes = lote.remaining();
+        try {
+            while (lote.hasRemaining()) {
+                atual.canal.write(lote, posicao + lote.position());
+            }
+            if (fsync) {
+                atual.canal.force(false);
+            }
+        } catch (IOException e) {
+            // Nada foi publicado: o próximo lote regrava a partir da mesma posição e do mesmo offset
+            atual.entradas = entradasAntes;
+            throw e;
+        }
+        atual.registros += eventos.size();
+        atual.tamanho = posicao + bytes;
+        proximoOffset = offset;
+        synchronized (aviso) {
+            aviso.notifyAll();
+        }
+        return offset - 1;
+    }
+
+    /**
+     * Lê até max eventos a partir do offset (inclusive)
+     * @throws EventosExpiradosException se o offset já saiu do log pela retenção
+     */
+    List<Evento> ler(long offset, int max) throws IOException {
+        List<Evento> resultado = new ArrayList<>(Math.min(max, 1024));
+        long primeiro = primeiroOffset();
+        if (offset < primeiro) {
+            throw new EventosExpiradosException(offset, primeiro);
+        }
+        try {
+            Map.Entry<Long, Segmento> entrada = segmentos.floorEntry(offset);
+            while (entrada != null && resultado.size() < max) {
+                long desde = resultado.isEmpty() ? offset : resultado.get(resultado.size() - 1).getOffset() + 1;
+                lerSegmento(entrada.getValue(), desde, max, resultado);
+                entrada = segmentos.higherEntry(entrada.getKey());
+            }
+        } catch (ClosedChannelException e) {
+            // Segmento apagado pela retenção durante a leitura
+            throw new EventosExpiradosException(offset, primeiroOffset());
+        }
+        return resultado;
+    }
+
+    // Espera até existir evento com offset >= offset, ou até acabar o tempo
+    void aguardar(long offset, long esperaMs) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMs);
+        synchronized (aviso) {
+            long falta;
+            while (proximoOffset <= offset && (falta = limite - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(aviso, falta);
+            }
+        }
+    }
+
+    // IDs do outbox dos últimos n eventos (o relay não publica de novo um lote que ficou sem apagar)
+    Set<Long> idsRecentes(int n) throws IOException {
+        Set<Long> ids = new HashSet<>();
+        for (Evento evento : ler(Math.max(primeiroOffset(), proximoOffset - n), n)) {
+            ids.add(evento.getId());
+        }
+        return ids;
+    }
+
+    long primeiroOffset() {
+        return segmentos.firstKey();
+    }
+
+    long proximoOffset() {
+        return proximoOffset;
+    }
+
+    Map<String, Object> estatisticas() {
+        long bytes = 0;
+        for (Segmento segmento : segmentos.values()) {
+            bytes += segmento.tamanho;
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("diretorio", diretorio.toAbsolutePath().toString());
+        stats.put("segmentos", segmentos.size());
+        stats.put("bytes", bytes);
+        stats.put("primeiroOffset", primeiroOffset());
+        stats.put("proximoOffset", proximoOffset);
+        return stats;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segmento segmento : segmentos.values()) {
+            segmento.canal.close();
+        }
+    }
+
+    // ======================= Internos =======================
+
+    private void lerSegmento(Segmento segmento, long desde, int max, List<Evento> resultado) throws IOException {
+        long limite = segmento.tamanho;
+        int entradas = segmento.entradas;
+        long[] indice = segmento.indice;
+        if (entradas == 0) {
+            return;
+        }
+        long posicao = indice[(int) Math.min((desde - segmento.primeiroOffset) / INTERVALO_INDICE, entradas - 1)];
+        ByteBuffer bloco = ByteBuffer.allocate(BLOCO);
+        while (posicao < limite && resultado.size() < max) {
+            bloco.clear().limit((int) Math.min(BLOCO, limite - posicao));
+            lerCompleto(segmento.canal, bloco, posicao);
+            bloco.flip();
+            while (bloco.remaining() >= 4 && resultado.size() < max) {
+                int inicio = bloco.position();
+                int tamanho = bloco.getInt(inicio);
+                if (tamanho > bloco.remaining()) {
+                    break;
+                }
+                if (bloco.getLong(inicio + 4) >= desde) {
+                    resultado.add(decodificar(bloco, inicio, tamanho));
+                }
+                bloco.position(inicio + tamanho);
+            }
+            if (bloco.position() == 0) {
+                throw new IOException("Registro inválido em " + segmento.caminho + " na posição " + posicao);
+            }
+            posicao += bloco.position();
+        }
+    }
+
+    private static Evento decodificar(ByteBuffer bloco, int inicio, int tamanho) {
+        long offset = bloco.getLong(inicio + 4);
+        long id = bloco.getLong(inicio + 12);
+        long idConta = bloco.getLong(inicio + 20);
+        long timestamp = bloco.getLong(inicio + 28);
+        int tamanhoTipo = bloco.getShort(inicio + 36);
+        int inicioTipo = inicio + CABECALHO;
+        int inicioDados = inicioTipo + tamanhoTipo;
+        String tipo = new String(bloco.array(), inicioTipo, tamanhoTipo, StandardCharsets.UTF_8);
+        String dados = new String(bloco.array(), inicioDados, inicio + tamanho - 4 - inicioDados, StandardCharsets.UTF_8);
+        return new Evento(offset, id, tipo, idConta, new Timestamp(timestamp), dados);
+    }
+
+    // Abre um segmento existente, reconstrói o índice e trunca no primeiro registro inválido
+    private Segmento abrir(Path arquivo) throws IOException {
+        String nome = arquivo.getFileName().toString();
+        long primeiroOffset = Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Segmento segmento = new Segmento(primeiroOffset, arquivo, canal);
+        long tamanhoArquivo = canal.size();
+        long posicao = 0;
+        long esperado = primeiroOffset;
+        ByteBuffer bloco = ByteBuffer.allocate(BLOCO);
+        CRC32 verificador = new CRC32();
+        varredura:
+        while (posicao < tamanhoArquivo) {
+            bloco.clear().limit((int) Math.min(BLOCO, tamanhoArquivo - posicao));
+            lerCompleto(canal, bloco, posicao);
+            bloco.flip();
+            while (bloco.remaining() >= 4) {
+                int inicio = bloco.position();
+                int tamanho = bloco.getInt(inicio);
+                if (tamanho < CABECALHO + 4 || tamanho > BLOCO) {
+                    posicao += inicio;
+                    break varredura;
+                }
+                if (tamanho > bloco.remaining()) {
+                    if (posicao + inicio + tamanho > tamanhoArquivo) {
+                        posicao += inicio;
+                        break varredura; // registro parcial no fim do arquivo
+                    }
+                    break; // continua no próximo bloco
+                }
+                verificador.reset();
+                verificador.update(bloco.array(), inicio, tamanho - 4);
+                if (bloco.getLong(inicio + 4) != esperado || bloco.getInt(inicio + tamanho - 4) != (int) verificador.getValue()) {
+                    posicao += inicio;
+                    break varredura;
+                }
+                if ((esperado - primeiroOffset) % INTERVALO_INDICE == 0) {
+                    segmento.indexar(posicao + inicio);
+                }
+                esperado++;
+                bloco.position(inicio + tamanho);
+            }
+            if (bloco.position() == 0) {
+                break;
+            }
+            posicao += bloco.position();
+        }
+        if (posicao < tamanhoArquivo) {
+            log.warn("Log de eventos: {} truncado em {} bytes (registro parcial ou inválido após o offset {})",
+                    arquivo, posicao, esperado - 1);
+            canal.truncate(posicao);
+            canal.force(true);
+        }
+        segmento.registros = esperado - primeiroOffset;
+        segmento.tamanho = posicao;
+        return segmento;
+    }
+
+    private Segmento criarSegmento(long primeiroOffset) throws IOException {
+        Path caminho = diretorio.resolve(String.format("%s%020d%s", PREFIXO, primeiroOffset, SUFIXO));
+        FileChannel canal = FileChannel.open(caminho, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        Segmento segmento = new Segmento(primeiroOffset, caminho, canal);
+        segmentos.put(primeiroOffset, segmento);
+        return segmento;
+    }
+
+    // Apaga os segmentos mais antigos além de maxSegmentos
+    private void aplicarRetencao() throws IOException {
+        while (segmentos.size() > maxSegmentos) {
+            Segmento antigo = segmentos.pollFirstEntry().getValue();
+            antigo.canal.close();
+            Files.deleteIfExists(antigo.caminho);
+            log.info("Log de eventos: segmento {} apagado pela retenção", antigo.caminho.getFileName());
+        }
+    }
+
+    private static void lerCompleto(FileChannel canal, ByteBuffer destino, long posicao) throws IOException {
+        while (destino.hasRemaining()) {
+            if (canal.read(destino, posicao + destino.position()) < 0) {
+                break;
+            }
+        }
+    }
+
+    private static boolean ehSegmento(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        return nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO);
+    }
+
+    private static final class Segmento {
+        final long primeiroOffset;
+        final Path caminho;
+        final FileChannel canal;
+        // Bytes e registros já publicados (leitores não passam daqui)
+        volatile long tamanho;
+        volatile long registros;
+        // Índice esparso: posição do registro primeiroOffset + k * INTERVALO_INDICE
+        volatile long[] indice = new long[16];
+        volatile int entradas;
+
+        Segmento(long primeiroOffset, Path caminho, FileChannel canal) {
+            this.primeiroOffset = primeiroOffset;
+            this.caminho = caminho;
+            this.canal = canal;
+        }
+
+        // Só o escritor chama; o array novo é publicado antes da entrada
+        void indexar(long posicao) {
+            long[] atual = indice;
+            if (entradas == atual.length) {
+                atual = Arrays.copyOf(atual, atual.length * 2);
+            }
+            atual[entradas] = posicao;
+            indice = atual;
+            entradas++;
+        }
+    }
+}
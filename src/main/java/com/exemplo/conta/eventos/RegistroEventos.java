@@ -0,0 +1,82 @@
+package com.exemplo.conta.eventos;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.Map;
+
+/**
+ * Grava os eventos de alteração de conta no outbox (OUTBOX_EVENTO), na transação da alteração:
+ * o evento existe se e somente se a alteração fez commit. O RelayEventos copia o outbox para
+ * o log de eventos.
+ *
+ * Tipos: CONTA_CRIADA, CONTA_ATUALIZADA, CONTA_EXCLUIDA, DEPOSITO, SAQUE, JUROS, TARIFA
+ *
+ * O ID do evento sai da sequence depois que a linha da conta já foi alterada (e bloqueada):
+ * para a mesma conta, a ordem dos IDs é a ordem dos commits.
+ */
+@Component
+public class RegistroEventos {
+
+    public static final String CONTA_CRIADA = "CONTA_CRIADA";
+    public static final String CONTA_ATUALIZADA = "CONTA_ATUALIZADA";
+    public static final String CONTA_EXCLUIDA = "CONTA_EXCLUIDA";
+
+    // Para quem grava o outbox em JDBC batch (projetor do motor, acúmulo de juros/tarifa)
+    public static final String SQL_INSERIR = "INSERT INTO OUTBOX_EVENTO (ID_EVENTO, TIPO, ID_CONTA, DADOS, DATA_EVENTO)"
+            + " VALUES (SEQ_OUTBOX_EVENTO.NEXTVAL, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public RegistroEventos(JdbcTemplate jdbcTemplate, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Grava o evento no outbox (exige transação ativa)
+     * @param dados Conteúdo do evento, gravado como JSON
+     */
+    public void registrar(String tipo, Long idConta, Map<String, Object> dados) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(dados);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Dados do evento " + tipo + " não serializáveis", e);
+        }
+        gravar(tipo, idConta, json);
+    }
+
+    // Evento de movimentação (DEPOSITO, SAQUE, JUROS, TARIFA), na transação da movimentação
+    public void registrarMovimentacao(String tipo, Long idConta, Long idMovimentacao, double valor, double saldo) {
+        gravar(tipo, idConta, movimentacao(idMovimentacao, valor, saldo));
+    }
+
+    private void gravar(String tipo, Long idConta, String json) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Evento " + tipo + " fora de transação: o outbox precisa do mesmo commit da alteração");
+        }
+        // Envia ao banco as alterações pendentes da conta antes de tirar o ID do evento
+        entityManager.flush();
+        jdbcTemplate.update(SQL_INSERIR, linha(tipo, idConta, json, new Timestamp(System.currentTimeMillis())));
+    }
+
+    // Parâmetros de SQL_INSERIR
+    public static Object[] linha(String tipo, long idConta, String dados, Timestamp data) {
+        return new Object[]{tipo, idConta, dados, data};
+    }
+
+    // Dados de uma movimentação (DEPOSITO, SAQUE, JUROS, TARIFA); idMovimentacao null quando gravada em batch
+    public static String movimentacao(Long idMovimentacao, double valor, double saldo) {
+        return (idMovimentacao == null ? "{" : "{\"idMovimentacao\":" + idMovimentacao + ",")
+                + "\"valor\":" + valor + ",\"saldo\":" + saldo + "}";
+    }
+}
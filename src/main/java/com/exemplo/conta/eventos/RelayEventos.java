@@ -0,0 +1,214 @@
+package com.exemplo.conta.eventos;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Relay do outbox: acompanha OUTBOX_EVENTO em lotes, acrescenta os eventos no log de
+ * eventos local (LogEventos) e só então apaga as linhas do outbox
+ *
+ * Se a exclusão falhar (ou o processo cair) depois de gravar no log, as linhas voltam na
+ * próxima leitura: os IDs já gravados e ainda não apagados (na inicialização, os do fim do
+ * log) não são publicados de novo, só apagados. A entrega é pelo menos uma vez no caso
+ * extremo; o id do evento é único e serve de chave de deduplicação para o consumidor.
+ * Um único relay por log (uma instância da aplicação por diretório).
+ *
+ * Os consumidores leem o log a partir de um offset (GET /eventos), em vez de varrer GET /contas.
+ */
+@Component
+public class RelayEventos implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(RelayEventos.class);
+
+    private static final String SQL_PENDENTES = "SELECT ID_EVENTO, TIPO, ID_CONTA, DADOS, DATA_EVENTO FROM OUTBOX_EVENTO"
+            + " ORDER BY ID_EVENTO FETCH FIRST ? ROWS ONLY";
+    private static final String SQL_APAGAR = "DELETE FROM OUTBOX_EVENTO WHERE ID_EVENTO = ?";
+    // Lotes do fim do log relidos na inicialização para não publicar de novo o que não foi apagado
+    private static final int RELEITURA_LOTES = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+    private final String diretorio;
+    private final int tamanhoLote;
+    private final long intervaloMs;
+    private final long tamanhoSegmento;
+    private final int maxSegmentos;
+    private final boolean fsync;
+
+    private LogEventos logEventos;
+    // Eventos gravados no log cujas linhas ainda não foram apagadas do outbox (só a thread do relay usa)
+    private final Set<Long> publicadosNaoApagados = new HashSet<>();
+    private Thread thread;
+    private volatile boolean executando;
+    private volatile long lotes;
+    private volatile long eventos;
+    private volatile long duplicadosIgnorados;
+    private volatile long falhas;
+
+    public RelayEventos(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        @Value("${conta.eventos.diretorio:eventos}") String diretorio,
+                        @Value("${conta.eventos.lote:500}") int tamanhoLote,
+                        @Value("${conta.eventos.intervalo-ms:100}") long intervaloMs,
+                        @Value("${conta.eventos.tamanho-segmento-mb:64}") long tamanhoSegmentoMb,
+                        @Value("${conta.eventos.max-segmentos:20}") int maxSegmentos,
+                        @Value("${conta.eventos.fsync:true}") boolean fsync) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.diretorio = diretorio;
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloMs = intervaloMs;
+        this.tamanhoSegmento = tamanhoSegmentoMb * 1024 * 1024;
+        this.maxSegmentos = maxSegmentos;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Eventos a partir do offset (inclusive). Sem eventos novos, espera até esperaMs por eles.
+     * @throws com.exemplo.conta.exception.EventosExpiradosException se o offset já saiu do log
+     */
+    public List<Evento> ler(long offset, int max, long esperaMs) {
+        try {
+            if (esperaMs > 0) {
+                logEventos.aguardar(offset, esperaMs);
+            }
+            return logEventos.ler(offset, max);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o log de eventos", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        }
+    }
+
+    public long primeiroOffset() {
+        return logEventos.primeiroOffset();
+    }
+
+    public long proximoOffset() {
+        return logEventos.proximoOffset();
+    }
+
+    // ESTATÍSTICAS DO RELAY E DO LOG
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>(logEventos.estatisticas());
+        stats.put("pendentesNoOutbox", jdbcTemplate.queryForObject("SELECT COUNT(*) FROM OUTBOX_EVENTO", Long.class));
+        stats.put("lotes", lotes);
+        stats.put("eventosPublicados", eventos);
+        stats.put("duplicadosIgnorados", duplicadosIgnorados);
+        stats.put("falhas", falhas);
+        return stats;
+    }
+
+    // ======================= Ciclo de vida =======================
+
+    @Override
+    public void start() {
+        try {
+            logEventos = new LogEventos(Paths.get(diretorio), tamanhoSegmento, maxSegmentos, fsync);
+            publicadosNaoApagados.addAll(logEventos.idsRecentes(tamanhoLote * RELEITURA_LOTES));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao abrir o log de eventos", e);
+        }
+        executando = true;
+        thread = new Thread(this::executar, "relay-eventos");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            logEventos.close();
+        } catch (IOException e) {
+            log.warn("Falha ao fechar o log de eventos: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    // Antes do servidor web: GET /eventos precisa do log aberto desde a primeira requisição
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    // ======================= Internos =======================
+
+    private void executar() {
+        while (executando) {
+            int publicados;
+            try {
+                publicados = publicarLote();
+            } catch (RuntimeException | IOException e) {
+                falhas++;
+                log.warn("Relay de eventos: falha ao publicar lote: {}", e.getMessage());
+                publicados = 0;
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+            }
+            // Lote cheio: provavelmente há mais pendentes, segue sem esperar
+            if (publicados < tamanhoLote) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(intervaloMs));
+            }
+        }
+    }
+
+    // Lê um lote do outbox, grava no log e apaga do banco; devolve quantas linhas saíram do outbox
+    private int publicarLote() throws IOException {
+        List<Evento> pendentes = jdbcTemplate.query(SQL_PENDENTES, (rs, i) -> new Evento(-1, rs.getLong(1),
+                rs.getString(2), rs.getLong(3), rs.getTimestamp(5), rs.getString(4)), tamanhoLote);
+        if (pendentes.isEmpty()) {
+            // Outbox vazio: nada gravado no log ficou para apagar
+            publicadosNaoApagados.clear();
+            return 0;
+        }
+        List<Evento> novos = new ArrayList<>(pendentes.size());
+        for (Evento evento : pendentes) {
+            if (publicadosNaoApagados.contains(evento.getId())) {
+                duplicadosIgnorados++;
+            } else {
+                novos.add(evento);
+            }
+        }
+        if (!novos.isEmpty()) {
+            logEventos.anexar(novos);
+            novos.forEach(evento -> publicadosNaoApagados.add(evento.getId()));
+        }
+        List<Object[]> apagar = new ArrayList<>(pendentes.size());
+        pendentes.forEach(evento -> apagar.add(new Object[]{evento.getId()}));
+        transacao.executeWithoutResult(status -> jdbcTemplate.batchUpdate(SQL_APAGAR, apagar));
+        pendentes.forEach(evento -> publicadosNaoApagados.remove(evento.getId()));
+        lotes++;
+        eventos += novos.size();
+        return pendentes.size();
+    }
+}
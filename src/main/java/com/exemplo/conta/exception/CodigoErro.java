@@ -0,0 +1,18 @@
+package com.exemplo.conta.exception;
+
+/**
+ * Códigos de erro de negócio devolvidos no corpo JSON das respostas de erro
+ * O status HTTP de cada código é definido no GlobalExceptionHandler
+ */
+public enum CodigoErro {
+    CONTA_NAO_ENCONTRADA,
+    SALDO_INSUFICIENTE,
+    SALDO_INVALIDO,
+    CPF_JA_CADASTRADO,
+    LIMITE_SAQUE_EXCEDIDO,
+    MUITAS_REQUISICOES,
+    EVENTOS_EXPIRADOS,
+    DADOS_INVALIDOS,
+    RESULTADO_DESCONHECIDO,
+    ERRO_INTERNO
+}
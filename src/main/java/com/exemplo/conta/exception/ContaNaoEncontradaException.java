@@ -0,0 +1,14 @@
+package com.exemplo.conta.exception;
+
+/**
+ * Conta inexistente
+ * Como não carrega estado, usa uma única instância pré-alocada
+ */
+public final class ContaNaoEncontradaException extends NegocioException {
+
+    public static final ContaNaoEncontradaException INSTANCIA = new ContaNaoEncontradaException();
+
+    private ContaNaoEncontradaException() {
+        super(CodigoErro.CONTA_NAO_ENCONTRADA, "Conta não encontrada");
+    }
+}
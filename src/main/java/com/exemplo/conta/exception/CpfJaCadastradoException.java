@@ -0,0 +1,11 @@
+package com.exemplo.conta.exception;
+
+/**
+ * Já existe cliente com o CPF informado
+ */
+public class CpfJaCadastradoException extends NegocioException {
+
+    public CpfJaCadastradoException(String cpf) {
+        super(CodigoErro.CPF_JA_CADASTRADO, "CPF já cadastrado: " + cpf);
+    }
+}
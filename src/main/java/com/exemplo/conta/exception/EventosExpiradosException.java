@@ -0,0 +1,13 @@
+package com.exemplo.conta.exception;
+
+/**
+ * Lançada quando o consumidor pede eventos a partir de um offset que já saiu do log
+ * (segmento apagado pela retenção); o consumidor precisa ressincronizar pela API de contas
+ */
+public class EventosExpiradosException extends NegocioException {
+
+    public EventosExpiradosException(long offset, long primeiroOffset) {
+        super(CodigoErro.EVENTOS_EXPIRADOS, "Offset " + offset + " não está mais no log de eventos."
+                + " Primeiro offset disponível: " + primeiroOffset);
+    }
+}
@@ -0,0 +1,12 @@
+package com.exemplo.conta.exception;
+
+/**
+ * Lançada quando um saque ultrapassa o limite de valor ou de quantidade
+ * permitido dentro da janela deslizante configurada para a conta
+ */
+public class LimiteSaqueExcedidoException extends NegocioException {
+
+    public LimiteSaqueExcedidoException(String mensagem) {
+        super(CodigoErro.LIMITE_SAQUE_EXCEDIDO, mensagem);
+    }
+}
@@ -0,0 +1,22 @@
+package com.exemplo.conta.exception;
+
+/**
+ * Base das exceções de regra de negócio
+ *
+ * Não captura stack trace: são rejeições esperadas (saldo insuficiente, conta
+ * inexistente...) e o custo do fillInStackTrace aparece no profile sob carga.
+ * O tratamento é feito pelo código de erro, nunca pela mensagem.
+ */
+public abstract class NegocioException extends RuntimeException {
+
+    private final CodigoErro codigo;
+
+    protected NegocioException(CodigoErro codigo, String mensagem) {
+        super(mensagem, null, false, false);
+        this.codigo = codigo;
+    }
+
+    public CodigoErro getCodigo() {
+        return codigo;
+    }
+}
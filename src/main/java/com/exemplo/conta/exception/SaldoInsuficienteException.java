@@ -0,0 +1,24 @@
+package com.exemplo.conta.exception;
+
+/**
+ * Saldo menor que o valor do saque
+ * A mensagem com o saldo atual só é formatada quando for lida
+ */
+public class SaldoInsuficienteException extends NegocioException {
+
+    private final double saldoAtual;
+
+    public SaldoInsuficienteException(double saldoAtual) {
+        super(CodigoErro.SALDO_INSUFICIENTE, null);
+        this.saldoAtual = saldoAtual;
+    }
+
+    public double getSaldoAtual() {
+        return saldoAtual;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Saldo insuficiente. Saldo atual: R$ " + String.format("%.2f", saldoAtual);
+    }
+}
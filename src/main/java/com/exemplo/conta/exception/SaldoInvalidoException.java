@@ -0,0 +1,13 @@
+package com.exemplo.conta.exception;
+
+/**
+ * Saldo informado não é um número válido
+ */
+public final class SaldoInvalidoException extends NegocioException {
+
+    public static final SaldoInvalidoException INSTANCIA = new SaldoInvalidoException();
+
+    private SaldoInvalidoException() {
+        super(CodigoErro.SALDO_INVALIDO, "Saldo inválido");
+    }
+}
@@ -0,0 +1,153 @@
+package com.exemplo.conta.extrato;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Escreve o arquivo de extrato de uma conta por vez, com buffers reaproveitados
+ *
+ * O texto é montado em um StringBuilder e, a cada BLOCO caracteres, codificado em UTF-8
+ * direto para um ByteBuffer e gravado no FileChannel: a memória por thread fica limitada
+ * aos dois buffers, qualquer que seja o número de movimentações da conta.
+ * Não é thread-safe: um escritor por partição.
+ */
+final class EscritorExtrato implements AutoCloseable {
+
+    private static final int BLOCO = 32 * 1024;
+
+    private final StringBuilder texto = new StringBuilder(BLOCO + 1024);
+    private final StringBuilder rascunho = new StringBuilder(32);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BLOCO * 4);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private FileChannel canal;
+    private long bytes;
+
+    // Abre (ou sobrescreve) o arquivo do extrato
+    void abrir(Path arquivo) throws IOException {
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        texto.setLength(0);
+        encoder.reset();
+    }
+
+    StringBuilder texto() {
+        return texto;
+    }
+
+    // Grava o texto acumulado quando passar do tamanho do bloco
+    void descarregarSeCheio() throws IOException {
+        if (texto.length() >= BLOCO) {
+            descarregar(false);
+        }
+    }
+
+    // Grava o restante e fecha o arquivo
+    void fechar() throws IOException {
+        try {
+            descarregar(true);
+        } finally {
+            canal.close();
+            canal = null;
+        }
+    }
+
+    // Total de bytes gravados por este escritor
+    long bytes() {
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (canal != null) {
+            canal.close();
+            canal = null;
+        }
+    }
+
+    private void descarregar(boolean fim) throws IOException {
+        CharBuffer entrada = CharBuffer.wrap(texto);
+        while (true) {
+            CoderResult resultado = encoder.encode(entrada, buffer, fim);
+            if (resultado.isError()) {
+                resultado.throwException();
+            }
+            gravarBuffer();
+            if (resultado.isUnderflow()) {
+                break;
+            }
+        }
+        if (fim) {
+            encoder.flush(buffer);
+            gravarBuffer();
+        }
+        // Um surrogate sozinho no fim do bloco fica para o próximo
+        texto.delete(0, entrada.position());
+    }
+
+    private void gravarBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytes += canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // ======================= Formatação =======================
+
+    // Valor em centavos como 1234.56 (com sinal quando pedido)
+    static void valor(StringBuilder destino, long centavos, boolean comSinal) {
+        if (centavos < 0) {
+            destino.append('-');
+            centavos = -centavos;
+        } else if (comSinal) {
+            destino.append('+');
+        }
+        destino.append(centavos / 100).append('.');
+        long resto = centavos % 100;
+        if (resto < 10) {
+            destino.append('0');
+        }
+        destino.append(resto);
+    }
+
+    // Data e hora como AAAA-MM-DD HH:MM:SS
+    static void dataHora(StringBuilder destino, Timestamp data) {
+        LocalDateTime momento = data.toLocalDateTime();
+        destino.append(momento.getYear()).append('-');
+        doisDigitos(destino, momento.getMonthValue());
+        destino.append('-');
+        doisDigitos(destino, momento.getDayOfMonth());
+        destino.append(' ');
+        doisDigitos(destino, momento.getHour());
+        destino.append(':');
+        doisDigitos(destino, momento.getMinute());
+        destino.append(':');
+        doisDigitos(destino, momento.getSecond());
+    }
+
+    // Valor alinhado à direita em uma coluna de largura fixa
+    void valorAlinhado(long centavos, boolean comSinal, int largura) {
+        rascunho.setLength(0);
+        valor(rascunho, centavos, comSinal);
+        for (int i = rascunho.length(); i < largura; i++) {
+            texto.append(' ');
+        }
+        texto.append(rascunho);
+    }
+
+    private static void doisDigitos(StringBuilder destino, int valor) {
+        if (valor < 10) {
+            destino.append('0');
+        }
+        destino.append(valor);
+    }
+}
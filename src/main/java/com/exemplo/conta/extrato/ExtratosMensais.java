@@ -0,0 +1,232 @@
+package com.exemplo.conta.extrato;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Geração dos extratos mensais de todas as contas em arquivos
+ *
+ * Um arquivo por conta em conta.extratos.diretorio/AAAA-MM/, agrupados em subdiretórios
+ * de mil contas. As contas são divididas em faixas de ID geradas em paralelo em um
+ * ForkJoinPool limitado (conta.extratos.paralelismo, que deve caber no pool de conexões);
+ * cada partição lê as movimentações do mês em streaming, junto com conta e cliente, e
+ * guarda seu progresso em MOTOR_CHECKPOINT (extrato-AAAA-MM/particoes/n). Gerar de novo
+ * o mesmo mês só completa as partições que ficaram pela metade.
+ *
+ * O extrato lê só a tabela MOVIMENTACAO: o mês precisa estar dentro da janela quente do
+ * arquivamento (conta.arquivo.janela-dias). Com conta.extratos.habilitado=true, todo dia
+ * em conta.extratos.horario é gerado o mês anterior (nos dias seguintes ao primeiro, só
+ * confere os checkpoints e retoma o que tiver falhado).
+ */
+@Component
+public class ExtratosMensais implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtratosMensais.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean habilitado;
+    private final Path diretorio;
+    private final LocalTime horario;
+    private final int paralelismo;
+    private final int particoes;
+    private final int tamanhoLote;
+
+    private final ForkJoinPool pool;
+    private ScheduledExecutorService agendador;
+    private volatile boolean executando;
+    private volatile Map<String, Object> ultimaExecucao;
+
+    public ExtratosMensais(JdbcTemplate jdbcTemplate,
+                           @Value("${conta.extratos.habilitado:false}") boolean habilitado,
+                           @Value("${conta.extratos.diretorio:extratos}") String diretorio,
+                           @Value("${conta.extratos.horario:03:00}") String horario,
+                           @Value("${conta.extratos.paralelismo:4}") int paralelismo,
+                           @Value("${conta.extratos.particoes:16}") int particoes,
+                           @Value("${conta.extratos.lote:1000}") int tamanhoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.habilitado = habilitado;
+        this.diretorio = Paths.get(diretorio);
+        this.horario = LocalTime.parse(horario);
+        this.paralelismo = paralelismo;
+        this.particoes = particoes;
+        this.tamanhoLote = tamanhoLote;
+        this.pool = new ForkJoinPool(paralelismo);
+    }
+
+    // GERAR OS EXTRATOS DO MÊS (retoma as partições incompletas de uma execução anterior)
+    public synchronized Map<String, Object> executar(YearMonth mes) {
+        long inicio = System.nanoTime();
+        String chave = "extrato-" + mes;
+        Path pasta = diretorio.resolve(mes.toString());
+        try {
+            Files.createDirectories(pasta);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar " + pasta, e);
+        }
+        Timestamp inicioMes = Timestamp.valueOf(mes.atDay(1).atStartOfDay());
+        Timestamp fimMes = Timestamp.valueOf(mes.plusMonths(1).atDay(1).atStartOfDay());
+        String cabecalho = String.format("EXTRATO MENSAL %02d/%d\nPeríodo: %s a %s\n", mes.getMonthValue(), mes.getYear(),
+                mes.atDay(1), mes.atEndOfMonth());
+
+        // A faixa de contas é fixada na primeira execução do mês (contas abertas depois ficam de fora)
+        long ultimaConta = checkpoint(chave,
+                () -> jdbcTemplate.queryForObject("SELECT COALESCE(MAX(ID_CONTA), 0) FROM CONTA", Long.class));
+        long tamanhoFaixa = Math.max(1, (ultimaConta + particoes - 1) / particoes);
+
+        List<ParticaoExtratos> pendentes = new ArrayList<>();
+        int concluidasAntes = 0;
+        for (int p = 0; p < particoes; p++) {
+            long de = Math.min(ultimaConta, p * tamanhoFaixa);
+            long ate = Math.min(ultimaConta, de + tamanhoFaixa);
+            if (de >= ate) {
+                continue;
+            }
+            String nome = chave + "/" + particoes + "/" + p;
+            long progresso = checkpoint(nome, () -> de);
+            if (progresso >= ate) {
+                concluidasAntes++;
+                continue;
+            }
+            pendentes.add(new ParticaoExtratos(jdbcTemplate, pasta, nome, p, progresso, ate, tamanhoLote,
+                    inicioMes, fimMes, cabecalho));
+        }
+
+        List<Map<String, Object>> metricas = new ArrayList<>();
+        List<String> falhas = new ArrayList<>();
+        long contas = 0;
+        long movimentacoes = 0;
+        long bytes = 0;
+        for (Future<Map<String, Object>> resultado : pool.invokeAll(pendentes)) {
+            try {
+                Map<String, Object> particao = resultado.get();
+                metricas.add(particao);
+                contas += (Long) particao.get("contas");
+                movimentacoes += (Long) particao.get("movimentacoes");
+                bytes += (Long) particao.get("bytes");
+            } catch (ExecutionException e) {
+                falhas.add(e.getCause().toString());
+                log.error("Extratos {}: partição falhou (será retomada na próxima execução)", mes, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                falhas.add("interrompida");
+            }
+        }
+
+        long nanos = System.nanoTime() - inicio;
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("mes", mes.toString());
+        resumo.put("diretorio", pasta.toAbsolutePath().toString());
+        resumo.put("ateConta", ultimaConta);
+        resumo.put("particoesJaConcluidas", concluidasAntes);
+        resumo.put("contas", contas);
+        resumo.put("movimentacoes", movimentacoes);
+        resumo.put("bytes", bytes);
+        resumo.put("duracaoMs", nanos / 1_000_000);
+        resumo.put("contasPorSegundo", nanos == 0 ? 0 : Math.round(contas * 1e9 / nanos));
+        resumo.put("falhas", falhas);
+        resumo.put("particoes", metricas);
+        if (!pendentes.isEmpty()) {
+            log.info("Extratos {}: {} contas, {} movimentações em {} ms ({} partições, {} falhas)",
+                    mes, contas, movimentacoes, nanos / 1_000_000, pendentes.size(), falhas.size());
+        }
+        ultimaExecucao = resumo;
+        return resumo;
+    }
+
+    // CONFIGURAÇÃO E MÉTRICAS DA ÚLTIMA EXECUÇÃO (por partição)
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("habilitado", habilitado);
+        stats.put("diretorio", diretorio.toAbsolutePath().toString());
+        stats.put("horario", horario.toString());
+        stats.put("paralelismo", paralelismo);
+        stats.put("particoes", particoes);
+        stats.put("lote", tamanhoLote);
+        stats.put("ultimaExecucao", ultimaExecucao);
+        return stats;
+    }
+
+    // ======================= Ciclo de vida =======================
+
+    @Override
+    public void start() {
+        executando = true;
+        if (!habilitado) {
+            return;
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "extratos-mensais");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime proxima = agora.toLocalDate().atTime(horario);
+        if (!proxima.isAfter(agora)) {
+            proxima = proxima.plusDays(1);
+        }
+        agendador.scheduleAtFixedRate(this::executarAgendado, Duration.between(agora, proxima).toMinutes(),
+                TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        pool.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    // ======================= Internos =======================
+
+    private void executarAgendado() {
+        try {
+            executar(YearMonth.now().minusMonths(1));
+        } catch (RuntimeException e) {
+            log.error("Geração dos extratos mensais falhou", e);
+        }
+    }
+
+    // Lê o checkpoint ou cria com o valor inicial
+    private long checkpoint(String nome, LongSupplier inicial) {
+        List<Long> atual = jdbcTemplate.queryForList(
+                "SELECT SEQUENCIA FROM MOTOR_CHECKPOINT WHERE NOME = ?", Long.class, nome);
+        if (!atual.isEmpty()) {
+            return atual.get(0);
+        }
+        long valor = inicial.getAsLong();
+        jdbcTemplate.update("INSERT INTO MOTOR_CHECKPOINT (NOME, SEQUENCIA) VALUES (?, ?)", nome, valor);
+        return valor;
+    }
+}
@@ -0,0 +1,224 @@
+package com.exemplo.conta.extrato;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Gera os extratos do mês das contas de uma faixa de IDs (inicio, fim]
+ *
+ * Para cada lote de contas, uma única consulta traz conta, cliente e movimentações desde
+ * o início do mês ordenadas por (ID_CONTA, DATA_MOV), lida em streaming: cada conta vira
+ * um arquivo assim que a próxima começa, sem guardar o lote em memória. O saldo anterior
+ * sai do saldo atual menos a soma das movimentações desde o início do mês, calculada na
+ * mesma consulta (mesma leitura consistente). Depois de fechar os arquivos do lote, o
+ * checkpoint da partição avança; uma execução interrompida refaz só o lote incompleto.
+ */
+final class ParticaoExtratos implements Callable<Map<String, Object>> {
+
+    private static final String SQL_CONTAS =
+            "SELECT ID_CONTA FROM CONTA WHERE ID_CONTA > ? AND ID_CONTA <= ? ORDER BY ID_CONTA FETCH FIRST ? ROWS ONLY";
+    private static final String SQL_EXTRATOS =
+            "SELECT c.ID_CONTA, c.SALDO, cl.NOME, cl.CPF, m.TIPO, m.VALOR, m.DATA_MOV,"
+            + " SUM(CASE WHEN m.TIPO IN ('DEPOSITO', 'JUROS') THEN m.VALOR WHEN m.TIPO IS NULL THEN 0 ELSE -m.VALOR END)"
+            + " OVER (PARTITION BY c.ID_CONTA)"
+            + " FROM CONTA c JOIN CLIENTE cl ON cl.ID_CLIENTE = c.ID_CLIENTE"
+            + " LEFT JOIN MOVIMENTACAO m ON m.ID_CONTA = c.ID_CONTA AND m.DATA_MOV >= ?"
+            + " WHERE c.ID_CONTA > ? AND c.ID_CONTA <= ?"
+            + " ORDER BY c.ID_CONTA, m.DATA_MOV, m.ID_MOV";
+    private static final String SQL_CHECKPOINT = "UPDATE MOTOR_CHECKPOINT SET SEQUENCIA = ? WHERE NOME = ?";
+    private static final int LEITURA = 1000;
+    // Contas por subdiretório (evita um diretório com milhões de arquivos)
+    private static final long CONTAS_POR_DIRETORIO = 1000;
+    private static final int COLUNA_VALOR = 14;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path diretorio;
+    private final String nomeCheckpoint;
+    private final int numero;
+    private final long inicio;
+    private final long fim;
+    private final int tamanhoLote;
+    private final Timestamp inicioMes;
+    private final Timestamp fimMes;
+    private final String cabecalho;
+
+    // Conta em andamento no streaming
+    private final EscritorExtrato escritor = new EscritorExtrato();
+    private long contaAtual;
+    private long saldoCentavos;
+    private long creditos;
+    private long debitos;
+    private int movimentacoesConta;
+    private long diretorioCriado = -1;
+
+    private long contas;
+    private long movimentacoes;
+
+    ParticaoExtratos(JdbcTemplate jdbcTemplate, Path diretorio, String nomeCheckpoint, int numero,
+                     long retomarApos, long fim, int tamanhoLote, Timestamp inicioMes, Timestamp fimMes,
+                     String cabecalho) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.diretorio = diretorio;
+        this.nomeCheckpoint = nomeCheckpoint;
+        this.numero = numero;
+        this.inicio = retomarApos;
+        this.fim = fim;
+        this.tamanhoLote = tamanhoLote;
+        this.inicioMes = inicioMes;
+        this.fimMes = fimMes;
+        this.cabecalho = cabecalho;
+    }
+
+    @Override
+    public Map<String, Object> call() throws IOException {
+        long comeco = System.nanoTime();
+        long lotes = 0;
+        long ultima = inicio;
+        try {
+            while (ultima < fim) {
+                long[] ids = new long[1];
+                int[] quantidade = new int[1];
+                jdbcTemplate.query(SQL_CONTAS, (RowCallbackHandler) linha -> {
+                    ids[0] = linha.getLong(1);
+                    quantidade[0]++;
+                }, ultima, fim, tamanhoLote);
+                // Lote incompleto = fim da faixa: o checkpoint vai direto para o fim
+                long limite = quantidade[0] < tamanhoLote ? fim : ids[0];
+                gerarLote(ultima, limite);
+                jdbcTemplate.update(SQL_CHECKPOINT, limite, nomeCheckpoint);
+                lotes++;
+                ultima = limite;
+            }
+        } finally {
+            escritor.close();
+        }
+
+        long nanos = System.nanoTime() - comeco;
+        Map<String, Object> metricas = new LinkedHashMap<>();
+        metricas.put("particao", numero);
+        metricas.put("faixa", inicio + " < ID_CONTA <= " + fim);
+        metricas.put("contas", contas);
+        metricas.put("movimentacoes", movimentacoes);
+        metricas.put("bytes", escritor.bytes());
+        metricas.put("lotes", lotes);
+        metricas.put("duracaoMs", nanos / 1_000_000);
+        metricas.put("contasPorSegundo", nanos == 0 ? 0 : Math.round(contas * 1e9 / nanos));
+        return metricas;
+    }
+
+    // Um arquivo por conta de (de, ate], em uma passada pelo cursor
+    private void gerarLote(long de, long ate) throws IOException {
+        contaAtual = -1;
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SQL_EXTRATOS);
+                ps.setFetchSize(LEITURA);
+                ps.setTimestamp(1, inicioMes);
+                ps.setLong(2, de);
+                ps.setLong(3, ate);
+                return ps;
+            }, (RowCallbackHandler) this::linha);
+            if (contaAtual >= 0) {
+                fecharConta();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void linha(ResultSet rs) throws SQLException {
+        try {
+            long idConta = rs.getLong(1);
+            if (idConta != contaAtual) {
+                if (contaAtual >= 0) {
+                    fecharConta();
+                }
+                // Saldo anterior = saldo atual - movimentações desde o início do mês
+                abrirConta(idConta, rs.getString(3), rs.getString(4),
+                        Math.round(rs.getDouble(2) * 100) - Math.round(rs.getDouble(8) * 100));
+            }
+            String tipo = rs.getString(5);
+            Timestamp data = rs.getTimestamp(7);
+            // Sem movimentações (LEFT JOIN) ou posteriores ao mês: fora do extrato
+            if (tipo != null && data.before(fimMes)) {
+                long valor = Math.round(rs.getDouble(6) * 100);
+                boolean credito = "DEPOSITO".equals(tipo) || "JUROS".equals(tipo);
+                movimentacao(data, tipo, credito ? valor : -valor);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void abrirConta(long idConta, String nome, String cpf, long saldoAnterior) throws IOException {
+        long subdiretorio = idConta / CONTAS_POR_DIRETORIO;
+        Path pasta = diretorio.resolve(String.format("%06d", subdiretorio));
+        if (subdiretorio != diretorioCriado) {
+            Files.createDirectories(pasta);
+            diretorioCriado = subdiretorio;
+        }
+        escritor.abrir(pasta.resolve("extrato-" + idConta + ".txt"));
+        contaAtual = idConta;
+        saldoCentavos = saldoAnterior;
+        creditos = 0;
+        debitos = 0;
+        movimentacoesConta = 0;
+
+        StringBuilder texto = escritor.texto();
+        texto.append(cabecalho);
+        texto.append("Conta: ").append(idConta).append('\n');
+        texto.append("Titular: ").append(nome).append("  CPF: ").append(cpf).append("\n\n");
+        texto.append("DATA                 TIPO               VALOR          SALDO\n");
+        texto.append("Saldo anterior                               ");
+        escritor.valorAlinhado(saldoAnterior, false, COLUNA_VALOR + 1);
+        texto.append('\n');
+    }
+
+    private void movimentacao(Timestamp data, String tipo, long valor) throws IOException {
+        saldoCentavos += valor;
+        if (valor >= 0) {
+            creditos += valor;
+        } else {
+            debitos -= valor;
+        }
+        movimentacoesConta++;
+
+        StringBuilder texto = escritor.texto();
+        EscritorExtrato.dataHora(texto, data);
+        texto.append("  ").append(tipo);
+        for (int i = tipo.length(); i < 10; i++) {
+            texto.append(' ');
+        }
+        escritor.valorAlinhado(valor, true, COLUNA_VALOR);
+        texto.append(' ');
+        escritor.valorAlinhado(saldoCentavos, false, COLUNA_VALOR);
+        texto.append('\n');
+        escritor.descarregarSeCheio();
+    }
+
+    private void fecharConta() throws IOException {
+        StringBuilder texto = escritor.texto();
+        texto.append("Saldo final                                  ");
+        escritor.valorAlinhado(saldoCentavos, false, COLUNA_VALOR + 1);
+        texto.append("\n\nMovimentações: ").append(movimentacoesConta).append("  Créditos: ");
+        EscritorExtrato.valor(texto, creditos, false);
+        texto.append("  Débitos: ");
+        EscritorExtrato.valor(texto, debitos, false);
+        texto.append('\n');
+        escritor.fechar();
+        contas++;
+        movimentacoes += movimentacoesConta;
+    }
+}
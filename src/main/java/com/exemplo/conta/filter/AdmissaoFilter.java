@@ -0,0 +1,271 @@
+package com.exemplo.conta.filter;
+
+import com.exemplo.conta.exception.CodigoErro;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controle de admissão na frente do ContaController
+ *
+ * 1. Token bucket por cliente (IP de origem)
+ * 2. Token bucket por conta (/contas/{id}/...)
+ * 3. Limite global de concorrência que se adapta à latência (AIMD)
+ *
+ * Requisições recusadas recebem 429 na hora, sem ocupar conexão do pool.
+ * O cliente é o getRemoteAddr(), nunca um header enviado pelo próprio cliente; atrás de
+ * proxy, server.forward-headers-strategy faz o Tomcat aceitar X-Forwarded-For só dos
+ * proxies internos.
+ * Buckets ociosos são removidos por uma thread separada a partir de 90% de max-chaves;
+ * com o mapa cheio, chaves novas são recusadas (contadas e logadas) até a limpeza liberar espaço.
+ * Roda antes do ServerTimingFilter: uma recusa não abre SqlRequisicao nem envolve a resposta.
+ */
+@Component
+@Order(AdmissaoFilter.ORDEM)
+public class AdmissaoFilter extends OncePerRequestFilter {
+
+    // Depois do CharacterEncodingFilter (HIGHEST_PRECEDENCE) e antes dos demais filtros da aplicação
+    public static final int ORDEM = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissaoFilter.class);
+
+    private static final String PREFIXO = "/contas";
+
+    // Corpos de erro pré-serializados (mesmo formato do ErroDTO), sem alocar por recusa
+    private static final byte[] ERRO_CLIENTE = corpoErro("Limite de requisições do cliente excedido");
+    private static final byte[] ERRO_CONTA = corpoErro("Limite de requisições da conta excedido");
+    private static final byte[] ERRO_SOBRECARGA = corpoErro("Servidor sobrecarregado, tente novamente");
+
+    private final boolean habilitado;
+    private final double taxaCliente;
+    private final int rajadaCliente;
+    private final double taxaConta;
+    private final int rajadaConta;
+    private final int maxChaves;
+    private final int inicioLimpeza;
+
+    private final Map<String, TokenBucket> bucketsCliente = new ConcurrentHashMap<>();
+    private final Map<Long, TokenBucket> bucketsConta = new ConcurrentHashMap<>();
+    private final LimiteConcorrenciaAdaptativo concorrencia;
+    private final AtomicLong recusadasPorSaturacao = new AtomicLong();
+    private final AtomicLong bucketsRemovidos = new AtomicLong();
+    private final AtomicBoolean limpezaAgendada = new AtomicBoolean();
+    private final AtomicBoolean saturado = new AtomicBoolean();
+    private final ExecutorService limpeza = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "admissao-limpeza");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AdmissaoFilter(@Value("${conta.admissao.habilitado:true}") boolean habilitado,
+                          @Value("${conta.admissao.cliente.taxa-por-segundo:50}") double taxaCliente,
+                          @Value("${conta.admissao.cliente.rajada:100}") int rajadaCliente,
+                          @Value("${conta.admissao.conta.taxa-por-segundo:10}") double taxaConta,
+                          @Value("${conta.admissao.conta.rajada:20}") int rajadaConta,
+                          @Value("${conta.admissao.max-chaves:100000}") int maxChaves,
+                          @Value("${conta.admissao.concorrencia.inicial:20}") int limiteInicial,
+                          @Value("${conta.admissao.concorrencia.minimo:4}") int limiteMinimo,
+                          @Value("${conta.admissao.concorrencia.maximo:200}") int limiteMaximo,
+                          @Value("${conta.admissao.concorrencia.tolerancia:2.0}") double tolerancia,
+                          @Value("${conta.admissao.concorrencia.fator-reducao:0.95}") double fatorReducao) {
+        this.habilitado = habilitado;
+        this.taxaCliente = taxaCliente;
+        this.rajadaCliente = rajadaCliente;
+        this.taxaConta = taxaConta;
+        this.rajadaConta = rajadaConta;
+        this.maxChaves = maxChaves;
+        this.inicioLimpeza = (int) (maxChaves * 0.9);
+        this.concorrencia = new LimiteConcorrenciaAdaptativo(limiteInicial, limiteMinimo, limiteMaximo,
+                tolerancia, fatorReducao);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado
+                || "OPTIONS".equals(request.getMethod())
+                || !request.getRequestURI().startsWith(PREFIXO);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long agora = System.nanoTime();
+
+        // 1. Limite por cliente
+        TokenBucket doCliente = bucketDoCliente(request.getRemoteAddr());
+        if (doCliente == null) {
+            recusar(response, TimeUnit.SECONDS.toNanos(1), ERRO_SOBRECARGA);
+            return;
+        }
+        long espera = doCliente.tentarConsumir(agora);
+        if (espera > 0) {
+            recusar(response, espera, ERRO_CLIENTE);
+            return;
+        }
+
+        // 2. Limite por conta
+        Long idConta = idContaDaUri(request.getRequestURI());
+        if (idConta != null) {
+            TokenBucket daConta = bucketDaConta(idConta);
+            if (daConta == null) {
+                recusar(response, TimeUnit.SECONDS.toNanos(1), ERRO_SOBRECARGA);
+                return;
+            }
+            espera = daConta.tentarConsumir(agora);
+            if (espera > 0) {
+                recusar(response, espera, ERRO_CONTA);
+                return;
+            }
+        }
+
+        // 3. Concorrência global adaptativa
+        if (!concorrencia.tentarAdquirir()) {
+            recusar(response, TimeUnit.SECONDS.toNanos(1), ERRO_SOBRECARGA);
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concorrencia.liberar(endpoint(request), System.nanoTime() - inicio);
+        }
+    }
+
+    // ESTATÍSTICAS DO CONTROLE DE ADMISSÃO
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("habilitado", habilitado);
+        stats.put("limiteConcorrencia", concorrencia.limite());
+        stats.put("emVoo", concorrencia.emVoo());
+        stats.put("latenciasMinimasMs", concorrencia.latenciasMinimasMs());
+        stats.put("recusadasPorConcorrencia", concorrencia.recusadas());
+        stats.put("clientesMonitorados", bucketsCliente.size());
+        stats.put("contasMonitoradas", bucketsConta.size());
+        stats.put("maxChaves", maxChaves);
+        stats.put("saturado", saturado.get());
+        stats.put("recusadasPorSaturacao", recusadasPorSaturacao.get());
+        stats.put("bucketsRemovidos", bucketsRemovidos.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void parar() {
+        limpeza.shutdownNow();
+    }
+
+    // Método + padrão do mapeamento (POST /contas/{id}/saque); null quando nenhum handler atendeu
+    private static String endpoint(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? request.getMethod() + " " + padrao : null;
+    }
+
+    // Extrai o {id} de /contas/{id} ou /contas/{id}/... sem regex nem split
+    static Long idContaDaUri(String uri) {
+        int inicio = PREFIXO.length() + 1;
+        if (uri.length() <= inicio || uri.charAt(inicio - 1) != '/') {
+            return null;
+        }
+        long id = 0;
+        int i = inicio;
+        for (; i < uri.length() && uri.charAt(i) != '/'; i++) {
+            char c = uri.charAt(i);
+            if (c < '0' || c > '9' || i - inicio >= 18) {
+                return null;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return i == inicio ? null : id;
+    }
+
+    private TokenBucket bucketDoCliente(String cliente) {
+        TokenBucket bucket = bucketsCliente.get(cliente);
+        if (bucket != null || !temEspaco(bucketsCliente)) {
+            return bucket;
+        }
+        return bucketsCliente.computeIfAbsent(cliente, c -> new TokenBucket(taxaCliente, rajadaCliente));
+    }
+
+    private TokenBucket bucketDaConta(Long idConta) {
+        TokenBucket bucket = bucketsConta.get(idConta);
+        if (bucket != null || !temEspaco(bucketsConta)) {
+            return bucket;
+        }
+        return bucketsConta.computeIfAbsent(idConta, c -> new TokenBucket(taxaConta, rajadaConta));
+    }
+
+    // Só olha o tamanho; a varredura fica com a thread de limpeza (false = mapa cheio, recusar)
+    private boolean temEspaco(Map<?, TokenBucket> buckets) {
+        int tamanho = buckets.size();
+        if (tamanho >= inicioLimpeza) {
+            agendarLimpeza();
+        }
+        if (tamanho < maxChaves) {
+            return true;
+        }
+        recusadasPorSaturacao.incrementAndGet();
+        if (saturado.compareAndSet(false, true)) {
+            log.warn("Admissão: {} chaves monitoradas (max-chaves); chaves novas recebem 429"
+                    + " até a limpeza liberar espaço (ver recusadasPorSaturacao em /admin/admissao)", tamanho);
+        }
+        return false;
+    }
+
+    // Buckets ociosos estão cheios: descartar não muda nenhuma decisão futura (uma limpeza por vez)
+    private void agendarLimpeza() {
+        if (limpezaAgendada.compareAndSet(false, true)) {
+            limpeza.execute(() -> {
+                try {
+                    long agora = System.nanoTime();
+                    int antes = bucketsCliente.size() + bucketsConta.size();
+                    bucketsCliente.values().removeIf(b -> b.ocioso(agora));
+                    bucketsConta.values().removeIf(b -> b.ocioso(agora));
+                    bucketsRemovidos.addAndGet(antes - bucketsCliente.size() - bucketsConta.size());
+                    if (bucketsCliente.size() < maxChaves && bucketsConta.size() < maxChaves
+                            && saturado.compareAndSet(true, false)) {
+                        log.info("Admissão: limpeza liberou espaço, {} clientes e {} contas monitorados",
+                                bucketsCliente.size(), bucketsConta.size());
+                    }
+                } finally {
+                    limpezaAgendada.set(false);
+                }
+            });
+        }
+    }
+
+    private static void recusar(HttpServletResponse response, long esperaNanos, byte[] corpo) throws IOException {
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(segundos));
+        response.setContentType("application/json;charset=UTF-8");
+        response.setContentLength(corpo.length);
+        response.getOutputStream().write(corpo);
+    }
+
+    private static byte[] corpoErro(String mensagem) {
+        return ("{\"status\":" + HttpStatus.TOO_MANY_REQUESTS.value()
+                + ",\"codigo\":\"" + CodigoErro.MUITAS_REQUISICOES.name()
+                + "\",\"mensagem\":\"" + mensagem + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+}
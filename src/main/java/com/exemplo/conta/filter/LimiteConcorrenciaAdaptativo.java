@@ -0,0 +1,127 @@
+package com.exemplo.conta.filter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite global de requisições simultâneas que se adapta à latência (AIMD)
+ *
+ * - Aumento aditivo: enquanto a latência fica perto da mínima observada e o
+ *   limite está sendo usado, o limite cresce ~1 a cada "limite" respostas.
+ * - Redução multiplicativa: quando a latência passa de tolerancia x mínima
+ *   (fila no pool do Hikari / no Oracle), o limite é multiplicado por fatorReducao.
+ *
+ * A latência mínima é guardada por endpoint: um extrato que sempre leva 10x um saque
+ * é comparado com o próprio histórico, e tráfego misto não derruba o limite até o mínimo.
+ * Endpoints além de MAX_ENDPOINTS (ou sem mapeamento, como 404) dividem uma base só.
+ *
+ * O limite é guardado em milésimos num AtomicLong para permitir frações sem locks.
+ */
+final class LimiteConcorrenciaAdaptativo {
+
+    private static final long ESCALA = 1000;
+    // A latência mínima "envelhece" a cada N amostras para acompanhar mudanças de carga
+    private static final int AMOSTRAS_POR_RENOVACAO = 1000;
+    private static final int MAX_ENDPOINTS = 64;
+    static final String OUTROS = "outros";
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final double tolerancia;
+    private final double fatorReducao;
+
+    private final AtomicInteger emVoo = new AtomicInteger();
+    private final AtomicLong limiteMilesimos;
+    private final Map<String, LatenciaBase> bases = new ConcurrentHashMap<>();
+    private final AtomicLong recusadas = new AtomicLong();
+
+    LimiteConcorrenciaAdaptativo(int limiteInicial, int limiteMinimo, int limiteMaximo,
+                                 double tolerancia, double fatorReducao) {
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.tolerancia = tolerancia;
+        this.fatorReducao = fatorReducao;
+        this.limiteMilesimos = new AtomicLong(limiteInicial * ESCALA);
+    }
+
+    // ADQUIRIR UMA VAGA (false = recusar imediatamente, sem fila)
+    boolean tentarAdquirir() {
+        int limite = limite();
+        for (;;) {
+            int atual = emVoo.get();
+            if (atual >= limite) {
+                recusadas.incrementAndGet();
+                return false;
+            }
+            if (emVoo.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // LIBERAR A VAGA E AJUSTAR O LIMITE PELA LATÊNCIA OBSERVADA NO ENDPOINT
+    void liberar(String endpoint, long latenciaNanos) {
+        int emVooAntes = emVoo.getAndDecrement();
+
+        long minima = baseDe(endpoint).registrar(latenciaNanos);
+
+        if (latenciaNanos > minima * tolerancia) {
+            limiteMilesimos.updateAndGet(l -> Math.max((long) (l * fatorReducao), limiteMinimo * ESCALA));
+        } else if (emVooAntes * 2 >= limite()) {
+            limiteMilesimos.updateAndGet(l -> Math.min(l + ESCALA * ESCALA / l, limiteMaximo * ESCALA));
+        }
+    }
+
+    int limite() {
+        return (int) (limiteMilesimos.get() / ESCALA);
+    }
+
+    int emVoo() {
+        return emVoo.get();
+    }
+
+    // Latência mínima de cada endpoint, em ms
+    Map<String, Double> latenciasMinimasMs() {
+        Map<String, Double> minimas = new LinkedHashMap<>();
+        bases.forEach((endpoint, base) -> minimas.put(endpoint, base.minimaNanos() / 1_000_000.0));
+        return minimas;
+    }
+
+    long recusadas() {
+        return recusadas.get();
+    }
+
+    private LatenciaBase baseDe(String endpoint) {
+        LatenciaBase base = endpoint != null ? bases.get(endpoint) : null;
+        if (base != null) {
+            return base;
+        }
+        if (endpoint == null || bases.size() >= MAX_ENDPOINTS) {
+            return bases.computeIfAbsent(OUTROS, e -> new LatenciaBase());
+        }
+        return bases.computeIfAbsent(endpoint, e -> new LatenciaBase());
+    }
+
+    // Latência mínima de um endpoint, com envelhecimento
+    private static final class LatenciaBase {
+
+        private final AtomicLong minimaNanos = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong amostras = new AtomicLong();
+
+        long registrar(long latenciaNanos) {
+            if (amostras.incrementAndGet() % AMOSTRAS_POR_RENOVACAO == 0) {
+                // Deixa a mínima subir 10% para não ficar presa a um valor antigo
+                minimaNanos.updateAndGet(m -> m == Long.MAX_VALUE ? m : m + m / 10);
+            }
+            return minimaNanos.accumulateAndGet(latenciaNanos, Math::min);
+        }
+
+        long minimaNanos() {
+            long minima = minimaNanos.get();
+            return minima == Long.MAX_VALUE ? 0 : minima;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.exemplo.conta.filter;
+
+import com.exemplo.conta.monitoramento.MonitorRequisicoes;
+import com.exemplo.conta.monitoramento.SqlRequisicao;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+
+/**
+ * Contagem de SQL por requisição: header Server-Timing e agregado por endpoint
+ *
+ * Abre uma SqlRequisicao na thread da requisição e, ao final, entrega ao
+ * MonitorRequisicoes. O header precisa sair antes do corpo: é escrito quando o corpo
+ * começa (getOutputStream/getWriter), momento em que os controllers já fizeram todas as
+ * consultas. Em respostas em streaming ele mostra só o que rodou antes do primeiro byte.
+ * Roda logo depois do AdmissaoFilter: requisições recusadas com 429 não são contadas.
+ */
+@Component
+@Order(AdmissaoFilter.ORDEM + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    private final MonitorRequisicoes monitor;
+
+    public ServerTimingFilter(MonitorRequisicoes monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !monitor.habilitado();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequisicao sql = SqlRequisicao.iniciar();
+        RespostaComServerTiming resposta = new RespostaComServerTiming(response, sql);
+        try {
+            chain.doFilter(request, resposta);
+        } finally {
+            SqlRequisicao.encerrar();
+            resposta.escreverServerTiming();
+            monitor.registrar(endpoint(request), handler(request), sql);
+        }
+    }
+
+    // Método HTTP + padrão da rota (GET /contas/{id}), não a URI: poucas chaves, uma por endpoint
+    private static String endpoint(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao == null ? null : request.getMethod() + " " + padrao;
+    }
+
+    private static Method handler(HttpServletRequest request) {
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod metodo
+                ? metodo.getMethod() : null;
+    }
+
+    // Escreve o Server-Timing no último momento em que ainda dá para mandar headers
+    private static final class RespostaComServerTiming extends HttpServletResponseWrapper {
+
+        private final SqlRequisicao sql;
+        private boolean escrito;
+
+        RespostaComServerTiming(HttpServletResponse resposta, SqlRequisicao sql) {
+            super(resposta);
+            this.sql = sql;
+        }
+
+        void escreverServerTiming() {
+            if (escrito) {
+                return;
+            }
+            escrito = true;
+            if (!isCommitted()) {
+                setHeader(HEADER, sql.serverTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            escreverServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            escreverServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            escreverServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            escreverServerTiming();
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String mensagem) throws IOException {
+            escreverServerTiming();
+            super.sendError(status, mensagem);
+        }
+
+        @Override
+        public void sendRedirect(String local) throws IOException {
+            escreverServerTiming();
+            super.sendRedirect(local);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.exemplo.conta.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem locks, implementado como GCRA (Generic Cell Rate Algorithm)
+ *
+ * Todo o estado é um único long: o "tempo teórico de chegada" (TAT) da próxima
+ * requisição. Cada requisição aceita empurra o TAT em 1/taxa; a requisição é
+ * recusada quando o TAT estaria mais de "rajada" intervalos à frente do relógio.
+ * Não aloca nada por requisição.
+ */
+final class TokenBucket {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE / 2);
+
+    TokenBucket(double taxaPorSegundo, int rajada) {
+        this.intervaloNanos = (long) (1_000_000_000L / taxaPorSegundo);
+        this.toleranciaNanos = intervaloNanos * Math.max(rajada - 1, 0);
+    }
+
+    /**
+     * Tenta consumir um token
+     * @return 0 se aceito, ou nanos até o próximo token disponível
+     */
+    long tentarConsumir(long agoraNanos) {
+        for (;;) {
+            long atual = tat.get();
+            long base = Math.max(atual, agoraNanos);
+            long novo = base + intervaloNanos;
+            long adiantamento = novo - agoraNanos - intervaloNanos;
+            if (adiantamento > toleranciaNanos) {
+                return adiantamento - toleranciaNanos;
+            }
+            if (tat.compareAndSet(atual, novo)) {
+                return 0;
+            }
+        }
+    }
+
+    // Verdadeiro quando o balde está cheio de novo (pode ser descartado sem perda)
+    boolean ocioso(long agoraNanos) {
+        return tat.get() <= agoraNanos;
+    }
+}
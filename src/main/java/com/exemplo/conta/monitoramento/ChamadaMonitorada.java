@@ -0,0 +1,641 @@
+package com.exemplo.conta.monitoramento;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * CallableStatement monitorado: execute* vêm do ComandoPreparadoMonitorado, o resto só delega
+ */
+final class ChamadaMonitorada extends ComandoPreparadoMonitorado implements CallableStatement {
+
+    private final CallableStatement chamada;
+
+    ChamadaMonitorada(CallableStatement alvo, Connection conexao, String sql, MonitorSql monitor) {
+        super(alvo, conexao, sql, monitor);
+        this.chamada = alvo;
+    }
+
+    @Override
+    public void registerOutParameter(int indice, int tipoSql) throws SQLException {
+        chamada.registerOutParameter(indice, tipoSql);
+    }
+
+    @Override
+    public void registerOutParameter(int indice, int tipoSql, int escala) throws SQLException {
+        chamada.registerOutParameter(indice, tipoSql, escala);
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        return chamada.wasNull();
+    }
+
+    @Override
+    public String getString(int indice) throws SQLException {
+        return chamada.getString(indice);
+    }
+
+    @Override
+    public boolean getBoolean(int indice) throws SQLException {
+        return chamada.getBoolean(indice);
+    }
+
+    @Override
+    public byte getByte(int indice) throws SQLException {
+        return chamada.getByte(indice);
+    }
+
+    @Override
+    public short getShort(int indice) throws SQLException {
+        return chamada.getShort(indice);
+    }
+
+    @Override
+    public int getInt(int indice) throws SQLException {
+        return chamada.getInt(indice);
+    }
+
+    @Override
+    public long getLong(int indice) throws SQLException {
+        return chamada.getLong(indice);
+    }
+
+    @Override
+    public float getFloat(int indice) throws SQLException {
+        return chamada.getFloat(indice);
+    }
+
+    @Override
+    public double getDouble(int indice) throws SQLException {
+        return chamada.getDouble(indice);
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(int indice, int escala) throws SQLException {
+        return chamada.getBigDecimal(indice, escala);
+    }
+
+    @Override
+    public byte[] getBytes(int indice) throws SQLException {
+        return chamada.getBytes(indice);
+    }
+
+    @Override
+    public Date getDate(int indice) throws SQLException {
+        return chamada.getDate(indice);
+    }
+
+    @Override
+    public Time getTime(int indice) throws SQLException {
+        return chamada.getTime(indice);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int indice) throws SQLException {
+        return chamada.getTimestamp(indice);
+    }
+
+    @Override
+    public Object getObject(int indice) throws SQLException {
+        return chamada.getObject(indice);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int indice) throws SQLException {
+        return chamada.getBigDecimal(indice);
+    }
+
+    @Override
+    public Object getObject(int indice, Map<String, Class<?>> tipos) throws SQLException {
+        return chamada.getObject(indice, tipos);
+    }
+
+    @Override
+    public Ref getRef(int indice) throws SQLException {
+        return chamada.getRef(indice);
+    }
+
+    @Override
+    public Blob getBlob(int indice) throws SQLException {
+        return chamada.getBlob(indice);
+    }
+
+    @Override
+    public Clob getClob(int indice) throws SQLException {
+        return chamada.getClob(indice);
+    }
+
+    @Override
+    public Array getArray(int indice) throws SQLException {
+        return chamada.getArray(indice);
+    }
+
+    @Override
+    public Date getDate(int indice, Calendar calendario) throws SQLException {
+        return chamada.getDate(indice, calendario);
+    }
+
+    @Override
+    public Time getTime(int indice, Calendar calendario) throws SQLException {
+        return chamada.getTime(indice, calendario);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int indice, Calendar calendario) throws SQLException {
+        return chamada.getTimestamp(indice, calendario);
+    }
+
+    @Override
+    public void registerOutParameter(int indice, int tipoSql, String nomeTipo) throws SQLException {
+        chamada.registerOutParameter(indice, tipoSql, nomeTipo);
+    }
+
+    @Override
+    public void registerOutParameter(String parametro, int tipoSql) throws SQLException {
+        chamada.registerOutParameter(parametro, tipoSql);
+    }
+
+    @Override
+    public void registerOutParameter(String parametro, int tipoSql, int escala) throws SQLException {
+        chamada.registerOutParameter(parametro, tipoSql, escala);
+    }
+
+    @Override
+    public void registerOutParameter(String parametro, int tipoSql, String nomeTipo) throws SQLException {
+        chamada.registerOutParameter(parametro, tipoSql, nomeTipo);
+    }
+
+    @Override
+    public URL getURL(int indice) throws SQLException {
+        return chamada.getURL(indice);
+    }
+
+    @Override
+    public void setURL(String parametro, URL valor) throws SQLException {
+        chamada.setURL(parametro, valor);
+    }
+
+    @Override
+    public void setNull(String parametro, int tipoSql) throws SQLException {
+        chamada.setNull(parametro, tipoSql);
+    }
+
+    @Override
+    public void setBoolean(String parametro, boolean valor) throws SQLException {
+        chamada.setBoolean(parametro, valor);
+    }
+
+    @Override
+    public void setByte(String parametro, byte valor) throws SQLException {
+        chamada.setByte(parametro, valor);
+    }
+
+    @Override
+    public void setShort(String parametro, short valor) throws SQLException {
+        chamada.setShort(parametro, valor);
+    }
+
+    @Override
+    public void setInt(String parametro, int valor) throws SQLException {
+        chamada.setInt(parametro, valor);
+    }
+
+    @Override
+    public void setLong(String parametro, long valor) throws SQLException {
+        chamada.setLong(parametro, valor);
+    }
+
+    @Override
+    public void setFloat(String parametro, float valor) throws SQLException {
+        chamada.setFloat(parametro, valor);
+    }
+
+    @Override
+    public void setDouble(String parametro, double valor) throws SQLException {
+        chamada.setDouble(parametro, valor);
+    }
+
+    @Override
+    public void setBigDecimal(String parametro, BigDecimal valor) throws SQLException {
+        chamada.setBigDecimal(parametro, valor);
+    }
+
+    @Override
+    public void setString(String parametro, String valor) throws SQLException {
+        chamada.setString(parametro, valor);
+    }
+
+    @Override
+    public void setBytes(String parametro, byte[] valor) throws SQLException {
+        chamada.setBytes(parametro, valor);
+    }
+
+    @Override
+    public void setDate(String parametro, Date valor) throws SQLException {
+        chamada.setDate(parametro, valor);
+    }
+
+    @Override
+    public void setTime(String parametro, Time valor) throws SQLException {
+        chamada.setTime(parametro, valor);
+    }
+
+    @Override
+    public void setTimestamp(String parametro, Timestamp valor) throws SQLException {
+        chamada.setTimestamp(parametro, valor);
+    }
+
+    @Override
+    public void setAsciiStream(String parametro, InputStream valor, int tamanho) throws SQLException {
+        chamada.setAsciiStream(parametro, valor, tamanho);
+    }
+
+    @Override
+    public void setBinaryStream(String parametro, InputStream valor, int tamanho) throws SQLException {
+        chamada.setBinaryStream(parametro, valor, tamanho);
+    }
+
+    @Override
+    public void setObject(String parametro, Object valor, int tipoSql, int escala) throws SQLException {
+        chamada.setObject(parametro, valor, tipoSql, escala);
+    }
+
+    @Override
+    public void setObject(String parametro, Object valor, int tipoSql) throws SQLException {
+        chamada.setObject(parametro, valor, tipoSql);
+    }
+
+    @Override
+    public void setObject(String parametro, Object valor) throws SQLException {
+        chamada.setObject(parametro, valor);
+    }
+
+    @Override
+    public void setCharacterStream(String parametro, Reader leitor, int tamanho) throws SQLException {
+        chamada.setCharacterStream(parametro, leitor, tamanho);
+    }
+
+    @Override
+    public void setDate(String parametro, Date valor, Calendar calendario) throws SQLException {
+        chamada.setDate(parametro, valor, calendario);
+    }
+
+    @Override
+    public void setTime(String parametro, Time valor, Calendar calendario) throws SQLException {
+        chamada.setTime(parametro, valor, calendario);
+    }
+
+    @Override
+    public void setTimestamp(String parametro, Timestamp valor, Calendar calendario) throws SQLException {
+        chamada.setTimestamp(parametro, valor, calendario);
+    }
+
+    @Override
+    public void setNull(String parametro, int tipoSql, String nomeTipo) throws SQLException {
+        chamada.setNull(parametro, tipoSql, nomeTipo);
+    }
+
+    @Override
+    public String getString(String parametro) throws SQLException {
+        return chamada.getString(parametro);
+    }
+
+    @Override
+    public boolean getBoolean(String parametro) throws SQLException {
+        return chamada.getBoolean(parametro);
+    }
+
+    @Override
+    public byte getByte(String parametro) throws SQLException {
+        return chamada.getByte(parametro);
+    }
+
+    @Override
+    public short getShort(String parametro) throws SQLException {
+        return chamada.getShort(parametro);
+    }
+
+    @Override
+    public int getInt(String parametro) throws SQLException {
+        return chamada.getInt(parametro);
+    }
+
+    @Override
+    public long getLong(String parametro) throws SQLException {
+        return chamada.getLong(parametro);
+    }
+
+    @Override
+    public float getFloat(String parametro) throws SQLException {
+        return chamada.getFloat(parametro);
+    }
+
+    @Override
+    public double getDouble(String parametro) throws SQLException {
+        return chamada.getDouble(parametro);
+    }
+
+    @Override
+    public byte[] getBytes(String parametro) throws SQLException {
+        return chamada.getBytes(parametro);
+    }
+
+    @Override
+    public Date getDate(String parametro) throws SQLException {
+        return chamada.getDate(parametro);
+    }
+
+    @Override
+    public Time getTime(String parametro) throws SQLException {
+        return chamada.getTime(parametro);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String parametro) throws SQLException {
+        return chamada.getTimestamp(parametro);
+    }
+
+    @Override
+    public Object getObject(String parametro) throws SQLException {
+        return chamada.getObject(parametro);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String parametro) throws SQLException {
+        return chamada.getBigDecimal(parametro);
+    }
+
+    @Override
+    public Object getObject(String parametro, Map<String, Class<?>> tipos) throws SQLException {
+        return chamada.getObject(parametro, tipos);
+    }
+
+    @Override
+    public Ref getRef(String parametro) throws SQLException {
+        return chamada.getRef(parametro);
+    }
+
+    @Override
+    public Blob getBlob(String parametro) throws SQLException {
+        return chamada.getBlob(parametro);
+    }
+
+    @Override
+    public Clob getClob(String parametro) throws SQLException {
+        return chamada.getClob(parametro);
+    }
+
+    @Override
+    public Array getArray(String parametro) throws SQLException {
+        return chamada.getArray(parametro);
+    }
+
+    @Override
+    public Date getDate(String parametro, Calendar calendario) throws SQLException {
+        return chamada.getDate(parametro, calendario);
+    }
+
+    @Override
+    public Time getTime(String parametro, Calendar calendario) throws SQLException {
+        return chamada.getTime(parametro, calendario);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String parametro, Calendar calendario) throws SQLException {
+        return chamada.getTimestamp(parametro, calendario);
+    }
+
+    @Override
+    public URL getURL(String parametro) throws SQLException {
+        return chamada.getURL(parametro);
+    }
+
+    @Override
+    public RowId getRowId(int indice) throws SQLException {
+        return chamada.getRowId(indice);
+    }
+
+    @Override
+    public RowId getRowId(String parametro) throws SQLException {
+        return chamada.getRowId(parametro);
+    }
+
+    @Override
+    public void setRowId(String parametro, RowId valor) throws SQLException {
+        chamada.setRowId(parametro, valor);
+    }
+
+    @Override
+    public void setNString(String parametro, String valor) throws SQLException {
+        chamada.setNString(parametro, valor);
+    }
+
+    @Override
+    public void setNCharacterStream(String parametro, Reader valor, long tamanho) throws SQLException {
+        chamada.setNCharacterStream(parametro, valor, tamanho);
+    }
+
+    @Override
+    public void setNClob(String parametro, NClob valor) throws SQLException {
+        chamada.setNClob(parametro, valor);
+    }
+
+    @Override
+    public void setClob(String parametro, Reader leitor, long tamanho) throws SQLException {
+        chamada.setClob(parametro, leitor, tamanho);
+    }
+
+    @Override
+    public void setBlob(String parametro, InputStream fluxo, long tamanho) throws SQLException {
+        chamada.setBlob(parametro, fluxo, tamanho);
+    }
+
+    @Override
+    public void setNClob(String parametro, Reader leitor, long tamanho) throws SQLException {
+        chamada.setNClob(parametro, leitor, tamanho);
+    }
+
+    @Override
+    public NClob getNClob(int indice) throws SQLException {
+        return chamada.getNClob(indice);
+    }
+
+    @Override
+    public NClob getNClob(String parametro) throws SQLException {
+        return chamada.getNClob(parametro);
+    }
+
+    @Override
+    public void setSQLXML(String parametro, SQLXML valor) throws SQLException {
+        chamada.setSQLXML(parametro, valor);
+    }
+
+    @Override
+    public SQLXML getSQLXML(int indice) throws SQLException {
+        return chamada.getSQLXML(indice);
+    }
+
+    @Override
+    public SQLXML getSQLXML(String parametro) throws SQLException {
+        return chamada.getSQLXML(parametro);
+    }
+
+    @Override
+    public String getNString(int indice) throws SQLException {
+        return chamada.getNString(indice);
+    }
+
+    @Override
+    public String getNString(String parametro) throws SQLException {
+        return chamada.getNString(parametro);
+    }
+
+    @Override
+    public Reader getNCharacterStream(int indice) throws SQLException {
+        return chamada.getNCharacterStream(indice);
+    }
+
+    @Override
+    public Reader getNCharacterStream(String parametro) throws SQLException {
+        return chamada.getNCharacterStream(parametro);
+    }
+
+    @Override
+    public Reader getCharacterStream(int indice) throws SQLException {
+        return chamada.getCharacterStream(indice);
+    }
+
+    @Override
+    public Reader getCharacterStream(String parametro) throws SQLException {
+        return chamada.getCharacterStream(parametro);
+    }
+
+    @Override
+    public void setBlob(String parametro, Blob valor) throws SQLException {
+        chamada.setBlob(parametro, valor);
+    }
+
+    @Override
+    public void setClob(String parametro, Clob valor) throws SQLException {
+        chamada.setClob(parametro, valor);
+    }
+
+    @Override
+    public void setAsciiStream(String parametro, InputStream valor, long tamanho) throws SQLException {
+        chamada.setAsciiStream(parametro, valor, tamanho);
+    }
+
+    @Override
+    public void setBinaryStream(String parametro, InputStream valor, long tamanho) throws SQLException {
+        chamada.setBinaryStream(parametro, valor, tamanho);
+    }
+
+    @Override
+    public void setCharacterStream(String parametro, Reader leitor, long tamanho) throws SQLException {
+        chamada.setCharacterStream(parametro, leitor, tamanho);
+    }
+
+    @Override
+    public void setAsciiStream(String parametro, InputStream valor) throws SQLException {
+        chamada.setAsciiStream(parametro, valor);
+    }
+
+    @Override
+    public void setBinaryStream(String parametro, InputStream valor) throws SQLException {
+        chamada.setBinaryStream(parametro, valor);
+    }
+
+    @Override
+    public void setCharacterStream(String parametro, Reader leitor) throws SQLException {
+        chamada.setCharacterStream(parametro, leitor);
+    }
+
+    @Override
+    public void setNCharacterStream(String parametro, Reader valor) throws SQLException {
+        chamada.setNCharacterStream(parametro, valor);
+    }
+
+    @Override
+    public void setClob(String parametro, Reader leitor) throws SQLException {
+        chamada.setClob(parametro, leitor);
+    }
+
+    @Override
+    public void setBlob(String parametro, InputStream fluxo) throws SQLException {
+        chamada.setBlob(parametro, fluxo);
+    }
+
+    @Override
+    public void setNClob(String parametro, Reader leitor) throws SQLException {
+        chamada.setNClob(parametro, leitor);
+    }
+
+    @Override
+    public <T> T getObject(int indice, Class<T> tipo) throws SQLException {
+        return chamada.getObject(indice, tipo);
+    }
+
+    @Override
+    public <T> T getObject(String parametro, Class<T> tipo) throws SQLException {
+        return chamada.getObject(parametro, tipo);
+    }
+
+    @Override
+    public void setObject(String parametro, Object valor, SQLType tipoSql, int escalaOuTamanho) throws SQLException {
+        chamada.setObject(parametro, valor, tipoSql, escalaOuTamanho);
+    }
+
+    @Override
+    public void setObject(String parametro, Object valor, SQLType tipoSql) throws SQLException {
+        chamada.setObject(parametro, valor, tipoSql);
+    }
+
+    @Override
+    public void registerOutParameter(int indice, SQLType tipoSql) throws SQLException {
+        chamada.registerOutParameter(indice, tipoSql);
+    }
+
+    @Override
+    public void registerOutParameter(int indice, SQLType tipoSql, int escala) throws SQLException {
+        chamada.registerOutParameter(indice, tipoSql, escala);
+    }
+
+    @Override
+    public void registerOutParameter(int indice, SQLType tipoSql, String nomeTipo) throws SQLException {
+        chamada.registerOutParameter(indice, tipoSql, nomeTipo);
+    }
+
+    @Override
+    public void registerOutParameter(String parametro, SQLType tipoSql) throws SQLException {
+        chamada.registerOutParameter(parametro, tipoSql);
+    }
+
+    @Override
+    public void registerOutParameter(String parametro, SQLType tipoSql, int escala) throws SQLException {
+        chamada.registerOutParameter(parametro, tipoSql, escala);
+    }
+
+    @Override
+    public void registerOutParameter(String parametro, SQLType tipoSql, String nomeTipo) throws SQLException {
+        chamada.registerOutParameter(parametro, tipoSql, nomeTipo);
+    }
+}
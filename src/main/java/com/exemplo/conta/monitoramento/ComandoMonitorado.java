@@ -0,0 +1,388 @@
+package com.exemplo.conta.monitoramento;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+/**
+ * Statement que cronometra os execute* e entrega ResultSets que contam as linhas lidas
+ *
+ * Cada execução vai para a forma de SQL no MonitorSql e, dentro de uma requisição,
+ * para a SqlRequisicao. Os demais métodos só delegam.
+ */
+class ComandoMonitorado implements Statement {
+
+    private final Statement alvo;
+    private final Connection conexao;
+    // SQL do PreparedStatement/CallableStatement (null num Statement simples)
+    private final String sqlPreparado;
+    private final MonitorSql monitor;
+    private String ultimoSqlLote;
+    private EstatisticaSql ultimaEstatistica;
+
+    ComandoMonitorado(Statement alvo, Connection conexao, String sqlPreparado, MonitorSql monitor) {
+        this.alvo = alvo;
+        this.conexao = conexao;
+        this.sqlPreparado = sqlPreparado;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> tipo) throws SQLException {
+        return alvo.unwrap(tipo);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> tipo) throws SQLException {
+        return alvo.isWrapperFor(tipo);
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        long inicio = System.nanoTime();
+        ResultSet resultado = alvo.executeQuery(sql);
+        executado(sql, inicio, 0);
+        return contado(resultado);
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        long inicio = System.nanoTime();
+        int linhas = alvo.executeUpdate(sql);
+        executado(sql, inicio, linhas);
+        return linhas;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        alvo.close();
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return alvo.getMaxFieldSize();
+    }
+
+    @Override
+    public void setMaxFieldSize(int maximo) throws SQLException {
+        alvo.setMaxFieldSize(maximo);
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        return alvo.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int maximo) throws SQLException {
+        alvo.setMaxRows(maximo);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean habilitar) throws SQLException {
+        alvo.setEscapeProcessing(habilitar);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return alvo.getQueryTimeout();
+    }
+
+    @Override
+    public void setQueryTimeout(int segundos) throws SQLException {
+        alvo.setQueryTimeout(segundos);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        alvo.cancel();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return alvo.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        alvo.clearWarnings();
+    }
+
+    @Override
+    public void setCursorName(String nome) throws SQLException {
+        alvo.setCursorName(nome);
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        long inicio = System.nanoTime();
+        boolean resultado = alvo.execute(sql);
+        executado(sql, inicio, 0);
+        return resultado;
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return contado(alvo.getResultSet());
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return alvo.getUpdateCount();
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return alvo.getMoreResults();
+    }
+
+    @Override
+    public void setFetchDirection(int direcao) throws SQLException {
+        alvo.setFetchDirection(direcao);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return alvo.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(int linhas) throws SQLException {
+        alvo.setFetchSize(linhas);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return alvo.getFetchSize();
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return alvo.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        return alvo.getResultSetType();
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        ultimoSqlLote = sql;
+        alvo.addBatch(sql);
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        alvo.clearBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        long inicio = System.nanoTime();
+        int[] lote = alvo.executeBatch();
+        executado(ultimoSqlLote, inicio, soma(lote));
+        return lote;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexao;
+    }
+
+    @Override
+    public boolean getMoreResults(int atual) throws SQLException {
+        return alvo.getMoreResults(atual);
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return alvo.getGeneratedKeys();
+    }
+
+    @Override
+    public int executeUpdate(String sql, int chavesGeradas) throws SQLException {
+        long inicio = System.nanoTime();
+        int linhas = alvo.executeUpdate(sql, chavesGeradas);
+        executado(sql, inicio, linhas);
+        return linhas;
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] indicesColunas) throws SQLException {
+        long inicio = System.nanoTime();
+        int linhas = alvo.executeUpdate(sql, indicesColunas);
+        executado(sql, inicio, linhas);
+        return linhas;
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] nomesColunas) throws SQLException {
+        long inicio = System.nanoTime();
+        int linhas = alvo.executeUpdate(sql, nomesColunas);
+        executado(sql, inicio, linhas);
+        return linhas;
+    }
+
+    @Override
+    public boolean execute(String sql, int chavesGeradas) throws SQLException {
+        long inicio = System.nanoTime();
+        boolean resultado = alvo.execute(sql, chavesGeradas);
+        executado(sql, inicio, 0);
+        return resultado;
+    }
+
+    @Override
+    public boolean execute(String sql, int[] indicesColunas) throws SQLException {
+        long inicio = System.nanoTime();
+        boolean resultado = alvo.execute(sql, indicesColunas);
+        executado(sql, inicio, 0);
+        return resultado;
+    }
+
+    @Override
+    public boolean execute(String sql, String[] nomesColunas) throws SQLException {
+        long inicio = System.nanoTime();
+        boolean resultado = alvo.execute(sql, nomesColunas);
+        executado(sql, inicio, 0);
+        return resultado;
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return alvo.getResultSetHoldability();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return alvo.isClosed();
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        alvo.setPoolable(poolable);
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return alvo.isPoolable();
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        alvo.closeOnCompletion();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return alvo.isCloseOnCompletion();
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        return alvo.getLargeUpdateCount();
+    }
+
+    @Override
+    public void setLargeMaxRows(long maximo) throws SQLException {
+        alvo.setLargeMaxRows(maximo);
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        return alvo.getLargeMaxRows();
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        long inicio = System.nanoTime();
+        long[] lote = alvo.executeLargeBatch();
+        executado(ultimoSqlLote, inicio, soma(lote));
+        return lote;
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        long inicio = System.nanoTime();
+        long linhas = alvo.executeLargeUpdate(sql);
+        executado(sql, inicio, linhas);
+        return linhas;
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int chavesGeradas) throws SQLException {
+        long inicio = System.nanoTime();
+        long linhas = alvo.executeLargeUpdate(sql, chavesGeradas);
+        executado(sql, inicio, linhas);
+        return linhas;
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] indicesColunas) throws SQLException {
+        long inicio = System.nanoTime();
+        long linhas = alvo.executeLargeUpdate(sql, indicesColunas);
+        executado(sql, inicio, linhas);
+        return linhas;
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] nomesColunas) throws SQLException {
+        long inicio = System.nanoTime();
+        long linhas = alvo.executeLargeUpdate(sql, nomesColunas);
+        executado(sql, inicio, linhas);
+        return linhas;
+    }
+
+    @Override
+    public String enquoteLiteral(String valor) throws SQLException {
+        return alvo.enquoteLiteral(valor);
+    }
+
+    @Override
+    public String enquoteIdentifier(String identificador, boolean sempreEntreAspas) throws SQLException {
+        return alvo.enquoteIdentifier(identificador, sempreEntreAspas);
+    }
+
+    @Override
+    public boolean isSimpleIdentifier(String identificador) throws SQLException {
+        return alvo.isSimpleIdentifier(identificador);
+    }
+
+    @Override
+    public String enquoteNCharLiteral(String valor) throws SQLException {
+        return alvo.enquoteNCharLiteral(valor);
+    }
+
+    // Registra a execução na forma de SQL e na requisição atual
+    final void executado(String sql, long inicio, long linhas) {
+        long nanos = System.nanoTime() - inicio;
+        ultimaEstatistica = monitor.registrar(sqlPreparado != null ? sqlPreparado : sql, nanos, linhas);
+        SqlRequisicao requisicao = SqlRequisicao.atual();
+        if (requisicao != null) {
+            requisicao.comando(nanos);
+        }
+    }
+
+    final ResultSet contado(ResultSet resultado) {
+        return resultado == null || ultimaEstatistica == null ? resultado
+                : new ResultadoMonitorado(resultado, this, ultimaEstatistica);
+    }
+
+    private static long soma(int[] lote) {
+        long total = 0;
+        for (int linhas : lote) {
+            total += Math.max(linhas, 0);
+        }
+        return total;
+    }
+
+    private static long soma(long[] lote) {
+        long total = 0;
+        for (long linhas : lote) {
+            total += Math.max(linhas, 0);
+        }
+        return total;
+    }
+}
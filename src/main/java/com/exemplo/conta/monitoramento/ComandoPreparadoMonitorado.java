@@ -0,0 +1,340 @@
+package com.exemplo.conta.monitoramento;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * PreparedStatement monitorado: o SQL vem do prepareStatement e os parâmetros só delegam
+ */
+class ComandoPreparadoMonitorado extends ComandoMonitorado implements PreparedStatement {
+
+    private final PreparedStatement preparado;
+
+    ComandoPreparadoMonitorado(PreparedStatement alvo, Connection conexao, String sql, MonitorSql monitor) {
+        super(alvo, conexao, sql, monitor);
+        this.preparado = alvo;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        long inicio = System.nanoTime();
+        ResultSet resultado = preparado.executeQuery();
+        executado(null, inicio, 0);
+        return contado(resultado);
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        long inicio = System.nanoTime();
+        int linhas = preparado.executeUpdate();
+        executado(null, inicio, linhas);
+        return linhas;
+    }
+
+    @Override
+    public void setNull(int indice, int tipoSql) throws SQLException {
+        preparado.setNull(indice, tipoSql);
+    }
+
+    @Override
+    public void setBoolean(int indice, boolean valor) throws SQLException {
+        preparado.setBoolean(indice, valor);
+    }
+
+    @Override
+    public void setByte(int indice, byte valor) throws SQLException {
+        preparado.setByte(indice, valor);
+    }
+
+    @Override
+    public void setShort(int indice, short valor) throws SQLException {
+        preparado.setShort(indice, valor);
+    }
+
+    @Override
+    public void setInt(int indice, int valor) throws SQLException {
+        preparado.setInt(indice, valor);
+    }
+
+    @Override
+    public void setLong(int indice, long valor) throws SQLException {
+        preparado.setLong(indice, valor);
+    }
+
+    @Override
+    public void setFloat(int indice, float valor) throws SQLException {
+        preparado.setFloat(indice, valor);
+    }
+
+    @Override
+    public void setDouble(int indice, double valor) throws SQLException {
+        preparado.setDouble(indice, valor);
+    }
+
+    @Override
+    public void setBigDecimal(int indice, BigDecimal valor) throws SQLException {
+        preparado.setBigDecimal(indice, valor);
+    }
+
+    @Override
+    public void setString(int indice, String valor) throws SQLException {
+        preparado.setString(indice, valor);
+    }
+
+    @Override
+    public void setBytes(int indice, byte[] valor) throws SQLException {
+        preparado.setBytes(indice, valor);
+    }
+
+    @Override
+    public void setDate(int indice, Date valor) throws SQLException {
+        preparado.setDate(indice, valor);
+    }
+
+    @Override
+    public void setTime(int indice, Time valor) throws SQLException {
+        preparado.setTime(indice, valor);
+    }
+
+    @Override
+    public void setTimestamp(int indice, Timestamp valor) throws SQLException {
+        preparado.setTimestamp(indice, valor);
+    }
+
+    @Override
+    public void setAsciiStream(int indice, InputStream valor, int tamanho) throws SQLException {
+        preparado.setAsciiStream(indice, valor, tamanho);
+    }
+
+    @Deprecated
+    @Override
+    public void setUnicodeStream(int indice, InputStream valor, int tamanho) throws SQLException {
+        preparado.setUnicodeStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void setBinaryStream(int indice, InputStream valor, int tamanho) throws SQLException {
+        preparado.setBinaryStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        preparado.clearParameters();
+    }
+
+    @Override
+    public void setObject(int indice, Object valor, int tipoSql) throws SQLException {
+        preparado.setObject(indice, valor, tipoSql);
+    }
+
+    @Override
+    public void setObject(int indice, Object valor) throws SQLException {
+        preparado.setObject(indice, valor);
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        long inicio = System.nanoTime();
+        boolean resultado = preparado.execute();
+        executado(null, inicio, 0);
+        return resultado;
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        preparado.addBatch();
+    }
+
+    @Override
+    public void setCharacterStream(int indice, Reader leitor, int tamanho) throws SQLException {
+        preparado.setCharacterStream(indice, leitor, tamanho);
+    }
+
+    @Override
+    public void setRef(int indice, Ref valor) throws SQLException {
+        preparado.setRef(indice, valor);
+    }
+
+    @Override
+    public void setBlob(int indice, Blob valor) throws SQLException {
+        preparado.setBlob(indice, valor);
+    }
+
+    @Override
+    public void setClob(int indice, Clob valor) throws SQLException {
+        preparado.setClob(indice, valor);
+    }
+
+    @Override
+    public void setArray(int indice, Array valor) throws SQLException {
+        preparado.setArray(indice, valor);
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return preparado.getMetaData();
+    }
+
+    @Override
+    public void setDate(int indice, Date valor, Calendar calendario) throws SQLException {
+        preparado.setDate(indice, valor, calendario);
+    }
+
+    @Override
+    public void setTime(int indice, Time valor, Calendar calendario) throws SQLException {
+        preparado.setTime(indice, valor, calendario);
+    }
+
+    @Override
+    public void setTimestamp(int indice, Timestamp valor, Calendar calendario) throws SQLException {
+        preparado.setTimestamp(indice, valor, calendario);
+    }
+
+    @Override
+    public void setNull(int indice, int tipoSql, String nomeTipo) throws SQLException {
+        preparado.setNull(indice, tipoSql, nomeTipo);
+    }
+
+    @Override
+    public void setURL(int indice, URL valor) throws SQLException {
+        preparado.setURL(indice, valor);
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        return preparado.getParameterMetaData();
+    }
+
+    @Override
+    public void setRowId(int indice, RowId valor) throws SQLException {
+        preparado.setRowId(indice, valor);
+    }
+
+    @Override
+    public void setNString(int indice, String valor) throws SQLException {
+        preparado.setNString(indice, valor);
+    }
+
+    @Override
+    public void setNCharacterStream(int indice, Reader valor, long tamanho) throws SQLException {
+        preparado.setNCharacterStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void setNClob(int indice, NClob valor) throws SQLException {
+        preparado.setNClob(indice, valor);
+    }
+
+    @Override
+    public void setClob(int indice, Reader leitor, long tamanho) throws SQLException {
+        preparado.setClob(indice, leitor, tamanho);
+    }
+
+    @Override
+    public void setBlob(int indice, InputStream fluxo, long tamanho) throws SQLException {
+        preparado.setBlob(indice, fluxo, tamanho);
+    }
+
+    @Override
+    public void setNClob(int indice, Reader leitor, long tamanho) throws SQLException {
+        preparado.setNClob(indice, leitor, tamanho);
+    }
+
+    @Override
+    public void setSQLXML(int indice, SQLXML valor) throws SQLException {
+        preparado.setSQLXML(indice, valor);
+    }
+
+    @Override
+    public void setObject(int indice, Object valor, int tipoSql, int escalaOuTamanho) throws SQLException {
+        preparado.setObject(indice, valor, tipoSql, escalaOuTamanho);
+    }
+
+    @Override
+    public void setAsciiStream(int indice, InputStream valor, long tamanho) throws SQLException {
+        preparado.setAsciiStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void setBinaryStream(int indice, InputStream valor, long tamanho) throws SQLException {
+        preparado.setBinaryStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void setCharacterStream(int indice, Reader leitor, long tamanho) throws SQLException {
+        preparado.setCharacterStream(indice, leitor, tamanho);
+    }
+
+    @Override
+    public void setAsciiStream(int indice, InputStream valor) throws SQLException {
+        preparado.setAsciiStream(indice, valor);
+    }
+
+    @Override
+    public void setBinaryStream(int indice, InputStream valor) throws SQLException {
+        preparado.setBinaryStream(indice, valor);
+    }
+
+    @Override
+    public void setCharacterStream(int indice, Reader leitor) throws SQLException {
+        preparado.setCharacterStream(indice, leitor);
+    }
+
+    @Override
+    public void setNCharacterStream(int indice, Reader valor) throws SQLException {
+        preparado.setNCharacterStream(indice, valor);
+    }
+
+    @Override
+    public void setClob(int indice, Reader leitor) throws SQLException {
+        preparado.setClob(indice, leitor);
+    }
+
+    @Override
+    public void setBlob(int indice, InputStream fluxo) throws SQLException {
+        preparado.setBlob(indice, fluxo);
+    }
+
+    @Override
+    public void setNClob(int indice, Reader leitor) throws SQLException {
+        preparado.setNClob(indice, leitor);
+    }
+
+    @Override
+    public void setObject(int indice, Object valor, SQLType tipoSql, int escalaOuTamanho) throws SQLException {
+        preparado.setObject(indice, valor, tipoSql, escalaOuTamanho);
+    }
+
+    @Override
+    public void setObject(int indice, Object valor, SQLType tipoSql) throws SQLException {
+        preparado.setObject(indice, valor, tipoSql);
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        long inicio = System.nanoTime();
+        long linhas = preparado.executeLargeUpdate();
+        executado(null, inicio, linhas);
+        return linhas;
+    }
+}
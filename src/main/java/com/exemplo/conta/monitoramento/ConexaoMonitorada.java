@@ -0,0 +1,336 @@
+package com.exemplo.conta.monitoramento;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.ShardingKey;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * Connection que devolve Statements monitorados; os demais métodos só delegam
+ * (chamada direta, sem reflexão)
+ */
+final class ConexaoMonitorada implements Connection {
+
+    private final Connection alvo;
+    private final MonitorSql monitor;
+
+    ConexaoMonitorada(Connection alvo, MonitorSql monitor) {
+        this.alvo = alvo;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> tipo) throws SQLException {
+        return alvo.unwrap(tipo);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> tipo) throws SQLException {
+        return alvo.isWrapperFor(tipo);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return new ComandoMonitorado(alvo.createStatement(), this, null, monitor);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return new ComandoPreparadoMonitorado(alvo.prepareStatement(sql), this, sql, monitor);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        return new ChamadaMonitorada(alvo.prepareCall(sql), this, sql, monitor);
+    }
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        return alvo.nativeSQL(sql);
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        alvo.setAutoCommit(autoCommit);
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return alvo.getAutoCommit();
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        alvo.commit();
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        alvo.rollback();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        alvo.close();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return alvo.isClosed();
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return alvo.getMetaData();
+    }
+
+    @Override
+    public void setReadOnly(boolean somenteLeitura) throws SQLException {
+        alvo.setReadOnly(somenteLeitura);
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return alvo.isReadOnly();
+    }
+
+    @Override
+    public void setCatalog(String catalogo) throws SQLException {
+        alvo.setCatalog(catalogo);
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        return alvo.getCatalog();
+    }
+
+    @Override
+    public void setTransactionIsolation(int nivel) throws SQLException {
+        alvo.setTransactionIsolation(nivel);
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return alvo.getTransactionIsolation();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return alvo.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        alvo.clearWarnings();
+    }
+
+    @Override
+    public Statement createStatement(int tipo, int concorrencia) throws SQLException {
+        return new ComandoMonitorado(alvo.createStatement(tipo, concorrencia), this, null, monitor);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int tipo, int concorrencia) throws SQLException {
+        return new ComandoPreparadoMonitorado(alvo.prepareStatement(sql, tipo, concorrencia), this, sql, monitor);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int tipo, int concorrencia) throws SQLException {
+        return new ChamadaMonitorada(alvo.prepareCall(sql, tipo, concorrencia), this, sql, monitor);
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return alvo.getTypeMap();
+    }
+
+    @Override
+    public void setTypeMap(Map<String, Class<?>> tipos) throws SQLException {
+        alvo.setTypeMap(tipos);
+    }
+
+    @Override
+    public void setHoldability(int retencao) throws SQLException {
+        alvo.setHoldability(retencao);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return alvo.getHoldability();
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return alvo.setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String nome) throws SQLException {
+        return alvo.setSavepoint(nome);
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        alvo.rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        alvo.releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public Statement createStatement(int tipo, int concorrencia, int retencao) throws SQLException {
+        return new ComandoMonitorado(alvo.createStatement(tipo, concorrencia, retencao), this, null, monitor);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int tipo, int concorrencia, int retencao) throws SQLException {
+        return new ComandoPreparadoMonitorado(alvo.prepareStatement(sql, tipo, concorrencia, retencao), this, sql, monitor);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int tipo, int concorrencia, int retencao) throws SQLException {
+        return new ChamadaMonitorada(alvo.prepareCall(sql, tipo, concorrencia, retencao), this, sql, monitor);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int chavesGeradas) throws SQLException {
+        return new ComandoPreparadoMonitorado(alvo.prepareStatement(sql, chavesGeradas), this, sql, monitor);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] indicesColunas) throws SQLException {
+        return new ComandoPreparadoMonitorado(alvo.prepareStatement(sql, indicesColunas), this, sql, monitor);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] nomesColunas) throws SQLException {
+        return new ComandoPreparadoMonitorado(alvo.prepareStatement(sql, nomesColunas), this, sql, monitor);
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        return alvo.createClob();
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        return alvo.createBlob();
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        return alvo.createNClob();
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        return alvo.createSQLXML();
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        return alvo.isValid(timeout);
+    }
+
+    @Override
+    public void setClientInfo(String nome, String valor) throws SQLClientInfoException {
+        alvo.setClientInfo(nome, valor);
+    }
+
+    @Override
+    public void setClientInfo(Properties propriedades) throws SQLClientInfoException {
+        alvo.setClientInfo(propriedades);
+    }
+
+    @Override
+    public String getClientInfo(String nome) throws SQLException {
+        return alvo.getClientInfo(nome);
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return alvo.getClientInfo();
+    }
+
+    @Override
+    public Array createArrayOf(String nomeTipo, Object[] elementos) throws SQLException {
+        return alvo.createArrayOf(nomeTipo, elementos);
+    }
+
+    @Override
+    public Struct createStruct(String nomeTipo, Object[] atributos) throws SQLException {
+        return alvo.createStruct(nomeTipo, atributos);
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        alvo.setSchema(schema);
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        return alvo.getSchema();
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        alvo.abort(executor);
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milissegundos) throws SQLException {
+        alvo.setNetworkTimeout(executor, milissegundos);
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return alvo.getNetworkTimeout();
+    }
+
+    @Override
+    public void beginRequest() throws SQLException {
+        alvo.beginRequest();
+    }
+
+    @Override
+    public void endRequest() throws SQLException {
+        alvo.endRequest();
+    }
+
+    @Override
+    public boolean setShardingKeyIfValid(ShardingKey chaveShard, ShardingKey superChaveShard, int timeout) throws SQLException {
+        return alvo.setShardingKeyIfValid(chaveShard, superChaveShard, timeout);
+    }
+
+    @Override
+    public boolean setShardingKeyIfValid(ShardingKey chaveShard, int timeout) throws SQLException {
+        return alvo.setShardingKeyIfValid(chaveShard, timeout);
+    }
+
+    @Override
+    public void setShardingKey(ShardingKey chaveShard, ShardingKey superChaveShard) throws SQLException {
+        alvo.setShardingKey(chaveShard, superChaveShard);
+    }
+
+    @Override
+    public void setShardingKey(ShardingKey chaveShard) throws SQLException {
+        alvo.setShardingKey(chaveShard);
+    }
+}
@@ -0,0 +1,46 @@
+package com.exemplo.conta.monitoramento;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource que mede cada comando executado pelas conexões que entrega
+ *
+ * Connection, Statement e ResultSet são envolvidos por wrappers que delegam direto
+ * (sem proxy nem reflexão): só execute*, next e a criação de Statements fazem algo a mais.
+ * Os execute* são cronometrados e cada linha lida é contada no next().
+ * Dentro de uma requisição, comandos e espera por conexão também vão para a SqlRequisicao.
+ */
+public class DataSourceMonitorado extends DelegatingDataSource {
+
+    private final MonitorSql monitor;
+
+    public DataSourceMonitorado(DataSource alvo, MonitorSql monitor) {
+        super(alvo);
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        SqlRequisicao requisicao = SqlRequisicao.atual();
+        if (requisicao == null) {
+            return conexao(super.getConnection());
+        }
+        long inicio = System.nanoTime();
+        Connection alvo = super.getConnection();
+        requisicao.esperaConexao(System.nanoTime() - inicio);
+        return conexao(alvo);
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String senha) throws SQLException {
+        return conexao(super.getConnection(usuario, senha));
+    }
+
+    private Connection conexao(Connection alvo) {
+        return new ConexaoMonitorada(alvo, monitor);
+    }
+}
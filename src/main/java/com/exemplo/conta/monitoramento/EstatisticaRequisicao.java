@@ -0,0 +1,97 @@
+package com.exemplo.conta.monitoramento;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregado sem lock das requisições de um endpoint: comandos SQL, tempo no banco e espera por conexão
+ */
+final class EstatisticaRequisicao {
+
+    private final String endpoint;
+    private final int orcamento;
+    private final LongAdder requisicoes = new LongAdder();
+    private final LongAdder comandos = new LongAdder();
+    private final AtomicLong maximoComandos = new AtomicLong();
+    private final LongAdder nanosBanco = new LongAdder();
+    private final LongAdder nanosEsperaConexao = new LongAdder();
+    private final LongAdder acimaDoOrcamento = new LongAdder();
+    private final AtomicBoolean logado = new AtomicBoolean();
+
+    EstatisticaRequisicao(String endpoint, int orcamento) {
+        this.endpoint = endpoint;
+        this.orcamento = orcamento;
+    }
+
+    // @return true só na primeira requisição acima do orçamento (para logar uma vez)
+    boolean registrar(SqlRequisicao sql) {
+        requisicoes.increment();
+        comandos.add(sql.comandos());
+        nanosBanco.add(sql.nanosBanco());
+        nanosEsperaConexao.add(sql.nanosEsperaConexao());
+        if (sql.comandos() > maximoComandos.get()) {
+            maximoComandos.accumulateAndGet(sql.comandos(), Math::max);
+        }
+        if (orcamento >= 0 && sql.comandos() > orcamento) {
+            acimaDoOrcamento.increment();
+            return logado.compareAndSet(false, true);
+        }
+        return false;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    int orcamento() {
+        return orcamento;
+    }
+
+    long requisicoes() {
+        return requisicoes.sum();
+    }
+
+    long maximoComandos() {
+        return maximoComandos.get();
+    }
+
+    long acimaDoOrcamento() {
+        return acimaDoOrcamento.sum();
+    }
+
+    double mediaComandos() {
+        long quantidade = requisicoes.sum();
+        return quantidade == 0 ? 0 : (double) comandos.sum() / quantidade;
+    }
+
+    double mediaNanosBanco() {
+        long quantidade = requisicoes.sum();
+        return quantidade == 0 ? 0 : (double) nanosBanco.sum() / quantidade;
+    }
+
+    double mediaNanosEsperaConexao() {
+        long quantidade = requisicoes.sum();
+        return quantidade == 0 ? 0 : (double) nanosEsperaConexao.sum() / quantidade;
+    }
+
+    Map<String, Object> paraMapa() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("endpoint", endpoint);
+        mapa.put("requisicoes", requisicoes());
+        mapa.put("comandosMedia", Math.round(mediaComandos() * 100) / 100.0);
+        mapa.put("comandosMaximo", maximoComandos());
+        mapa.put("orcamento", orcamento < 0 ? null : orcamento);
+        mapa.put("acimaDoOrcamento", acimaDoOrcamento());
+        mapa.put("tempoBancoTotalMs", milis(nanosBanco.sum()));
+        mapa.put("tempoBancoMedioMs", milis(mediaNanosBanco()));
+        mapa.put("esperaConexaoMediaMs", milis(mediaNanosEsperaConexao()));
+        return mapa;
+    }
+
+    private static double milis(double nanos) {
+        return Math.round(nanos / 1_000) / 1_000.0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.exemplo.conta.monitoramento;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agregado sem lock de uma forma de SQL: execuções, tempo total/máximo e linhas
+ */
+final class EstatisticaSql {
+
+    private final String forma;
+    private final LongAdder execucoes = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder linhas = new LongAdder();
+    private final AtomicLong maximoNanos = new AtomicLong();
+
+    EstatisticaSql(String forma) {
+        this.forma = forma;
+    }
+
+    void registrar(long duracaoNanos, long linhasAfetadas) {
+        execucoes.increment();
+        nanos.add(duracaoNanos);
+        if (linhasAfetadas > 0) {
+            linhas.add(linhasAfetadas);
+        }
+        if (duracaoNanos > maximoNanos.get()) {
+            maximoNanos.accumulateAndGet(duracaoNanos, Math::max);
+        }
+    }
+
+    // Linhas lidas de um ResultSet (contadas até o fechamento)
+    void adicionarLinhas(long quantidade) {
+        linhas.add(quantidade);
+    }
+
+    String forma() {
+        return forma;
+    }
+
+    long execucoes() {
+        return execucoes.sum();
+    }
+
+    long nanos() {
+        return nanos.sum();
+    }
+
+    long maximoNanos() {
+        return maximoNanos.get();
+    }
+
+    double mediaNanos() {
+        long quantidade = execucoes.sum();
+        return quantidade == 0 ? 0 : (double) nanos.sum() / quantidade;
+    }
+
+    Map<String, Object> paraMapa() {
+        Map<String, Object> mapa = new LinkedHashMap<>();
+        mapa.put("sql", forma);
+        mapa.put("execucoes", execucoes());
+        mapa.put("tempoTotalMs", milis(nanos()));
+        mapa.put("tempoMedioMs", milis(mediaNanos()));
+        mapa.put("tempoMaximoMs", milis(maximoNanos()));
+        mapa.put("linhas", linhas.sum());
+        return mapa;
+    }
+
+    private static double milis(double nanos) {
+        return Math.round(nanos / 1_000) / 1_000.0;
+    }
+}
@@ -0,0 +1,115 @@
+package com.exemplo.conta.monitoramento;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL por requisição agregado por endpoint (método HTTP + padrão da rota)
+ *
+ * Recebe a SqlRequisicao de cada requisição ao final (ServerTimingFilter) e compara com
+ * o @OrcamentoSql do método do controller. O custo por requisição é um lookup em mapa
+ * e alguns LongAdder; o orçamento é lido por reflexão só na primeira requisição do endpoint.
+ */
+@Component
+public class MonitorRequisicoes {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorRequisicoes.class);
+    static final String SEM_ENDPOINT = "(sem endpoint)";
+    private static final int SEM_ORCAMENTO = -1;
+
+    private final boolean habilitado;
+    private final Map<String, EstatisticaRequisicao> estatisticas = new ConcurrentHashMap<>();
+
+    public MonitorRequisicoes(MonitorSql monitorSql,
+                              @Value("${conta.sql.por-requisicao.habilitado:true}") boolean habilitado) {
+        // A contagem vem do DataSourceMonitorado, que só existe com o monitoramento de SQL ligado
+        this.habilitado = habilitado && monitorSql.habilitado();
+    }
+
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Registra uma requisição encerrada
+     * @param endpoint Ex.: GET /contas/{id} (null = sem rota, como 404)
+     * @param handler Método do controller que atendeu (null se não houve)
+     */
+    public void registrar(String endpoint, Method handler, SqlRequisicao sql) {
+        String chave = endpoint != null ? endpoint : SEM_ENDPOINT;
+        EstatisticaRequisicao estatistica = estatisticas.get(chave);
+        if (estatistica == null) {
+            estatistica = estatisticas.computeIfAbsent(chave, e -> new EstatisticaRequisicao(e, orcamento(handler)));
+        }
+        if (estatistica.registrar(sql)) {
+            log.warn("{} executou {} comandos SQL, acima do orçamento de {} (possível N+1; ver GET /admin/sql/requisicoes)",
+                    chave, sql.comandos(), estatistica.orcamento());
+        }
+    }
+
+    // ENDPOINTS COM MAIS COMANDOS (MÉDIA), MÁXIMO DE COMANDOS, TEMPO NO BANCO OU ESPERA POR CONEXÃO
+    public List<Map<String, Object>> top(int n, String ordem) {
+        Comparator<EstatisticaRequisicao> comparador = switch (ordem) {
+            case "maximo" -> Comparator.comparingLong(EstatisticaRequisicao::maximoComandos);
+            case "tempo" -> Comparator.comparingDouble(EstatisticaRequisicao::mediaNanosBanco);
+            case "espera" -> Comparator.comparingDouble(EstatisticaRequisicao::mediaNanosEsperaConexao);
+            default -> Comparator.comparingDouble(EstatisticaRequisicao::mediaComandos);
+        };
+        List<EstatisticaRequisicao> todas = new ArrayList<>(estatisticas.values());
+        todas.sort(comparador.reversed());
+        List<Map<String, Object>> resultado = new ArrayList<>();
+        for (EstatisticaRequisicao estatistica : todas.subList(0, Math.min(Math.max(n, 0), todas.size()))) {
+            resultado.add(estatistica.paraMapa());
+        }
+        return resultado;
+    }
+
+    // ENDPOINTS QUE JÁ PASSARAM DO ORÇAMENTO (endpoint -> máximo de comandos observado)
+    public Map<String, Long> acimaDoOrcamento() {
+        Map<String, Long> acima = new LinkedHashMap<>();
+        for (EstatisticaRequisicao estatistica : estatisticas.values()) {
+            if (estatistica.acimaDoOrcamento() > 0) {
+                acima.put(estatistica.endpoint() + " (orçamento " + estatistica.orcamento() + ")",
+                        estatistica.maximoComandos());
+            }
+        }
+        return acima;
+    }
+
+    // RESUMO GERAL
+    public Map<String, Object> resumo() {
+        long requisicoes = 0;
+        long acima = 0;
+        for (EstatisticaRequisicao estatistica : estatisticas.values()) {
+            requisicoes += estatistica.requisicoes();
+            acima += estatistica.acimaDoOrcamento();
+        }
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("habilitado", habilitado);
+        resumo.put("endpoints", estatisticas.size());
+        resumo.put("requisicoes", requisicoes);
+        resumo.put("acimaDoOrcamento", acima);
+        return resumo;
+    }
+
+    public void limpar() {
+        estatisticas.clear();
+    }
+
+    private static int orcamento(Method handler) {
+        OrcamentoSql orcamento = handler == null ? null
+                : AnnotatedElementUtils.findMergedAnnotation(handler, OrcamentoSql.class);
+        return orcamento != null ? orcamento.value() : SEM_ORCAMENTO;
+    }
+}
@@ -0,0 +1,157 @@
+package com.exemplo.conta.monitoramento;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estatísticas de execução por forma de SQL, coletadas no nível do JDBC
+ *
+ * Substitui o show-sql: nada é impresso na thread da requisição. Só os comandos
+ * acima do limite (ou uma amostra) vão para uma fila e são logados por uma thread
+ * separada; se a fila encher, a linha de log é descartada e contada.
+ */
+@Component
+public class MonitorSql {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorSql.class);
+    static final String OUTRAS_FORMAS = "(outras formas)";
+    private static final int MAX_CACHE_NORMALIZACAO = 10_000;
+
+    private final boolean habilitado;
+    private final long lentoNanos;
+    private final double amostragem;
+    private final int maxFormas;
+
+    // SQL original -> forma (o Hibernate reutiliza as mesmas strings)
+    private final Map<String, String> formasPorSql = new ConcurrentHashMap<>();
+    private final Map<String, EstatisticaSql> estatisticas = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> logPendente = new ArrayBlockingQueue<>(1024);
+    private final AtomicLong logsDescartados = new AtomicLong();
+    private final AtomicLong lentos = new AtomicLong();
+
+    public MonitorSql(@Value("${conta.sql.monitoramento.habilitado:true}") boolean habilitado,
+                      @Value("${conta.sql.lento-ms:200}") long lentoMs,
+                      @Value("${conta.sql.amostragem:0.0}") double amostragem,
+                      @Value("${conta.sql.max-formas:500}") int maxFormas) {
+        this.habilitado = habilitado;
+        this.lentoNanos = TimeUnit.MILLISECONDS.toNanos(lentoMs);
+        this.amostragem = amostragem;
+        this.maxFormas = maxFormas;
+        if (habilitado) {
+            Thread escritor = new Thread(this::escreverLog, "sql-lento-log");
+            escritor.setDaemon(true);
+            escritor.start();
+        }
+    }
+
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    // REGISTRAR UMA EXECUÇÃO (linhas = linhas afetadas; as lidas chegam depois por adicionarLinhas)
+    EstatisticaSql registrar(String sql, long nanos, long linhas) {
+        String forma = forma(sql);
+        EstatisticaSql estatistica = estatisticas.get(forma);
+        if (estatistica == null) {
+            String chave = estatisticas.size() < maxFormas ? forma : OUTRAS_FORMAS;
+            estatistica = estatisticas.computeIfAbsent(chave, EstatisticaSql::new);
+        }
+        estatistica.registrar(nanos, linhas);
+
+        boolean lento = nanos >= lentoNanos;
+        if (lento) {
+            lentos.incrementAndGet();
+        }
+        if (lento || (amostragem > 0 && ThreadLocalRandom.current().nextDouble() < amostragem)) {
+            String linha = (lento ? "SQL lento" : "SQL amostrado") + " ("
+                    + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms): " + forma;
+            if (!logPendente.offer(linha)) {
+                logsDescartados.incrementAndGet();
+            }
+        }
+        return estatistica;
+    }
+
+    // FORMAS COM MAIS TEMPO TOTAL, EXECUÇÕES, TEMPO MÉDIO OU TEMPO MÁXIMO
+    public List<Map<String, Object>> top(int n, String ordem) {
+        Comparator<EstatisticaSql> comparador = switch (ordem) {
+            case "execucoes" -> Comparator.comparingLong(EstatisticaSql::execucoes);
+            case "media" -> Comparator.comparingDouble(EstatisticaSql::mediaNanos);
+            case "maximo" -> Comparator.comparingLong(EstatisticaSql::maximoNanos);
+            default -> Comparator.comparingLong(EstatisticaSql::nanos);
+        };
+        List<EstatisticaSql> todas = new ArrayList<>(estatisticas.values());
+        todas.sort(comparador.reversed());
+        List<Map<String, Object>> resultado = new ArrayList<>();
+        for (EstatisticaSql estatistica : todas.subList(0, Math.min(Math.max(n, 0), todas.size()))) {
+            resultado.add(estatistica.paraMapa());
+        }
+        return resultado;
+    }
+
+    // RESUMO GERAL
+    public Map<String, Object> resumo() {
+        long execucoes = 0;
+        long nanos = 0;
+        for (EstatisticaSql estatistica : estatisticas.values()) {
+            execucoes += estatistica.execucoes();
+            nanos += estatistica.nanos();
+        }
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("habilitado", habilitado);
+        resumo.put("quantidadeFormas", estatisticas.size());
+        resumo.put("execucoes", execucoes);
+        resumo.put("tempoTotalMs", TimeUnit.NANOSECONDS.toMillis(nanos));
+        resumo.put("limiteLentoMs", TimeUnit.NANOSECONDS.toMillis(lentoNanos));
+        resumo.put("lentos", lentos.get());
+        resumo.put("amostragem", amostragem);
+        resumo.put("logsDescartados", logsDescartados.get());
+        return resumo;
+    }
+
+    // ZERAR AS ESTATÍSTICAS (ex.: antes de medir um cenário)
+    public void limpar() {
+        estatisticas.clear();
+        lentos.set(0);
+        logsDescartados.set(0);
+    }
+
+    private String forma(String sql) {
+        if (sql == null) {
+            return "(sem sql)";
+        }
+        String forma = formasPorSql.get(sql);
+        if (forma == null) {
+            forma = NormalizadorSql.normalizar(sql);
+            if (formasPorSql.size() >= MAX_CACHE_NORMALIZACAO) {
+                formasPorSql.clear();
+            }
+            formasPorSql.put(sql, forma);
+        }
+        return forma;
+    }
+
+    private void escreverLog() {
+        while (true) {
+            try {
+                log.warn(logPendente.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
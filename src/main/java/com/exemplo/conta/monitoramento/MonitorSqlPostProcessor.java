@@ -0,0 +1,33 @@
+package com.exemplo.conta.monitoramento;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Envolve o DataSource da aplicação (Hikari) no DataSourceMonitorado,
+ * para que Hibernate, JdbcTemplate e Flyway passem pelo MonitorSql
+ */
+@Component
+public class MonitorSqlPostProcessor implements BeanPostProcessor {
+
+    // Resolvido só quando o DataSource é criado (BeanPostProcessors sobem antes dos demais beans)
+    private final ObjectProvider<MonitorSql> monitor;
+
+    public MonitorSqlPostProcessor(ObjectProvider<MonitorSql> monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceMonitorado)) {
+            MonitorSql monitorSql = monitor.getObject();
+            if (monitorSql.habilitado()) {
+                return new DataSourceMonitorado(dataSource, monitorSql);
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,62 @@
+package com.exemplo.conta.monitoramento;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduz um SQL à sua "forma": literais viram ?, espaços são colapsados e
+ * listas IN de qualquer tamanho viram (?...), para agrupar execuções equivalentes
+ */
+final class NormalizadorSql {
+
+    private static final Pattern LISTA = Pattern.compile("\\(\\?(?: ?, ?\\?)+\\)");
+
+    private NormalizadorSql() {}
+
+    static String normalizar(String sql) {
+        int n = sql.length();
+        StringBuilder forma = new StringBuilder(n);
+        boolean espaco = false;
+        for (int i = 0; i < n; i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                espaco = true;
+                continue;
+            }
+            if (espaco && forma.length() > 0) {
+                forma.append(' ');
+            }
+            espaco = false;
+
+            if (c == '\'') {
+                // Literal de texto ('' dentro dele é aspas escapada)
+                for (i++; i < n; i++) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < n && sql.charAt(i + 1) == '\'') {
+                            i++;
+                        } else {
+                            break;
+                        }
+                    }
+                }
+                forma.append('?');
+            } else if (Character.isDigit(c) && !dentroDeIdentificador(forma)) {
+                while (i + 1 < n && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                forma.append('?');
+            } else {
+                forma.append(c);
+            }
+        }
+        return LISTA.matcher(forma).replaceAll("(?...)");
+    }
+
+    // Dígito logo depois de letra/_ faz parte de um nome (ex.: alias c1_0), não é literal
+    private static boolean dentroDeIdentificador(StringBuilder forma) {
+        if (forma.length() == 0) {
+            return false;
+        }
+        char anterior = forma.charAt(forma.length() - 1);
+        return Character.isLetterOrDigit(anterior) || anterior == '_' || anterior == '$';
+    }
+}
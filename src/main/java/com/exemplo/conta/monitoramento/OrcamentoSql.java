@@ -0,0 +1,22 @@
+package com.exemplo.conta.monitoramento;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Máximo de comandos SQL que uma requisição ao endpoint pode executar na thread da requisição
+ *
+ * Não depende da quantidade de dados: um N+1 (um SELECT por item de uma lista) passa do
+ * orçamento assim que a lista cresce. Requisições acima do orçamento são contadas em
+ * GET /admin/sql/requisicoes e logadas uma vez por endpoint; nos testes, reprovam.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OrcamentoSql {
+
+    int value();
+}
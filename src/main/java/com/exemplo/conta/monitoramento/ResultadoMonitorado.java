@@ -0,0 +1,1024 @@
+package com.exemplo.conta.monitoramento;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * ResultSet que soma cada linha lida (next) na estatística da forma de SQL,
+ * mesmo que o ResultSet nunca seja fechado explicitamente. Os demais métodos só delegam.
+ */
+final class ResultadoMonitorado implements ResultSet {
+
+    private final ResultSet alvo;
+    private final Statement comando;
+    private final EstatisticaSql estatistica;
+
+    ResultadoMonitorado(ResultSet alvo, Statement comando, EstatisticaSql estatistica) {
+        this.alvo = alvo;
+        this.comando = comando;
+        this.estatistica = estatistica;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> tipo) throws SQLException {
+        return alvo.unwrap(tipo);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> tipo) throws SQLException {
+        return alvo.isWrapperFor(tipo);
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        if (alvo.next()) {
+            estatistica.adicionarLinhas(1);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        alvo.close();
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        return alvo.wasNull();
+    }
+
+    @Override
+    public String getString(int indice) throws SQLException {
+        return alvo.getString(indice);
+    }
+
+    @Override
+    public boolean getBoolean(int indice) throws SQLException {
+        return alvo.getBoolean(indice);
+    }
+
+    @Override
+    public byte getByte(int indice) throws SQLException {
+        return alvo.getByte(indice);
+    }
+
+    @Override
+    public short getShort(int indice) throws SQLException {
+        return alvo.getShort(indice);
+    }
+
+    @Override
+    public int getInt(int indice) throws SQLException {
+        return alvo.getInt(indice);
+    }
+
+    @Override
+    public long getLong(int indice) throws SQLException {
+        return alvo.getLong(indice);
+    }
+
+    @Override
+    public float getFloat(int indice) throws SQLException {
+        return alvo.getFloat(indice);
+    }
+
+    @Override
+    public double getDouble(int indice) throws SQLException {
+        return alvo.getDouble(indice);
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(int indice, int escala) throws SQLException {
+        return alvo.getBigDecimal(indice, escala);
+    }
+
+    @Override
+    public byte[] getBytes(int indice) throws SQLException {
+        return alvo.getBytes(indice);
+    }
+
+    @Override
+    public Date getDate(int indice) throws SQLException {
+        return alvo.getDate(indice);
+    }
+
+    @Override
+    public Time getTime(int indice) throws SQLException {
+        return alvo.getTime(indice);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int indice) throws SQLException {
+        return alvo.getTimestamp(indice);
+    }
+
+    @Override
+    public InputStream getAsciiStream(int indice) throws SQLException {
+        return alvo.getAsciiStream(indice);
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(int indice) throws SQLException {
+        return alvo.getUnicodeStream(indice);
+    }
+
+    @Override
+    public InputStream getBinaryStream(int indice) throws SQLException {
+        return alvo.getBinaryStream(indice);
+    }
+
+    @Override
+    public String getString(String coluna) throws SQLException {
+        return alvo.getString(coluna);
+    }
+
+    @Override
+    public boolean getBoolean(String coluna) throws SQLException {
+        return alvo.getBoolean(coluna);
+    }
+
+    @Override
+    public byte getByte(String coluna) throws SQLException {
+        return alvo.getByte(coluna);
+    }
+
+    @Override
+    public short getShort(String coluna) throws SQLException {
+        return alvo.getShort(coluna);
+    }
+
+    @Override
+    public int getInt(String coluna) throws SQLException {
+        return alvo.getInt(coluna);
+    }
+
+    @Override
+    public long getLong(String coluna) throws SQLException {
+        return alvo.getLong(coluna);
+    }
+
+    @Override
+    public float getFloat(String coluna) throws SQLException {
+        return alvo.getFloat(coluna);
+    }
+
+    @Override
+    public double getDouble(String coluna) throws SQLException {
+        return alvo.getDouble(coluna);
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(String coluna, int escala) throws SQLException {
+        return alvo.getBigDecimal(coluna, escala);
+    }
+
+    @Override
+    public byte[] getBytes(String coluna) throws SQLException {
+        return alvo.getBytes(coluna);
+    }
+
+    @Override
+    public Date getDate(String coluna) throws SQLException {
+        return alvo.getDate(coluna);
+    }
+
+    @Override
+    public Time getTime(String coluna) throws SQLException {
+        return alvo.getTime(coluna);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String coluna) throws SQLException {
+        return alvo.getTimestamp(coluna);
+    }
+
+    @Override
+    public InputStream getAsciiStream(String coluna) throws SQLException {
+        return alvo.getAsciiStream(coluna);
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(String coluna) throws SQLException {
+        return alvo.getUnicodeStream(coluna);
+    }
+
+    @Override
+    public InputStream getBinaryStream(String coluna) throws SQLException {
+        return alvo.getBinaryStream(coluna);
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return alvo.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        alvo.clearWarnings();
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        return alvo.getCursorName();
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return alvo.getMetaData();
+    }
+
+    @Override
+    public Object getObject(int indice) throws SQLException {
+        return alvo.getObject(indice);
+    }
+
+    @Override
+    public Object getObject(String coluna) throws SQLException {
+        return alvo.getObject(coluna);
+    }
+
+    @Override
+    public int findColumn(String coluna) throws SQLException {
+        return alvo.findColumn(coluna);
+    }
+
+    @Override
+    public Reader getCharacterStream(int indice) throws SQLException {
+        return alvo.getCharacterStream(indice);
+    }
+
+    @Override
+    public Reader getCharacterStream(String coluna) throws SQLException {
+        return alvo.getCharacterStream(coluna);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int indice) throws SQLException {
+        return alvo.getBigDecimal(indice);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String coluna) throws SQLException {
+        return alvo.getBigDecimal(coluna);
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        return alvo.isBeforeFirst();
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        return alvo.isAfterLast();
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        return alvo.isFirst();
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        return alvo.isLast();
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        alvo.beforeFirst();
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        alvo.afterLast();
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        return alvo.first();
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        return alvo.last();
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        return alvo.getRow();
+    }
+
+    @Override
+    public boolean absolute(int linha) throws SQLException {
+        return alvo.absolute(linha);
+    }
+
+    @Override
+    public boolean relative(int linhas) throws SQLException {
+        return alvo.relative(linhas);
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        return alvo.previous();
+    }
+
+    @Override
+    public void setFetchDirection(int direcao) throws SQLException {
+        alvo.setFetchDirection(direcao);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return alvo.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(int linhas) throws SQLException {
+        alvo.setFetchSize(linhas);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return alvo.getFetchSize();
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        return alvo.getType();
+    }
+
+    @Override
+    public int getConcurrency() throws SQLException {
+        return alvo.getConcurrency();
+    }
+
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        return alvo.rowUpdated();
+    }
+
+    @Override
+    public boolean rowInserted() throws SQLException {
+        return alvo.rowInserted();
+    }
+
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        return alvo.rowDeleted();
+    }
+
+    @Override
+    public void updateNull(int indice) throws SQLException {
+        alvo.updateNull(indice);
+    }
+
+    @Override
+    public void updateBoolean(int indice, boolean valor) throws SQLException {
+        alvo.updateBoolean(indice, valor);
+    }
+
+    @Override
+    public void updateByte(int indice, byte valor) throws SQLException {
+        alvo.updateByte(indice, valor);
+    }
+
+    @Override
+    public void updateShort(int indice, short valor) throws SQLException {
+        alvo.updateShort(indice, valor);
+    }
+
+    @Override
+    public void updateInt(int indice, int valor) throws SQLException {
+        alvo.updateInt(indice, valor);
+    }
+
+    @Override
+    public void updateLong(int indice, long valor) throws SQLException {
+        alvo.updateLong(indice, valor);
+    }
+
+    @Override
+    public void updateFloat(int indice, float valor) throws SQLException {
+        alvo.updateFloat(indice, valor);
+    }
+
+    @Override
+    public void updateDouble(int indice, double valor) throws SQLException {
+        alvo.updateDouble(indice, valor);
+    }
+
+    @Override
+    public void updateBigDecimal(int indice, BigDecimal valor) throws SQLException {
+        alvo.updateBigDecimal(indice, valor);
+    }
+
+    @Override
+    public void updateString(int indice, String valor) throws SQLException {
+        alvo.updateString(indice, valor);
+    }
+
+    @Override
+    public void updateBytes(int indice, byte[] valor) throws SQLException {
+        alvo.updateBytes(indice, valor);
+    }
+
+    @Override
+    public void updateDate(int indice, Date valor) throws SQLException {
+        alvo.updateDate(indice, valor);
+    }
+
+    @Override
+    public void updateTime(int indice, Time valor) throws SQLException {
+        alvo.updateTime(indice, valor);
+    }
+
+    @Override
+    public void updateTimestamp(int indice, Timestamp valor) throws SQLException {
+        alvo.updateTimestamp(indice, valor);
+    }
+
+    @Override
+    public void updateAsciiStream(int indice, InputStream valor, int tamanho) throws SQLException {
+        alvo.updateAsciiStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void updateBinaryStream(int indice, InputStream valor, int tamanho) throws SQLException {
+        alvo.updateBinaryStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void updateCharacterStream(int indice, Reader valor, int tamanho) throws SQLException {
+        alvo.updateCharacterStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void updateObject(int indice, Object valor, int escalaOuTamanho) throws SQLException {
+        alvo.updateObject(indice, valor, escalaOuTamanho);
+    }
+
+    @Override
+    public void updateObject(int indice, Object valor) throws SQLException {
+        alvo.updateObject(indice, valor);
+    }
+
+    @Override
+    public void updateNull(String coluna) throws SQLException {
+        alvo.updateNull(coluna);
+    }
+
+    @Override
+    public void updateBoolean(String coluna, boolean valor) throws SQLException {
+        alvo.updateBoolean(coluna, valor);
+    }
+
+    @Override
+    public void updateByte(String coluna, byte valor) throws SQLException {
+        alvo.updateByte(coluna, valor);
+    }
+
+    @Override
+    public void updateShort(String coluna, short valor) throws SQLException {
+        alvo.updateShort(coluna, valor);
+    }
+
+    @Override
+    public void updateInt(String coluna, int valor) throws SQLException {
+        alvo.updateInt(coluna, valor);
+    }
+
+    @Override
+    public void updateLong(String coluna, long valor) throws SQLException {
+        alvo.updateLong(coluna, valor);
+    }
+
+    @Override
+    public void updateFloat(String coluna, float valor) throws SQLException {
+        alvo.updateFloat(coluna, valor);
+    }
+
+    @Override
+    public void updateDouble(String coluna, double valor) throws SQLException {
+        alvo.updateDouble(coluna, valor);
+    }
+
+    @Override
+    public void updateBigDecimal(String coluna, BigDecimal valor) throws SQLException {
+        alvo.updateBigDecimal(coluna, valor);
+    }
+
+    @Override
+    public void updateString(String coluna, String valor) throws SQLException {
+        alvo.updateString(coluna, valor);
+    }
+
+    @Override
+    public void updateBytes(String coluna, byte[] valor) throws SQLException {
+        alvo.updateBytes(coluna, valor);
+    }
+
+    @Override
+    public void updateDate(String coluna, Date valor) throws SQLException {
+        alvo.updateDate(coluna, valor);
+    }
+
+    @Override
+    public void updateTime(String coluna, Time valor) throws SQLException {
+        alvo.updateTime(coluna, valor);
+    }
+
+    @Override
+    public void updateTimestamp(String coluna, Timestamp valor) throws SQLException {
+        alvo.updateTimestamp(coluna, valor);
+    }
+
+    @Override
+    public void updateAsciiStream(String coluna, InputStream valor, int tamanho) throws SQLException {
+        alvo.updateAsciiStream(coluna, valor, tamanho);
+    }
+
+    @Override
+    public void updateBinaryStream(String coluna, InputStream valor, int tamanho) throws SQLException {
+        alvo.updateBinaryStream(coluna, valor, tamanho);
+    }
+
+    @Override
+    public void updateCharacterStream(String coluna, Reader leitor, int tamanho) throws SQLException {
+        alvo.updateCharacterStream(coluna, leitor, tamanho);
+    }
+
+    @Override
+    public void updateObject(String coluna, Object valor, int escalaOuTamanho) throws SQLException {
+        alvo.updateObject(coluna, valor, escalaOuTamanho);
+    }
+
+    @Override
+    public void updateObject(String coluna, Object valor) throws SQLException {
+        alvo.updateObject(coluna, valor);
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        alvo.insertRow();
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        alvo.updateRow();
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        alvo.deleteRow();
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        alvo.refreshRow();
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        alvo.cancelRowUpdates();
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        alvo.moveToInsertRow();
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        alvo.moveToCurrentRow();
+    }
+
+    @Override
+    public Statement getStatement() throws SQLException {
+        return comando;
+    }
+
+    @Override
+    public Object getObject(int indice, Map<String, Class<?>> tipos) throws SQLException {
+        return alvo.getObject(indice, tipos);
+    }
+
+    @Override
+    public Ref getRef(int indice) throws SQLException {
+        return alvo.getRef(indice);
+    }
+
+    @Override
+    public Blob getBlob(int indice) throws SQLException {
+        return alvo.getBlob(indice);
+    }
+
+    @Override
+    public Clob getClob(int indice) throws SQLException {
+        return alvo.getClob(indice);
+    }
+
+    @Override
+    public Array getArray(int indice) throws SQLException {
+        return alvo.getArray(indice);
+    }
+
+    @Override
+    public Object getObject(String coluna, Map<String, Class<?>> tipos) throws SQLException {
+        return alvo.getObject(coluna, tipos);
+    }
+
+    @Override
+    public Ref getRef(String coluna) throws SQLException {
+        return alvo.getRef(coluna);
+    }
+
+    @Override
+    public Blob getBlob(String coluna) throws SQLException {
+        return alvo.getBlob(coluna);
+    }
+
+    @Override
+    public Clob getClob(String coluna) throws SQLException {
+        return alvo.getClob(coluna);
+    }
+
+    @Override
+    public Array getArray(String coluna) throws SQLException {
+        return alvo.getArray(coluna);
+    }
+
+    @Override
+    public Date getDate(int indice, Calendar calendario) throws SQLException {
+        return alvo.getDate(indice, calendario);
+    }
+
+    @Override
+    public Date getDate(String coluna, Calendar calendario) throws SQLException {
+        return alvo.getDate(coluna, calendario);
+    }
+
+    @Override
+    public Time getTime(int indice, Calendar calendario) throws SQLException {
+        return alvo.getTime(indice, calendario);
+    }
+
+    @Override
+    public Time getTime(String coluna, Calendar calendario) throws SQLException {
+        return alvo.getTime(coluna, calendario);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int indice, Calendar calendario) throws SQLException {
+        return alvo.getTimestamp(indice, calendario);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String coluna, Calendar calendario) throws SQLException {
+        return alvo.getTimestamp(coluna, calendario);
+    }
+
+    @Override
+    public URL getURL(int indice) throws SQLException {
+        return alvo.getURL(indice);
+    }
+
+    @Override
+    public URL getURL(String coluna) throws SQLException {
+        return alvo.getURL(coluna);
+    }
+
+    @Override
+    public void updateRef(int indice, Ref valor) throws SQLException {
+        alvo.updateRef(indice, valor);
+    }
+
+    @Override
+    public void updateRef(String coluna, Ref valor) throws SQLException {
+        alvo.updateRef(coluna, valor);
+    }
+
+    @Override
+    public void updateBlob(int indice, Blob valor) throws SQLException {
+        alvo.updateBlob(indice, valor);
+    }
+
+    @Override
+    public void updateBlob(String coluna, Blob valor) throws SQLException {
+        alvo.updateBlob(coluna, valor);
+    }
+
+    @Override
+    public void updateClob(int indice, Clob valor) throws SQLException {
+        alvo.updateClob(indice, valor);
+    }
+
+    @Override
+    public void updateClob(String coluna, Clob valor) throws SQLException {
+        alvo.updateClob(coluna, valor);
+    }
+
+    @Override
+    public void updateArray(int indice, Array valor) throws SQLException {
+        alvo.updateArray(indice, valor);
+    }
+
+    @Override
+    public void updateArray(String coluna, Array valor) throws SQLException {
+        alvo.updateArray(coluna, valor);
+    }
+
+    @Override
+    public RowId getRowId(int indice) throws SQLException {
+        return alvo.getRowId(indice);
+    }
+
+    @Override
+    public RowId getRowId(String coluna) throws SQLException {
+        return alvo.getRowId(coluna);
+    }
+
+    @Override
+    public void updateRowId(int indice, RowId valor) throws SQLException {
+        alvo.updateRowId(indice, valor);
+    }
+
+    @Override
+    public void updateRowId(String coluna, RowId valor) throws SQLException {
+        alvo.updateRowId(coluna, valor);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return alvo.getHoldability();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return alvo.isClosed();
+    }
+
+    @Override
+    public void updateNString(int indice, String valor) throws SQLException {
+        alvo.updateNString(indice, valor);
+    }
+
+    @Override
+    public void updateNString(String coluna, String valor) throws SQLException {
+        alvo.updateNString(coluna, valor);
+    }
+
+    @Override
+    public void updateNClob(int indice, NClob valor) throws SQLException {
+        alvo.updateNClob(indice, valor);
+    }
+
+    @Override
+    public void updateNClob(String coluna, NClob valor) throws SQLException {
+        alvo.updateNClob(coluna, valor);
+    }
+
+    @Override
+    public NClob getNClob(int indice) throws SQLException {
+        return alvo.getNClob(indice);
+    }
+
+    @Override
+    public NClob getNClob(String coluna) throws SQLException {
+        return alvo.getNClob(coluna);
+    }
+
+    @Override
+    public SQLXML getSQLXML(int indice) throws SQLException {
+        return alvo.getSQLXML(indice);
+    }
+
+    @Override
+    public SQLXML getSQLXML(String coluna) throws SQLException {
+        return alvo.getSQLXML(coluna);
+    }
+
+    @Override
+    public void updateSQLXML(int indice, SQLXML valor) throws SQLException {
+        alvo.updateSQLXML(indice, valor);
+    }
+
+    @Override
+    public void updateSQLXML(String coluna, SQLXML valor) throws SQLException {
+        alvo.updateSQLXML(coluna, valor);
+    }
+
+    @Override
+    public String getNString(int indice) throws SQLException {
+        return alvo.getNString(indice);
+    }
+
+    @Override
+    public String getNString(String coluna) throws SQLException {
+        return alvo.getNString(coluna);
+    }
+
+    @Override
+    public Reader getNCharacterStream(int indice) throws SQLException {
+        return alvo.getNCharacterStream(indice);
+    }
+
+    @Override
+    public Reader getNCharacterStream(String coluna) throws SQLException {
+        return alvo.getNCharacterStream(coluna);
+    }
+
+    @Override
+    public void updateNCharacterStream(int indice, Reader valor, long tamanho) throws SQLException {
+        alvo.updateNCharacterStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void updateNCharacterStream(String coluna, Reader leitor, long tamanho) throws SQLException {
+        alvo.updateNCharacterStream(coluna, leitor, tamanho);
+    }
+
+    @Override
+    public void updateAsciiStream(int indice, InputStream valor, long tamanho) throws SQLException {
+        alvo.updateAsciiStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void updateBinaryStream(int indice, InputStream valor, long tamanho) throws SQLException {
+        alvo.updateBinaryStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void updateCharacterStream(int indice, Reader valor, long tamanho) throws SQLException {
+        alvo.updateCharacterStream(indice, valor, tamanho);
+    }
+
+    @Override
+    public void updateAsciiStream(String coluna, InputStream valor, long tamanho) throws SQLException {
+        alvo.updateAsciiStream(coluna, valor, tamanho);
+    }
+
+    @Override
+    public void updateBinaryStream(String coluna, InputStream valor, long tamanho) throws SQLException {
+        alvo.updateBinaryStream(coluna, valor, tamanho);
+    }
+
+    @Override
+    public void updateCharacterStream(String coluna, Reader leitor, long tamanho) throws SQLException {
+        alvo.updateCharacterStream(coluna, leitor, tamanho);
+    }
+
+    @Override
+    public void updateBlob(int indice, InputStream fluxo, long tamanho) throws SQLException {
+        alvo.updateBlob(indice, fluxo, tamanho);
+    }
+
+    @Override
+    public void updateBlob(String coluna, InputStream fluxo, long tamanho) throws SQLException {
+        alvo.updateBlob(coluna, fluxo, tamanho);
+    }
+
+    @Override
+    public void updateClob(int indice, Reader leitor, long tamanho) throws SQLException {
+        alvo.updateClob(indice, leitor, tamanho);
+    }
+
+    @Override
+    public void updateClob(String coluna, Reader leitor, long tamanho) throws SQLException {
+        alvo.updateClob(coluna, leitor, tamanho);
+    }
+
+    @Override
+    public void updateNClob(int indice, Reader leitor, long tamanho) throws SQLException {
+        alvo.updateNClob(indice, leitor, tamanho);
+    }
+
+    @Override
+    public void updateNClob(String coluna, Reader leitor, long tamanho) throws SQLException {
+        alvo.updateNClob(coluna, leitor, tamanho);
+    }
+
+    @Override
+    public void updateNCharacterStream(int indice, Reader valor) throws SQLException {
+        alvo.updateNCharacterStream(indice, valor);
+    }
+
+    @Override
+    public void updateNCharacterStream(String coluna, Reader leitor) throws SQLException {
+        alvo.updateNCharacterStream(coluna, leitor);
+    }
+
+    @Override
+    public void updateAsciiStream(int indice, InputStream valor) throws SQLException {
+        alvo.updateAsciiStream(indice, valor);
+    }
+
+    @Override
+    public void updateBinaryStream(int indice, InputStream valor) throws SQLException {
+        alvo.updateBinaryStream(indice, valor);
+    }
+
+    @Override
+    public void updateCharacterStream(int indice, Reader valor) throws SQLException {
+        alvo.updateCharacterStream(indice, valor);
+    }
+
+    @Override
+    public void updateAsciiStream(String coluna, InputStream valor) throws SQLException {
+        alvo.updateAsciiStream(coluna, valor);
+    }
+
+    @Override
+    public void updateBinaryStream(String coluna, InputStream valor) throws SQLException {
+        alvo.updateBinaryStream(coluna, valor);
+    }
+
+    @Override
+    public void updateCharacterStream(String coluna, Reader leitor) throws SQLException {
+        alvo.updateCharacterStream(coluna, leitor);
+    }
+
+    @Override
+    public void updateBlob(int indice, InputStream fluxo) throws SQLException {
+        alvo.updateBlob(indice, fluxo);
+    }
+
+    @Override
+    public void updateBlob(String coluna, InputStream fluxo) throws SQLException {
+        alvo.updateBlob(coluna, fluxo);
+    }
+
+    @Override
+    public void updateClob(int indice, Reader leitor) throws SQLException {
+        alvo.updateClob(indice, leitor);
+    }
+
+    @Override
+    public void updateClob(String coluna, Reader leitor) throws SQLException {
+        alvo.updateClob(coluna, leitor);
+    }
+
+    @Override
+    public void updateNClob(int indice, Reader leitor) throws SQLException {
+        alvo.updateNClob(indice, leitor);
+    }
+
+    @Override
+    public void updateNClob(String coluna, Reader leitor) throws SQLException {
+        alvo.updateNClob(coluna, leitor);
+    }
+
+    @Override
+    public <T> T getObject(int indice, Class<T> tipo) throws SQLException {
+        return alvo.getObject(indice, tipo);
+    }
+
+    @Override
+    public <T> T getObject(String coluna, Class<T> tipo) throws SQLException {
+        return alvo.getObject(coluna, tipo);
+    }
+
+    @Override
+    public void updateObject(int indice, Object valor, SQLType tipoSql, int escalaOuTamanho) throws SQLException {
+        alvo.updateObject(indice, valor, tipoSql, escalaOuTamanho);
+    }
+
+    @Override
+    public void updateObject(String coluna, Object valor, SQLType tipoSql, int escalaOuTamanho) throws SQLException {
+        alvo.updateObject(coluna, valor, tipoSql, escalaOuTamanho);
+    }
+
+    @Override
+    public void updateObject(int indice, Object valor, SQLType tipoSql) throws SQLException {
+        alvo.updateObject(indice, valor, tipoSql);
+    }
+
+    @Override
+    public void updateObject(String coluna, Object valor, SQLType tipoSql) throws SQLException {
+        alvo.updateObject(coluna, valor, tipoSql);
+    }
+}
@@ -0,0 +1,80 @@
+package com.exemplo.conta.monitoramento;
+
+/**
+ * Contagem de SQL da requisição em andamento na thread: comandos, tempo no banco e
+ * espera por conexão do pool
+ *
+ * Preenchida pelo DataSourceMonitorado (um ThreadLocal.get por comando) entre iniciar e
+ * encerrar. Só a thread da requisição conta: trabalho mandado para outras threads
+ * (streaming assíncrono, jobs) fica de fora.
+ */
+public final class SqlRequisicao {
+
+    private static final ThreadLocal<SqlRequisicao> ATUAL = new ThreadLocal<>();
+
+    private int comandos;
+    private long nanosBanco;
+    private long nanosEsperaConexao;
+
+    private SqlRequisicao() {}
+
+    public static SqlRequisicao iniciar() {
+        SqlRequisicao contagem = new SqlRequisicao();
+        ATUAL.set(contagem);
+        return contagem;
+    }
+
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    // Contagem da thread atual (null fora de uma requisição)
+    static SqlRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    void comando(long nanos) {
+        comandos++;
+        nanosBanco += nanos;
+    }
+
+    void esperaConexao(long nanos) {
+        nanosEsperaConexao += nanos;
+    }
+
+    public int comandos() {
+        return comandos;
+    }
+
+    public long nanosBanco() {
+        return nanosBanco;
+    }
+
+    public long nanosEsperaConexao() {
+        return nanosEsperaConexao;
+    }
+
+    // Valor do header Server-Timing, ex.: db;dur=1.234;desc="3 comandos", conexao;dur=0.012
+    public String serverTiming() {
+        StringBuilder valor = new StringBuilder(64);
+        valor.append("db;dur=");
+        milis(valor, nanosBanco);
+        valor.append(";desc=\"").append(comandos).append(" comandos\", conexao;dur=");
+        milis(valor, nanosEsperaConexao);
+        return valor.toString();
+    }
+
+    // Milissegundos com três casas, sem String.format
+    private static void milis(StringBuilder valor, long nanos) {
+        long micros = (nanos + 500) / 1_000;
+        valor.append(micros / 1_000).append('.');
+        long fracao = micros % 1_000;
+        if (fracao < 100) {
+            valor.append('0');
+        }
+        if (fracao < 10) {
+            valor.append('0');
+        }
+        valor.append(fracao);
+    }
+}
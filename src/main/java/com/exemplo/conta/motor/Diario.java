@@ -0,0 +1,135 @@
+package com.exemplo.conta.motor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Diário (journal) sequencial do motor de saldos, dividido em segmentos
+ *
+ * Cada segmento se chama diario-<primeira sequência>.log e contém registros de
+ * tamanho fixo. O CRC no fim de cada registro detecta escrita parcial após queda.
+ *
+ * Registro (48 bytes):
+ *   seq(8) idConta(8) valor(8) saldoResultante(8) timestamp(8) tipo(4) crc(4)
+ */
+final class Diario implements AutoCloseable {
+
+    static final int TAMANHO_REGISTRO = 48;
+
+    static final int TIPO_DEPOSITO = 1;
+    static final int TIPO_SAQUE = 2;
+    static final int TIPO_DEFINIR_SALDO = 3;
+    static final int TIPO_REMOVER_CONTA = 4;
+
+    private static final String PREFIXO = "diario-";
+    private static final String SUFIXO = ".log";
+
+    private final Path diretorio;
+    private final boolean fsync;
+    private final CRC32 crc = new CRC32();
+    private FileChannel canal;
+
+    Diario(Path diretorio, boolean fsync) {
+        this.diretorio = diretorio;
+        this.fsync = fsync;
+    }
+
+    // ABRIR UM SEGMENTO NOVO COMEÇANDO EM proximaSeq
+    void abrirSegmento(long proximaSeq) throws IOException {
+        close();
+        Files.createDirectories(diretorio);
+        canal = FileChannel.open(caminhoSegmento(diretorio, proximaSeq),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    // Acrescenta um registro ao buffer do lote (a escrita acontece em gravar)
+    void adicionar(ByteBuffer lote, long seq, int tipo, long idConta, long valor, long saldoResultante, long timestamp) {
+        int inicio = lote.position();
+        lote.putLong(seq).putLong(idConta).putLong(valor).putLong(saldoResultante).putLong(timestamp).putInt(tipo);
+        crc.reset();
+        crc.update(lote.duplicate().position(inicio).limit(inicio + TAMANHO_REGISTRO - 4));
+        lote.putInt((int) crc.getValue());
+    }
+
+    // GRAVAR O LOTE (group commit: um único force para todos os registros)
+    void gravar(ByteBuffer lote) throws IOException {
+        lote.flip();
+        while (lote.hasRemaining()) {
+            canal.write(lote);
+        }
+        if (fsync) {
+            canal.force(false);
+        }
+        lote.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (canal != null) {
+            canal.close();
+            canal = null;
+        }
+    }
+
+    // ======================= Utilidades de segmentos =======================
+
+    static Path caminhoSegmento(Path diretorio, long primeiraSeq) {
+        return diretorio.resolve(String.format("%s%020d%s", PREFIXO, primeiraSeq, SUFIXO));
+    }
+
+    // Segmentos em ordem crescente de sequência
+    static List<Path> segmentos(Path diretorio) throws IOException {
+        List<Path> lista = new ArrayList<>();
+        if (!Files.isDirectory(diretorio)) {
+            return lista;
+        }
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            arquivos.filter(p -> p.getFileName().toString().startsWith(PREFIXO)
+                            && p.getFileName().toString().endsWith(SUFIXO))
+                    .sorted()
+                    .forEach(lista::add);
+        }
+        return lista;
+    }
+
+    static long primeiraSeq(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+
+    // Apaga segmentos cujos registros são todos <= seq (já em snapshot e já projetados)
+    static void apagarAte(Path diretorio, long seq) throws IOException {
+        List<Path> lista = segmentos(diretorio);
+        for (int i = 0; i + 1 < lista.size(); i++) {
+            if (primeiraSeq(lista.get(i + 1)) <= seq + 1) {
+                Files.deleteIfExists(lista.get(i));
+            }
+        }
+    }
+
+    // Registro decodificado (leitura do diário na reinicialização e no projetor)
+    static final class Registro {
+        long seq;
+        int tipo;
+        long idConta;
+        long valor;
+        long saldoResultante;
+        long timestamp;
+    }
+
+    // Valida o CRC do registro na posição atual do buffer
+    static boolean registroValido(ByteBuffer registro, CRC32 crc) {
+        int inicio = registro.position();
+        crc.reset();
+        crc.update(registro.duplicate().position(inicio).limit(inicio + TAMANHO_REGISTRO - 4));
+        return registro.getInt(inicio + TAMANHO_REGISTRO - 4) == (int) crc.getValue();
+    }
+}
@@ -0,0 +1,122 @@
+package com.exemplo.conta.motor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Leitura sequencial do diário a partir de uma sequência, atravessando segmentos
+ *
+ * Usado para reaplicar o diário na reinicialização e pelo projetor, que acompanha
+ * o fim do diário enquanto o escritor ainda grava nele.
+ */
+final class LeitorDiario implements AutoCloseable {
+
+    private final Path diretorio;
+    private final ByteBuffer buffer = ByteBuffer.allocate(Diario.TAMANHO_REGISTRO);
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel canal;
+    private long primeiraSeqSegmento = -1;
+    private long posicao;
+    private long ultimaSeq;
+
+    // Lê os registros com sequência maior que aPartirDe
+    LeitorDiario(Path diretorio, long aPartirDe) {
+        this.diretorio = diretorio;
+        this.ultimaSeq = aPartirDe;
+    }
+
+    /**
+     * Lê o próximo registro com sequência <= limite.
+     * Retorna false se ainda não houver registro disponível (a posição não avança).
+     */
+    boolean proximo(long limite, Diario.Registro destino) throws IOException {
+        if (limite <= ultimaSeq) {
+            return false;
+        }
+        while (true) {
+            if (canal == null && !abrirSegmentoInicial()) {
+                return false;
+            }
+            if (lerRegistro()) {
+                long seq = buffer.getLong(0);
+                if (seq > limite) {
+                    return false;
+                }
+                posicao += Diario.TAMANHO_REGISTRO;
+                if (seq <= ultimaSeq) {
+                    continue;
+                }
+                destino.seq = seq;
+                destino.idConta = buffer.getLong(8);
+                destino.valor = buffer.getLong(16);
+                destino.saldoResultante = buffer.getLong(24);
+                destino.timestamp = buffer.getLong(32);
+                destino.tipo = buffer.getInt(40);
+                ultimaSeq = seq;
+                return true;
+            }
+            // Fim do segmento (ou cauda incompleta após queda): segue para o próximo, se houver
+            if (!abrirProximoSegmento()) {
+                return false;
+            }
+        }
+    }
+
+    long ultimaSeq() {
+        return ultimaSeq;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (canal != null) {
+            canal.close();
+            canal = null;
+        }
+    }
+
+    private boolean lerRegistro() throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, posicao + buffer.position()) <= 0) {
+                return false;
+            }
+        }
+        buffer.flip();
+        return Diario.registroValido(buffer, crc);
+    }
+
+    // Último segmento que começa antes da próxima sequência desejada
+    private boolean abrirSegmentoInicial() throws IOException {
+        Path escolhido = null;
+        for (Path segmento : Diario.segmentos(diretorio)) {
+            if (escolhido == null || Diario.primeiraSeq(segmento) <= ultimaSeq + 1) {
+                escolhido = segmento;
+            }
+        }
+        return escolhido != null && abrir(escolhido);
+    }
+
+    private boolean abrirProximoSegmento() throws IOException {
+        List<Path> segmentos = Diario.segmentos(diretorio);
+        for (Path segmento : segmentos) {
+            if (Diario.primeiraSeq(segmento) > primeiraSeqSegmento) {
+                return abrir(segmento);
+            }
+        }
+        return false;
+    }
+
+    private boolean abrir(Path segmento) throws IOException {
+        close();
+        canal = FileChannel.open(segmento, StandardOpenOption.READ);
+        primeiraSeqSegmento = Diario.primeiraSeq(segmento);
+        posicao = 0;
+        return true;
+    }
+}
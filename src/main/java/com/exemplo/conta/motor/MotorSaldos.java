@@ -0,0 +1,482 @@
+package com.exemplo.conta.motor;
+
+import com.exemplo.conta.exception.ContaNaoEncontradaException;
+import com.exemplo.conta.exception.NegocioException;
+import com.exemplo.conta.exception.SaldoInsuficienteException;
+import com.exemplo.conta.repository.ContaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Motor de saldos em memória com escritor único (modo opcional para saque/depósito)
+ *
+ * - Saldos em uma tabela primitiva idConta -> centavos, sem locks
+ * - Comandos entram por uma fila circular (vários produtores, um consumidor)
+ * - A thread escritora aplica os comandos em lote, grava o lote no diário com um
+ *   único force (group commit) e só então responde aos chamadores
+ * - Um projetor em segundo plano grava MOVIMENTACAO/CONTA no banco a partir do diário
+ * - Na reinicialização: snapshot (ou banco) + reaplicação do diário
+ *
+ * Com o motor ligado, as leituras de saldo e extrato pelo banco ficam eventualmente
+ * consistentes (atraso do projetor).
+ */
+@Component
+public class MotorSaldos implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(MotorSaldos.class);
+    private static final int LOTE = 1024;
+    private static final String ARQUIVO_SNAPSHOT = "saldos.snapshot";
+    // Comando interno: soma ao saldo vigente e vai para o diário como DEFINIR_SALDO com o saldo resultante
+    private static final int AJUSTAR_SALDO = 0;
+
+    private final ContaRepository contaRepository;
+    private final TransactionTemplate transacaoLeitura;
+    private final ProjetorMotor projetor;
+
+    private final boolean habilitado;
+    private final Path diretorio;
+    private final boolean fsync;
+    private final long snapshotEventos;
+    private final long timeoutMs;
+
+    // Fila circular: o produtor reserva a posição com getAndIncrement e publica gravando a posição no slot
+    private final Comando[] slots;
+    private final AtomicLongArray publicados;
+    private final int mascara;
+    private final AtomicLong proximaPosicao = new AtomicLong();
+    private final AtomicLong consumidas = new AtomicLong();
+
+    // Estado da thread escritora (não é acessado por outras threads)
+    private TabelaSaldos tabela;
+    private Diario diario;
+    private long ultimaSeq;
+    private long seqSnapshot = -1;
+    private long eventosDesdeSnapshot;
+
+    private volatile long seqGravada;
+    private volatile boolean executando;
+    private volatile Throwable falha;
+    private volatile int contas;
+    private volatile long comandos;
+    private volatile long lotes;
+    private volatile long rejeitados;
+    private volatile long snapshots;
+    private Thread escritor;
+    private Thread threadProjetor;
+
+    public MotorSaldos(ContaRepository contaRepository, JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${conta.motor.habilitado:false}") boolean habilitado,
+                       @Value("${conta.motor.diretorio:motor-saldos}") String diretorio,
+                       @Value("${conta.motor.capacidade-fila:65536}") int capacidadeFila,
+                       @Value("${conta.motor.fsync:true}") boolean fsync,
+                       @Value("${conta.motor.snapshot-eventos:1000000}") long snapshotEventos,
+                       @Value("${conta.motor.lote-projecao:500}") int loteProjecao,
+                       @Value("${conta.motor.timeout-ms:5000}") long timeoutMs) {
+        this.contaRepository = contaRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.habilitado = habilitado;
+        this.diretorio = Paths.get(diretorio);
+        this.fsync = fsync;
+        this.snapshotEventos = snapshotEventos;
+        this.timeoutMs = timeoutMs;
+        this.projetor = new ProjetorMotor(jdbcTemplate, new TransactionTemplate(transactionManager),
+                this.diretorio, loteProjecao);
+
+        int capacidade = Integer.highestOneBit(Math.max(2, capacidadeFila) * 2 - 1);
+        this.slots = new Comando[capacidade];
+        this.publicados = new AtomicLongArray(capacidade);
+        for (int i = 0; i < capacidade; i++) {
+            slots[i] = new Comando();
+            publicados.set(i, -1);
+        }
+        this.mascara = capacidade - 1;
+    }
+
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    // DEPÓSITO (bloqueia até o registro estar gravado no diário)
+    public ResultadoMotor depositar(long idConta, long centavos) {
+        return executar(Diario.TIPO_DEPOSITO, idConta, centavos);
+    }
+
+    // SAQUE (rejeitado com SaldoInsuficienteException sem passar pelo diário)
+    public ResultadoMotor sacar(long idConta, long centavos) {
+        return executar(Diario.TIPO_SAQUE, idConta, centavos);
+    }
+
+    // DEFINIR SALDO (conta nova ou saldo alterado por PUT/PATCH)
+    public ResultadoMotor definirSaldo(long idConta, long centavos) {
+        return executar(Diario.TIPO_DEFINIR_SALDO, idConta, centavos);
+    }
+
+    // AJUSTAR SALDO (soma centavos ao saldo vigente; desfaz um definirSaldo sem apagar depósitos e saques aplicados depois dele)
+    public ResultadoMotor ajustarSaldo(long idConta, long centavos) {
+        return executar(AJUSTAR_SALDO, idConta, centavos);
+    }
+
+    // REMOVER CONTA (exclusão)
+    public ResultadoMotor removerConta(long idConta) {
+        return executar(Diario.TIPO_REMOVER_CONTA, idConta, 0);
+    }
+
+    // Sequência do último comando gravado no diário
+    public long seqGravada() {
+        return seqGravada;
+    }
+
+    // Espera o projetor gravar no banco até a sequência informada
+    public void aguardarProjecao(long seq) {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (projetor.projetadoAte() < seq) {
+            if (System.nanoTime() > limite) {
+                throw new IllegalStateException("Projeção do motor de saldos atrasada");
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    // ESTATÍSTICAS DO MOTOR
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("habilitado", habilitado);
+        stats.put("executando", executando);
+        stats.put("falha", falha == null ? null : falha.toString());
+        stats.put("contas", contas);
+        stats.put("comandos", comandos);
+        stats.put("lotes", lotes);
+        stats.put("comandosPorLote", lotes == 0 ? 0.0 : Math.round(comandos * 10.0 / lotes) / 10.0);
+        stats.put("saquesRejeitados", rejeitados);
+        stats.put("pendentesNaFila", proximaPosicao.get() - consumidas.get());
+        stats.put("seqGravada", seqGravada);
+        stats.put("atrasoProjecao", seqGravada - projetor.projetadoAte());
+        stats.put("snapshots", snapshots);
+        stats.put("projetor", projetor.estatisticas());
+        return stats;
+    }
+
+    // ======================= Ciclo de vida =======================
+
+    @Override
+    public void start() {
+        if (!habilitado) {
+            return;
+        }
+        long inicio = System.currentTimeMillis();
+        try {
+            long checkpoint = projetor.carregarCheckpoint();
+            tabela = new TabelaSaldos(1024);
+            long base = SnapshotSaldos.carregar(diretorio.resolve(ARQUIVO_SNAPSHOT), tabela, checkpoint);
+            String origem = "snapshot";
+            if (base < 0) {
+                // Sem snapshot (ou mais antigo que o banco): o banco reflete o diário até o checkpoint
+                tabela = new TabelaSaldos(1024);
+                carregarDoBanco();
+                base = checkpoint;
+                origem = "banco";
+            }
+            long reaplicados = reaplicarDiario(base);
+            seqGravada = ultimaSeq;
+            contas = tabela.tamanho();
+            gravarSnapshot();
+            diario = new Diario(diretorio, fsync);
+            diario.abrirSegmento(ultimaSeq + 1);
+            log.info("Motor de saldos: {} contas ({}, seq {}) + {} registros do diário reaplicados em {} ms",
+                    tabela.tamanho(), origem, base, reaplicados, System.currentTimeMillis() - inicio);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao iniciar o motor de saldos", e);
+        }
+
+        executando = true;
+        escritor = new Thread(this::executarEscritor, "motor-saldos-escritor");
+        escritor.start();
+        threadProjetor = new Thread(() -> projetor.executar(() -> seqGravada), "motor-saldos-projetor");
+        threadProjetor.setDaemon(true);
+        threadProjetor.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!executando) {
+            return;
+        }
+        executando = false;
+        try {
+            escritor.join();
+            projetor.parar();
+            threadProjetor.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Motor de saldos parado na seq {} (projetado até {})", seqGravada, projetor.projetadoAte());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    // Inicia antes do servidor web e para depois dele
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    // ======================= Produtores =======================
+
+    private ResultadoMotor executar(int tipo, long idConta, long centavos) {
+        if (!executando || falha != null) {
+            throw new IllegalStateException("Motor de saldos indisponível");
+        }
+        long posicao = proximaPosicao.getAndIncrement();
+        // Fila cheia: espera o escritor liberar a posição
+        while (posicao - consumidas.get() > mascara) {
+            LockSupport.parkNanos(1_000);
+        }
+        int indice = (int) (posicao & mascara);
+        Comando comando = slots[indice];
+        CompletableFuture<ResultadoMotor> resposta = new CompletableFuture<>();
+        comando.tipo = tipo;
+        comando.idConta = idConta;
+        comando.centavos = centavos;
+        comando.resposta = resposta;
+        publicados.set(indice, posicao);
+
+        try {
+            return resposta.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof NegocioException negocio) {
+                throw negocio;
+            }
+            throw new IllegalStateException("Falha no motor de saldos", e.getCause());
+        } catch (TimeoutException e) {
+            // O comando continua na fila: o desfecho fica em resposta
+            throw new ResultadoIncertoException("Motor de saldos não respondeu em " + timeoutMs + " ms", resposta);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResultadoIncertoException("Interrompido aguardando o motor de saldos", resposta);
+        }
+    }
+
+    // ======================= Escritor único =======================
+
+    @SuppressWarnings("unchecked")
+    private void executarEscritor() {
+        ByteBuffer lote = ByteBuffer.allocateDirect(LOTE * Diario.TAMANHO_REGISTRO);
+        CompletableFuture<ResultadoMotor>[] respostas = new CompletableFuture[LOTE];
+        Object[] resultados = new Object[LOTE];
+        long posicao = 0;
+        int ociosas = 0;
+
+        while (true) {
+            int n = 0;
+            while (n < LOTE && publicados.get((int) ((posicao + n) & mascara)) == posicao + n) {
+                n++;
+            }
+            if (n == 0) {
+                if (!executando && proximaPosicao.get() == posicao) {
+                    break;
+                }
+                esperar(++ociosas);
+                continue;
+            }
+            ociosas = 0;
+
+            long agora = System.currentTimeMillis();
+            for (int k = 0; k < n; k++) {
+                Comando comando = slots[(int) ((posicao + k) & mascara)];
+                respostas[k] = comando.resposta;
+                comando.resposta = null;
+                resultados[k] = aplicar(comando.tipo, comando.idConta, comando.centavos, agora, lote);
+            }
+            // Os dados dos comandos já foram copiados: as posições podem ser reutilizadas
+            posicao += n;
+            consumidas.set(posicao);
+
+            try {
+                if (lote.position() > 0) {
+                    diario.gravar(lote);
+                }
+            } catch (IOException e) {
+                // Sem durabilidade não há como responder: o motor para e recusa novos comandos
+                log.error("Motor de saldos: falha ao gravar o diário, motor desligado", e);
+                falha = e;
+                executando = false;
+                for (int k = 0; k < n; k++) {
+                    respostas[k].completeExceptionally(e);
+                }
+                break;
+            }
+            seqGravada = ultimaSeq;
+            contas = tabela.tamanho();
+            comandos += n;
+            lotes++;
+
+            for (int k = 0; k < n; k++) {
+                if (resultados[k] instanceof ResultadoMotor resultado) {
+                    respostas[k].complete(resultado);
+                } else {
+                    respostas[k].completeExceptionally((Throwable) resultados[k]);
+                }
+                respostas[k] = null;
+                resultados[k] = null;
+            }
+
+            if (eventosDesdeSnapshot >= snapshotEventos) {
+                rotacionar();
+            }
+        }
+
+        if (falha == null) {
+            rotacionar();
+        }
+        try {
+            diario.close();
+        } catch (IOException e) {
+            log.warn("Motor de saldos: erro ao fechar o diário", e);
+        }
+    }
+
+    private Object aplicar(int tipo, long idConta, long valor, long agora, ByteBuffer lote) {
+        long anterior = tabela.obter(idConta);
+        long novo;
+        switch (tipo) {
+            case Diario.TIPO_DEPOSITO -> {
+                if (anterior == TabelaSaldos.AUSENTE) {
+                    return ContaNaoEncontradaException.INSTANCIA;
+                }
+                novo = anterior + valor;
+            }
+            case Diario.TIPO_SAQUE -> {
+                if (anterior == TabelaSaldos.AUSENTE) {
+                    return ContaNaoEncontradaException.INSTANCIA;
+                }
+                if (anterior < valor) {
+                    rejeitados++;
+                    return new SaldoInsuficienteException(anterior / 100.0);
+                }
+                novo = anterior - valor;
+            }
+            case Diario.TIPO_DEFINIR_SALDO -> novo = valor;
+            case AJUSTAR_SALDO -> {
+                if (anterior == TabelaSaldos.AUSENTE) {
+                    return ContaNaoEncontradaException.INSTANCIA;
+                }
+                novo = anterior + valor;
+            }
+            default -> {
+                if (anterior == TabelaSaldos.AUSENTE) {
+                    return new ResultadoMotor(ultimaSeq, anterior, 0, agora);
+                }
+                novo = 0;
+            }
+        }
+
+        if (tipo == Diario.TIPO_REMOVER_CONTA) {
+            tabela.remover(idConta);
+        } else {
+            tabela.definir(idConta, novo);
+        }
+        ultimaSeq++;
+        eventosDesdeSnapshot++;
+        if (tipo == AJUSTAR_SALDO) {
+            diario.adicionar(lote, ultimaSeq, Diario.TIPO_DEFINIR_SALDO, idConta, novo, novo, agora);
+        } else {
+            diario.adicionar(lote, ultimaSeq, tipo, idConta, valor, novo, agora);
+        }
+        return new ResultadoMotor(ultimaSeq, anterior, novo, agora);
+    }
+
+    // Snapshot + novo segmento do diário + limpeza dos segmentos já cobertos
+    private void rotacionar() {
+        try {
+            gravarSnapshot();
+            diario.abrirSegmento(ultimaSeq + 1);
+            Diario.apagarAte(diretorio, Math.min(seqSnapshot, projetor.projetadoAte()));
+        } catch (IOException e) {
+            log.warn("Motor de saldos: falha no snapshot na seq {}", ultimaSeq, e);
+        }
+    }
+
+    private void gravarSnapshot() throws IOException {
+        long inicio = System.currentTimeMillis();
+        SnapshotSaldos.gravar(diretorio.resolve(ARQUIVO_SNAPSHOT), ultimaSeq, tabela);
+        seqSnapshot = ultimaSeq;
+        eventosDesdeSnapshot = 0;
+        snapshots++;
+        log.debug("Motor de saldos: snapshot de {} contas na seq {} em {} ms",
+                tabela.tamanho(), ultimaSeq, System.currentTimeMillis() - inicio);
+    }
+
+    private void carregarDoBanco() {
+        transacaoLeitura.executeWithoutResult(status -> {
+            try (Stream<Object[]> linhas = contaRepository.streamIdSaldo()) {
+                for (Object[] linha : (Iterable<Object[]>) linhas::iterator) {
+                    Double saldo = (Double) linha[1];
+                    tabela.definir((Long) linha[0], saldo == null ? 0 : Math.round(saldo * 100));
+                }
+            }
+        });
+    }
+
+    // Reaplica os registros posteriores à base (o diário guarda o saldo resultante)
+    private long reaplicarDiario(long base) throws IOException {
+        ultimaSeq = base;
+        long reaplicados = 0;
+        Diario.Registro registro = new Diario.Registro();
+        try (LeitorDiario leitor = new LeitorDiario(diretorio, base)) {
+            while (leitor.proximo(Long.MAX_VALUE, registro)) {
+                if (registro.tipo == Diario.TIPO_REMOVER_CONTA) {
+                    tabela.remover(registro.idConta);
+                } else {
+                    tabela.definir(registro.idConta, registro.saldoResultante);
+                }
+                ultimaSeq = registro.seq;
+                reaplicados++;
+            }
+        }
+        return reaplicados;
+    }
+
+    private static void esperar(int ociosas) {
+        if (ociosas < 100) {
+            Thread.onSpinWait();
+        } else if (ociosas < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(50_000);
+        }
+    }
+
+    private static final class Comando {
+        int tipo;
+        long idConta;
+        long centavos;
+        CompletableFuture<ResultadoMotor> resposta;
+    }
+}
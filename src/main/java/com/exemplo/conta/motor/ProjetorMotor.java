@@ -0,0 +1,201 @@
+package com.exemplo.conta.motor;
+
+import com.exemplo.conta.eventos.RegistroEventos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Projeta o diário do motor nas tabelas MOVIMENTACAO e CONTA, em lotes
+ *
+ * Cada lote (inserts de movimentação + updates de saldo agrupados por conta +
+ * eventos de DEPOSITO/SAQUE no outbox + checkpoint) é gravado em uma única transação com JDBC batch, então cada
+ * registro do diário é projetado exatamente uma vez mesmo após queda.
+ */
+final class ProjetorMotor {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjetorMotor.class);
+
+    private static final String NOME_CHECKPOINT = "projetor";
+    private static final String SQL_MOVIMENTACAO =
+            "INSERT INTO MOVIMENTACAO (ID_MOV, ID_CONTA, TIPO, VALOR, DATA_MOV) VALUES (SEQ_MOVIMENTACAO.NEXTVAL, ?, ?, ?, ?)";
+    private static final String SQL_SALDO = "UPDATE CONTA SET SALDO = ? WHERE ID_CONTA = ?";
+    private static final String SQL_CHECKPOINT = "UPDATE MOTOR_CHECKPOINT SET SEQUENCIA = ? WHERE NOME = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+    private final Path diretorio;
+    private final int tamanhoLote;
+
+    private volatile long projetadoAte;
+    private volatile boolean parando;
+    private volatile long lotes;
+    private volatile long registros;
+    private volatile long ignorados;
+    private volatile long falhas;
+
+    ProjetorMotor(JdbcTemplate jdbcTemplate, TransactionTemplate transacao, Path diretorio, int tamanhoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = transacao;
+        this.diretorio = diretorio;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    // LER (OU CRIAR) O CHECKPOINT
+    long carregarCheckpoint() {
+        List<Long> atual = jdbcTemplate.queryForList(
+                "SELECT SEQUENCIA FROM MOTOR_CHECKPOINT WHERE NOME = ?", Long.class, NOME_CHECKPOINT);
+        if (atual.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO MOTOR_CHECKPOINT (NOME, SEQUENCIA) VALUES (?, 0)", NOME_CHECKPOINT);
+            projetadoAte = 0;
+        } else {
+            projetadoAte = atual.get(0);
+        }
+        return projetadoAte;
+    }
+
+    /**
+     * Laço da thread do projetor: acompanha o diário até a sequência já gravada
+     * pelo escritor. Termina depois de parar() quando não houver mais o que projetar.
+     */
+    void executar(LongSupplier seqGravada) {
+        List<Diario.Registro> lote = new ArrayList<>(tamanhoLote);
+        try (LeitorDiario leitor = new LeitorDiario(diretorio, projetadoAte)) {
+            while (true) {
+                if (lote.isEmpty()) {
+                    long limite = seqGravada.getAsLong();
+                    Diario.Registro registro = new Diario.Registro();
+                    while (lote.size() < tamanhoLote && leitor.proximo(limite, registro)) {
+                        lote.add(registro);
+                        registro = new Diario.Registro();
+                    }
+                }
+                if (lote.isEmpty()) {
+                    if (parando) {
+                        return;
+                    }
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+                    continue;
+                }
+                try {
+                    projetar(lote);
+                    lote.clear();
+                } catch (DataIntegrityViolationException e) {
+                    projetarIndividualmente(lote);
+                    lote.clear();
+                } catch (DataAccessException e) {
+                    // Banco indisponível: mantém o lote e tenta de novo
+                    falhas++;
+                    log.warn("Projetor do motor: falha ao gravar lote até seq {}: {}",
+                            lote.get(lote.size() - 1).seq, e.getMessage());
+                    if (parando) {
+                        return;
+                    }
+                    LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+                }
+            }
+        } catch (IOException e) {
+            log.error("Projetor do motor: erro lendo o diário", e);
+        }
+    }
+
+    void parar() {
+        parando = true;
+    }
+
+    long projetadoAte() {
+        return projetadoAte;
+    }
+
+    Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("projetadoAte", projetadoAte);
+        stats.put("lotes", lotes);
+        stats.put("registros", registros);
+        stats.put("registrosIgnorados", ignorados);
+        stats.put("falhas", falhas);
+        return stats;
+    }
+
+    private void projetar(List<Diario.Registro> lote) {
+        List<Object[]> movimentacoes = new ArrayList<>(lote.size());
+        List<Object[]> eventos = new ArrayList<>(lote.size());
+        Map<Long, Double> saldos = new LinkedHashMap<>();
+        for (Diario.Registro registro : lote) {
+            adicionar(registro, movimentacoes, eventos, saldos);
+        }
+        long ultima = lote.get(lote.size() - 1).seq;
+        gravar(movimentacoes, eventos, saldos, ultima);
+        lotes++;
+        registros += lote.size();
+    }
+
+    // Um registro por transação, pulando os que violam integridade (ex.: conta excluída no banco)
+    private void projetarIndividualmente(List<Diario.Registro> lote) {
+        for (Diario.Registro registro : lote) {
+            List<Object[]> movimentacoes = new ArrayList<>(1);
+            List<Object[]> eventos = new ArrayList<>(1);
+            Map<Long, Double> saldos = new LinkedHashMap<>();
+            adicionar(registro, movimentacoes, eventos, saldos);
+            try {
+                gravar(movimentacoes, eventos, saldos, registro.seq);
+                registros++;
+            } catch (DataIntegrityViolationException e) {
+                ignorados++;
+                log.warn("Projetor do motor: registro seq {} da conta {} ignorado: {}",
+                        registro.seq, registro.idConta, e.getMostSpecificCause().getMessage());
+                gravar(List.of(), List.of(), Map.of(), registro.seq);
+            }
+        }
+        lotes++;
+    }
+
+    private static void adicionar(Diario.Registro registro, List<Object[]> movimentacoes, List<Object[]> eventos,
+                                  Map<Long, Double> saldos) {
+        switch (registro.tipo) {
+            case Diario.TIPO_DEPOSITO, Diario.TIPO_SAQUE -> {
+                String tipo = registro.tipo == Diario.TIPO_DEPOSITO ? "DEPOSITO" : "SAQUE";
+                Timestamp data = new Timestamp(registro.timestamp);
+                movimentacoes.add(new Object[]{registro.idConta, tipo, registro.valor / 100.0, data});
+                eventos.add(RegistroEventos.linha(tipo, registro.idConta, RegistroEventos.movimentacao(null,
+                        registro.valor / 100.0, registro.saldoResultante / 100.0), data));
+                saldos.put(registro.idConta, registro.saldoResultante / 100.0);
+            }
+            case Diario.TIPO_DEFINIR_SALDO -> saldos.put(registro.idConta, registro.saldoResultante / 100.0);
+            default -> saldos.remove(registro.idConta);
+        }
+    }
+
+    private void gravar(List<Object[]> movimentacoes, List<Object[]> eventos, Map<Long, Double> saldos, long ultimaSeq) {
+        transacao.executeWithoutResult(status -> {
+            if (!movimentacoes.isEmpty()) {
+                jdbcTemplate.batchUpdate(SQL_MOVIMENTACAO, movimentacoes);
+            }
+            if (!saldos.isEmpty()) {
+                List<Object[]> atualizacoes = new ArrayList<>(saldos.size());
+                saldos.forEach((idConta, saldo) -> atualizacoes.add(new Object[]{saldo, idConta}));
+                jdbcTemplate.batchUpdate(SQL_SALDO, atualizacoes);
+            }
+            // Depois dos saldos: o ID do evento sai com a linha da conta já bloqueada
+            if (!eventos.isEmpty()) {
+                jdbcTemplate.batchUpdate(RegistroEventos.SQL_INSERIR, eventos);
+            }
+            jdbcTemplate.update(SQL_CHECKPOINT, ultimaSeq, NOME_CHECKPOINT);
+        });
+        projetadoAte = ultimaSeq;
+    }
+}
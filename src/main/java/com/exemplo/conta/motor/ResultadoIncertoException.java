@@ -0,0 +1,23 @@
+package com.exemplo.conta.motor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * O comando entrou na fila do motor de saldos, mas a resposta não chegou a tempo
+ * (timeout ou interrupção): ele ainda pode ser aplicado e gravado no diário.
+ * Quem precisar reagir ao desfecho usa resultado(), que completa quando o escritor
+ * processar o comando.
+ */
+public class ResultadoIncertoException extends IllegalStateException {
+
+    private final transient CompletableFuture<ResultadoMotor> resultado;
+
+    ResultadoIncertoException(String mensagem, CompletableFuture<ResultadoMotor> resultado) {
+        super(mensagem);
+        this.resultado = resultado;
+    }
+
+    public CompletableFuture<ResultadoMotor> resultado() {
+        return resultado;
+    }
+}
@@ -0,0 +1,37 @@
+package com.exemplo.conta.motor;
+
+/**
+ * Resposta do motor de saldos para um comando aplicado e gravado no diário
+ */
+public final class ResultadoMotor {
+
+    private final long seq;
+    private final long saldoAnteriorCentavos;
+    private final long saldoNovoCentavos;
+    private final long timestamp;
+
+    ResultadoMotor(long seq, long saldoAnteriorCentavos, long saldoNovoCentavos, long timestamp) {
+        this.seq = seq;
+        this.saldoAnteriorCentavos = saldoAnteriorCentavos;
+        this.saldoNovoCentavos = saldoNovoCentavos;
+        this.timestamp = timestamp;
+    }
+
+    // Sequência do registro no diário
+    public long getSeq() {
+        return seq;
+    }
+
+    // Saldo antes do comando (null se a conta não existia no motor)
+    public Double getSaldoAnterior() {
+        return saldoAnteriorCentavos == TabelaSaldos.AUSENTE ? null : saldoAnteriorCentavos / 100.0;
+    }
+
+    public double getSaldoNovo() {
+        return saldoNovoCentavos / 100.0;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,116 @@
+package com.exemplo.conta.motor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot binário da tabela de saldos
+ *
+ * Formato: magic(4) seq(8) quantidade(4), pares idConta(8) centavos(8), crc(8).
+ * Gravado em arquivo temporário e movido atomicamente, então um snapshot
+ * interrompido no meio nunca substitui o anterior.
+ */
+final class SnapshotSaldos {
+
+    private static final int MAGIC = 0x534E4150;
+    private static final int TAMANHO_CABECALHO = 16;
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    private SnapshotSaldos() {}
+
+    static void gravar(Path arquivo, long seq, TabelaSaldos tabela) throws IOException {
+        Files.createDirectories(arquivo.getParent());
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileChannel canal = FileChannel.open(temporario,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+            buffer.putInt(MAGIC).putLong(seq).putInt(tabela.tamanho());
+            try {
+                tabela.paraCada((idConta, centavos) -> {
+                    if (buffer.remaining() < 16) {
+                        escrever(canal, buffer, crc);
+                    }
+                    buffer.putLong(idConta).putLong(centavos);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            escrever(canal, buffer, crc);
+            buffer.putLong(crc.getValue()).flip();
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            canal.force(true);
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Carrega o snapshot na tabela se a sequência dele for >= seqMinima.
+     * Retorna a sequência do snapshot ou -1 se não existir ou estiver defasado.
+     */
+    static long carregar(Path arquivo, TabelaSaldos tabela, long seqMinima) throws IOException {
+        if (!Files.exists(arquivo)) {
+            return -1;
+        }
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+            ler(canal, buffer, TAMANHO_CABECALHO);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Snapshot inválido: " + arquivo);
+            }
+            long seq = buffer.getLong();
+            int quantidade = buffer.getInt();
+            if (seq < seqMinima) {
+                return -1;
+            }
+            for (int restantes = quantidade; restantes > 0; ) {
+                int lote = Math.min(restantes, TAMANHO_BUFFER / 16);
+                ler(canal, buffer, lote * 16);
+                crc.update(buffer.duplicate());
+                for (int i = 0; i < lote; i++) {
+                    tabela.definir(buffer.getLong(), buffer.getLong());
+                }
+                restantes -= lote;
+            }
+            ler(canal, buffer, 8);
+            if (buffer.getLong() != crc.getValue()) {
+                throw new IOException("Snapshot corrompido (CRC): " + arquivo);
+            }
+            return seq;
+        }
+    }
+
+    private static void escrever(FileChannel canal, ByteBuffer buffer, CRC32 crc) {
+        try {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            buffer.clear();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void ler(FileChannel canal, ByteBuffer buffer, int bytes) throws IOException {
+        buffer.clear().limit(bytes);
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer) < 0) {
+                throw new IOException("Snapshot truncado");
+            }
+        }
+        buffer.flip();
+    }
+}
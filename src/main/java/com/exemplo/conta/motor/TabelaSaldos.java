@@ -0,0 +1,114 @@
+package com.exemplo.conta.motor;
+
+/**
+ * Mapa primitivo idConta -> saldo em centavos (endereçamento aberto, sondagem linear)
+ *
+ * Sem objetos por entrada e sem locks: só a thread escritora do motor altera a tabela.
+ * A chave 0 marca posição vazia (ids de conta começam em 1).
+ */
+final class TabelaSaldos {
+
+    static final long AUSENTE = Long.MIN_VALUE;
+    private static final double CARGA_MAXIMA = 0.6;
+
+    private long[] chaves;
+    private long[] valores;
+    private int tamanho;
+    private int mascara;
+
+    TabelaSaldos(int capacidadeInicial) {
+        int capacidade = Integer.highestOneBit(Math.max(16, (int) (capacidadeInicial / CARGA_MAXIMA)) * 2 - 1);
+        alocar(capacidade);
+    }
+
+    long obter(long idConta) {
+        int i = indice(idConta);
+        for (long chave; (chave = chaves[i]) != 0; i = (i + 1) & mascara) {
+            if (chave == idConta) {
+                return valores[i];
+            }
+        }
+        return AUSENTE;
+    }
+
+    void definir(long idConta, long centavos) {
+        int i = indice(idConta);
+        for (long chave; (chave = chaves[i]) != 0; i = (i + 1) & mascara) {
+            if (chave == idConta) {
+                valores[i] = centavos;
+                return;
+            }
+        }
+        chaves[i] = idConta;
+        valores[i] = centavos;
+        if (++tamanho > chaves.length * CARGA_MAXIMA) {
+            redimensionar();
+        }
+    }
+
+    // Remoção com deslocamento para trás (mantém as sequências de sondagem sem lápides)
+    void remover(long idConta) {
+        int i = indice(idConta);
+        for (long chave; (chave = chaves[i]) != idConta; i = (i + 1) & mascara) {
+            if (chave == 0) {
+                return;
+            }
+        }
+        tamanho--;
+        int vazio = i;
+        for (int j = (i + 1) & mascara; chaves[j] != 0; j = (j + 1) & mascara) {
+            int ideal = indice(chaves[j]);
+            // Move j para o buraco se a posição ideal de j não estiver entre (vazio, j]
+            if (((j - ideal) & mascara) >= ((j - vazio) & mascara)) {
+                chaves[vazio] = chaves[j];
+                valores[vazio] = valores[j];
+                vazio = j;
+            }
+        }
+        chaves[vazio] = 0;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    long bytes() {
+        return 2L * chaves.length * Long.BYTES;
+    }
+
+    // Percorre as entradas (usado pelo snapshot)
+    void paraCada(Visitante visitante) {
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != 0) {
+                visitante.visitar(chaves[i], valores[i]);
+            }
+        }
+    }
+
+    interface Visitante {
+        void visitar(long idConta, long centavos);
+    }
+
+    private int indice(long idConta) {
+        long h = idConta * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new long[capacidade];
+        valores = new long[capacidade];
+        mascara = capacidade - 1;
+        tamanho = 0;
+    }
+
+    private void redimensionar() {
+        long[] chavesAntigas = chaves;
+        long[] valoresAntigos = valores;
+        alocar(chavesAntigas.length * 2);
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (chavesAntigas[i] != 0) {
+                definir(chavesAntigas[i], valoresAntigos[i]);
+            }
+        }
+    }
+}
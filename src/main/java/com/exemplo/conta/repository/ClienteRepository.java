@@ -1,9 +1,14 @@
 package com.exemplo.conta.repository;
 
 import com.exemplo.conta.entity.Cliente;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 /**
  * Repository JPA para Cliente
  * Fornece operações CRUD automáticas para a tabela CLIENTE
@@ -16,4 +21,12 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     
     // Método para verificar se CPF já existe
     boolean existsByCpf(String cpf);
-}
\ No newline at end of file
+    
+    /**
+     * Lê id, nome e CPF de todos os clientes em streaming (sem carregar entidades)
+     * Deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT c.id, c.nome, c.cpf FROM Cliente c")
+    Stream<Object[]> streamIdNomeCpf();
+}
@@ -1,9 +1,41 @@
 package com.exemplo.conta.repository;
 
 import com.exemplo.conta.entity.Conta;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface ContaRepository extends JpaRepository<Conta, Long> {
+
+    // Conta com a linha bloqueada (SELECT ... FOR UPDATE) até o fim da transação: quem grava um
+    // saldo absoluto não sobrescreve alterações concorrentes, e o saldo anterior lido é o vigente
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Conta c WHERE c.id = :id")
+    Optional<Conta> findParaAtualizarById(@Param("id") Long id);
+
+    // O cliente ainda tem alguma conta? (exclusão do cliente junto com a última conta)
+    boolean existsByIdCliente(Long idCliente);
+
+    // Contas de um conjunto de clientes (usado pela busca de clientes)
+    List<Conta> findByIdClienteIn(Collection<Long> idsClientes);
+
+    // Maiores saldos (recarga do ranking de estatísticas)
+    List<Conta> findByOrderBySaldoDescIdAsc(Pageable pageable);
+
+    // Lê id e saldo de todas as contas em streaming (consumir dentro de transação e fechar)
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT c.id, c.saldo FROM Conta c")
+    Stream<Object[]> streamIdSaldo();
 }
@@ -1,11 +1,14 @@
 package com.exemplo.conta.repository;
 
 import com.exemplo.conta.entity.Movimentacao;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 /**
@@ -21,6 +24,28 @@ public interface MovimentacaoRepository extends JpaRepository<Movimentacao, Long
     @Query("SELECT m FROM Movimentacao m WHERE m.idConta = :idConta ORDER BY m.dataMovimentacao DESC")
     List<Movimentacao> findByIdContaOrderByDataMovimentacaoDesc(@Param("idConta") Long idConta);
     
+    /**
+     * Mesma consulta do extrato completo limitada a uma página (aquecimento)
+     */
+    @Query("SELECT m FROM Movimentacao m WHERE m.idConta = :idConta ORDER BY m.dataMovimentacao DESC")
+    List<Movimentacao> findByIdContaOrderByDataMovimentacaoDesc(@Param("idConta") Long idConta, Pageable pagina);
+    
+    /**
+     * Busca as movimentações de uma conta com data em [desde, ate), mais recente primeiro
+     */
+    @Query("SELECT m FROM Movimentacao m WHERE m.idConta = :idConta AND m.dataMovimentacao >= :desde"
+            + " AND m.dataMovimentacao < :ate ORDER BY m.dataMovimentacao DESC")
+    List<Movimentacao> findByIdContaNoPeriodo(@Param("idConta") Long idConta, @Param("desde") Timestamp desde,
+                                              @Param("ate") Timestamp ate);
+    
+    /**
+     * Mesma consulta do extrato por período limitada a uma página (aquecimento)
+     */
+    @Query("SELECT m FROM Movimentacao m WHERE m.idConta = :idConta AND m.dataMovimentacao >= :desde"
+            + " AND m.dataMovimentacao < :ate ORDER BY m.dataMovimentacao DESC")
+    List<Movimentacao> findByIdContaNoPeriodo(@Param("idConta") Long idConta, @Param("desde") Timestamp desde,
+                                              @Param("ate") Timestamp ate, Pageable pagina);
+    
     /**
      * Busca últimas N movimentações de uma conta
      */
@@ -28,7 +53,34 @@ public interface MovimentacaoRepository extends JpaRepository<Movimentacao, Long
     List<Movimentacao> findUltimasMovimentacoes(@Param("idConta") Long idConta, @Param("limite") int limite);
     
     /**
-     * Exclui todas as movimentações de uma conta
+     * Busca movimentações de um tipo a partir de uma data, mais antigas primeiro
+     * (usado para reconstruir janelas em memória)
+     */
+    List<Movimentacao> findByTipoAndDataMovimentacaoAfterOrderByDataMovimentacao(String tipo, Timestamp desde);
+    
+    /**
+     * Soma dos valores por tipo (DEPOSITO, SAQUE) - cada linha: [tipo, soma]
+     */
+    @Query("SELECT m.tipo, SUM(m.valor) FROM Movimentacao m GROUP BY m.tipo")
+    List<Object[]> somarPorTipo();
+    
+    /**
+     * Conta as movimentações de uma conta parando em :limite (a contagem não passa do limite)
+     */
+    @Query(value = "SELECT COUNT(*) FROM MOVIMENTACAO WHERE ID_CONTA = :idConta AND ROWNUM <= :limite", nativeQuery = true)
+    long contarAte(@Param("idConta") Long idConta, @Param("limite") int limite);
+    
+    /**
+     * Exclui até :lote movimentações de uma conta com um DELETE direto (sem carregar as entidades)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM MOVIMENTACAO WHERE ID_CONTA = :idConta AND ROWNUM <= :lote", nativeQuery = true)
+    int excluirLotePorConta(@Param("idConta") Long idConta, @Param("lote") int lote);
+    
+    /**
+     * Exclui todas as movimentações de uma conta com um único DELETE
      */
-    void deleteByIdConta(Long idConta);
+    @Modifying
+    @Query("DELETE FROM Movimentacao m WHERE m.idConta = :idConta")
+    int excluirPorConta(@Param("idConta") Long idConta);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.exemplo.conta.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Executa uma ação em memória só depois que a transação atual fizer commit
+ * (ou na hora, se não houver transação ativa)
+ */
+final class AposCommit {
+
+    private AposCommit() {}
+
+    static void executar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.exemplo.conta.service;
+
+import com.exemplo.conta.entity.Conta;
+import com.exemplo.conta.entity.Movimentacao;
+import com.exemplo.conta.exception.ContaNaoEncontradaException;
+import com.exemplo.conta.repository.ClienteRepository;
+import com.exemplo.conta.repository.ContaRepository;
+import com.exemplo.conta.repository.MovimentacaoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aquecimento depois da inicialização, antes de a aplicação se declarar pronta
+ *
+ * Logo depois de um deploy as primeiras requisições pegam tudo frio: métodos ainda
+ * interpretados pelo JIT, consultas do Hibernate ainda não interpretadas, serializadores
+ * do Jackson ainda não criados e o pool com poucas conexões abertas. Aqui, no
+ * ApplicationReadyEvent, o pool é preenchido até o máximo e depois algumas threads
+ * repetem chamadas só de leitura pelos mesmos caminhos das requisições (ContaService,
+ * repositórios, consulta de saldo e serialização JSON/CBOR com os ObjectMappers do MVC)
+ * sobre uma amostra de contas, durante conta.aquecimento.duracao-ms (ou até
+ * conta.aquecimento.iteracoes rodadas). Os extratos usam as mesmas consultas das
+ * requisições limitadas a LINHAS_EXTRATO linhas: contas antigas com histórico longo
+ * não transformam o aquecimento numa varredura da MOVIMENTACAO.
+ *
+ * O Spring Boot só passa a prontidão para ACCEPTING_TRAFFIC depois de todos os listeners
+ * do ApplicationReadyEvent, então GET /saude/prontidao responde 503 até o aquecimento
+ * terminar ou estourar conta.aquecimento.limite-ms. Nada é gravado no banco.
+ */
+@Service
+public class AquecimentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(AquecimentoService.class);
+    private static final String SQL_AMOSTRA = "SELECT ID_CONTA FROM CONTA ORDER BY ID_CONTA FETCH FIRST ? ROWS ONLY";
+    private static final long TRINTA_DIAS_MS = TimeUnit.DAYS.toMillis(30);
+    private static final Pageable LINHAS_EXTRATO = PageRequest.of(0, 50);
+
+    private final ContaService contaService;
+    private final ConsultaSaldoService consultaSaldoService;
+    private final EstatisticasService estatisticasService;
+    private final ContaRepository contaRepository;
+    private final ClienteRepository clienteRepository;
+    private final MovimentacaoRepository movimentacaoRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectMapper json;
+    private final ObjectMapper cbor;
+    private final ApplicationAvailability disponibilidade;
+
+    private final boolean habilitado;
+    private final long limiteMs;
+    private final long duracaoAlvoMs;
+    private final int iteracoes;
+    private final int paralelismo;
+    private final int tamanhoAmostra;
+    private final int conexoes;
+
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final LongAdder rodadas = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    // Tempo das rodadas nos primeiros e nos últimos 10% do aquecimento (frio x quente)
+    private final LongAdder nanosInicio = new LongAdder();
+    private final LongAdder rodadasInicio = new LongAdder();
+    private final LongAdder nanosFim = new LongAdder();
+    private final LongAdder rodadasFim = new LongAdder();
+    private volatile boolean parar;
+    private volatile String estado = "PENDENTE";
+    private volatile long duracaoMs;
+    private volatile int conexoesAbertas;
+
+    public AquecimentoService(ContaService contaService, ConsultaSaldoService consultaSaldoService,
+                              EstatisticasService estatisticasService, ContaRepository contaRepository,
+                              ClienteRepository clienteRepository, MovimentacaoRepository movimentacaoRepository,
+                              JdbcTemplate jdbcTemplate, DataSource dataSource, ObjectMapper objectMapper,
+                              MappingJackson2CborHttpMessageConverter conversorCbor,
+                              ApplicationAvailability disponibilidade,
+                              @Value("${conta.aquecimento.habilitado:true}") boolean habilitado,
+                              @Value("${conta.aquecimento.limite-ms:60000}") long limiteMs,
+                              @Value("${conta.aquecimento.duracao-ms:10000}") long duracaoAlvoMs,
+                              @Value("${conta.aquecimento.iteracoes:100000}") int iteracoes,
+                              @Value("${conta.aquecimento.paralelismo:4}") int paralelismo,
+                              @Value("${conta.aquecimento.contas:200}") int tamanhoAmostra,
+                              @Value("${spring.datasource.hikari.maximum-pool-size:10}") int conexoes) {
+        this.contaService = contaService;
+        this.consultaSaldoService = consultaSaldoService;
+        this.estatisticasService = estatisticasService;
+        this.contaRepository = contaRepository;
+        this.clienteRepository = clienteRepository;
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.json = objectMapper;
+        this.cbor = conversorCbor.getObjectMapper();
+        this.disponibilidade = disponibilidade;
+        this.habilitado = habilitado;
+        this.limiteMs = limiteMs;
+        this.duracaoAlvoMs = Math.min(duracaoAlvoMs, limiteMs);
+        this.iteracoes = iteracoes;
+        this.paralelismo = paralelismo;
+        this.tamanhoAmostra = tamanhoAmostra;
+        this.conexoes = conexoes;
+    }
+
+    // AQUECER ANTES DA PRONTIDÃO (bloqueia o ApplicationReadyEvent até terminar ou estourar o limite)
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecer() {
+        if (!habilitado) {
+            estado = "DESLIGADO";
+            return;
+        }
+        estado = "EXECUTANDO";
+        long inicio = System.nanoTime();
+        long prazo = inicio + TimeUnit.MILLISECONDS.toNanos(limiteMs);
+
+        conexoesAbertas = preencherPool();
+        List<Long> amostra = jdbcTemplate.queryForList(SQL_AMOSTRA, Long.class, tamanhoAmostra);
+        if (amostra.isEmpty()) {
+            amostra = List.of(0L); // banco vazio: ainda aquece consultas e o caminho de conta inexistente
+        }
+        long[] contas = amostra.stream().mapToLong(Long::longValue).toArray();
+        long inicioRodadas = System.nanoTime();
+        long duracaoRodadas = TimeUnit.MILLISECONDS.toNanos(duracaoAlvoMs);
+
+        ExecutorService threads = Executors.newFixedThreadPool(paralelismo, tarefa -> {
+            Thread thread = new Thread(tarefa, "aquecimento");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int t = 0; t < paralelismo; t++) {
+            threads.execute(() -> rodar(contas, inicioRodadas, duracaoRodadas));
+        }
+        threads.shutdown();
+        boolean terminou;
+        try {
+            terminou = threads.awaitTermination(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            terminou = false;
+        }
+        if (!terminou) {
+            parar = true;
+            threads.shutdownNow();
+        }
+        duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        estado = terminou ? "CONCLUIDO" : "LIMITE_ESGOTADO";
+        log.info("Aquecimento {} em {} ms: {} rodadas sobre {} contas, {} conexões abertas, rodada média {} us -> {} us",
+                estado, duracaoMs, rodadas.sum(), contas.length, conexoesAbertas,
+                media(nanosInicio, rodadasInicio), media(nanosFim, rodadasFim));
+    }
+
+    // PRONTIDÃO E MÉTRICAS DO AQUECIMENTO
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("prontidao", disponibilidade.getReadinessState().toString());
+        stats.put("estado", estado);
+        stats.put("limiteMs", limiteMs);
+        stats.put("duracaoMs", duracaoMs);
+        stats.put("duracaoAlvoMs", duracaoAlvoMs);
+        stats.put("iteracoes", iteracoes);
+        stats.put("rodadas", rodadas.sum());
+        stats.put("falhas", falhas.sum());
+        stats.put("paralelismo", paralelismo);
+        stats.put("conexoesAbertas", conexoesAbertas);
+        stats.put("rodadaMediaInicioUs", media(nanosInicio, rodadasInicio));
+        stats.put("rodadaMediaFimUs", media(nanosFim, rodadasFim));
+        return stats;
+    }
+
+    public boolean pronta() {
+        return disponibilidade.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+    }
+
+    // ======================= Internos =======================
+
+    // Pega todas as conexões do pool ao mesmo tempo (o Hikari abre as que faltam) e devolve
+    private int preencherPool() {
+        List<Connection> abertas = new ArrayList<>(conexoes);
+        try {
+            for (int i = 0; i < conexoes; i++) {
+                abertas.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("Aquecimento: pool preenchido só com {} de {} conexões: {}", abertas.size(), conexoes, e.getMessage());
+        } finally {
+            for (Connection conexao : abertas) {
+                try {
+                    conexao.close();
+                } catch (SQLException e) {
+                    log.debug("Falha ao devolver conexão do aquecimento", e);
+                }
+            }
+        }
+        return abertas.size();
+    }
+
+    // Roda até esgotar o tempo alvo ou as iterações; frio/quente = primeiros/últimos 10% de cada um
+    private void rodar(long[] contas, long inicioRodadas, long duracaoRodadas) {
+        int i;
+        long inicio;
+        while (!parar && (inicio = System.nanoTime()) - inicioRodadas < duracaoRodadas
+                && (i = proxima.getAndIncrement()) < iteracoes) {
+            long decorrido = inicio - inicioRodadas;
+            try {
+                rodada(contas[i % contas.length]);
+            } catch (RuntimeException | JsonProcessingException e) {
+                falhas.increment();
+                log.debug("Falha em rodada do aquecimento", e);
+            }
+            long nanos = System.nanoTime() - inicio;
+            rodadas.increment();
+            if (i < iteracoes / 10 && decorrido < duracaoRodadas / 10) {
+                nanosInicio.add(nanos);
+                rodadasInicio.increment();
+            } else if (i >= iteracoes - iteracoes / 10 || decorrido >= duracaoRodadas - duracaoRodadas / 10) {
+                nanosFim.add(nanos);
+                rodadasFim.increment();
+            }
+        }
+    }
+
+    // Uma passada pelas leituras das requisições da interface web, serializando como o MVC
+    private void rodada(long idConta) throws JsonProcessingException {
+        try {
+            Conta conta = contaService.buscarPorId(idConta);
+            json.writeValueAsBytes(conta);
+            cbor.writeValueAsBytes(conta);
+            contaService.verificarConta(idConta);
+            List<Movimentacao> extrato = movimentacaoRepository.findByIdContaOrderByDataMovimentacaoDesc(idConta, LINHAS_EXTRATO);
+            json.writeValueAsBytes(extrato);
+            cbor.writeValueAsBytes(extrato);
+            long agora = System.currentTimeMillis();
+            json.writeValueAsBytes(movimentacaoRepository.findByIdContaNoPeriodo(idConta,
+                    new Timestamp(agora - TRINTA_DIAS_MS), new Timestamp(agora), LINHAS_EXTRATO));
+            Map<String, Object> saldo = new LinkedHashMap<>();
+            saldo.put("id", idConta);
+            saldo.put("saldo", consultaSaldoService.saldo(idConta));
+            json.writeValueAsBytes(saldo);
+        } catch (ContaNaoEncontradaException e) {
+            // Conta excluída depois da amostra (ou banco vazio): também é um caminho das requisições
+        }
+        // Consultas usadas por criar, excluir, saque e depósito (só as leituras)
+        clienteRepository.existsByCpf("00000000000");
+        contaRepository.existsByIdCliente(-1L);
+        movimentacaoRepository.contarAte(idConta, 1);
+        json.writeValueAsBytes(estatisticasService.resumo());
+    }
+
+    private static long media(LongAdder nanos, LongAdder quantidade) {
+        long n = quantidade.sum();
+        return n == 0 ? 0 : nanos.sum() / n / 1_000;
+    }
+}
@@ -0,0 +1,144 @@
+package com.exemplo.conta.service;
+
+import com.exemplo.conta.entity.Cliente;
+import com.exemplo.conta.entity.Conta;
+import com.exemplo.conta.repository.ClienteRepository;
+import com.exemplo.conta.repository.ContaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Busca de contas por nome do cliente (sem acento, por prefixo) ou CPF parcial
+ *
+ * O índice é montado em streaming a partir da tabela CLIENTE na inicialização
+ * e atualizado pelo ContaService depois do commit de cada alteração. A compactação
+ * do delta roda numa thread própria, fora do afterCommit das requisições.
+ */
+@Service
+public class BuscaClienteService {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaClienteService.class);
+    public static final int LIMITE_MAXIMO = 100;
+
+    private final ClienteRepository clienteRepository;
+    private final ContaRepository contaRepository;
+
+    private final ExecutorService compactacao = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "indice-clientes-compactacao");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile IndiceClientes indice = new IndiceClientes.Construtor().construir(compactacao);
+    // Alterações feitas enquanto o índice inicial é montado (reaplicadas no novo índice)
+    private List<Consumer<IndiceClientes>> pendentes;
+
+    public BuscaClienteService(ClienteRepository clienteRepository, ContaRepository contaRepository) {
+        this.clienteRepository = clienteRepository;
+        this.contaRepository = contaRepository;
+    }
+
+    // MONTAR ÍNDICE LENDO A TABELA CLIENTE EM STREAMING
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construirIndice() {
+        long inicio = System.currentTimeMillis();
+        synchronized (this) {
+            pendentes = new ArrayList<>();
+        }
+
+        IndiceClientes.Construtor construtor = new IndiceClientes.Construtor();
+        long clientes = 0;
+        try (Stream<Object[]> linhas = clienteRepository.streamIdNomeCpf()) {
+            for (Object[] linha : (Iterable<Object[]>) linhas::iterator) {
+                construtor.adicionar((Long) linha[0], (String) linha[1], (String) linha[2]);
+                clientes++;
+            }
+        }
+        IndiceClientes novo = construtor.construir(compactacao);
+
+        synchronized (this) {
+            for (Consumer<IndiceClientes> alteracao : pendentes) {
+                alteracao.accept(novo);
+            }
+            indice = novo;
+            pendentes = null;
+        }
+
+        log.info("Índice de clientes: {} clientes, {} chaves, ~{} bytes, montado em {} ms",
+                clientes, novo.chaves(), novo.memoriaEstimadaBytes(), System.currentTimeMillis() - inicio);
+    }
+
+    // BUSCAR CONTAS PELO NOME OU CPF DO CLIENTE
+    public List<Conta> buscar(String consulta, int limite) {
+        List<Long> idsClientes = indice.buscar(consulta, Math.min(Math.max(limite, 1), LIMITE_MAXIMO));
+        if (idsClientes.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Cliente> clientes = clienteRepository.findAllById(idsClientes).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+        List<Conta> contas = new ArrayList<>(contaRepository.findByIdClienteIn(idsClientes));
+        for (Conta conta : contas) {
+            Cliente cliente = clientes.get(conta.getIdCliente());
+            if (cliente != null) {
+                conta.setTitular(cliente.getNome() + " (CPF: " + cliente.getCpf() + ")");
+            }
+        }
+        // Mantém a ordem do índice (alfabética pelo termo encontrado)
+        contas.sort(Comparator.comparingInt(c -> idsClientes.indexOf(c.getIdCliente())));
+        return contas;
+    }
+
+    // INDEXAR CLIENTE NOVO OU ALTERADO (após o commit, se houver transação)
+    public void indexar(Cliente cliente) {
+        long id = cliente.getId();
+        String nome = cliente.getNome();
+        String cpf = cliente.getCpf();
+        AposCommit.executar(() -> aplicar(i -> i.indexar(id, nome, cpf)));
+    }
+
+    // REMOVER CLIENTE EXCLUÍDO (após o commit, se houver transação)
+    public void remover(Long idCliente) {
+        AposCommit.executar(() -> aplicar(i -> i.remover(idCliente)));
+    }
+
+    // ESTATÍSTICAS DO ÍNDICE
+    public Map<String, Object> estatisticas() {
+        IndiceClientes atual = indice;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("chaves", atual.chaves());
+        stats.put("memoriaEstimadaBytes", atual.memoriaEstimadaBytes());
+        stats.put("compactando", atual.compactando());
+        return stats;
+    }
+
+    @PreDestroy
+    public void parar() {
+        compactacao.shutdownNow();
+    }
+
+    private synchronized void aplicar(Consumer<IndiceClientes> alteracao) {
+        if (pendentes != null) {
+            pendentes.add(alteracao);
+        }
+        alteracao.accept(indice);
+    }
+}
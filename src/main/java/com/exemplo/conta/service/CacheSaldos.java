@@ -0,0 +1,282 @@
+package com.exemplo.conta.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Mapa idConta -> saldo em centavos fora do heap (endereçamento aberto, sondagem linear)
+ *
+ * Uma única região de memória direta alocada na criação: cada posição tem três longs
+ * (chave, saldo, versão), 24 bytes, e nenhuma entrada vira objeto. A capacidade é fixa
+ * (sem redimensionar): passando dela, contas novas ficam de fora e a leitura cai no banco.
+ *
+ * Concorrência: a chave é ocupada uma vez por CAS e nunca muda. Para trocar o saldo o
+ * escritor bloqueia a versão da posição por CAS (BLOQUEADA), grava o saldo e publica a
+ * nova versão; alteração com versão menor ou igual à atual é descartada, então a ordem
+ * em que as threads aplicam não importa. Leitores não bloqueiam: leem a versão e depois
+ * o saldo (gravado antes da publicação da versão). Conta excluída vira lápide
+ * (versão máxima, com o instante da exclusão no lugar do saldo).
+ *
+ * Lápides ocupam posição e contam para a capacidade. Quando passam de 1/8 da capacidade,
+ * o executor de reconstrução copia as entradas vivas (e as lápides mais novas que a
+ * retenção, que ainda barram commits atrasados) para uma região nova e troca a
+ * região. Durante a cópia os escritores esperam (trava de escrita compartilhada entre
+ * eles); os leitores continuam sem trava, lendo a região antiga, que não muda mais.
+ */
+final class CacheSaldos {
+
+    static final long AUSENTE = Long.MIN_VALUE;
+    static final double CARGA_MAXIMA = 0.75;
+    // Commits anteriores à exclusão chegam em milissegundos; passado isso a lápide pode sair
+    static final long RETENCAO_LAPIDE = TimeUnit.MINUTES.toNanos(1);
+    private static final long BLOQUEADA = -1;
+    private static final long EXCLUIDA = Long.MAX_VALUE;
+    private static final int BYTES_POSICAO = 3 * Long.BYTES;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final int posicoes;
+    private final int capacidade;
+    private final int limiteLapides;
+    private final long retencaoLapide;
+    private final Executor reconstrucao;
+    private volatile ByteBuffer memoria;
+    // Escritores compartilham a trava de leitura; a reconstrução pega a de escrita
+    private final StampedLock escrita = new StampedLock();
+    // Posições ocupadas (contas + lápides)
+    private final AtomicInteger tamanho = new AtomicInteger();
+    private final AtomicInteger lapides = new AtomicInteger();
+    private final AtomicInteger recusadas = new AtomicInteger();
+    private final AtomicInteger reconstrucoes = new AtomicInteger();
+    private final AtomicBoolean reconstrucaoAgendada = new AtomicBoolean();
+    private final AtomicLong ultimaReconstrucao;
+
+    CacheSaldos(int capacidade) {
+        this(capacidade, Runnable::run);
+    }
+
+    CacheSaldos(int capacidade, Executor reconstrucao) {
+        this(capacidade, reconstrucao, RETENCAO_LAPIDE);
+    }
+
+    CacheSaldos(int capacidade, Executor reconstrucao, long retencaoLapide) {
+        long necessarias = (long) Math.max(16, Math.ceil(capacidade / CARGA_MAXIMA));
+        // Deslocamentos em int: uma única região de até 2 GB (cerca de 67 milhões de contas)
+        if (necessarias * BYTES_POSICAO > Integer.MAX_VALUE - Long.BYTES) {
+            throw new IllegalArgumentException("Capacidade do cache de saldos acima do máximo: " + capacidade);
+        }
+        this.capacidade = capacidade;
+        this.posicoes = (int) necessarias;
+        this.limiteLapides = Math.max(1, capacidade / 8);
+        this.retencaoLapide = retencaoLapide;
+        this.reconstrucao = reconstrucao;
+        this.ultimaReconstrucao = new AtomicLong(System.nanoTime() - retencaoLapide);
+        this.memoria = alocar();
+    }
+
+    // Saldo em centavos, ou AUSENTE se a conta não está no cache (ou foi excluída)
+    long obter(long idConta) {
+        ByteBuffer m = memoria;
+        int i = indice(idConta);
+        for (long chave; (chave = chave(m, i)) != 0; i = proxima(i)) {
+            if (chave == idConta) {
+                long versao = (long) LONGS.getVolatile(m, deslocamento(i) + 2 * Long.BYTES);
+                if (versao <= 0 || versao == EXCLUIDA) {
+                    return AUSENTE; // ainda sem saldo, em alteração neste instante ou excluída
+                }
+                return (long) LONGS.getVolatile(m, deslocamento(i) + Long.BYTES);
+            }
+        }
+        return AUSENTE;
+    }
+
+    /**
+     * Aplica o saldo se a versão for maior que a atual da conta
+     * @return false se a versão era antiga ou o cache está cheio
+     */
+    boolean aplicar(long idConta, long centavos, long versao) {
+        long trava = escrita.readLock();
+        try {
+            ByteBuffer m = memoria;
+            int i = posicao(m, idConta);
+            if (i >= 0) {
+                boolean gravado = gravar(m, i, centavos, versao);
+                // Contada ainda com a trava: a reconstrução não pode recontar esta lápide
+                if (gravado && versao == EXCLUIDA) {
+                    lapides.incrementAndGet();
+                }
+                return gravado;
+            }
+        } finally {
+            escrita.unlockRead(trava);
+        }
+        recusadas.incrementAndGet();
+        // Cheio com lápides: a reconstrução libera as posições para as próximas contas
+        if (lapides.get() > 0) {
+            agendarReconstrucao();
+        }
+        return false;
+    }
+
+    // Troca o saldo da posição se a versão for maior (com a trava de escrita compartilhada)
+    private static boolean gravar(ByteBuffer m, int i, long centavos, long versao) {
+        int base = deslocamento(i);
+        while (true) {
+            long atual = (long) LONGS.getVolatile(m, base + 2 * Long.BYTES);
+            if (atual == BLOQUEADA) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (atual >= versao) {
+                return false;
+            }
+            if (LONGS.compareAndSet(m, base + 2 * Long.BYTES, atual, BLOQUEADA)) {
+                LONGS.setVolatile(m, base + Long.BYTES, centavos);
+                LONGS.setVolatile(m, base + 2 * Long.BYTES, versao);
+                return true;
+            }
+        }
+    }
+
+    // Lápide: nenhuma alteração posterior volta a pôr a conta no cache (até a lápide expirar)
+    void remover(long idConta) {
+        if (aplicar(idConta, System.nanoTime(), EXCLUIDA) && lapides.get() >= limiteLapides) {
+            agendarReconstrucao();
+        }
+    }
+
+    // Contas com saldo no cache (sem as lápides)
+    int tamanho() {
+        return tamanho.get() - lapides.get();
+    }
+
+    int lapides() {
+        return lapides.get();
+    }
+
+    int capacidade() {
+        return capacidade;
+    }
+
+    int recusadas() {
+        return recusadas.get();
+    }
+
+    int reconstrucoes() {
+        return reconstrucoes.get();
+    }
+
+    // Memória fora do heap reservada (independe de quantas contas estão no cache)
+    long bytes() {
+        return (long) posicoes * BYTES_POSICAO;
+    }
+
+    // Uma reconstrução por vez, e no máximo uma por período de retenção: lápides recentes
+    // ainda não saem, e reconstruir de novo logo em seguida não liberaria nada
+    private void agendarReconstrucao() {
+        if (System.nanoTime() - ultimaReconstrucao.get() < retencaoLapide
+                || !reconstrucaoAgendada.compareAndSet(false, true)) {
+            return;
+        }
+        reconstrucao.execute(() -> {
+            try {
+                reconstruir();
+            } finally {
+                reconstrucaoAgendada.set(false);
+            }
+        });
+    }
+
+    // Copia contas e lápides recentes para uma região nova e troca a região
+    void reconstruir() {
+        long trava = escrita.writeLock();
+        try {
+            ByteBuffer antiga = memoria;
+            ByteBuffer nova = alocar();
+            long agora = System.nanoTime();
+            int ocupadas = 0;
+            int mantidas = 0;
+            for (int i = 0; i < posicoes; i++) {
+                long chave = chave(antiga, i);
+                if (chave == 0) {
+                    continue;
+                }
+                long saldo = (long) LONGS.get(antiga, deslocamento(i) + Long.BYTES);
+                long versao = (long) LONGS.get(antiga, deslocamento(i) + 2 * Long.BYTES);
+                if (versao == EXCLUIDA) {
+                    if (agora - saldo >= retencaoLapide) {
+                        continue;
+                    }
+                    mantidas++;
+                }
+                int j = indice(chave);
+                while (chave(nova, j) != 0) {
+                    j = proxima(j);
+                }
+                LONGS.set(nova, deslocamento(j), chave);
+                LONGS.set(nova, deslocamento(j) + Long.BYTES, saldo);
+                LONGS.set(nova, deslocamento(j) + 2 * Long.BYTES, versao);
+                ocupadas++;
+            }
+            tamanho.set(ocupadas);
+            lapides.set(mantidas);
+            ultimaReconstrucao.set(agora);
+            reconstrucoes.incrementAndGet();
+            memoria = nova;
+        } finally {
+            escrita.unlockWrite(trava);
+        }
+    }
+
+    // allocateDirect zera a memória: chave 0 = posição vazia (ids de conta começam em 1)
+    private ByteBuffer alocar() {
+        return ByteBuffer.allocateDirect(posicoes * BYTES_POSICAO + Long.BYTES).alignedSlice(Long.BYTES);
+    }
+
+    // Posição da conta, ocupando uma vazia se preciso; -1 se o cache estiver cheio
+    private int posicao(ByteBuffer m, long idConta) {
+        int i = indice(idConta);
+        while (true) {
+            long chave = chave(m, i);
+            if (chave == idConta) {
+                return i;
+            }
+            if (chave == 0) {
+                if (tamanho.get() >= capacidade) {
+                    return -1;
+                }
+                if (LONGS.compareAndSet(m, deslocamento(i), 0L, idConta)) {
+                    tamanho.incrementAndGet();
+                    return i;
+                }
+                continue; // outra thread ocupou a posição: relê a mesma
+            }
+            i = proxima(i);
+        }
+    }
+
+    private static long chave(ByteBuffer m, int i) {
+        return (long) LONGS.getVolatile(m, deslocamento(i));
+    }
+
+    private static int deslocamento(int i) {
+        return i * BYTES_POSICAO;
+    }
+
+    private int proxima(int i) {
+        return ++i == posicoes ? 0 : i;
+    }
+
+    // Multiplicação de Fibonacci e redução para [0, posicoes) sem divisão
+    private int indice(long idConta) {
+        long h = (idConta * 0x9E3779B97F4A7C15L) >>> 32;
+        return (int) ((h * posicoes) >>> 32);
+    }
+}
@@ -0,0 +1,153 @@
+package com.exemplo.conta.service;
+
+import com.exemplo.conta.exception.ContaNaoEncontradaException;
+import com.exemplo.conta.motor.MotorSaldos;
+import com.exemplo.conta.motor.ResultadoMotor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.sql.PreparedStatement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consulta só do saldo atual, servida de um cache fora do heap (CacheSaldos)
+ *
+ * Carregado em streaming da CONTA na inicialização e atualizado depois do commit de cada
+ * alteração de saldo. Cada alteração leva uma versão e o cache só aceita versões maiores,
+ * então commits da mesma conta aplicados fora de ordem não deixam saldo antigo:
+ * - pelo banco, a versão é tirada de um relógio depois do UPDATE da conta, com a linha
+ *   bloqueada até o commit (quem chamar precisa garantir isso);
+ * - com o motor de saldos, a versão é a sequência do comando no diário.
+ * Conta fora do cache (cheio, ainda carregando, em alteração no instante) é lida do banco.
+ */
+@Service
+public class ConsultaSaldoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsultaSaldoService.class);
+    private static final String SQL_SALDOS = "SELECT ID_CONTA, SALDO FROM CONTA";
+    private static final String SQL_SALDO = "SELECT SALDO FROM CONTA WHERE ID_CONTA = ?";
+    // Versão da carga inicial: qualquer alteração posterior (relógio ou sequência + 1) é maior
+    private static final long VERSAO_CARGA = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MotorSaldos motor;
+    // Reconstrução do cache quando as lápides de contas excluídas se acumulam
+    private final ExecutorService reconstrucao = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "cache-saldos-reconstrucao");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final CacheSaldos cache;
+    private final AtomicLong relogio = new AtomicLong(VERSAO_CARGA);
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder leiturasNoBanco = new LongAdder();
+    private volatile boolean carregado;
+
+    public ConsultaSaldoService(JdbcTemplate jdbcTemplate, MotorSaldos motor,
+                                @Value("${conta.saldos.capacidade-cache:1000000}") int capacidade) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.motor = motor;
+        this.cache = new CacheSaldos(capacidade, reconstrucao);
+    }
+
+    // CARGA INICIAL EM STREAMING
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.currentTimeMillis();
+        if (motor.habilitado()) {
+            // O banco só tem os saldos do motor depois que o projetor alcança o diário
+            try {
+                motor.aguardarProjecao(motor.seqGravada());
+            } catch (IllegalStateException e) {
+                log.warn("Cache de saldos não carregado: {}; consultas vão ao banco", e.getMessage());
+                return;
+            }
+        }
+        long[] contas = new long[1];
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_SALDOS);
+            ps.setFetchSize(1000);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            cache.aplicar(rs.getLong(1), Math.round(rs.getDouble(2) * 100), VERSAO_CARGA);
+            contas[0]++;
+        });
+        carregado = true;
+        log.info("Cache de saldos: {} contas carregadas em {} ms ({} de capacidade, {} bytes fora do heap)",
+                contas[0], System.currentTimeMillis() - inicio, cache.capacidade(), cache.bytes());
+    }
+
+    // SALDO ATUAL DA CONTA (lança ContaNaoEncontradaException)
+    public double saldo(Long idConta) {
+        long centavos = cache.obter(idConta);
+        if (centavos != CacheSaldos.AUSENTE) {
+            acertos.increment();
+            return centavos / 100.0;
+        }
+        leiturasNoBanco.increment();
+        List<Double> saldo = jdbcTemplate.queryForList(SQL_SALDO, Double.class, idConta);
+        if (saldo.isEmpty()) {
+            throw ContaNaoEncontradaException.INSTANCIA;
+        }
+        return saldo.get(0);
+    }
+
+    /**
+     * Saldo alterado pelo banco (novo null = conta excluída). Chamar com a linha da conta
+     * já alterada na transação: a versão sai agora e o cache muda depois do commit.
+     */
+    public void saldoAlterado(Long idConta, Double novo) {
+        long versao = relogio.incrementAndGet();
+        AposCommit.executar(() -> aplicar(idConta, novo, versao));
+    }
+
+    // Saldo alterado pelo motor (a ordem das sequências é a ordem das alterações)
+    public void saldoAlteradoNoMotor(Long idConta, ResultadoMotor resultado) {
+        long versao = VERSAO_CARGA + resultado.getSeq();
+        double novo = resultado.getSaldoNovo();
+        AposCommit.executar(() -> aplicar(idConta, novo, versao));
+    }
+
+    // ESTATÍSTICAS DO CACHE
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("carregado", carregado);
+        stats.put("contas", cache.tamanho());
+        stats.put("capacidade", cache.capacidade());
+        stats.put("bytesForaDoHeap", cache.bytes());
+        stats.put("bytesPorConta", cache.bytes() / Math.max(1, cache.capacidade()));
+        stats.put("contasRecusadas", cache.recusadas());
+        stats.put("lapides", cache.lapides());
+        stats.put("reconstrucoes", cache.reconstrucoes());
+        stats.put("acertos", acertos.sum());
+        stats.put("leiturasNoBanco", leiturasNoBanco.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void parar() {
+        reconstrucao.shutdownNow();
+    }
+
+    private void aplicar(Long idConta, Double novo, long versao) {
+        if (novo == null) {
+            cache.remover(idConta);
+        } else {
+            cache.aplicar(idConta, Math.round(novo * 100), versao);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.exemplo.conta.service;
 
+import com.exemplo.conta.arquivo.ArquivoMovimentacoes;
+import com.exemplo.conta.eventos.RegistroEventos;
 import com.exemplo.conta.entity.Conta;
 import com.exemplo.conta.entity.Cliente;
 import com.exemplo.conta.entity.Movimentacao;
@@ -8,32 +10,97 @@ import com.exemplo.conta.repository.ClienteRepository;
 import com.exemplo.conta.repository.MovimentacaoRepository;
 import com.exemplo.conta.dto.ContaCompletaDTO;
 import com.exemplo.conta.dto.MovimentacaoDTO;
+import com.exemplo.conta.exception.ContaNaoEncontradaException;
+import com.exemplo.conta.exception.CpfJaCadastradoException;
+import com.exemplo.conta.exception.SaldoInsuficienteException;
+import com.exemplo.conta.exception.SaldoInvalidoException;
+import com.exemplo.conta.motor.MotorSaldos;
+import com.exemplo.conta.motor.ResultadoIncertoException;
+import com.exemplo.conta.motor.ResultadoMotor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 @Service
 public class ContaService {
 
+    private static final Logger log = LoggerFactory.getLogger(ContaService.class);
+
+    // Extrato em streaming: linhas trazidas do banco de LEITURA_EXTRATO em LEITURA_EXTRATO
+    private static final int LEITURA_EXTRATO = 500;
+    private static final String SQL_EXTRATO = "SELECT ID_MOV, ID_CONTA, TIPO, VALOR, DATA_MOV FROM MOVIMENTACAO"
+            + " WHERE ID_CONTA = ? ORDER BY DATA_MOV DESC";
+    private static final String SQL_EXTRATO_PERIODO = "SELECT ID_MOV, ID_CONTA, TIPO, VALOR, DATA_MOV FROM MOVIMENTACAO"
+            + " WHERE ID_CONTA = ? AND DATA_MOV >= ? AND DATA_MOV < ? ORDER BY DATA_MOV DESC";
+
     private final ContaRepository contaRepository;
     private final ClienteRepository clienteRepository;
     private final MovimentacaoRepository movimentacaoRepository;
+    private final LimiteSaqueService limiteSaqueService;
+    private final BuscaClienteService buscaClienteService;
+    private final EstatisticasService estatisticasService;
+    private final ConsultaSaldoService consultaSaldoService;
+    private final MotorSaldos motor;
+    private final ArquivoMovimentacoes arquivo;
+    private final RegistroEventos registroEventos;
+    private final TransactionTemplate transacao;
+    private final JdbcTemplate jdbcTemplate;
+    private final int loteExclusao;
 
     // Injeção de dependência via construtor
-    public ContaService(ContaRepository contaRepository, ClienteRepository clienteRepository, MovimentacaoRepository movimentacaoRepository) {
+    public ContaService(ContaRepository contaRepository, ClienteRepository clienteRepository, MovimentacaoRepository movimentacaoRepository,
+                        LimiteSaqueService limiteSaqueService, BuscaClienteService buscaClienteService,
+                        EstatisticasService estatisticasService, ConsultaSaldoService consultaSaldoService,
+                        MotorSaldos motor,
+                        ArquivoMovimentacoes arquivo, RegistroEventos registroEventos,
+                        PlatformTransactionManager transactionManager,
+                        JdbcTemplate jdbcTemplate, @Value("${conta.exclusao.lote:5000}") int loteExclusao) {
         this.contaRepository = contaRepository;
         this.clienteRepository = clienteRepository;
         this.movimentacaoRepository = movimentacaoRepository;
+        this.limiteSaqueService = limiteSaqueService;
+        this.buscaClienteService = buscaClienteService;
+        this.estatisticasService = estatisticasService;
+        this.consultaSaldoService = consultaSaldoService;
+        this.motor = motor;
+        this.arquivo = arquivo;
+        this.registroEventos = registroEventos;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+        this.loteExclusao = loteExclusao;
     }
 
     // LISTAR TODAS AS CONTAS COM DADOS DO CLIENTE
     public List<Conta> listar() {
         List<Conta> contas = contaRepository.findAll();
-        // Para cada conta, buscar dados do cliente
+        // Clientes em uma consulta só (um findById por conta era um SELECT por linha da lista)
+        Map<Long, Cliente> clientes = new HashMap<>();
+        for (Cliente cliente : clienteRepository.findAll()) {
+            clientes.put(cliente.getId(), cliente);
+        }
         for (Conta conta : contas) {
-            Cliente cliente = clienteRepository.findById(conta.getIdCliente()).orElse(null);
+            Cliente cliente = clientes.get(conta.getIdCliente());
             if (cliente != null) {
                 conta.setTitular(cliente.getNome() + " (CPF: " + cliente.getCpf() + ")");
             } else {
@@ -46,7 +113,7 @@ public class ContaService {
     // BUSCAR POR ID COM DADOS DO CLIENTE
     public Conta buscarPorId(Long id) {
         Conta conta = contaRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Conta não encontrada"));
+                .orElseThrow(() -> ContaNaoEncontradaException.INSTANCIA);
         
         // Buscar dados do cliente
         Cliente cliente = clienteRepository.findById(conta.getIdCliente()).orElse(null);
@@ -58,15 +125,21 @@ public class ContaService {
 
     // CRIAR CONTA COMPLETA (CLIENTE + CONTA)
     public Conta criarContaCompleta(ContaCompletaDTO dto) {
+        return transacao.execute(status -> criarNoBanco(dto));
+    }
+
+    // CLIENTE, CONTA E EVENTO CONTA_CRIADA (dentro da transação)
+    private Conta criarNoBanco(ContaCompletaDTO dto) {
         // Verificar se CPF já existe
         if (clienteRepository.existsByCpf(dto.getCpf())) {
-            throw new RuntimeException("CPF já cadastrado: " + dto.getCpf());
+            throw new CpfJaCadastradoException(dto.getCpf());
         }
         
         // Criar cliente
         Cliente cliente = new Cliente(dto.getNome(), dto.getCpf());
         cliente.setDataCadastro(new java.sql.Timestamp(System.currentTimeMillis()));
         cliente = clienteRepository.save(cliente);
+        buscaClienteService.indexar(cliente);
         
         // Criar conta
         Conta conta = new Conta();
@@ -74,43 +147,103 @@ public class ContaService {
         conta.setSaldo(dto.getSaldo());
         conta.setTitular(cliente.getNome() + " (CPF: " + cliente.getCpf() + ")");
         
-        return contaRepository.save(conta);
+        conta = contaRepository.save(conta);
+        
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("idCliente", cliente.getId());
+        dados.put("nome", cliente.getNome());
+        dados.put("cpf", cliente.getCpf());
+        dados.put("saldo", conta.getSaldo());
+        registroEventos.registrar(RegistroEventos.CONTA_CRIADA, conta.getId(), dados);
+        
+        ResultadoMotor resultado = motor.habilitado() ? alterarSaldoNoMotor(conta.getId(), conta.getSaldo()) : null;
+        atualizarEstatisticas(conta.getId(), null, conta.getSaldo(), resultado);
+        atualizarCacheSaldo(conta.getId(), conta.getSaldo(), resultado);
+        return conta;
     }
 
     // EXCLUIR CONTA E CLIENTE
-    @Transactional
-    public void excluir(Long id) {
-        // Buscar a conta
-        Conta conta = contaRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Conta não encontrada para exclusão"));
+    public long excluir(Long id) {
+        return excluir(id, excluidas -> {});
+    }
+
+    /**
+     * Exclui as movimentações em lotes de conta.exclusao.lote linhas, cada lote com seu
+     * próprio commit (sem segurar locks durante a exclusão inteira), e depois, em uma
+     * transação curta, o restante das movimentações, a conta e o cliente.
+     * @param progresso Recebe o total de movimentações excluídas após cada lote
+     * @return Total de movimentações excluídas
+     */
+    public long excluir(Long id, LongConsumer progresso) {
+        if (!contaRepository.existsById(id)) {
+            throw ContaNaoEncontradaException.INSTANCIA;
+        }
+        long excluidas = 0;
+        int lote;
+        do {
+            lote = transacao.execute(status -> movimentacaoRepository.excluirLotePorConta(id, loteExclusao));
+            excluidas += lote;
+            progresso.accept(excluidas);
+        } while (lote == loteExclusao);
+        
+        excluidas += transacao.execute(status -> excluirConta(id));
+        progresso.accept(excluidas);
+        return excluidas;
+    }
+
+    private int excluirConta(Long id) {
+        // Buscar a conta (o saldo removido das estatísticas é o vigente)
+        Conta conta = contaParaAlterar(id);
         
         Long idCliente = conta.getIdCliente();
+        Double saldoAtual = conta.getSaldo();
         
-        // Excluir movimentações primeiro (devido à chave estrangeira)
-        movimentacaoRepository.deleteByIdConta(id);
+        // Com o motor ligado: remover do motor e esperar a projeção das movimentações pendentes
+        ResultadoMotor resultado = null;
+        if (motor.habilitado()) {
+            resultado = alterarSaldoNoMotor(id, null);
+            motor.aguardarProjecao(resultado.getSeq());
+            saldoAtual = resultado.getSaldoAnterior();
+        }
+        
+        // Movimentações gravadas depois dos lotes (ou projetadas pelo motor), antes da conta (chave estrangeira)
+        int excluidas = movimentacaoRepository.excluirPorConta(id);
         
         // Excluir conta
-        contaRepository.deleteById(id);
-        
-        // Excluir cliente
-        if (idCliente != null) {
-            try {
-                clienteRepository.deleteById(idCliente);
-            } catch (Exception e) {
-                // Se não conseguir excluir cliente, apenas log
-                System.out.println("Não foi possível excluir cliente: " + e.getMessage());
-            }
+        contaRepository.delete(conta);
+        atualizarEstatisticas(id, saldoAtual, null, resultado);
+        
+        // Excluir cliente, se não tiver outra conta
+        boolean clienteExcluido = idCliente != null && !contaRepository.existsByIdCliente(idCliente);
+        if (clienteExcluido) {
+            clienteRepository.deleteById(idCliente);
+            buscaClienteService.remover(idCliente);
         }
+        
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("idCliente", idCliente);
+        dados.put("saldo", saldoAtual);
+        dados.put("clienteExcluido", clienteExcluido);
+        registroEventos.registrar(RegistroEventos.CONTA_EXCLUIDA, id, dados);
+        consultaSaldoService.saldoAlterado(id, null);
+        return excluidas;
     }
 
     // ATUALIZAÇÃO COMPLETA (PUT) - ATUALIZA CLIENTE E CONTA
     @Transactional
     public Conta atualizar(Long id, Conta contaAtualizada) {
-        Conta contaExistente = contaRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Conta não encontrada para atualização"));
+        Conta contaExistente = contaParaAlterar(id);
 
-        // Atualizar saldo da conta
-        contaExistente.setSaldo(contaAtualizada.getSaldo());
+        // Atualizar saldo da conta (com o motor, o SALDO é gravado pelo projetor)
+        ResultadoMotor resultado = motor.habilitado() ? alterarSaldoNoMotor(id, contaAtualizada.getSaldo()) : null;
+        Double saldoAnterior = resultado != null ? resultado.getSaldoAnterior() : contaExistente.getSaldo();
+        atualizarEstatisticas(id, saldoAnterior, contaAtualizada.getSaldo(), resultado);
+        if (resultado == null) {
+            contaExistente.setSaldo(contaAtualizada.getSaldo());
+        }
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("saldoAnterior", saldoAnterior);
+        dados.put("saldo", contaAtualizada.getSaldo());
         
         // Se foi informado titular, atualizar nome do cliente
         if (contaAtualizada.getTitular() != null && !contaAtualizada.getTitular().trim().isEmpty()) {
@@ -123,28 +256,43 @@ public class ContaService {
                 }
                 cliente.setNome(novoNome);
                 clienteRepository.save(cliente);
+                buscaClienteService.indexar(cliente);
+                dados.put("nome", novoNome);
                 
                 // Atualizar titular na conta para exibição
                 contaExistente.setTitular(cliente.getNome() + " (CPF: " + cliente.getCpf() + ")");
             }
         }
 
-        return contaRepository.save(contaExistente);
+        contaExistente = contaRepository.save(contaExistente);
+        registroEventos.registrar(RegistroEventos.CONTA_ATUALIZADA, id, dados);
+        atualizarCacheSaldo(id, contaExistente.getSaldo(), resultado);
+        return resultado != null ? comSaldoDoMotor(contaExistente, resultado) : contaExistente;
     }
 
     // ATUALIZAÇÃO PARCIAL (PATCH) - ATUALIZA CLIENTE E CONTA
     @Transactional
     public Conta atualizarParcial(Long id, Map<String, Object> updates) {
-        Conta contaExistente = contaRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Conta não encontrada para atualização parcial"));
+        Conta contaExistente = contaParaAlterar(id);
 
+        Map<String, Object> dados = new LinkedHashMap<>();
+        ResultadoMotor resultado = null;
+        
         // Atualizar saldo se informado
         if (updates.containsKey("saldo")) {
             Object saldoObj = updates.get("saldo");
             if (saldoObj instanceof Number) {
-                contaExistente.setSaldo(((Number) saldoObj).doubleValue());
+                double novoSaldo = ((Number) saldoObj).doubleValue();
+                resultado = motor.habilitado() ? alterarSaldoNoMotor(id, novoSaldo) : null;
+                Double saldoAnterior = resultado != null ? resultado.getSaldoAnterior() : contaExistente.getSaldo();
+                atualizarEstatisticas(id, saldoAnterior, novoSaldo, resultado);
+                if (resultado == null) {
+                    contaExistente.setSaldo(novoSaldo);
+                }
+                dados.put("saldoAnterior", saldoAnterior);
+                dados.put("saldo", novoSaldo);
             } else {
-                throw new RuntimeException("Saldo inválido");
+                throw SaldoInvalidoException.INSTANCIA;
             }
         }
         
@@ -161,6 +309,8 @@ public class ContaService {
                     }
                     cliente.setNome(novoNome);
                     clienteRepository.save(cliente);
+                    buscaClienteService.indexar(cliente);
+                    dados.put("nome", novoNome);
                     
                     // Atualizar titular na conta para exibição
                     contaExistente.setTitular(cliente.getNome() + " (CPF: " + cliente.getCpf() + ")");
@@ -168,59 +318,283 @@ public class ContaService {
             }
         }
 
-        return contaRepository.save(contaExistente);
+        contaExistente = contaRepository.save(contaExistente);
+        if (!dados.isEmpty()) {
+            registroEventos.registrar(RegistroEventos.CONTA_ATUALIZADA, id, dados);
+        }
+        if (dados.containsKey("saldo")) {
+            atualizarCacheSaldo(id, contaExistente.getSaldo(), resultado);
+        }
+        return resultado != null ? comSaldoDoMotor(contaExistente, resultado) : contaExistente;
+    }
+
+    // BUSCAR EXTRATO DE UMA CONTA (período [desde, ate); null = sem limite)
+    public List<Movimentacao> buscarExtrato(Long idConta, Timestamp desde, Timestamp ate) {
+        verificarConta(idConta);
+        List<Movimentacao> extrato = desde == null && ate == null
+                ? movimentacaoRepository.findByIdContaOrderByDataMovimentacaoDesc(idConta)
+                : movimentacaoRepository.findByIdContaNoPeriodo(idConta,
+                        desde != null ? desde : new Timestamp(0),
+                        ate != null ? ate : new Timestamp(Long.MAX_VALUE / 2));
+        
+        // Período anterior à janela quente: completar com as movimentações arquivadas
+        if (arquivo.alcanca(desde)) {
+            List<Movimentacao> arquivadas = arquivo.buscar(idConta, desde, ate);
+            if (!arquivadas.isEmpty()) {
+                // Linhas já arquivadas mas ainda não excluídas do banco aparecem só uma vez;
+                // as arquivadas são todas anteriores às do banco, então basta anexar
+                Set<Long> ids = new HashSet<>();
+                for (Movimentacao movimentacao : extrato) {
+                    ids.add(movimentacao.getId());
+                }
+                arquivadas.removeIf(movimentacao -> ids.contains(movimentacao.getId()));
+                arquivadas.sort(Comparator.comparing(Movimentacao::getDataMovimentacao).reversed());
+                extrato = new ArrayList<>(extrato);
+                extrato.addAll(arquivadas);
+            }
+        }
+        return extrato;
     }
 
-    // BUSCAR EXTRATO DE UMA CONTA
-    public List<Movimentacao> buscarExtrato(Long idConta) {
-        // Verificar se conta existe
+    // VERIFICAR SE A CONTA EXISTE (lança ContaNaoEncontradaException)
+    public void verificarConta(Long idConta) {
         if (!contaRepository.existsById(idConta)) {
-            throw new RuntimeException("Conta não encontrada");
+            throw ContaNaoEncontradaException.INSTANCIA;
+        }
+    }
+
+    // PERCORRER EXTRATO SEM MONTAR A LISTA (mesmo conteúdo e ordem de buscarExtrato; para respostas
+    // em streaming, que verificam a conta antes com verificarConta). Cada linha é lida do cursor,
+    // entregue ao destino e descartada: a memória não cresce com o tamanho do extrato.
+    public void percorrerExtrato(Long idConta, Timestamp desde, Timestamp ate, Consumer<Movimentacao> destino) {
+        boolean periodo = desde != null || ate != null;
+        // IDs do banco só são guardados quando for preciso tirar as duplicadas do arquivo
+        Set<Long> ids = arquivo.alcanca(desde) ? new HashSet<>() : null;
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(periodo ? SQL_EXTRATO_PERIODO : SQL_EXTRATO);
+            ps.setFetchSize(LEITURA_EXTRATO);
+            ps.setLong(1, idConta);
+            if (periodo) {
+                ps.setTimestamp(2, desde != null ? desde : new Timestamp(0));
+                ps.setTimestamp(3, ate != null ? ate : new Timestamp(Long.MAX_VALUE / 2));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            Movimentacao movimentacao = new Movimentacao();
+            movimentacao.setId(rs.getLong(1));
+            movimentacao.setIdConta(rs.getLong(2));
+            movimentacao.setTipo(rs.getString(3));
+            movimentacao.setValor(rs.getDouble(4));
+            movimentacao.setDataMovimentacao(rs.getTimestamp(5));
+            if (ids != null) {
+                ids.add(movimentacao.getId());
+            }
+            destino.accept(movimentacao);
+        });
+        if (ids != null) {
+            List<Movimentacao> arquivadas = arquivo.buscar(idConta, desde, ate);
+            arquivadas.removeIf(movimentacao -> ids.contains(movimentacao.getId()));
+            arquivadas.sort(Comparator.comparing(Movimentacao::getDataMovimentacao).reversed());
+            arquivadas.forEach(destino);
         }
-        return movimentacaoRepository.findByIdContaOrderByDataMovimentacaoDesc(idConta);
     }
 
     // REALIZAR SAQUE
-    @Transactional
     public Movimentacao realizarSaque(Long idConta, MovimentacaoDTO movimentacaoDTO) {
-        // Buscar conta
-        Conta conta = contaRepository.findById(idConta)
-                .orElseThrow(() -> new RuntimeException("Conta não encontrada"));
+        if (motor.habilitado()) {
+            return sacarNoMotor(idConta, movimentacaoDTO.getValor());
+        }
+        return transacao.execute(status -> sacarNoBanco(idConta, movimentacaoDTO.getValor()));
+    }
+
+    // REALIZAR DEPÓSITO
+    public Movimentacao realizarDeposito(Long idConta, MovimentacaoDTO movimentacaoDTO) {
+        if (motor.habilitado()) {
+            return depositarNoMotor(idConta, movimentacaoDTO.getValor());
+        }
+        return transacao.execute(status -> depositarNoBanco(idConta, movimentacaoDTO.getValor()));
+    }
+
+    // SAQUE NO BANCO (dentro da transação)
+    private Movimentacao sacarNoBanco(Long idConta, double valor) {
+        // Buscar conta com a linha bloqueada (o lançamento de juros/tarifas espera o commit)
+        Conta conta = contaRepository.findParaAtualizarById(idConta)
+                .orElseThrow(() -> ContaNaoEncontradaException.INSTANCIA);
         
         // Usar o saldo atual da conta (que já inclui saldo inicial + movimentações)
         double saldoAtual = conta.getSaldo();
         
         // Verificar saldo suficiente
-        if (saldoAtual < movimentacaoDTO.getValor()) {
-            throw new RuntimeException("Saldo insuficiente. Saldo atual: R$ " + String.format("%.2f", saldoAtual));
+        if (saldoAtual < valor) {
+            throw new SaldoInsuficienteException(saldoAtual);
         }
         
+        // Verificar limite de saques na janela (em memória, desfeito em caso de rollback)
+        limiteSaqueService.verificarERegistrar(idConta, valor);
+        
         // Registrar movimentação
-        Movimentacao movimentacao = new Movimentacao(idConta, "SAQUE", movimentacaoDTO.getValor());
+        Movimentacao movimentacao = new Movimentacao(idConta, "SAQUE", valor);
         movimentacao = movimentacaoRepository.save(movimentacao);
         
         // Atualizar saldo na conta
-        conta.setSaldo(saldoAtual - movimentacaoDTO.getValor());
+        conta.setSaldo(saldoAtual - valor);
         contaRepository.save(conta);
+        registroEventos.registrarMovimentacao("SAQUE", idConta, movimentacao.getId(), valor, conta.getSaldo());
+        consultaSaldoService.saldoAlterado(idConta, conta.getSaldo());
+        estatisticasService.saldoAlterado(idConta, saldoAtual, conta.getSaldo());
+        estatisticasService.movimentacaoRegistrada("SAQUE", valor);
         
         return movimentacao;
     }
 
-    // REALIZAR DEPÓSITO
-    @Transactional
-    public Movimentacao realizarDeposito(Long idConta, MovimentacaoDTO movimentacaoDTO) {
-        // Buscar conta
-        Conta conta = contaRepository.findById(idConta)
-                .orElseThrow(() -> new RuntimeException("Conta não encontrada"));
+    // DEPÓSITO NO BANCO (dentro da transação)
+    private Movimentacao depositarNoBanco(Long idConta, double valor) {
+        // Buscar conta com a linha bloqueada (o lançamento de juros/tarifas espera o commit)
+        Conta conta = contaRepository.findParaAtualizarById(idConta)
+                .orElseThrow(() -> ContaNaoEncontradaException.INSTANCIA);
         
         // Registrar movimentação
-        Movimentacao movimentacao = new Movimentacao(idConta, "DEPOSITO", movimentacaoDTO.getValor());
+        Movimentacao movimentacao = new Movimentacao(idConta, "DEPOSITO", valor);
         movimentacao = movimentacaoRepository.save(movimentacao);
         
         // Atualizar saldo na conta
-        conta.setSaldo(conta.getSaldo() + movimentacaoDTO.getValor());
+        double saldoAnterior = conta.getSaldo();
+        conta.setSaldo(saldoAnterior + valor);
         contaRepository.save(conta);
+        registroEventos.registrarMovimentacao("DEPOSITO", idConta, movimentacao.getId(), valor, conta.getSaldo());
+        consultaSaldoService.saldoAlterado(idConta, conta.getSaldo());
+        estatisticasService.saldoAlterado(idConta, saldoAnterior, conta.getSaldo());
+        estatisticasService.movimentacaoRegistrada("DEPOSITO", valor);
         
         return movimentacao;
     }
-}
\ No newline at end of file
+
+    // SAQUE NO MOTOR DE SALDOS (a movimentação e o evento são gravados no banco depois, pelo projetor)
+    private Movimentacao sacarNoMotor(Long idConta, double valor) {
+        long reserva = limiteSaqueService.verificarERegistrar(idConta, valor);
+        ResultadoMotor resultado;
+        try {
+            resultado = motor.sacar(idConta, paraCentavos(valor));
+        } catch (ResultadoIncertoException e) {
+            // O saque ainda pode ser aplicado: a reserva só é desfeita se o motor acabar recusando
+            e.resultado().whenComplete((aplicado, recusa) -> {
+                if (recusa != null) {
+                    limiteSaqueService.desfazer(idConta, valor, reserva);
+                }
+            });
+            throw e;
+        } catch (RuntimeException e) {
+            limiteSaqueService.desfazer(idConta, valor, reserva);
+            throw e;
+        }
+        atualizarEstatisticas(idConta, resultado.getSaldoAnterior(), resultado.getSaldoNovo(), resultado);
+        consultaSaldoService.saldoAlteradoNoMotor(idConta, resultado);
+        estatisticasService.movimentacaoRegistrada("SAQUE", valor);
+        return movimentacaoDoMotor(idConta, "SAQUE", valor, resultado);
+    }
+
+    // DEPÓSITO NO MOTOR DE SALDOS
+    private Movimentacao depositarNoMotor(Long idConta, double valor) {
+        ResultadoMotor resultado = motor.depositar(idConta, paraCentavos(valor));
+        atualizarEstatisticas(idConta, resultado.getSaldoAnterior(), resultado.getSaldoNovo(), resultado);
+        consultaSaldoService.saldoAlteradoNoMotor(idConta, resultado);
+        estatisticasService.movimentacaoRegistrada("DEPOSITO", valor);
+        return movimentacaoDoMotor(idConta, "DEPOSITO", valor, resultado);
+    }
+
+    // Movimentação ainda sem ID (o ID é gerado pela sequence quando o projetor grava no banco)
+    private static Movimentacao movimentacaoDoMotor(Long idConta, String tipo, double valor, ResultadoMotor resultado) {
+        Movimentacao movimentacao = new Movimentacao(idConta, tipo, valor);
+        movimentacao.setDataMovimentacao(new java.sql.Timestamp(resultado.getTimestamp()));
+        return movimentacao;
+    }
+
+    /**
+     * Com o motor ligado, o saldo vigente fica no motor: aplica o novo saldo (null = remover conta)
+     * e, se a transação do banco não fizer commit, compensa no motor
+     */
+    private ResultadoMotor alterarSaldoNoMotor(Long idConta, Double novoSaldo) {
+        ResultadoMotor resultado = novoSaldo == null
+                ? motor.removerConta(idConta)
+                : motor.definirSaldo(idConta, paraCentavos(novoSaldo));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        compensarNoMotor(idConta, novoSaldo, resultado);
+                    }
+                }
+            });
+        }
+        return resultado;
+    }
+
+    /**
+     * Desfaz no motor uma alteração cuja transação não fez commit. Saques e depósitos
+     * aplicados depois dela precisam ser preservados, então a troca de saldo é desfeita
+     * com um ajuste relativo (anterior - novo), nunca voltando a um saldo absoluto.
+     */
+    private void compensarNoMotor(Long idConta, Double novoSaldo, ResultadoMotor resultado) {
+        Double anterior = resultado.getSaldoAnterior();
+        try {
+            if (anterior == null) {
+                // Conta criada na transação desfeita
+                motor.removerConta(idConta);
+            } else if (novoSaldo == null) {
+                // Conta removida: enquanto ausente, o motor recusou saques e depósitos dela
+                motor.definirSaldo(idConta, paraCentavos(anterior));
+            } else {
+                motor.ajustarSaldo(idConta, paraCentavos(anterior) - paraCentavos(resultado.getSaldoNovo()));
+            }
+        } catch (ContaNaoEncontradaException e) {
+            // Removida por outra requisição depois da alteração: nada a compensar
+        } catch (RuntimeException e) {
+            log.error("Motor de saldos: falha ao compensar a conta {} após rollback", idConta, e);
+        }
+    }
+
+    /**
+     * Conta cujo saldo vai mudar. Pelo banco, com a linha bloqueada até o commit: o saldo
+     * anterior lido é o vigente e as versões saem na ordem dos commits. Com o motor, o saldo
+     * vigente está no motor e só o projetor grava CONTA.SALDO: a linha não é bloqueada
+     * (a exclusão espera o projetor, que precisa dela) e a entidade não recebe o saldo.
+     */
+    private Conta contaParaAlterar(Long id) {
+        return (motor.habilitado() ? contaRepository.findById(id) : contaRepository.findParaAtualizarById(id))
+                .orElseThrow(() -> ContaNaoEncontradaException.INSTANCIA);
+    }
+
+    // Resposta do PUT/PATCH com o motor: cópia com o saldo do motor (a entidade gerenciada fica como está)
+    private static Conta comSaldoDoMotor(Conta conta, ResultadoMotor resultado) {
+        Conta resposta = new Conta(conta.getIdCliente(), resultado.getSaldoNovo());
+        resposta.setId(conta.getId());
+        resposta.setTitular(conta.getTitular());
+        return resposta;
+    }
+
+    // Estatísticas: com o motor, versão pela sequência do comando; pelo banco, pelo relógio do serviço
+    private void atualizarEstatisticas(Long idConta, Double anterior, Double novo, ResultadoMotor resultado) {
+        if (resultado != null) {
+            estatisticasService.saldoAlteradoNoMotor(idConta, anterior, novo, resultado);
+        } else {
+            estatisticasService.saldoAlterado(idConta, anterior, novo);
+        }
+    }
+
+    /**
+     * Cache de saldos: com o motor, versão pela sequência do comando; pelo banco, chamado
+     * depois do flush do evento (UPDATE da conta já feito, linha bloqueada até o commit)
+     */
+    private void atualizarCacheSaldo(Long idConta, Double saldo, ResultadoMotor resultado) {
+        if (resultado != null) {
+            consultaSaldoService.saldoAlteradoNoMotor(idConta, resultado);
+        } else {
+            consultaSaldoService.saldoAlterado(idConta, saldo);
+        }
+    }
+
+    private static long paraCentavos(Double valor) {
+        return valor == null ? 0 : Math.round(valor * 100);
+    }
+}
@@ -0,0 +1,284 @@
+package com.exemplo.conta.service;
+
+import com.exemplo.conta.arquivo.ArquivoMovimentacoes;
+import com.exemplo.conta.dto.RankingSaldoDTO;
+import com.exemplo.conta.entity.Conta;
+import com.exemplo.conta.motor.ResultadoMotor;
+import com.exemplo.conta.repository.ContaRepository;
+import com.exemplo.conta.repository.MovimentacaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Estatísticas de saldos mantidas de forma incremental
+ *
+ * Carregadas uma vez na inicialização (leitura em streaming da CONTA) e depois
+ * atualizadas pelo ContaService a cada alteração de saldo, após o commit.
+ * As consultas custam O(tamanho do resultado), não O(número de contas).
+ *
+ * A carga roda com o Tomcat já atendendo: alterações que chegam durante a leitura são
+ * guardadas (por conta, só o saldo antes da primeira e o saldo final) e aplicadas no
+ * fim, trocando o saldo que a leitura contou pelo saldo final. Assim não importa se a
+ * leitura já viu a alteração ou não.
+ *
+ * Cada alteração leva uma versão, tirada com a linha da conta bloqueada: os afterCommit
+ * chegam fora de ordem, e o ranking (e o saldo final guardado durante a carga) fica com
+ * a maior versão. Soma, quantidade e percentis somam diferenças e não dependem da ordem.
+ */
+@Service
+public class EstatisticasService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasService.class);
+    // Conta inexistente (antes de criada ou depois de excluída)
+    private static final long SEM_SALDO = Long.MIN_VALUE;
+
+    private final ContaRepository contaRepository;
+    private final MovimentacaoRepository movimentacaoRepository;
+    private final ArquivoMovimentacoes arquivo;
+
+    private final int topMaximo;
+    private final TopSaldos top;
+    private final SketchQuantis sketch;
+    private final LongAdder quantidadeContas = new LongAdder();
+    private final LongAdder somaSaldosCentavos = new LongAdder();
+    private final LongAdder totalDepositosCentavos = new LongAdder();
+    private final LongAdder totalSaquesCentavos = new LongAdder();
+    private final AtomicLong relogio = new AtomicLong();
+
+    // Alterações anteriores à carga inicial já estão refletidas na leitura do banco
+    private volatile boolean carregado;
+    // Durante a carga: idConta -> {saldo antes da primeira alteração, versão dela, saldo final,
+    // versão dele} (null fora dela)
+    private Map<Long, long[]> saldosPendentes;
+    // Durante a soma das movimentações: totais em centavos a somar no fim (null fora dela)
+    private long[] movimentacoesPendentes;
+
+    public EstatisticasService(ContaRepository contaRepository, MovimentacaoRepository movimentacaoRepository,
+                               ArquivoMovimentacoes arquivo,
+                               @Value("${conta.estatisticas.top-maximo:100}") int topMaximo,
+                               @Value("${conta.estatisticas.erro-relativo-percentis:0.01}") double erroRelativo) {
+        this.contaRepository = contaRepository;
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.arquivo = arquivo;
+        this.topMaximo = topMaximo;
+        // Guarda o dobro de candidatos para absorver contas que saem do topo sem recarregar
+        this.top = new TopSaldos(topMaximo * 2);
+        this.sketch = new SketchQuantis(erroRelativo);
+    }
+
+    // CARGA INICIAL EM STREAMING
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        long inicio = System.currentTimeMillis();
+        Map<Long, long[]> pendentes = new ConcurrentHashMap<>();
+        synchronized (this) {
+            saldosPendentes = pendentes;
+        }
+        // Saldo lido das contas que já tinham alteração guardada quando a leitura passou por elas
+        Map<Long, Long> lidos = new HashMap<>();
+        try (Stream<Object[]> linhas = contaRepository.streamIdSaldo()) {
+            for (Object[] linha : (Iterable<Object[]>) linhas::iterator) {
+                Long idConta = (Long) linha[0];
+                long centavos = paraCentavos((Double) linha[1]);
+                if (pendentes.containsKey(idConta)) {
+                    lidos.put(idConta, centavos);
+                }
+                top.semear(idConta, centavos);
+                sketch.adicionar(centavos);
+                somaSaldosCentavos.add(centavos);
+                quantidadeContas.increment();
+            }
+        }
+
+        // Movimentações: guardadas só a partir daqui (as anteriores já entram nas somas do banco)
+        synchronized (this) {
+            movimentacoesPendentes = new long[2];
+        }
+        for (Object[] linha : movimentacaoRepository.somarPorTipo()) {
+            somarTotal((String) linha[0], ((Number) linha[1]).doubleValue());
+        }
+        // Movimentações arquivadas já saíram da tabela, mas continuam nos totais
+        arquivo.somarPorTipo().forEach(this::somarTotal);
+
+        int reaplicadas;
+        synchronized (this) {
+            reaplicadas = pendentes.size();
+            pendentes.forEach((idConta, pendente) -> {
+                // Sem leitura registrada: a alteração veio depois da leitura passar pela conta,
+                // que então contou o saldo anterior à primeira alteração
+                Long lido = lidos.get(idConta);
+                aplicarSaldo(idConta, lido != null ? lido : pendente[0], pendente[2], pendente[3]);
+            });
+            totalDepositosCentavos.add(movimentacoesPendentes[0]);
+            totalSaquesCentavos.add(movimentacoesPendentes[1]);
+            saldosPendentes = null;
+            movimentacoesPendentes = null;
+            carregado = true;
+        }
+        log.info("Estatísticas: {} contas carregadas em {} ms ({} alteradas durante a carga), sketch de percentis com {} bytes",
+                quantidadeContas.sum(), System.currentTimeMillis() - inicio, reaplicadas, sketch.bytes());
+    }
+
+    /**
+     * Registra alteração de saldo (anterior null = conta nova, novo null = conta excluída).
+     * Chamar com a linha da conta bloqueada na transação: a versão sai agora e as
+     * estatísticas mudam depois do commit.
+     */
+    public void saldoAlterado(Long idConta, Double anterior, Double novo) {
+        registrarSaldo(idConta, anterior, novo, relogio.incrementAndGet());
+    }
+
+    // Alteração de saldo feita pelo motor (a ordem das sequências é a ordem das alterações)
+    public void saldoAlteradoNoMotor(Long idConta, Double anterior, Double novo, ResultadoMotor resultado) {
+        registrarSaldo(idConta, anterior, novo, resultado.getSeq());
+    }
+
+    private void registrarSaldo(Long idConta, Double anterior, Double novo, long versao) {
+        long de = anterior == null ? SEM_SALDO : paraCentavos(anterior);
+        long para = novo == null ? SEM_SALDO : paraCentavos(novo);
+        AposCommit.executar(() -> {
+            if (!carregado && guardarSaldo(idConta, de, para, versao)) {
+                return;
+            }
+            aplicarSaldo(idConta, de, para, versao);
+        });
+    }
+
+    // REGISTRAR MOVIMENTAÇÃO (totais de depósitos e saques)
+    public void movimentacaoRegistrada(String tipo, double valor) {
+        long centavos = paraCentavos(valor);
+        AposCommit.executar(() -> {
+            if (!carregado && guardarMovimentacao(tipo, centavos)) {
+                return;
+            }
+            somarTotal(tipo, centavos);
+        });
+    }
+
+    // MAIORES SALDOS
+    public List<RankingSaldoDTO> topSaldos(int n) {
+        int limite = Math.min(Math.max(n, 1), topMaximo);
+        if (top.precisaRecarregar(limite)) {
+            recarregarTop();
+        }
+        List<RankingSaldoDTO> ranking = new ArrayList<>(limite);
+        for (long[] entrada : top.primeiros(limite)) {
+            ranking.add(new RankingSaldoDTO(ranking.size() + 1, entrada[1], entrada[0] / 100.0));
+        }
+        return ranking;
+    }
+
+    // RESUMO AGREGADO
+    public Map<String, Object> resumo() {
+        long quantidade = quantidadeContas.sum();
+        long soma = somaSaldosCentavos.sum();
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("quantidadeContas", quantidade);
+        resumo.put("somaSaldos", soma / 100.0);
+        resumo.put("saldoMedio", quantidade == 0 ? 0.0 : Math.round((double) soma / quantidade) / 100.0);
+        resumo.put("totalDepositos", totalDepositosCentavos.sum() / 100.0);
+        resumo.put("totalSaques", totalSaquesCentavos.sum() / 100.0);
+        return resumo;
+    }
+
+    // PERCENTIS DA DISTRIBUIÇÃO DE SALDOS (ex.: 50, 90, 99)
+    public Map<String, Double> percentis(List<Double> percentis) {
+        Map<String, Double> resultado = new LinkedHashMap<>();
+        for (Double p : percentis) {
+            double q = Math.min(Math.max(p, 0), 100) / 100.0;
+            long centavos = sketch.quantil(q);
+            resultado.put("p" + (p % 1 == 0 ? String.valueOf(p.longValue()) : String.valueOf(p)),
+                    centavos < 0 ? null : centavos / 100.0);
+        }
+        return resultado;
+    }
+
+    // Antes da carga: descarta (a leitura do banco já verá); durante: guarda; depois: false (aplicar já)
+    private synchronized boolean guardarSaldo(Long idConta, long de, long para, long versao) {
+        if (carregado) {
+            return false;
+        }
+        if (saldosPendentes != null) {
+            long[] pendente = saldosPendentes.get(idConta);
+            if (pendente == null) {
+                saldosPendentes.put(idConta, new long[]{de, versao, para, versao});
+            } else if (versao < pendente[1]) {
+                pendente[0] = de;
+                pendente[1] = versao;
+            } else if (versao > pendente[3]) {
+                pendente[2] = para;
+                pendente[3] = versao;
+            }
+        }
+        return true;
+    }
+
+    private synchronized boolean guardarMovimentacao(String tipo, long centavos) {
+        if (carregado) {
+            return false;
+        }
+        if (movimentacoesPendentes != null) {
+            if ("DEPOSITO".equals(tipo)) {
+                movimentacoesPendentes[0] += centavos;
+            } else if ("SAQUE".equals(tipo)) {
+                movimentacoesPendentes[1] += centavos;
+            }
+        }
+        return true;
+    }
+
+    private void aplicarSaldo(Long idConta, long de, long para, long versao) {
+        if (de != SEM_SALDO) {
+            sketch.remover(de);
+            somaSaldosCentavos.add(-de);
+            quantidadeContas.decrement();
+        }
+        if (para != SEM_SALDO) {
+            sketch.adicionar(para);
+            somaSaldosCentavos.add(para);
+            quantidadeContas.increment();
+        }
+        top.atualizar(idConta, para == SEM_SALDO ? null : para, versao);
+    }
+
+    private void somarTotal(String tipo, double soma) {
+        somarTotal(tipo, paraCentavos(soma));
+    }
+
+    private void somarTotal(String tipo, long centavos) {
+        if ("DEPOSITO".equals(tipo)) {
+            totalDepositosCentavos.add(centavos);
+        } else if ("SAQUE".equals(tipo)) {
+            totalSaquesCentavos.add(centavos);
+        }
+    }
+
+    private void recarregarTop() {
+        List<long[]> maiores = new ArrayList<>();
+        for (Conta conta : contaRepository.findByOrderBySaldoDescIdAsc(PageRequest.of(0, top.capacidade()))) {
+            maiores.add(new long[]{paraCentavos(conta.getSaldo()), conta.getId()});
+        }
+        top.recarregar(maiores);
+    }
+
+    private static long paraCentavos(Double valor) {
+        return valor == null ? 0 : Math.round(valor * 100);
+    }
+}
@@ -0,0 +1,118 @@
+package com.exemplo.conta.service;
+
+import com.exemplo.conta.exception.ContaNaoEncontradaException;
+import com.exemplo.conta.exception.NegocioException;
+import com.exemplo.conta.repository.ContaRepository;
+import com.exemplo.conta.repository.MovimentacaoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exclusões de contas fora da requisição (202 Accepted + job consultável)
+ *
+ * Usada para contas com muitas movimentações e para encerramentos em massa. Os jobs
+ * rodam um de cada vez em uma única thread, para não disputar o banco entre si.
+ */
+@Service
+public class ExclusaoContasService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExclusaoContasService.class);
+    // Jobs concluídos ficam consultáveis por este tempo
+    private static final Duration RETENCAO = Duration.ofHours(1);
+
+    private final ContaService contaService;
+    private final ContaRepository contaRepository;
+    private final MovimentacaoRepository movimentacaoRepository;
+    private final int limiteSincrono;
+
+    private final Map<String, JobExclusao> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "exclusao-contas");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ExclusaoContasService(ContaService contaService, ContaRepository contaRepository,
+                                 MovimentacaoRepository movimentacaoRepository,
+                                 @Value("${conta.exclusao.limite-sincrono:10000}") int limiteSincrono) {
+        this.contaService = contaService;
+        this.contaRepository = contaRepository;
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.limiteSincrono = limiteSincrono;
+    }
+
+    // A CONTA TEM MOVIMENTAÇÕES DEMAIS PARA EXCLUIR DENTRO DA REQUISIÇÃO?
+    public boolean deveSerAssincrona(Long idConta) {
+        return movimentacaoRepository.contarAte(idConta, limiteSincrono + 1) > limiteSincrono;
+    }
+
+    // INICIAR EXCLUSÃO ASSÍNCRONA DE UMA CONTA
+    public JobExclusao excluir(Long idConta) {
+        if (!contaRepository.existsById(idConta)) {
+            throw ContaNaoEncontradaException.INSTANCIA;
+        }
+        return iniciar(List.of(idConta));
+    }
+
+    // INICIAR ENCERRAMENTO DE VÁRIAS CONTAS
+    public JobExclusao encerrar(List<Long> idsContas) {
+        return iniciar(idsContas.stream().distinct().toList());
+    }
+
+    // CONSULTAR JOB
+    public Optional<JobExclusao> buscar(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    @PreDestroy
+    void parar() {
+        executor.shutdownNow();
+    }
+
+    private JobExclusao iniciar(List<Long> idsContas) {
+        Instant limite = Instant.now().minus(RETENCAO);
+        jobs.values().removeIf(job -> job.getConcluidoEm() != null && job.getConcluidoEm().isBefore(limite));
+
+        JobExclusao job = new JobExclusao(UUID.randomUUID().toString(), idsContas);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> executar(job));
+        return job;
+    }
+
+    private void executar(JobExclusao job) {
+        job.iniciar();
+        long inicio = System.currentTimeMillis();
+        for (Long idConta : job.contas()) {
+            long antes = job.getMovimentacoesExcluidas();
+            try {
+                contaService.excluir(idConta, excluidas -> job.progresso(antes, excluidas));
+                job.contaExcluida();
+            } catch (ContaNaoEncontradaException e) {
+                job.naoEncontrada(idConta);
+            } catch (NegocioException e) {
+                job.falhou(idConta, e.getMessage());
+            } catch (RuntimeException e) {
+                // Mensagem de driver/SQL fica só no log; o job é consultado pela API
+                job.falhou(idConta, "Erro interno ao excluir a conta (ver log do job " + job.getId() + ")");
+                log.warn("Exclusão {}: falha ao excluir a conta {}", job.getId(), idConta, e);
+            }
+        }
+        job.concluir();
+        log.info("Exclusão {}: {} de {} contas excluídas, {} movimentações, {} ms",
+                job.getId(), job.getContasExcluidas(), job.getTotalContas(),
+                job.getMovimentacoesExcluidas(), System.currentTimeMillis() - inicio);
+    }
+}
@@ -0,0 +1,443 @@
+package com.exemplo.conta.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Índice de prefixo em memória sobre nomes (sem acento) e CPF dos clientes
+ *
+ * - Base: array ordenado e compacto (todas as chaves ASCII num único byte[],
+ *   offsets em int[] e ids em long[]), montado uma vez e nunca alterado.
+ * - Delta: alterações recentes num ConcurrentSkipListMap + conjunto de ids
+ *   cujas chaves na base ficaram obsoletas.
+ * - Quando o delta cresce, ele é congelado e um delta novo passa a receber as alterações;
+ *   base e delta congelado são intercalados (merge linear) no executor de compactação,
+ *   fora da thread da requisição, e a nova base entra no lugar dos dois.
+ *
+ * Leituras não usam lock: pegam o Estado atual (volatile), buscam por binary search e
+ * intercalam base, delta congelado e delta em ordem alfabética.
+ */
+final class IndiceClientes {
+
+    private static final char SEPARADOR = '\u0000';
+    private static final Set<String> IGNORADAS = Set.of("da", "de", "do", "das", "dos", "e");
+    private static final int DELTA_MINIMO_PARA_COMPACTAR = 50_000;
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceClientes.class);
+
+    private final Executor compactacao;
+    private volatile Estado estado;
+
+    private IndiceClientes(Segmento base, Executor compactacao) {
+        this.compactacao = compactacao;
+        this.estado = new Estado(base, null);
+    }
+
+    // ======================= Construção =======================
+
+    /**
+     * Acumula os clientes lidos em streaming e gera a base ordenada
+     */
+    static final class Construtor {
+        private byte[] dados = new byte[1 << 16];
+        private int tamanhoDados;
+        private int[] inicio = new int[1 << 12];
+        private long[] ids = new long[1 << 12];
+        private int quantidade;
+
+        void adicionar(long idCliente, String nome, String cpf) {
+            for (String termo : termos(nome, cpf)) {
+                adicionarChave(termo.getBytes(StandardCharsets.US_ASCII), idCliente);
+            }
+        }
+
+        private void adicionarChave(byte[] chave, long id) {
+            if (quantidade == ids.length) {
+                inicio = Arrays.copyOf(inicio, quantidade * 2);
+                ids = Arrays.copyOf(ids, quantidade * 2);
+            }
+            while (tamanhoDados + chave.length > dados.length) {
+                dados = Arrays.copyOf(dados, dados.length * 2);
+            }
+            System.arraycopy(chave, 0, dados, tamanhoDados, chave.length);
+            inicio[quantidade] = tamanhoDados;
+            ids[quantidade] = id;
+            tamanhoDados += chave.length;
+            quantidade++;
+        }
+
+        // Compactação síncrona (testes e índices pequenos)
+        IndiceClientes construir() {
+            return construir(Runnable::run);
+        }
+
+        IndiceClientes construir(Executor compactacao) {
+            int[] fim = new int[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                fim[i] = i + 1 < quantidade ? inicio[i + 1] : tamanhoDados;
+            }
+            int[] ordem = new int[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                ordem[i] = i;
+            }
+            ordenar(ordem, new int[quantidade], 0, quantidade, fim);
+
+            Segmento.Escritor escritor = new Segmento.Escritor(quantidade, tamanhoDados);
+            for (int i : ordem) {
+                escritor.adicionar(dados, inicio[i], fim[i] - inicio[i], ids[i]);
+            }
+            return new IndiceClientes(escritor.finalizar(), compactacao);
+        }
+
+        // Merge sort sobre a permutação (evita criar um objeto por chave)
+        private void ordenar(int[] ordem, int[] tmp, int de, int ate, int[] fim) {
+            if (ate - de < 2) {
+                return;
+            }
+            int meio = (de + ate) >>> 1;
+            ordenar(ordem, tmp, de, meio, fim);
+            ordenar(ordem, tmp, meio, ate, fim);
+            int a = de, b = meio, k = de;
+            while (a < meio && b < ate) {
+                int x = ordem[a], y = ordem[b];
+                if (Arrays.compareUnsigned(dados, inicio[x], fim[x], dados, inicio[y], fim[y]) <= 0) {
+                    tmp[k++] = ordem[a++];
+                } else {
+                    tmp[k++] = ordem[b++];
+                }
+            }
+            while (a < meio) tmp[k++] = ordem[a++];
+            while (b < ate) tmp[k++] = ordem[b++];
+            System.arraycopy(tmp, de, ordem, de, ate - de);
+        }
+    }
+
+    // ======================= Atualização =======================
+
+    // INDEXAR (OU REINDEXAR) UM CLIENTE
+    synchronized void indexar(long idCliente, String nome, String cpf) {
+        removerDoEstado(estado, idCliente);
+        Estado atual = estado;
+        List<String> chaves = new ArrayList<>();
+        for (String termo : termos(nome, cpf)) {
+            String chave = termo + SEPARADOR + idCliente;
+            atual.delta.put(chave, idCliente);
+            chaves.add(chave);
+        }
+        atual.chavesDelta.put(idCliente, chaves);
+        compactarSeNecessario();
+    }
+
+    // REMOVER UM CLIENTE
+    synchronized void remover(long idCliente) {
+        removerDoEstado(estado, idCliente);
+    }
+
+    private static void removerDoEstado(Estado e, long idCliente) {
+        e.removidos.add(idCliente);
+        List<String> chaves = e.chavesDelta.remove(idCliente);
+        if (chaves != null) {
+            for (String chave : chaves) {
+                e.delta.remove(chave);
+            }
+        }
+    }
+
+    // Congela o delta grande e agenda a compactação (uma por vez)
+    private void compactarSeNecessario() {
+        Estado atual = estado;
+        if (atual.congelado != null
+                || atual.delta.size() < Math.max(DELTA_MINIMO_PARA_COMPACTAR, atual.base.tamanho() / 8)) {
+            return;
+        }
+        Estado novo = new Estado(atual.base, atual);
+        estado = novo;
+        compactacao.execute(() -> compactar(novo));
+    }
+
+    // Intercala base (sem os removidos antes do congelamento) e delta congelado numa nova base,
+    // em tempo linear e sem lock; só a troca do estado é sincronizada
+    private void compactar(Estado origem) {
+        Estado congelado = origem.congelado;
+        Segmento base = congelado.base;
+        Segmento novaBase;
+        try {
+            Segmento.Escritor escritor = new Segmento.Escritor(base.tamanho() + congelado.delta.size(),
+                    base.dados.length + congelado.delta.size() * 16);
+            int i = 0;
+            for (Map.Entry<String, Long> entrada : congelado.delta.entrySet()) {
+                byte[] termo = termo(entrada.getKey());
+                while (i < base.tamanho() && base.comparar(i, termo, termo.length) <= 0) {
+                    copiarSeValido(base, i++, congelado.removidos, escritor);
+                }
+                escritor.adicionar(termo, 0, termo.length, entrada.getValue());
+            }
+            while (i < base.tamanho()) {
+                copiarSeValido(base, i++, congelado.removidos, escritor);
+            }
+            novaBase = escritor.finalizar();
+        } catch (RuntimeException | OutOfMemoryError e) {
+            // Continua correto com o delta congelado; só deixa de compactar
+            log.error("Índice de clientes: falha na compactação, delta congelado mantido", e);
+            return;
+        }
+        synchronized (this) {
+            // Removidos depois do congelamento continuam escondendo as chaves da nova base
+            Estado atual = estado;
+            estado = new Estado(novaBase, null, atual.delta, atual.chavesDelta, atual.removidos);
+        }
+    }
+
+    private static void copiarSeValido(Segmento base, int i, Set<Long> removidos, Segmento.Escritor escritor) {
+        if (!removidos.contains(base.ids[i])) {
+            escritor.adicionar(base.dados, base.inicio[i], base.inicio[i + 1] - base.inicio[i], base.ids[i]);
+        }
+    }
+
+    // ======================= Consulta =======================
+
+    /**
+     * Busca ids de clientes cujo nome (ou sobrenome) ou CPF começa com a consulta
+     */
+    List<Long> buscar(String consulta, int limite) {
+        String prefixo = normalizarConsulta(consulta);
+        if (prefixo.isEmpty()) {
+            return List.of();
+        }
+        Estado e = estado;
+        Set<Long> encontrados = new LinkedHashSet<>();
+
+        // Intercala as três fontes pela chave, para o resultado sair em ordem alfabética
+        byte[] bytes = prefixo.getBytes(StandardCharsets.US_ASCII);
+        Segmento base = e.base;
+        int i = base.limiteInferior(bytes);
+        String fimPrefixo = prefixo + Character.MAX_VALUE;
+        Iterator<Map.Entry<String, Long>> congelado = e.congelado == null ? Collections.emptyIterator()
+                : e.congelado.delta.subMap(prefixo, fimPrefixo).entrySet().iterator();
+        Iterator<Map.Entry<String, Long>> recente = e.delta.subMap(prefixo, fimPrefixo).entrySet().iterator();
+        Map.Entry<String, Long> c = proxima(congelado);
+        Map.Entry<String, Long> r = proxima(recente);
+        while (encontrados.size() < limite) {
+            boolean temBase = i < base.tamanho() && base.comecaCom(i, bytes);
+            Map.Entry<String, Long> d = c == null ? r : r == null || c.getKey().compareTo(r.getKey()) <= 0 ? c : r;
+            if (!temBase && d == null) {
+                break;
+            }
+            byte[] termoDelta = d == null ? null : termo(d.getKey());
+            if (temBase && (d == null || base.comparar(i, termoDelta, termoDelta.length) <= 0)) {
+                long id = base.ids[i++];
+                if (!e.removidos.contains(id) && (e.congelado == null || !e.congelado.removidos.contains(id))) {
+                    encontrados.add(id);
+                }
+            } else if (d == c) {
+                if (!e.removidos.contains(c.getValue())) {
+                    encontrados.add(c.getValue());
+                }
+                c = proxima(congelado);
+            } else {
+                encontrados.add(r.getValue());
+                r = proxima(recente);
+            }
+        }
+        return new ArrayList<>(encontrados);
+    }
+
+    private static Map.Entry<String, Long> proxima(Iterator<Map.Entry<String, Long>> entradas) {
+        return entradas.hasNext() ? entradas.next() : null;
+    }
+
+    // Termo de uma chave do delta ("termo\0id") em ASCII
+    private static byte[] termo(String chave) {
+        return chave.substring(0, chave.indexOf(SEPARADOR)).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    long chaves() {
+        Estado e = estado;
+        return e.base.tamanho() + e.delta.size() + (e.congelado == null ? 0 : e.congelado.delta.size());
+    }
+
+    // Memória estimada: base compacta + ~120 bytes por entrada do delta
+    long memoriaEstimadaBytes() {
+        Estado e = estado;
+        long congelado = e.congelado == null ? 0 : e.congelado.delta.size() * 120L + e.congelado.removidos.size() * 48L;
+        return e.base.bytes() + e.delta.size() * 120L + e.removidos.size() * 48L + congelado;
+    }
+
+    boolean compactando() {
+        return estado.congelado != null;
+    }
+
+    // ======================= Normalização =======================
+
+    /**
+     * Minúsculas, sem acento, apenas [a-z0-9] separados por um espaço
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcento = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(semAcento.length());
+        boolean espaco = false;
+        for (int i = 0; i < semAcento.length(); i++) {
+            char c = Character.toLowerCase(semAcento.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (espaco && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(c);
+                espaco = false;
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                espaco = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    // CPF digitado com pontuação ("123.456") vira só dígitos
+    private static String normalizarConsulta(String consulta) {
+        if (consulta != null && consulta.matches("[\\d.\\-/ ]+")) {
+            return consulta.replaceAll("\\D", "");
+        }
+        return normalizar(consulta);
+    }
+
+    // Termos indexados: nome completo, cada sobrenome relevante e o CPF
+    static List<String> termos(String nome, String cpf) {
+        List<String> termos = new ArrayList<>();
+        String normalizado = normalizar(nome);
+        if (!normalizado.isEmpty()) {
+            termos.add(normalizado);
+            String[] partes = normalizado.split(" ");
+            for (int i = 1; i < partes.length; i++) {
+                if (partes[i].length() > 1 && !IGNORADAS.contains(partes[i])) {
+                    termos.add(partes[i]);
+                }
+            }
+        }
+        if (cpf != null && !cpf.isEmpty()) {
+            termos.add(cpf.replaceAll("\\D", ""));
+        }
+        return termos;
+    }
+
+    // ======================= Estruturas =======================
+
+    /**
+     * Base + delta; durante a compactação, o estado anterior fica em "congelado" (só leitura)
+     * e os removidos deste estado escondem chaves tanto da base quanto do delta congelado.
+     */
+    private static final class Estado {
+        final Segmento base;
+        final Estado congelado;
+        final ConcurrentSkipListMap<String, Long> delta;
+        final Map<Long, List<String>> chavesDelta;
+        final Set<Long> removidos;
+
+        Estado(Segmento base, Estado congelado) {
+            this(base, congelado, new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>(),
+                    ConcurrentHashMap.newKeySet());
+        }
+
+        Estado(Segmento base, Estado congelado, ConcurrentSkipListMap<String, Long> delta,
+               Map<Long, List<String>> chavesDelta, Set<Long> removidos) {
+            this.base = base;
+            this.congelado = congelado;
+            this.delta = delta;
+            this.chavesDelta = chavesDelta;
+            this.removidos = removidos;
+        }
+    }
+
+    /**
+     * Chaves ordenadas: a chave i ocupa dados[inicio[i] .. inicio[i + 1])
+     */
+    private static final class Segmento {
+        final byte[] dados;
+        final int[] inicio;
+        final long[] ids;
+
+        Segmento(byte[] dados, int[] inicio, long[] ids) {
+            this.dados = dados;
+            this.inicio = inicio;
+            this.ids = ids;
+        }
+
+        int tamanho() {
+            return ids.length;
+        }
+
+        long bytes() {
+            return 3 * 16 + dados.length + inicio.length * 4L + ids.length * 8L;
+        }
+
+        int comparar(int i, byte[] chave, int tamanho) {
+            return Arrays.compareUnsigned(dados, inicio[i], inicio[i + 1], chave, 0, tamanho);
+        }
+
+        boolean comecaCom(int i, byte[] prefixo) {
+            int tamanho = inicio[i + 1] - inicio[i];
+            return tamanho >= prefixo.length
+                    && Arrays.equals(dados, inicio[i], inicio[i] + prefixo.length, prefixo, 0, prefixo.length);
+        }
+
+        // Primeira posição com chave >= prefixo
+        int limiteInferior(byte[] prefixo) {
+            int baixo = 0, alto = tamanho();
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (comparar(meio, prefixo, prefixo.length) < 0) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+
+        static final class Escritor {
+            private byte[] dados;
+            private int tamanhoDados;
+            private int[] inicio;
+            private long[] ids;
+            private int quantidade;
+
+            Escritor(int capacidade, int capacidadeDados) {
+                this.dados = new byte[Math.max(capacidadeDados, 16)];
+                this.inicio = new int[capacidade + 1];
+                this.ids = new long[capacidade];
+            }
+
+            void adicionar(byte[] origem, int de, int tamanho, long id) {
+                while (tamanhoDados + tamanho > dados.length) {
+                    dados = Arrays.copyOf(dados, dados.length * 2);
+                }
+                System.arraycopy(origem, de, dados, tamanhoDados, tamanho);
+                inicio[quantidade] = tamanhoDados;
+                ids[quantidade] = id;
+                tamanhoDados += tamanho;
+                quantidade++;
+            }
+
+            Segmento finalizar() {
+                int[] offsets = Arrays.copyOf(inicio, quantidade + 1);
+                offsets[quantidade] = tamanhoDados;
+                return new Segmento(Arrays.copyOf(dados, tamanhoDados), offsets, Arrays.copyOf(ids, quantidade));
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.exemplo.conta.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Janela deslizante de saques de UMA conta, sem locks
+ *
+ * A janela é dividida em N baldes de largura fixa, guardados num ring buffer
+ * de longs primitivos. Cada balde ocupa 2 posições: [valor em centavos, quantidade].
+ * Os 24 bits mais altos de cada posição guardam a época do balde (tempo / largura),
+ * assim a troca de época e a soma acontecem num único compareAndSet.
+ *
+ * Consulta e registro custam O(N) com N fixo (tempo constante por conta).
+ * Registro de uma época mais antiga que a do balde (desfazer atrasado, carga fora de
+ * ordem) é descartado: essa época já saiu da janela e o balde guarda a atual.
+ * A reserva soma primeiro e verifica depois: saques concorrentes da mesma conta
+ * enxergam as reservas uns dos outros e não passam juntos do limite.
+ */
+final class JanelaDeslizante {
+
+    private static final int BITS_EPOCA = 24;
+    private static final int BITS_VALOR = Long.SIZE - BITS_EPOCA;
+    private static final long MASCARA_EPOCA = (1L << BITS_EPOCA) - 1;
+    private static final long MASCARA_VALOR = (1L << BITS_VALOR) - 1;
+    // Diferença de épocas abaixo de meia volta do contador de 24 bits = balde mais novo
+    private static final long MEIA_VOLTA_EPOCA = 1L << (BITS_EPOCA - 1);
+
+    // Cabeçalho do objeto + referências + cabeçalho do array (estimativa para JVM 64 bits)
+    private static final long OVERHEAD_BYTES = 16 + 8 + 8 + 16;
+
+    static final int RESERVADO = 0;
+    static final int EXCEDEU_QUANTIDADE = 1;
+    static final int EXCEDEU_VALOR = 2;
+
+    private final long larguraBaldeMs;
+    private final int baldes;
+    private final AtomicLongArray slots;
+
+    JanelaDeslizante(long larguraBaldeMs, int baldes) {
+        this.larguraBaldeMs = larguraBaldeMs;
+        this.baldes = baldes;
+        this.slots = new AtomicLongArray(baldes * 2);
+    }
+
+    // REGISTRAR MOVIMENTO (centavos pode ser negativo para desfazer uma reserva)
+    void registrar(long agoraMs, long centavos, int quantidade) {
+        long epoca = agoraMs / larguraBaldeMs;
+        int i = (int) (epoca % baldes) * 2;
+        somar(i, epoca, centavos);
+        somar(i + 1, epoca, quantidade);
+    }
+
+    /**
+     * Reserva um saque e confere os limites já contando com ele (e com as reservas
+     * concorrentes); se passar de algum, a reserva é desfeita
+     * @return RESERVADO, EXCEDEU_QUANTIDADE ou EXCEDEU_VALOR
+     */
+    int reservar(long agoraMs, long centavos, long limiteCentavos, long limiteQuantidade) {
+        registrar(agoraMs, centavos, 1);
+        int resultado = somaQuantidade(agoraMs) > limiteQuantidade ? EXCEDEU_QUANTIDADE
+                : somaValor(agoraMs) > limiteCentavos ? EXCEDEU_VALOR
+                : RESERVADO;
+        if (resultado != RESERVADO) {
+            registrar(agoraMs, -centavos, -1);
+        }
+        return resultado;
+    }
+
+    // SOMA DOS VALORES (centavos) DENTRO DA JANELA
+    long somaValor(long agoraMs) {
+        return somarJanela(agoraMs, 0);
+    }
+
+    // QUANTIDADE DE SAQUES DENTRO DA JANELA
+    long somaQuantidade(long agoraMs) {
+        return somarJanela(agoraMs, 1);
+    }
+
+    // Verdadeiro quando nenhum balde pertence à janela atual
+    boolean vazia(long agoraMs) {
+        return somaValor(agoraMs) == 0 && somaQuantidade(agoraMs) == 0;
+    }
+
+    static long bytesPorConta(int baldes) {
+        return OVERHEAD_BYTES + (long) baldes * 2 * Long.BYTES;
+    }
+
+    private long somarJanela(long agoraMs, int deslocamento) {
+        long epocaAtual = (agoraMs / larguraBaldeMs) & MASCARA_EPOCA;
+        long total = 0;
+        for (int b = 0; b < baldes; b++) {
+            long slot = slots.get(b * 2 + deslocamento);
+            long idade = (epocaAtual - epocaDe(slot)) & MASCARA_EPOCA;
+            if (idade < baldes) {
+                total += valorDe(slot);
+            }
+        }
+        return total;
+    }
+
+    private void somar(int i, long epoca, long delta) {
+        long epocaCurta = epoca & MASCARA_EPOCA;
+        for (;;) {
+            long atual = slots.get(i);
+            long adiante = (epocaDe(atual) - epocaCurta) & MASCARA_EPOCA;
+            if (atual != 0 && adiante != 0 && adiante < MEIA_VOLTA_EPOCA) {
+                return; // balde já está numa época mais nova
+            }
+            long base = epocaDe(atual) == epocaCurta ? valorDe(atual) : 0;
+            long novoValor = Math.max(0, Math.min(base + delta, MASCARA_VALOR));
+            long novo = (epocaCurta << BITS_VALOR) | novoValor;
+            if (slots.compareAndSet(i, atual, novo)) {
+                return;
+            }
+        }
+    }
+
+    private static long epocaDe(long slot) {
+        return slot >>> BITS_VALOR;
+    }
+
+    private static long valorDe(long slot) {
+        return slot & MASCARA_VALOR;
+    }
+}
@@ -0,0 +1,104 @@
+package com.exemplo.conta.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Andamento de uma exclusão assíncrona de contas (uma conta grande ou um encerramento em massa)
+ *
+ * Atualizado só pela thread de exclusão; lido pelo endpoint de consulta.
+ */
+public class JobExclusao {
+
+    public enum Estado { PENDENTE, EXECUTANDO, CONCLUIDO }
+
+    private final String id;
+    private final List<Long> contas;
+    private final Instant criadoEm = Instant.now();
+    private volatile Instant concluidoEm;
+    private volatile Estado estado = Estado.PENDENTE;
+    private volatile int contasExcluidas;
+    private volatile long movimentacoesExcluidas;
+    private final List<Long> naoEncontradas = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Long, String> falhas = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    JobExclusao(String id, List<Long> contas) {
+        this.id = id;
+        this.contas = List.copyOf(contas);
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public int getTotalContas() {
+        return contas.size();
+    }
+
+    public int getContasExcluidas() {
+        return contasExcluidas;
+    }
+
+    public long getMovimentacoesExcluidas() {
+        return movimentacoesExcluidas;
+    }
+
+    public List<Long> getNaoEncontradas() {
+        synchronized (naoEncontradas) {
+            return List.copyOf(naoEncontradas);
+        }
+    }
+
+    public Map<Long, String> getFalhas() {
+        synchronized (falhas) {
+            return new LinkedHashMap<>(falhas);
+        }
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    public Instant getConcluidoEm() {
+        return concluidoEm;
+    }
+
+    // Usados pela thread de exclusão
+    List<Long> contas() {
+        return contas;
+    }
+
+    void iniciar() {
+        estado = Estado.EXECUTANDO;
+    }
+
+    void progresso(long movimentacoesAntes, long excluidasNaConta) {
+        movimentacoesExcluidas = movimentacoesAntes + excluidasNaConta;
+    }
+
+    void contaExcluida() {
+        contasExcluidas++;
+    }
+
+    void naoEncontrada(Long idConta) {
+        naoEncontradas.add(idConta);
+    }
+
+    void falhou(Long idConta, String motivo) {
+        falhas.put(idConta, motivo);
+    }
+
+    void concluir() {
+        concluidoEm = Instant.now();
+        estado = Estado.CONCLUIDO;
+    }
+}
@@ -0,0 +1,235 @@
+package com.exemplo.conta.service;
+
+import com.exemplo.conta.entity.Movimentacao;
+import com.exemplo.conta.exception.LimiteSaqueExcedidoException;
+import com.exemplo.conta.repository.MovimentacaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PreDestroy;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controle de velocidade de saques por conta, calculado em memória
+ *
+ * Bloqueia contas que sacam mais que X (valor ou quantidade) dentro de Y minutos
+ * sem fazer SUM/COUNT na MOVIMENTACAO a cada saque.
+ * As janelas são reconstruídas a partir das movimentações recentes na inicialização.
+ * Janelas vazias são removidas por uma thread separada quando o mapa chega a 90% de
+ * max-contas; com o mapa cheio, contas novas ficam sem monitoramento (contadas e logadas).
+ */
+@Service
+public class LimiteSaqueService {
+
+    private static final Logger log = LoggerFactory.getLogger(LimiteSaqueService.class);
+
+    private final MovimentacaoRepository movimentacaoRepository;
+
+    private final boolean habilitado;
+    private final long janelaMs;
+    private final int baldes;
+    private final long limiteCentavos;
+    private final long limiteQuantidade;
+    private final int maxContas;
+    private final int inicioLimpeza;
+
+    private final Map<Long, JanelaDeslizante> janelas = new ConcurrentHashMap<>();
+    private final AtomicLong saquesBloqueados = new AtomicLong();
+    private final AtomicLong contasNaoMonitoradas = new AtomicLong();
+    private final AtomicLong janelasRemovidas = new AtomicLong();
+    private final AtomicBoolean limpezaAgendada = new AtomicBoolean();
+    private final AtomicBoolean saturado = new AtomicBoolean();
+    private final ExecutorService limpeza = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "limite-saque-limpeza");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LimiteSaqueService(MovimentacaoRepository movimentacaoRepository,
+                              @Value("${conta.saque.velocidade.habilitado:true}") boolean habilitado,
+                              @Value("${conta.saque.velocidade.janela-minutos:10}") long janelaMinutos,
+                              @Value("${conta.saque.velocidade.baldes:20}") int baldes,
+                              @Value("${conta.saque.velocidade.limite-valor:5000.00}") double limiteValor,
+                              @Value("${conta.saque.velocidade.limite-quantidade:10}") long limiteQuantidade,
+                              @Value("${conta.saque.velocidade.max-contas:100000}") int maxContas) {
+        this.movimentacaoRepository = movimentacaoRepository;
+        this.habilitado = habilitado;
+        this.janelaMs = janelaMinutos * 60_000L;
+        this.baldes = baldes;
+        this.limiteCentavos = paraCentavos(limiteValor);
+        this.limiteQuantidade = limiteQuantidade;
+        this.maxContas = maxContas;
+        this.inicioLimpeza = (int) (maxContas * 0.9);
+    }
+
+    // RECONSTRUIR JANELAS A PARTIR DOS SAQUES RECENTES
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+        long agora = System.currentTimeMillis();
+        List<Movimentacao> recentes = movimentacaoRepository
+                .findByTipoAndDataMovimentacaoAfterOrderByDataMovimentacao("SAQUE", new Timestamp(agora - janelaMs));
+        for (Movimentacao mov : recentes) {
+            JanelaDeslizante janela = janelaDa(mov.getIdConta(), agora);
+            if (janela != null) {
+                janela.registrar(mov.getDataMovimentacao().getTime(), paraCentavos(mov.getValor()), 1);
+            }
+        }
+        log.info("Limite de saque: {} saques recentes em {} contas, {} bytes por conta, ~{} bytes no total",
+                recentes.size(), janelas.size(), bytesPorConta(), memoriaEstimadaBytes());
+    }
+
+    /**
+     * Reserva o saque na janela da conta e verifica o limite já contando com ele
+     * (reserve-then-verify: saques concorrentes não passam juntos do limite).
+     * Se a transação atual sofrer rollback, a reserva é desfeita.
+     * @return Momento da reserva (para desfazer fora de transação) ou 0 se nada foi reservado
+     */
+    public long verificarERegistrar(Long idConta, double valor) {
+        if (!habilitado) {
+            return 0;
+        }
+        long agora = System.currentTimeMillis();
+        long centavos = paraCentavos(valor);
+        JanelaDeslizante janela;
+        int resultado;
+        while (true) {
+            janela = janelaDa(idConta, agora);
+            if (janela == null) {
+                return 0;
+            }
+            resultado = janela.reservar(agora, centavos, limiteCentavos, limiteQuantidade);
+            if (janelas.get(idConta) == janela) {
+                break;
+            }
+            // Janela removida pela limpeza durante a reserva: refaz na janela nova
+            if (resultado == JanelaDeslizante.RESERVADO) {
+                janela.registrar(agora, -centavos, -1);
+            }
+        }
+        if (resultado == JanelaDeslizante.EXCEDEU_QUANTIDADE) {
+            saquesBloqueados.incrementAndGet();
+            throw new LimiteSaqueExcedidoException("Limite de saques excedido: máximo de "
+                    + limiteQuantidade + " saques em " + (janelaMs / 60_000) + " minutos");
+        }
+        if (resultado == JanelaDeslizante.EXCEDEU_VALOR) {
+            saquesBloqueados.incrementAndGet();
+            throw new LimiteSaqueExcedidoException("Limite de saques excedido: máximo de R$ "
+                    + String.format("%.2f", limiteCentavos / 100.0) + " em " + (janelaMs / 60_000) + " minutos");
+        }
+
+        JanelaDeslizante reservada = janela;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        reservada.registrar(agora, -centavos, -1);
+                    }
+                }
+            });
+        }
+        return agora;
+    }
+
+    // DESFAZER RESERVA (saque recusado depois da verificação, sem transação)
+    public void desfazer(Long idConta, double valor, long momento) {
+        JanelaDeslizante janela = janelas.get(idConta);
+        if (momento != 0 && janela != null) {
+            janela.registrar(momento, -paraCentavos(valor), -1);
+        }
+    }
+
+    // ESTATÍSTICAS DE MEMÓRIA E BLOQUEIOS
+    public Map<String, Object> estatisticas() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("habilitado", habilitado);
+        stats.put("janelaMinutos", janelaMs / 60_000);
+        stats.put("limiteValor", limiteCentavos / 100.0);
+        stats.put("limiteQuantidade", limiteQuantidade);
+        stats.put("contasMonitoradas", janelas.size());
+        stats.put("maxContas", maxContas);
+        stats.put("bytesPorConta", bytesPorConta());
+        stats.put("memoriaEstimadaBytes", memoriaEstimadaBytes());
+        stats.put("saquesBloqueados", saquesBloqueados.get());
+        stats.put("contasNaoMonitoradas", contasNaoMonitoradas.get());
+        stats.put("saturado", saturado.get());
+        stats.put("janelasRemovidas", janelasRemovidas.get());
+        return stats;
+    }
+
+    public long bytesPorConta() {
+        // Janela + entrada do ConcurrentHashMap + Long da chave
+        return JanelaDeslizante.bytesPorConta(baldes) + 32 + 16;
+    }
+
+    public long memoriaEstimadaBytes() {
+        return bytesPorConta() * janelas.size();
+    }
+
+    @PreDestroy
+    public void parar() {
+        limpeza.shutdownNow();
+    }
+
+    // Busca a janela da conta, criando se houver espaço (null = conta não monitorada)
+    private JanelaDeslizante janelaDa(Long idConta, long agora) {
+        JanelaDeslizante janela = janelas.get(idConta);
+        if (janela != null) {
+            return janela;
+        }
+        int tamanho = janelas.size();
+        if (tamanho >= inicioLimpeza) {
+            agendarLimpeza();
+        }
+        if (tamanho >= maxContas) {
+            contasNaoMonitoradas.incrementAndGet();
+            if (saturado.compareAndSet(false, true)) {
+                log.warn("Limite de saque: {} contas monitoradas (max-contas); saques de contas novas passam sem limite"
+                        + " até a limpeza liberar espaço (ver contasNaoMonitoradas em /admin/limites-saque)", tamanho);
+            }
+            return null;
+        }
+        return janelas.computeIfAbsent(idConta, id -> new JanelaDeslizante(janelaMs / baldes, baldes));
+    }
+
+    // Remove as janelas vazias fora da thread da requisição (uma limpeza por vez)
+    private void agendarLimpeza() {
+        if (limpezaAgendada.compareAndSet(false, true)) {
+            limpeza.execute(() -> {
+                try {
+                    long agora = System.currentTimeMillis();
+                    int antes = janelas.size();
+                    janelas.entrySet().removeIf(entrada -> entrada.getValue().vazia(agora));
+                    janelasRemovidas.addAndGet(antes - janelas.size());
+                    if (janelas.size() < maxContas && saturado.compareAndSet(true, false)) {
+                        log.info("Limite de saque: limpeza liberou espaço, {} contas monitoradas", janelas.size());
+                    }
+                } finally {
+                    limpezaAgendada.set(false);
+                }
+            });
+        }
+    }
+
+    private static long paraCentavos(double valor) {
+        return Math.round(valor * 100);
+    }
+}
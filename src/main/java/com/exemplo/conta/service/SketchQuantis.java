@@ -0,0 +1,83 @@
+package com.exemplo.conta.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sketch de quantis com erro relativo fixo (no estilo DDSketch), sem locks
+ *
+ * Cada valor em centavos cai num balde logarítmico: balde = ceil(log_gama(valor)).
+ * Com erro relativo de 1% bastam ~1.700 baldes para cobrir de R$ 0,01 a R$ 10 trilhões,
+ * então a memória e o custo da consulta não dependem do número de contas.
+ * Como os baldes são só contadores, um saldo alterado é "remover antigo + adicionar novo".
+ */
+final class SketchQuantis {
+
+    private static final long VALOR_MAXIMO = 1_000_000_000_000_000L;
+
+    private final double gama;
+    private final double logGama;
+    private final AtomicLongArray contagens;
+
+    SketchQuantis(double erroRelativo) {
+        this.gama = (1 + erroRelativo) / (1 - erroRelativo);
+        this.logGama = Math.log(gama);
+        // Balde 0 = saldo zero; baldes 1..n = valores positivos
+        this.contagens = new AtomicLongArray(2 + (int) Math.ceil(Math.log(VALOR_MAXIMO) / logGama));
+    }
+
+    void adicionar(long centavos) {
+        contagens.incrementAndGet(balde(centavos));
+    }
+
+    void remover(long centavos) {
+        contagens.decrementAndGet(balde(centavos));
+    }
+
+    long total() {
+        long total = 0;
+        for (int i = 0; i < contagens.length(); i++) {
+            total += contagens.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Valor aproximado (em centavos) do quantil q, entre 0 e 1
+     * @return -1 se o sketch estiver vazio
+     */
+    long quantil(double q) {
+        long total = total();
+        if (total <= 0) {
+            return -1;
+        }
+        long posicao = Math.max(0, (long) Math.ceil(q * total) - 1);
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length(); i++) {
+            acumulado += contagens.get(i);
+            if (acumulado > posicao) {
+                return valorDoBalde(i);
+            }
+        }
+        return valorDoBalde(contagens.length() - 1);
+    }
+
+    long bytes() {
+        return 16 + contagens.length() * (long) Long.BYTES;
+    }
+
+    private int balde(long centavos) {
+        if (centavos <= 0) {
+            return 0;
+        }
+        int i = 1 + (int) Math.ceil(Math.log(Math.min(centavos, VALOR_MAXIMO)) / logGama);
+        return Math.min(i, contagens.length() - 1);
+    }
+
+    // Ponto do balde que minimiza o erro relativo
+    private long valorDoBalde(int i) {
+        if (i == 0) {
+            return 0;
+        }
+        return Math.round(2 * Math.pow(gama, i - 1) / (gama + 1));
+    }
+}
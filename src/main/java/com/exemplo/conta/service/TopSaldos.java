@@ -0,0 +1,136 @@
+package com.exemplo.conta.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maiores saldos mantidos de forma incremental
+ *
+ * Guarda só os K maiores candidatos numa árvore ordenada (saldo desc, id asc),
+ * com um índice id -> saldo para achar a entrada de uma conta em O(log K).
+ * Invariante: toda conta fora do conjunto fica atrás do último elemento do conjunto.
+ * Se contas caírem para fora e sobrar menos que N, o conjunto precisa ser recarregado.
+ *
+ * As atualizações chegam dos afterCommit na ordem em que as threads terminam: cada uma
+ * leva a versão da alteração e a de versão menor ou igual à última aplicada na conta é
+ * descartada. A última versão de cada conta fica guardada por RETENCAO_VERSAO, tempo
+ * de sobra para um commit atrasado chegar.
+ */
+final class TopSaldos {
+
+    // Cada entrada: [centavos, idConta]
+    private static final Comparator<long[]> ORDEM = (a, b) -> {
+        int cmp = Long.compare(b[0], a[0]);
+        return cmp != 0 ? cmp : Long.compare(a[1], b[1]);
+    };
+
+    static final long RETENCAO_VERSAO = TimeUnit.SECONDS.toNanos(10);
+
+    private final int capacidade;
+    private final long retencaoVersao;
+    private final TreeSet<long[]> ordenado = new TreeSet<>(ORDEM);
+    private final Map<Long, Long> saldoPorConta = new HashMap<>();
+    // idConta -> {última versão aplicada, instante}, na ordem das atualizações
+    private final LinkedHashMap<Long, long[]> versoes = new LinkedHashMap<>();
+    // Verdadeiro enquanto o conjunto contém TODAS as contas (nada ficou de fora)
+    private boolean completo = true;
+
+    TopSaldos(int capacidade) {
+        this(capacidade, RETENCAO_VERSAO);
+    }
+
+    TopSaldos(int capacidade, long retencaoVersao) {
+        this.capacidade = capacidade;
+        this.retencaoVersao = retencaoVersao;
+    }
+
+    // ADICIONAR DURANTE UMA CARGA COMPLETA (todas as contas passam por aqui)
+    synchronized void semear(long idConta, long centavos) {
+        inserir(new long[]{centavos, idConta});
+    }
+
+    // ATUALIZAR SALDO DE UMA CONTA (null = conta excluída); versão antiga é descartada
+    synchronized void atualizar(long idConta, Long centavos, long versao) {
+        if (!versaoNova(idConta, versao)) {
+            return;
+        }
+        Long anterior = saldoPorConta.remove(idConta);
+        if (anterior != null) {
+            ordenado.remove(new long[]{anterior, idConta});
+        }
+        if (centavos == null) {
+            return;
+        }
+        long[] entrada = {centavos, idConta};
+        // Só entra se ficar à frente do último; senão vira conta "de fora" e o invariante continua valendo
+        if (completo || (!ordenado.isEmpty() && ORDEM.compare(entrada, ordenado.last()) < 0)) {
+            inserir(entrada);
+        }
+    }
+
+    // Precisa recarregar do banco quando há menos que n conhecidos e contas ficaram de fora
+    synchronized boolean precisaRecarregar(int n) {
+        return !completo && ordenado.size() < n;
+    }
+
+    synchronized void recarregar(List<long[]> maiores) {
+        ordenado.clear();
+        saldoPorConta.clear();
+        completo = true;
+        for (long[] entrada : maiores) {
+            inserir(entrada);
+        }
+        if (maiores.size() >= capacidade) {
+            completo = false;
+        }
+    }
+
+    // PRIMEIROS N (cópias de [centavos, idConta])
+    synchronized List<long[]> primeiros(int n) {
+        List<long[]> lista = new ArrayList<>(Math.min(n, ordenado.size()));
+        Iterator<long[]> it = ordenado.iterator();
+        while (it.hasNext() && lista.size() < n) {
+            long[] e = it.next();
+            lista.add(new long[]{e[0], e[1]});
+        }
+        return lista;
+    }
+
+    int capacidade() {
+        return capacidade;
+    }
+
+    // Registra a versão se for maior que a última da conta e descarta as versões expiradas
+    private boolean versaoNova(long idConta, long versao) {
+        long agora = System.nanoTime();
+        Iterator<long[]> antigas = versoes.values().iterator();
+        while (antigas.hasNext() && agora - antigas.next()[1] >= retencaoVersao) {
+            antigas.remove();
+        }
+        long[] ultima = versoes.get(idConta);
+        if (ultima != null && ultima[0] >= versao) {
+            return false;
+        }
+        // Remove antes de pôr de novo: a conta vai para o fim da ordem
+        versoes.remove(idConta);
+        versoes.put(idConta, new long[]{versao, agora});
+        return true;
+    }
+
+    private void inserir(long[] entrada) {
+        ordenado.add(entrada);
+        saldoPorConta.put(entrada[1], entrada[0]);
+        if (ordenado.size() > capacidade) {
+            long[] removido = ordenado.pollLast();
+            saldoPorConta.remove(removido[1]);
+            completo = false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * MIGRATION V5: Movimentações de juros e tarifa (lançamento em lote)
+ *
+ * Em Java porque a restrição de TIPO só existe nos bancos criados pela V1: os criados
+ * pelo ddl-auto=update entram pelo baseline da versão 3 sem ela, e um DROP CONSTRAINT
+ * direto falharia (ORA-02443). A existência é consultada no dicionário de dados do banco
+ * (USER_CONSTRAINTS no Oracle, INFORMATION_SCHEMA no H2 dos testes).
+ */
+public class V5__tipos_juros_tarifa extends BaseJavaMigration {
+
+    private static final String RESTRICAO = "CK_MOVIMENTACAO_TIPO";
+    private static final String SQL_RESTRICAO_ORACLE = "SELECT COUNT(*) FROM USER_CONSTRAINTS"
+            + " WHERE TABLE_NAME = 'MOVIMENTACAO' AND CONSTRAINT_NAME = ?";
+    private static final String SQL_RESTRICAO_PADRAO = "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS"
+            + " WHERE TABLE_NAME = 'MOVIMENTACAO' AND CONSTRAINT_NAME = ?";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+        try (Statement comando = conexao.createStatement()) {
+            if (existeRestricao(conexao)) {
+                comando.execute("ALTER TABLE MOVIMENTACAO DROP CONSTRAINT " + RESTRICAO);
+            }
+            comando.execute("ALTER TABLE MOVIMENTACAO ADD CONSTRAINT " + RESTRICAO
+                    + " CHECK (TIPO IN ('DEPOSITO', 'SAQUE', 'JUROS', 'TARIFA'))");
+        }
+    }
+
+    private static boolean existeRestricao(Connection conexao) throws SQLException {
+        boolean oracle = conexao.getMetaData().getDatabaseProductName().startsWith("Oracle");
+        try (PreparedStatement consulta = conexao.prepareStatement(oracle ? SQL_RESTRICAO_ORACLE : SQL_RESTRICAO_PADRAO)) {
+            consulta.setString(1, RESTRICAO);
+            try (ResultSet resultado = consulta.executeQuery()) {
+                return resultado.next() && resultado.getInt(1) > 0;
+            }
+        }
+    }
+}
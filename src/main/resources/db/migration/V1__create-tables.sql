@@ -1,34 +1,40 @@
 -- ========================================
 -- MIGRATION V1: Criar estrutura das tabelas
+-- (tipos iguais aos gerados pelo Hibernate para as entidades, validados com ddl-auto=validate)
 -- ========================================
 
 -- Tabela CLIENTE
 CREATE TABLE CLIENTE (
-    ID_CLIENTE NUMBER(10) PRIMARY KEY,
-    NOME VARCHAR2(100) NOT NULL,
-    CPF VARCHAR2(11) NOT NULL UNIQUE,
-    DATA_CADASTRO TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    ID_CLIENTE NUMBER(19,0) NOT NULL,
+    NOME VARCHAR2(100 CHAR) NOT NULL,
+    CPF VARCHAR2(11 CHAR) NOT NULL,
+    DATA_CADASTRO TIMESTAMP(6),
+    CONSTRAINT PK_CLIENTE PRIMARY KEY (ID_CLIENTE),
+    CONSTRAINT UK_CLIENTE_CPF UNIQUE (CPF)
 );
 
 -- Tabela CONTA
 CREATE TABLE CONTA (
-    ID_CONTA NUMBER(10) PRIMARY KEY,
-    ID_CLIENTE NUMBER(10) NOT NULL,
-    SALDO NUMBER(15,2) DEFAULT 0.00,
+    ID_CONTA NUMBER(19,0) NOT NULL,
+    ID_CLIENTE NUMBER(19,0) NOT NULL,
+    SALDO FLOAT(53) NOT NULL,
+    CONSTRAINT PK_CONTA PRIMARY KEY (ID_CONTA),
     CONSTRAINT FK_CONTA_CLIENTE FOREIGN KEY (ID_CLIENTE) REFERENCES CLIENTE(ID_CLIENTE)
 );
 
 -- Tabela MOVIMENTACAO
 CREATE TABLE MOVIMENTACAO (
-    ID_MOVIMENTACAO NUMBER(10) PRIMARY KEY,
-    ID_CONTA NUMBER(10) NOT NULL,
-    TIPO VARCHAR2(20) NOT NULL CHECK (TIPO IN ('DEPOSITO', 'SAQUE')),
-    VALOR NUMBER(15,2) NOT NULL,
-    DATA_MOVIMENTACAO TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    ID_MOV NUMBER(19,0) NOT NULL,
+    ID_CONTA NUMBER(19,0) NOT NULL,
+    TIPO VARCHAR2(20 CHAR) NOT NULL,
+    VALOR FLOAT(53) NOT NULL,
+    DATA_MOV TIMESTAMP(6),
+    CONSTRAINT PK_MOVIMENTACAO PRIMARY KEY (ID_MOV),
+    CONSTRAINT CK_MOVIMENTACAO_TIPO CHECK (TIPO IN ('DEPOSITO', 'SAQUE')),
     CONSTRAINT FK_MOVIMENTACAO_CONTA FOREIGN KEY (ID_CONTA) REFERENCES CONTA(ID_CONTA)
 );
 
 -- Criar sequências
 CREATE SEQUENCE SEQ_CLIENTE START WITH 1 INCREMENT BY 1;
 CREATE SEQUENCE SEQ_CONTA START WITH 1 INCREMENT BY 1;
-CREATE SEQUENCE SEQ_MOVIMENTACAO START WITH 1 INCREMENT BY 1;
\ No newline at end of file
+CREATE SEQUENCE SEQ_MOVIMENTACAO START WITH 1 INCREMENT BY 1;
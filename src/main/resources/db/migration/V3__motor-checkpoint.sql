@@ -0,0 +1,8 @@
+-- ========================================
+-- MIGRATION V3: Checkpoint do projetor do motor de saldos
+-- ========================================
+
+CREATE TABLE MOTOR_CHECKPOINT (
+    NOME VARCHAR2(50 CHAR) PRIMARY KEY,
+    SEQUENCIA NUMBER(19,0) NOT NULL
+);
@@ -0,0 +1,7 @@
+-- ========================================
+-- MIGRATION V4: Índices de MOVIMENTACAO
+-- (extrato por conta e período; varredura do arquivamento por data)
+-- ========================================
+
+CREATE INDEX IX_MOVIMENTACAO_CONTA_DATA ON MOVIMENTACAO (ID_CONTA, DATA_MOV);
+CREATE INDEX IX_MOVIMENTACAO_DATA ON MOVIMENTACAO (DATA_MOV);
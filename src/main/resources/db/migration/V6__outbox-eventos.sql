@@ -0,0 +1,15 @@
+-- ========================================
+-- MIGRATION V6: Outbox de eventos de alteração de contas
+-- (gravado na mesma transação da alteração; o relay copia para o log de eventos e apaga)
+-- ========================================
+
+CREATE TABLE OUTBOX_EVENTO (
+    ID_EVENTO NUMBER(19,0) NOT NULL,
+    TIPO VARCHAR2(30 CHAR) NOT NULL,
+    ID_CONTA NUMBER(19,0) NOT NULL,
+    DADOS VARCHAR2(1000 CHAR) NOT NULL,
+    DATA_EVENTO TIMESTAMP(6) NOT NULL,
+    CONSTRAINT PK_OUTBOX_EVENTO PRIMARY KEY (ID_EVENTO)
+);
+
+CREATE SEQUENCE SEQ_OUTBOX_EVENTO START WITH 1 INCREMENT BY 1;
@@ -0,0 +1,95 @@
+package com.exemplo.conta.acumulo;
+
+import com.exemplo.conta.motor.MotorSaldos;
+import com.exemplo.conta.service.ConsultaSaldoService;
+import com.exemplo.conta.service.EstatisticasService;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AcumuloContasTests {
+
+	@Test
+	void jurosArredondadosParaBaixoETarifaSoComSaldo() {
+		RegraAcumulo juros = RegraAcumulo.juros("j", 0.10);
+		// 10% a.a. capitalizado ao dia = 0,0261158% ao dia
+		assertEquals(26, juros.lancamento(100_000));
+		assertEquals(0, juros.lancamento(1_000));
+		assertEquals(0, juros.lancamento(0));
+		// Saldo enorme sem estouro: 1e18 centavos x 261158 ppb
+		assertEquals(261_158_000_000_000L, juros.lancamento(1_000_000_000_000_000_000L));
+
+		RegraAcumulo tarifa = RegraAcumulo.tarifa("t", 12.90);
+		assertEquals(-1290, tarifa.lancamento(1290));
+		assertEquals(0, tarifa.lancamento(1289));
+	}
+
+	@Test
+	void repetirAMesmaDataNaoLancaDuasVezes() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:acumulo;MODE=Oracle;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE CONTA (ID_CONTA BIGINT PRIMARY KEY, ID_CLIENTE BIGINT, SALDO DOUBLE NOT NULL)");
+		jdbc.execute("CREATE TABLE MOVIMENTACAO (ID_MOV BIGINT PRIMARY KEY, ID_CONTA BIGINT NOT NULL,"
+				+ " TIPO VARCHAR(20) NOT NULL, VALOR DOUBLE NOT NULL, DATA_MOV TIMESTAMP(6))");
+		jdbc.execute("CREATE TABLE MOTOR_CHECKPOINT (NOME VARCHAR(50) PRIMARY KEY, SEQUENCIA BIGINT NOT NULL)");
+		jdbc.execute("CREATE TABLE OUTBOX_EVENTO (ID_EVENTO BIGINT PRIMARY KEY, TIPO VARCHAR(30) NOT NULL,"
+				+ " ID_CONTA BIGINT NOT NULL, DADOS VARCHAR(1000) NOT NULL, DATA_EVENTO TIMESTAMP(6) NOT NULL)");
+		jdbc.execute("CREATE SEQUENCE SEQ_MOVIMENTACAO");
+		jdbc.execute("CREATE SEQUENCE SEQ_OUTBOX_EVENTO");
+		// 1000 contas com IDs esparsos; as de ID múltiplo de 10 sem saldo para a tarifa
+		for (long id = 1; id <= 1000; id++) {
+			jdbc.update("INSERT INTO CONTA VALUES (?, ?, ?)", id * 3, id, id % 10 == 0 ? 5.0 : 1000.0);
+		}
+		DataSourceTransactionManager transacoes = new DataSourceTransactionManager(dataSource);
+		MotorSaldos motor = new MotorSaldos(null, jdbc, transacoes, false, "motor-nao-usado", 16, false, 1, 1, 1);
+		ConsultaSaldoService consultaSaldo = new ConsultaSaldoService(jdbc, motor, 10_000);
+		consultaSaldo.carregar();
+		AcumuloContas acumulo = new AcumuloContas(jdbc, transacoes, new EstatisticasService(null, null, null, 10, 0.01),
+				consultaSaldo, motor, false, "02:00", 3, 7, 50, 0.10, 12.90);
+
+		Map<String, Object> primeira = acumulo.executar(LocalDate.of(2024, 3, 1));
+		assertEquals(1000L, resumo(primeira, "juros").get("contas"));
+		assertEquals(900L, resumo(primeira, "juros").get("lancamentos"));
+		assertEquals(900L, resumo(primeira, "tarifa").get("lancamentos"));
+		// 900 x (1000,00 + 0,26 - 12,90) + 100 x 5,00
+		assertEquals(900 * 987.36 + 500, jdbc.queryForObject("SELECT SUM(SALDO) FROM CONTA", Double.class), 0.001);
+
+		// Mesma data (e mesmo mês): nada a fazer; outro dia do mês: só juros
+		Map<String, Object> repetida = acumulo.executar(LocalDate.of(2024, 3, 1));
+		assertEquals(7, resumo(repetida, "juros").get("particoesJaConcluidas"));
+		assertEquals(0L, resumo(repetida, "juros").get("lancamentos"));
+		Map<String, Object> diaSeguinte = acumulo.executar(LocalDate.of(2024, 3, 2));
+		assertEquals(900L, resumo(diaSeguinte, "juros").get("lancamentos"));
+		assertEquals(0L, resumo(diaSeguinte, "tarifa").get("lancamentos"));
+		assertEquals(2700, jdbc.queryForObject("SELECT COUNT(*) FROM MOVIMENTACAO", Integer.class));
+		// Um evento por lançamento, no mesmo commit
+		assertEquals(2700, jdbc.queryForObject("SELECT COUNT(*) FROM OUTBOX_EVENTO", Integer.class));
+		// Cache de saldos acompanhou os lançamentos depois de cada commit
+		assertEquals(jdbc.queryForObject("SELECT SALDO FROM CONTA WHERE ID_CONTA = 3", Double.class),
+				consultaSaldo.saldo(3L), 0.001);
+		assertEquals(5.0, consultaSaldo.saldo(30L), 0.001);
+		assertEquals(0L, consultaSaldo.estatisticas().get("leiturasNoBanco"));
+
+		// Partição interrompida no meio: retoma do checkpoint
+		jdbc.update("UPDATE MOTOR_CHECKPOINT SET SEQUENCIA = 1500 WHERE NOME = 'juros-2024-03-03/7/3'");
+		jdbc.update("INSERT INTO MOTOR_CHECKPOINT VALUES ('juros-2024-03-03', 3000)");
+		for (int p = 0; p < 7; p++) {
+			jdbc.update("INSERT INTO MOTOR_CHECKPOINT VALUES (?, ?)", "juros-2024-03-03/7/" + p, p == 3 ? 1500 : 3000);
+		}
+		Map<String, Object> retomada = acumulo.executar(LocalDate.of(2024, 3, 3));
+		// Partição 3 = (1287, 1716]: contas 1503..1716 (72 contas, das quais 7 sem juros)
+		assertEquals(72L, resumo(retomada, "juros").get("contas"));
+		assertEquals(65L, resumo(retomada, "juros").get("lancamentos"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> resumo(Map<String, Object> execucao, String regra) {
+		return (Map<String, Object>) execucao.get(regra);
+	}
+}
@@ -0,0 +1,157 @@
+package com.exemplo.conta.arquivo;
+
+import com.exemplo.conta.entity.Movimentacao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArquivoMovimentacoesTests {
+
+	private static final long DIA = 24L * 60 * 60 * 1000;
+
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void segmentoDevolveAsMesmasLinhasGravadas() throws Exception {
+		Random random = new Random(7);
+		List<Movimentacao> linhas = new ArrayList<>();
+		long data = 1_600_000_000_000L;
+		long idMov = 1;
+		for (long conta = 1; conta <= 300; conta += 1 + random.nextInt(3)) {
+			for (int i = random.nextInt(40); i > 0; i--) {
+				data += random.nextInt(100_000);
+				Timestamp momento = new Timestamp(data);
+				momento.setNanos(momento.getNanos() + random.nextInt(1000) * 1000);
+				// Valores com centavos exatos e alguns que não cabem em centavos
+				double valor = random.nextInt(10) == 0 ? random.nextDouble() * 1000 : random.nextInt(100_000) / 100.0;
+				linhas.add(movimentacao(idMov++, conta, random.nextBoolean() ? "DEPOSITO" : "SAQUE", valor, momento));
+			}
+		}
+
+		Path arquivo = diretorio.resolve("movimentacoes-0000000001.seg");
+		try (EscritorSegmento escritor = new EscritorSegmento(arquivo, Long.MAX_VALUE, 64)) {
+			for (Movimentacao m : linhas) {
+				escritor.adicionar(m.getId(), m.getIdConta(), m.getTipo(), m.getValor(),
+						FormatoSegmento.paraMicros(m.getDataMovimentacao()));
+			}
+			escritor.concluir();
+		}
+		SegmentoMovimentacoes segmento = new SegmentoMovimentacoes(arquivo, 1);
+		assertEquals(linhas.size(), segmento.linhas());
+		assertTrue(segmento.blocos() > 1);
+
+		for (long conta = 0; conta <= 301; conta++) {
+			long idConta = conta;
+			List<String> esperado = linhas.stream().filter(m -> m.getIdConta() == idConta).map(Object::toString).toList();
+			List<Movimentacao> lidas = new ArrayList<>();
+			segmento.buscar(conta, Long.MIN_VALUE, Long.MAX_VALUE, lidas);
+			assertEquals(esperado, lidas.stream().map(Object::toString).toList());
+		}
+
+		// Filtro por período [desde, ate)
+		Movimentacao meio = linhas.get(linhas.size() / 2);
+		long desde = FormatoSegmento.paraMicros(meio.getDataMovimentacao());
+		List<Movimentacao> lidas = new ArrayList<>();
+		segmento.buscar(meio.getIdConta(), desde, desde + 1, lidas);
+		assertEquals(List.of(meio.toString()), lidas.stream().map(Object::toString).toList());
+	}
+
+	@Test
+	void arquivaMovimentacoesAntigasEExcluiDoBanco() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:arquivo;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE MOVIMENTACAO (ID_MOV BIGINT PRIMARY KEY, ID_CONTA BIGINT NOT NULL,"
+				+ " TIPO VARCHAR(20) NOT NULL, VALOR DOUBLE NOT NULL, DATA_MOV TIMESTAMP(6))");
+		jdbc.execute("CREATE TABLE MOTOR_CHECKPOINT (NOME VARCHAR(50) PRIMARY KEY, SEQUENCIA BIGINT NOT NULL)");
+		long agora = System.currentTimeMillis();
+		long idMov = 1;
+		for (long conta = 1; conta <= 10; conta++) {
+			for (int dias : new int[]{400, 200, 100, 30, 1}) {
+				jdbc.update("INSERT INTO MOVIMENTACAO VALUES (?, ?, ?, ?, ?)",
+						idMov++, conta, "DEPOSITO", 10.5, new Timestamp(agora - dias * DIA));
+			}
+		}
+
+		// 10 contas x 3 linhas antigas; o segmento passa de 7 linhas para não dividir a conta: 9 + 9 + 9 + 3
+		ArquivoMovimentacoes arquivo = new ArquivoMovimentacoes(jdbc, new DataSourceTransactionManager(dataSource),
+				false, diretorio.toString(), 90, 4, 7, 0);
+		arquivo.start();
+		assertFalse(arquivo.alcanca(null));
+
+		Map<String, Object> execucao = arquivo.arquivar();
+		assertEquals(4, execucao.get("segmentosCriados"));
+		assertEquals(30L, execucao.get("linhasArquivadas"));
+		assertEquals(20, jdbc.queryForObject("SELECT COUNT(*) FROM MOVIMENTACAO", Integer.class));
+		assertEquals(315.0, arquivo.somarPorTipo().get("DEPOSITO"));
+
+		assertEquals(3, arquivo.buscar(4L, null, null).size());
+		assertEquals(2, arquivo.buscar(4L, new Timestamp(agora - 250 * DIA), null).size());
+		assertEquals(1, arquivo.buscar(4L, new Timestamp(agora - 450 * DIA), new Timestamp(agora - 300 * DIA)).size());
+		assertTrue(arquivo.alcanca(new Timestamp(agora - 120 * DIA)));
+		assertFalse(arquivo.alcanca(new Timestamp(agora - 60 * DIA)));
+
+		// Reabrindo: segmentos lidos do disco, nada a refazer no banco
+		arquivo.stop();
+		ArquivoMovimentacoes reaberto = new ArquivoMovimentacoes(jdbc, new DataSourceTransactionManager(dataSource),
+				false, diretorio.toString(), 90, 4, 7, 0);
+		reaberto.start();
+		assertEquals(4, reaberto.estatisticas().get("segmentos"));
+		assertEquals(3, reaberto.buscar(10L, null, null).size());
+		assertEquals(0L, reaberto.arquivar().get("linhasArquivadas"));
+	}
+
+	@Test
+	void refazerExclusaoNaoApagaLinhaQueNaoEntrouNoSegmento() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:arquivo-refazer;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE MOVIMENTACAO (ID_MOV BIGINT PRIMARY KEY, ID_CONTA BIGINT NOT NULL,"
+				+ " TIPO VARCHAR(20) NOT NULL, VALOR DOUBLE NOT NULL, DATA_MOV TIMESTAMP(6))");
+		jdbc.execute("CREATE TABLE MOTOR_CHECKPOINT (NOME VARCHAR(50) PRIMARY KEY, SEQUENCIA BIGINT NOT NULL)");
+		long agora = System.currentTimeMillis();
+		for (long conta = 1; conta <= 3; conta++) {
+			jdbc.update("INSERT INTO MOVIMENTACAO VALUES (?, ?, ?, ?, ?)",
+					conta, conta, "DEPOSITO", 10.0, new Timestamp(agora - 200 * DIA));
+		}
+		ArquivoMovimentacoes arquivo = new ArquivoMovimentacoes(jdbc, new DataSourceTransactionManager(dataSource),
+				false, diretorio.toString(), 90, 4, 100, 0);
+		arquivo.start();
+		assertEquals(3L, arquivo.arquivar().get("linhasArquivadas"));
+		arquivo.stop();
+
+		// Queda antes do checkpoint, e uma linha antiga da conta 2 chega depois da leitura do segmento
+		jdbc.update("UPDATE MOTOR_CHECKPOINT SET SEQUENCIA = 0");
+		jdbc.update("INSERT INTO MOVIMENTACAO VALUES (?, ?, ?, ?, ?)",
+				4L, 2L, "SAQUE", 5.0, new Timestamp(agora - 150 * DIA));
+
+		ArquivoMovimentacoes reaberto = new ArquivoMovimentacoes(jdbc, new DataSourceTransactionManager(dataSource),
+				false, diretorio.toString(), 90, 4, 100, 0);
+		reaberto.start();
+		assertEquals(List.of(4L), jdbc.queryForList("SELECT ID_MOV FROM MOVIMENTACAO", Long.class));
+
+		// O próximo arquivamento leva a linha que ficou
+		assertEquals(1L, reaberto.arquivar().get("linhasArquivadas"));
+		assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM MOVIMENTACAO", Integer.class));
+		assertEquals(2, reaberto.buscar(2L, null, null).size());
+	}
+
+	private static Movimentacao movimentacao(long id, long idConta, String tipo, double valor, Timestamp data) {
+		Movimentacao movimentacao = new Movimentacao(idConta, tipo, valor);
+		movimentacao.setId(id);
+		movimentacao.setDataMovimentacao(data);
+		return movimentacao;
+	}
+}
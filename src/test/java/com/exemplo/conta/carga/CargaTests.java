@@ -0,0 +1,123 @@
+package com.exemplo.conta.carga;
+
+import com.exemplo.conta.BackendContaApplication;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga reproduzível: popula o H2 (modo Oracle, schema do Flyway) com a massa,
+ * sobe a aplicação inteira em porta aleatória e dispara pela API HTTP o mix de operações
+ * da interface web a uma taxa fixa. Imprime percentis de latência e taxa de erro por
+ * endpoint e grava o relatório em target/carga/<data-hora>/.
+ *
+ * Executar com: mvn test -Dtest=CargaTests -Dcarga=true
+ * Parâmetros (-D):
+ *   carga.contas=1000               contas estáveis da massa
+ *   carga.movimentacoes=5           movimentações por conta na massa
+ *   carga.taxa=200                  requisições por segundo (chegadas, não respostas)
+ *   carga.aquecimento=10            segundos enviados sem medir (JIT, pool, caches)
+ *   carga.duracao=60                segundos medidos
+ *   carga.mix=                      pesos, ex.: buscar=40,listar=0 (padrão em Operacao)
+ *   carga.semente=42                mesma semente = mesma massa e mesma sequência de requisições
+ *   carga.timeout-ms=10000          timeout de cada requisição
+ *   carga.max-em-voo=5000           requisições pendentes antes de contar falha no gerador
+ *   carga.app.<propriedade>=valor   repassada à aplicação, ex.: -Dcarga.app.conta.motor.habilitado=true
+ *
+ * A carga começa quando a aplicação fica pronta, depois do aquecimento dela (conta.aquecimento.*).
+ * p99 do primeiro minuto depois do deploy: -Dcarga.aquecimento=0 -Dcarga.duracao=60, com e sem
+ * -Dcarga.app.conta.aquecimento.habilitado=false.
+ *
+ * O controle de admissão fica desligado (todo o tráfego sai de um único cliente local);
+ * para medi-lo, use -Dcarga.app.conta.admissao.habilitado=true.
+ */
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class CargaTests {
+
+	private static final String PREFIXO_APP = "carga.app.";
+
+	@Test
+	void rodarCarga() throws Exception {
+		int contas = Integer.getInteger("carga.contas", 1000);
+		int movimentacoes = Integer.getInteger("carga.movimentacoes", 5);
+		double taxa = Double.parseDouble(System.getProperty("carga.taxa", "200"));
+		Duration aquecimento = Duration.ofSeconds(Long.getLong("carga.aquecimento", 10));
+		Duration duracao = Duration.ofSeconds(Long.getLong("carga.duracao", 60));
+		Map<Operacao, Integer> mix = Operacao.mix(System.getProperty("carga.mix"));
+		long semente = Long.getLong("carga.semente", 42);
+		Duration timeout = Duration.ofMillis(Long.getLong("carga.timeout-ms", 10_000));
+		int maxEmVoo = Integer.getInteger("carga.max-em-voo", 5000);
+
+		String url = "jdbc:h2:mem:carga;MODE=Oracle;DB_CLOSE_DELAY=-1";
+		Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration").load().migrate();
+		MassaCarga massa = MassaCarga.popular(new JdbcTemplate(new DriverManagerDataSource(url, "sa", "")), contas,
+				reservaExclusao(mix, taxa, aquecimento.plus(duracao)), movimentacoes, semente);
+
+		try (ConfigurableApplicationContext aplicacao = subir(url)) {
+			int porta = aplicacao.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+					.connectTimeout(timeout).build();
+			GeradorCarga gerador = new GeradorCarga(http, "http://localhost:" + porta, massa, mix, taxa, timeout, maxEmVoo, semente);
+
+			System.out.printf("Carga: %d contas, %.0f req/s, %ds de aquecimento + %ds medidos, mix %s, semente %d%n",
+					massa.quantidadeContas(), taxa, aquecimento.toSeconds(), duracao.toSeconds(), mix, semente);
+			RelatorioCarga relatorio = gerador.rodar(aquecimento, duracao);
+
+			relatorio.imprimir(System.out);
+			Path diretorio = Path.of("target", "carga", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+			relatorio.gravar(diretorio);
+			System.out.println("Relatório e distribuições (.hgrm) em " + diretorio.toAbsolutePath());
+			assertTrue(relatorio.total() > 0, "nenhuma requisição medida");
+		}
+	}
+
+	private static ConfigurableApplicationContext subir(String url) {
+		Map<String, String> propriedades = new HashMap<>();
+		propriedades.put("spring.datasource.url", url);
+		propriedades.put("spring.datasource.driver-class-name", "org.h2.Driver");
+		propriedades.put("spring.datasource.username", "sa");
+		propriedades.put("spring.datasource.password", "");
+		propriedades.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+		// Schema já migrado e populado antes de subir
+		propriedades.put("spring.jpa.hibernate.ddl-auto", "none");
+		propriedades.put("spring.flyway.enabled", "false");
+		propriedades.put("spring.sql.init.mode", "never");
+		propriedades.put("server.port", "0");
+		propriedades.put("conta.admissao.habilitado", "false");
+		// Os testes desligam o aquecimento (config/application.properties de teste); a carga mede com ele
+		propriedades.put("conta.aquecimento.habilitado", "true");
+		// Log de eventos novo a cada execução: o banco em memória recomeça os IDs do outbox
+		propriedades.put("conta.eventos.diretorio", Path.of("target", "carga", "eventos-" + System.currentTimeMillis()).toString());
+		System.getProperties().stringPropertyNames().stream()
+				.filter(nome -> nome.startsWith(PREFIXO_APP))
+				.forEach(nome -> propriedades.put(nome.substring(PREFIXO_APP.length()), System.getProperty(nome)));
+		// Como argumentos de linha de comando: precisam valer por cima do application.properties
+		String[] argumentos = propriedades.entrySet().stream()
+				.map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+		return new SpringApplicationBuilder(BackendContaApplication.class).run(argumentos);
+	}
+
+	// DELETEs esperados no aquecimento + medição, com 20% de folga (as contas criadas na carga também entram na fila)
+	private static int reservaExclusao(Map<Operacao, Integer> mix, double taxa, Duration tempo) {
+		int soma = mix.values().stream().mapToInt(Integer::intValue).sum();
+		if (soma == 0) {
+			return 0;
+		}
+		double esperados = taxa * tempo.toSeconds() * mix.get(Operacao.EXCLUIR) / soma;
+		return (int) Math.ceil(esperados * 1.2);
+	}
+}
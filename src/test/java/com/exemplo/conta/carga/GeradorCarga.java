@@ -0,0 +1,196 @@
+package com.exemplo.conta.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga em modelo aberto: as requisições chegam a uma taxa fixa (intervalos
+ * exponenciais, como um processo de Poisson), independentemente de o servidor já ter
+ * respondido às anteriores. Um cliente fechado (N threads em laço) diminuiria o ritmo
+ * junto com o servidor e esconderia justamente as filas que queremos medir.
+ *
+ * Uma única thread sorteia a operação, a conta e o valor com a semente configurada, então
+ * a sequência de requisições é a mesma em toda execução; o envio é assíncrono (HttpClient).
+ */
+class GeradorCarga {
+
+	private static final ObjectMapper JSON = new ObjectMapper();
+
+	private final HttpClient http;
+	private final String base;
+	private final MassaCarga massa;
+	private final Operacao[] operacoes;
+	private final int[] pesosAcumulados;
+	private final double taxaPorSegundo;
+	private final Duration timeout;
+	private final Semaphore emVoo;
+	private final int maxEmVoo;
+	private final Random aleatorio;
+
+	GeradorCarga(HttpClient http, String base, MassaCarga massa, Map<Operacao, Integer> mix, double taxaPorSegundo,
+				 Duration timeout, int maxEmVoo, long semente) {
+		this.http = http;
+		this.base = base;
+		this.massa = massa;
+		this.taxaPorSegundo = taxaPorSegundo;
+		this.timeout = timeout;
+		this.maxEmVoo = maxEmVoo;
+		this.emVoo = new Semaphore(maxEmVoo);
+		this.aleatorio = new Random(semente);
+		this.operacoes = mix.entrySet().stream().filter(e -> e.getValue() > 0).map(Map.Entry::getKey).toArray(Operacao[]::new);
+		this.pesosAcumulados = new int[operacoes.length];
+		int soma = 0;
+		for (int i = 0; i < operacoes.length; i++) {
+			soma += mix.get(operacoes[i]);
+			pesosAcumulados[i] = soma;
+		}
+		if (soma == 0) {
+			throw new IllegalArgumentException("Mix sem nenhuma operação com peso positivo");
+		}
+	}
+
+	/**
+	 * Roda o aquecimento (enviado mas não medido) e depois a medição, e espera as respostas pendentes
+	 */
+	RelatorioCarga rodar(Duration aquecimento, Duration duracao) throws InterruptedException {
+		RelatorioCarga relatorio = new RelatorioCarga();
+		long inicio = System.nanoTime();
+		long inicioMedicao = inicio + aquecimento.toNanos();
+		long fim = inicioMedicao + duracao.toNanos();
+		double nanosEntreChegadas = TimeUnit.SECONDS.toNanos(1) / taxaPorSegundo;
+
+		long agendada = inicio;
+		while (agendada < fim) {
+			esperarAte(agendada);
+			disparar(sortear(), agendada, agendada >= inicioMedicao ? relatorio : null);
+			agendada += (long) (-Math.log(1.0 - aleatorio.nextDouble()) * nanosEntreChegadas);
+		}
+		// Respostas pendentes (o timeout de cada requisição limita a espera)
+		emVoo.tryAcquire(maxEmVoo, timeout.toMillis() + 1000, TimeUnit.MILLISECONDS);
+		relatorio.finalizar(duracao.toNanos() / 1e9);
+		return relatorio;
+	}
+
+	private Operacao sortear() {
+		int sorteio = aleatorio.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+		for (int i = 0; i < pesosAcumulados.length; i++) {
+			if (sorteio < pesosAcumulados[i]) {
+				return operacoes[i];
+			}
+		}
+		return operacoes[operacoes.length - 1];
+	}
+
+	// relatorio == null: aquecimento (envia mas não registra)
+	private void disparar(Operacao operacao, long agendada, RelatorioCarga relatorio) {
+		HttpRequest requisicao = montar(operacao);
+		if (requisicao == null) {
+			if (relatorio != null) {
+				relatorio.registrarSemAlvo();
+			}
+			return;
+		}
+		if (!emVoo.tryAcquire()) {
+			// O gerador não segura requisições: acima do limite em voo, conta como falha
+			if (relatorio != null) {
+				relatorio.registrarFalha(operacao, micros(System.nanoTime() - agendada));
+			}
+			return;
+		}
+		http.sendAsync(requisicao, HttpResponse.BodyHandlers.ofString()).whenComplete((resposta, erro) -> {
+			try {
+				long latencia = micros(System.nanoTime() - agendada);
+				if (erro != null) {
+					if (relatorio != null) {
+						relatorio.registrarFalha(operacao, latencia);
+					}
+					return;
+				}
+				if (relatorio != null) {
+					relatorio.registrar(operacao, resposta.statusCode(), latencia);
+				}
+				if (operacao == Operacao.CRIAR && resposta.statusCode() == 201) {
+					contaCriada(resposta.body());
+				}
+			} finally {
+				emVoo.release();
+			}
+		});
+	}
+
+	private HttpRequest montar(Operacao operacao) {
+		switch (operacao) {
+			case LISTAR:
+				return requisicao("/contas").GET().build();
+			case BUSCAR:
+				return requisicao("/contas/" + massa.contaEstavel(aleatorio)).GET().build();
+			case EXTRATO:
+				return requisicao("/contas/" + massa.contaEstavel(aleatorio) + "/extrato").GET().build();
+			case DEPOSITO:
+				return json(requisicao("/contas/" + massa.contaEstavel(aleatorio) + "/deposito"), "POST",
+						"{\"valor\":" + valor(1, 500) + "}");
+			case SAQUE:
+				// Valores pequenos: a massa tem saldo de sobra, o limite por janela é que pode recusar (4xx)
+				return json(requisicao("/contas/" + massa.contaEstavel(aleatorio) + "/saque"), "POST",
+						"{\"valor\":" + valor(1, 100) + "}");
+			case CRIAR:
+				return json(requisicao("/contas"), "POST", "{\"nome\":\"Cliente Carga " + aleatorio.nextInt(1_000_000)
+						+ "\",\"cpf\":\"" + massa.novoCpf() + "\",\"saldo\":" + valor(0, 5000) + "}");
+			case ATUALIZAR:
+				return json(requisicao("/contas/" + massa.contaEstavel(aleatorio)), "PATCH",
+						"{\"titular\":\"Cliente Alterado " + aleatorio.nextInt(1_000_000) + "\"}");
+			case EXCLUIR:
+				Long id = massa.proximaExclusao();
+				return id == null ? null : requisicao("/contas/" + id).DELETE().build();
+			default:
+				throw new IllegalStateException("Operação sem requisição: " + operacao);
+		}
+	}
+
+	private HttpRequest.Builder requisicao(String caminho) {
+		return HttpRequest.newBuilder(URI.create(base + caminho)).timeout(timeout);
+	}
+
+	private static HttpRequest json(HttpRequest.Builder requisicao, String metodo, String corpo) {
+		return requisicao.header("Content-Type", "application/json")
+				.method(metodo, HttpRequest.BodyPublishers.ofString(corpo)).build();
+	}
+
+	// Valor em reais com centavos, no intervalo [minimo, maximo]
+	private String valor(int minimo, int maximo) {
+		return String.valueOf((minimo * 100 + aleatorio.nextInt((maximo - minimo) * 100 + 1)) / 100.0);
+	}
+
+	private void contaCriada(String corpo) {
+		try {
+			JsonNode conta = JSON.readTree(corpo);
+			if (conta.hasNonNull("id")) {
+				massa.contaCriada(conta.get("id").asLong());
+			}
+		} catch (Exception e) {
+			// Corpo inesperado: a conta só não entra na fila de exclusão
+		}
+	}
+
+	private static void esperarAte(long instante) {
+		long falta;
+		while ((falta = instante - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(falta);
+		}
+	}
+
+	private static long micros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+}
@@ -0,0 +1,112 @@
+package com.exemplo.conta.carga;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Massa de dados da carga, gravada direto no banco antes de a aplicação subir
+ * (os índices e estatísticas em memória são carregados dela no ApplicationReadyEvent).
+ *
+ * - contas estáveis: alvo de consultas, saques, depósitos e alterações; nunca excluídas
+ * - reserva de exclusão: contas que só o DELETE usa, somadas às criadas durante a carga
+ *
+ * Com a mesma semente, a massa é sempre a mesma.
+ */
+class MassaCarga {
+
+	private static final String[] NOMES = {"João", "Maria", "José", "Ana", "Antônio", "Francisca", "Carlos",
+			"Luíza", "Paulo", "Márcia", "Pedro", "Adriana", "Lucas", "Juliana", "Luiz", "Fernanda", "Marcos",
+			"Patrícia", "Gabriel", "Aline", "Rafael", "Sandra", "Daniel", "Camila", "Marcelo", "Letícia"};
+	private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+			"Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Araújo", "Melo",
+			"Barbosa", "Cardoso", "Conceição", "Nascimento", "Moreira", "Magalhães", "Brandão", "Gonçalves"};
+	private static final int LOTE = 1000;
+	// CPFs das contas criadas durante a carga (os da massa começam em 00000000001)
+	private static final long PRIMEIRO_CPF_CRIADO = 90_000_000_000L;
+
+	private final long[] contas;
+	private final ConcurrentLinkedQueue<Long> paraExcluir = new ConcurrentLinkedQueue<>();
+	private final AtomicLong proximoCpf = new AtomicLong(PRIMEIRO_CPF_CRIADO);
+
+	private MassaCarga(long[] contas) {
+		this.contas = contas;
+	}
+
+	/**
+	 * Grava clientes, contas e movimentações (IDs a partir de 1) e ajusta as sequências
+	 * @param contas Contas estáveis
+	 * @param reservaExclusao Contas a mais, reservadas para o DELETE
+	 * @param movimentacoesPorConta Movimentações de cada conta (extrato), nos últimos 60 dias
+	 */
+	static MassaCarga popular(JdbcTemplate jdbc, int contas, int reservaExclusao, int movimentacoesPorConta, long semente) {
+		Random aleatorio = new Random(semente);
+		int total = contas + reservaExclusao;
+		long agora = System.currentTimeMillis();
+		List<Object[]> clientes = new ArrayList<>(LOTE);
+		List<Object[]> linhasContas = new ArrayList<>(LOTE);
+		List<Object[]> movimentacoes = new ArrayList<>(LOTE * Math.max(1, movimentacoesPorConta));
+		long idMovimentacao = 0;
+		for (long id = 1; id <= total; id++) {
+			String nome = NOMES[aleatorio.nextInt(NOMES.length)] + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)]
+					+ " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)];
+			clientes.add(new Object[]{id, nome, String.format("%011d", id), new Timestamp(agora)});
+			double saldo = 1000 + aleatorio.nextInt(900_000) / 100.0;
+			linhasContas.add(new Object[]{id, id, saldo});
+			for (int m = 0; m < movimentacoesPorConta; m++) {
+				long atraso = (long) (aleatorio.nextDouble() * TimeUnit.DAYS.toMillis(60));
+				movimentacoes.add(new Object[]{++idMovimentacao, id, aleatorio.nextBoolean() ? "DEPOSITO" : "SAQUE",
+						1 + aleatorio.nextInt(50_000) / 100.0, new Timestamp(agora - atraso)});
+			}
+			if (clientes.size() == LOTE || id == total) {
+				jdbc.batchUpdate("INSERT INTO CLIENTE (ID_CLIENTE, NOME, CPF, DATA_CADASTRO) VALUES (?, ?, ?, ?)", clientes);
+				jdbc.batchUpdate("INSERT INTO CONTA (ID_CONTA, ID_CLIENTE, SALDO) VALUES (?, ?, ?)", linhasContas);
+				jdbc.batchUpdate("INSERT INTO MOVIMENTACAO (ID_MOV, ID_CONTA, TIPO, VALOR, DATA_MOV) VALUES (?, ?, ?, ?, ?)",
+						movimentacoes);
+				clientes.clear();
+				linhasContas.clear();
+				movimentacoes.clear();
+			}
+		}
+		jdbc.execute("ALTER SEQUENCE SEQ_CLIENTE RESTART WITH " + (total + 1));
+		jdbc.execute("ALTER SEQUENCE SEQ_CONTA RESTART WITH " + (total + 1));
+		jdbc.execute("ALTER SEQUENCE SEQ_MOVIMENTACAO RESTART WITH " + (idMovimentacao + 1));
+
+		long[] estaveis = new long[contas];
+		for (int i = 0; i < contas; i++) {
+			estaveis[i] = i + 1;
+		}
+		MassaCarga massa = new MassaCarga(estaveis);
+		for (long id = contas + 1; id <= total; id++) {
+			massa.paraExcluir.add(id);
+		}
+		return massa;
+	}
+
+	long contaEstavel(Random aleatorio) {
+		return contas[aleatorio.nextInt(contas.length)];
+	}
+
+	int quantidadeContas() {
+		return contas.length;
+	}
+
+	/** Próxima conta a excluir (reserva primeiro, depois as criadas na carga), ou null se acabaram */
+	Long proximaExclusao() {
+		return paraExcluir.poll();
+	}
+
+	void contaCriada(long id) {
+		paraExcluir.add(id);
+	}
+
+	String novoCpf() {
+		return String.format("%011d", proximoCpf.getAndIncrement());
+	}
+}
@@ -0,0 +1,58 @@
+package com.exemplo.conta.carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Operações que a interface web (static/index.html) faz na API, com o peso padrão no mix
+ * da carga (proporção aproximada de uso: muita consulta, pouca alteração cadastral)
+ */
+enum Operacao {
+
+	LISTAR("GET /contas", 5),
+	BUSCAR("GET /contas/{id}", 25),
+	EXTRATO("GET /contas/{id}/extrato", 20),
+	DEPOSITO("POST /contas/{id}/deposito", 15),
+	SAQUE("POST /contas/{id}/saque", 15),
+	CRIAR("POST /contas", 8),
+	ATUALIZAR("PATCH /contas/{id}", 7),
+	EXCLUIR("DELETE /contas/{id}", 5);
+
+	private final String rotulo;
+	private final int pesoPadrao;
+
+	Operacao(String rotulo, int pesoPadrao) {
+		this.rotulo = rotulo;
+		this.pesoPadrao = pesoPadrao;
+	}
+
+	String rotulo() {
+		return rotulo;
+	}
+
+	/**
+	 * Mix no formato "buscar=30,saque=20" (operações omitidas ficam com o peso padrão;
+	 * peso 0 tira a operação do mix). Vazio = pesos padrão.
+	 */
+	static Map<Operacao, Integer> mix(String especificacao) {
+		Map<Operacao, Integer> pesos = new EnumMap<>(Operacao.class);
+		for (Operacao operacao : values()) {
+			pesos.put(operacao, operacao.pesoPadrao);
+		}
+		if (especificacao == null || especificacao.isBlank()) {
+			return pesos;
+		}
+		for (String item : especificacao.split(",")) {
+			String[] partes = item.trim().split("=");
+			if (partes.length != 2) {
+				throw new IllegalArgumentException("Item de mix inválido (esperado operacao=peso): " + item);
+			}
+			int peso = Integer.parseInt(partes[1].trim());
+			if (peso < 0) {
+				throw new IllegalArgumentException("Peso negativo no mix: " + item);
+			}
+			pesos.put(valueOf(partes[0].trim().toUpperCase()), peso);
+		}
+		return pesos;
+	}
+}
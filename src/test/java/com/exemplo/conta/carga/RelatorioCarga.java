@@ -0,0 +1,145 @@
+package com.exemplo.conta.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências (HdrHistogram, em microssegundos) e contagem de respostas por operação.
+ *
+ * A latência é medida a partir do instante em que a requisição DEVERIA ter saído pelo
+ * cronograma da carga, não de quando saiu de fato: se o servidor trava, as requisições
+ * que ficaram esperando entram com o atraso (sem omissão coordenada).
+ */
+class RelatorioCarga {
+
+	// Valores em microssegundos; percentis impressos em ms
+	private static final double MICROS_POR_MS = 1000.0;
+
+	private final Map<Operacao, Resultado> resultados = new EnumMap<>(Operacao.class);
+	private final LongAdder semAlvo = new LongAdder();
+	private volatile double segundosMedidos;
+
+	RelatorioCarga() {
+		for (Operacao operacao : Operacao.values()) {
+			resultados.put(operacao, new Resultado());
+		}
+	}
+
+	void registrar(Operacao operacao, int status, long latenciaMicros) {
+		Resultado resultado = resultados.get(operacao);
+		resultado.latencias.recordValue(Math.max(0, latenciaMicros));
+		if (status < 400) {
+			resultado.sucessos.increment();
+		} else if (status < 500) {
+			resultado.rejeicoes.increment();
+		} else {
+			resultado.erros.increment();
+		}
+	}
+
+	/** Sem resposta (timeout, conexão recusada) ou descartada por excesso de requisições em voo */
+	void registrarFalha(Operacao operacao, long latenciaMicros) {
+		Resultado resultado = resultados.get(operacao);
+		resultado.latencias.recordValue(Math.max(0, latenciaMicros));
+		resultado.falhas.increment();
+	}
+
+	/** DELETE sorteado quando não havia mais conta para excluir (não enviado) */
+	void registrarSemAlvo() {
+		semAlvo.increment();
+	}
+
+	void finalizar(double segundosMedidos) {
+		this.segundosMedidos = segundosMedidos;
+	}
+
+	long total() {
+		long total = 0;
+		for (Resultado resultado : resultados.values()) {
+			total += resultado.latencias.getTotalCount();
+		}
+		return total;
+	}
+
+	long erros() {
+		long erros = 0;
+		for (Resultado resultado : resultados.values()) {
+			erros += resultado.erros.sum() + resultado.falhas.sum();
+		}
+		return erros;
+	}
+
+	void imprimir(PrintStream saida) {
+		saida.printf("%-28s %8s %8s %8s %8s %8s %8s %9s %9s %9s %9s %9s%n", "operação", "total", "req/s", "2xx/3xx",
+				"4xx", "5xx", "falhas", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+		Histogram geral = new Histogram(3);
+		long sucessos = 0, rejeicoes = 0, erros = 0, falhas = 0;
+		for (Map.Entry<Operacao, Resultado> item : resultados.entrySet()) {
+			Resultado resultado = item.getValue();
+			Histogram latencias = resultado.latencias.copy();
+			if (latencias.getTotalCount() == 0) {
+				continue;
+			}
+			geral.add(latencias);
+			sucessos += resultado.sucessos.sum();
+			rejeicoes += resultado.rejeicoes.sum();
+			erros += resultado.erros.sum();
+			falhas += resultado.falhas.sum();
+			linha(saida, item.getKey().rotulo(), latencias, resultado.sucessos.sum(), resultado.rejeicoes.sum(),
+					resultado.erros.sum(), resultado.falhas.sum());
+		}
+		if (geral.getTotalCount() > 0) {
+			linha(saida, "TOTAL", geral, sucessos, rejeicoes, erros, falhas);
+			saida.printf("taxa de erro (5xx + falhas): %.3f%%%n", 100.0 * (erros + falhas) / geral.getTotalCount());
+		}
+		if (semAlvo.sum() > 0) {
+			saida.printf("DELETE sem conta disponível (não enviados): %d%n", semAlvo.sum());
+		}
+	}
+
+	private void linha(PrintStream saida, String nome, Histogram latencias, long sucessos, long rejeicoes, long erros, long falhas) {
+		saida.printf("%-28s %8d %8.1f %8d %8d %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", nome, latencias.getTotalCount(),
+				segundosMedidos > 0 ? latencias.getTotalCount() / segundosMedidos : 0.0, sucessos, rejeicoes, erros, falhas,
+				latencias.getValueAtPercentile(50) / MICROS_POR_MS, latencias.getValueAtPercentile(90) / MICROS_POR_MS,
+				latencias.getValueAtPercentile(99) / MICROS_POR_MS, latencias.getValueAtPercentile(99.9) / MICROS_POR_MS,
+				latencias.getMaxValue() / MICROS_POR_MS);
+	}
+
+	/**
+	 * Grava o relatório (relatorio.txt) e a distribuição completa de cada operação em
+	 * arquivos .hgrm (em ms), que podem ser comparados entre duas execuções no plotter do HdrHistogram
+	 */
+	void gravar(Path diretorio) throws IOException {
+		Files.createDirectories(diretorio);
+		try (PrintStream saida = new PrintStream(Files.newOutputStream(diretorio.resolve("relatorio.txt")), true, "UTF-8")) {
+			imprimir(saida);
+		}
+		for (Map.Entry<Operacao, Resultado> item : resultados.entrySet()) {
+			Histogram latencias = item.getValue().latencias.copy();
+			if (latencias.getTotalCount() == 0) {
+				continue;
+			}
+			Path arquivo = diretorio.resolve(item.getKey().name().toLowerCase() + ".hgrm");
+			try (PrintStream saida = new PrintStream(Files.newOutputStream(arquivo), true, "UTF-8")) {
+				latencias.outputPercentileDistribution(saida, MICROS_POR_MS);
+			}
+		}
+	}
+
+	private static final class Resultado {
+		// Auto-redimensionável: não há latência máxima a configurar
+		final ConcurrentHistogram latencias = new ConcurrentHistogram(3);
+		final LongAdder sucessos = new LongAdder();
+		final LongAdder rejeicoes = new LongAdder();
+		final LongAdder erros = new LongAdder();
+		final LongAdder falhas = new LongAdder();
+	}
+}
@@ -0,0 +1,114 @@
+package com.exemplo.conta.config;
+
+import com.exemplo.conta.entity.Conta;
+import com.exemplo.conta.entity.Movimentacao;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark do extrato e da listagem em JSON x CBOR (tamanho, codificação e decodificação)
+ * Executar com: mvn test -Dtest=CborConfigTests -Dbenchmark=true
+ */
+class CborConfigTests {
+
+	private static final int MOVIMENTACOES = 10_000;
+	private static final int CONTAS = 2_000;
+	private static final int AQUECIMENTO = 200;
+	private static final int ITERACOES = 500;
+
+	// Como o Spring Boot configura o ObjectMapper JSON (datas em texto ISO)
+	private final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+	private final ObjectMapper cbor = new CborConfig()
+			.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()
+					.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS))
+			.getObjectMapper();
+	private long consumidor;
+
+	@Test
+	void cborIdaEVoltaComDataNumerica() throws Exception {
+		List<Movimentacao> extrato = extrato(3);
+		JavaType tipo = cbor.getTypeFactory().constructCollectionType(List.class, Movimentacao.class);
+		List<Movimentacao> lido = cbor.readValue(cbor.writeValueAsBytes(extrato), tipo);
+		assertEquals(extrato.size(), lido.size());
+		for (int i = 0; i < extrato.size(); i++) {
+			assertEquals(extrato.get(i).getId(), lido.get(i).getId());
+			assertEquals(extrato.get(i).getValor(), lido.get(i).getValor());
+			assertEquals(extrato.get(i).getDataMovimentacao(), lido.get(i).getDataMovimentacao());
+		}
+		// Data como número, não como texto ISO
+		assertEquals(extrato.get(0).getDataMovimentacao().getTime(),
+				cbor.readTree(cbor.writeValueAsBytes(extrato.get(0))).get("dataMovimentacao").asLong());
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void compararJsonECbor() throws Exception {
+		List<Movimentacao> extrato = extrato(MOVIMENTACOES);
+		List<Conta> contas = contas(CONTAS);
+		medir("extrato " + MOVIMENTACOES + " JSON", json, extrato, Movimentacao.class);
+		medir("extrato " + MOVIMENTACOES + " CBOR", cbor, extrato, Movimentacao.class);
+		medir("contas  " + CONTAS + "  JSON", json, contas, Conta.class);
+		medir("contas  " + CONTAS + "  CBOR", cbor, contas, Conta.class);
+		System.out.println("(ignorar) " + consumidor);
+	}
+
+	private void medir(String nome, ObjectMapper mapper, List<?> valores, Class<?> elemento) throws Exception {
+		JavaType tipo = mapper.getTypeFactory().constructCollectionType(List.class, elemento);
+		byte[] bytes = mapper.writeValueAsBytes(valores);
+		for (int i = 0; i < AQUECIMENTO; i++) {
+			consumidor += mapper.writeValueAsBytes(valores).length;
+			consumidor += ((List<?>) mapper.readValue(bytes, tipo)).size();
+		}
+		long inicio = System.nanoTime();
+		for (int i = 0; i < ITERACOES; i++) {
+			consumidor += mapper.writeValueAsBytes(valores).length;
+		}
+		double codificacaoMs = (System.nanoTime() - inicio) / 1e6 / ITERACOES;
+		inicio = System.nanoTime();
+		for (int i = 0; i < ITERACOES; i++) {
+			consumidor += ((List<?>) mapper.readValue(bytes, tipo)).size();
+		}
+		double decodificacaoMs = (System.nanoTime() - inicio) / 1e6 / ITERACOES;
+		System.out.printf("%s: %8d bytes   codificar %6.3f ms (%6.1f MB/s)   decodificar %6.3f ms (%6.1f MB/s)%n",
+				nome, bytes.length, codificacaoMs, bytes.length / codificacaoMs / 1000,
+				decodificacaoMs, bytes.length / decodificacaoMs / 1000);
+	}
+
+	private static List<Movimentacao> extrato(int quantidade) {
+		Random aleatorio = new Random(42);
+		long agora = System.currentTimeMillis();
+		List<Movimentacao> extrato = new ArrayList<>(quantidade);
+		for (int i = 0; i < quantidade; i++) {
+			Movimentacao movimentacao = new Movimentacao(7L, aleatorio.nextBoolean() ? "DEPOSITO" : "SAQUE",
+					1 + aleatorio.nextInt(500_000) / 100.0);
+			movimentacao.setId(1_000_000L + i);
+			movimentacao.setDataMovimentacao(new Timestamp(agora - aleatorio.nextInt(1_000_000_000)));
+			extrato.add(movimentacao);
+		}
+		return extrato;
+	}
+
+	private static List<Conta> contas(int quantidade) {
+		Random aleatorio = new Random(42);
+		List<Conta> contas = new ArrayList<>(quantidade);
+		for (int i = 0; i < quantidade; i++) {
+			Conta conta = new Conta((long) i, aleatorio.nextInt(10_000_000) / 100.0);
+			conta.setId((long) i);
+			conta.setTitular("Cliente " + i + " (CPF: " + String.format("%011d", i) + ")");
+			contas.add(conta);
+		}
+		return contas;
+	}
+}
@@ -0,0 +1,127 @@
+package com.exemplo.conta.controller;
+
+import com.exemplo.conta.monitoramento.MonitorRequisicoes;
+import com.exemplo.conta.monitoramento.OrcamentoSql;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Orçamento de comandos SQL por endpoint (@OrcamentoSql) contra o H2 em modo Oracle
+ * Reprova N+1: o número de comandos de cada endpoint não pode crescer com o número de contas.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:orcamento-sql;MODE=Oracle;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.flyway.enabled=true",
+		"spring.sql.init.mode=never",
+		"conta.admissao.habilitado=false",
+		"conta.aquecimento.habilitado=false",
+		"conta.eventos.diretorio=target/orcamento-sql/eventos-${random.uuid}"
+})
+@AutoConfigureMockMvc
+class ContaControllerOrcamentoSqlTests {
+
+	private static final int CONTAS = 20;
+	private static final Pattern COMANDOS = Pattern.compile("desc=\"(\\d+) comandos\"");
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper json;
+
+	@Autowired
+	private MonitorRequisicoes monitor;
+
+	@Test
+	void todoEndpointDeclaraOrcamento() {
+		for (Method metodo : ContaController.class.getDeclaredMethods()) {
+			if (AnnotatedElementUtils.hasAnnotation(metodo, RequestMapping.class)) {
+				assertTrue(AnnotatedElementUtils.hasAnnotation(metodo, OrcamentoSql.class),
+						metodo.getName() + " sem @OrcamentoSql");
+			}
+		}
+	}
+
+	@Test
+	void endpointsDentroDoOrcamento() throws Exception {
+		monitor.limpar();
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < CONTAS; i++) {
+			MvcResult criada = executar(post("/contas").contentType(MediaType.APPLICATION_JSON)
+					.content("{\"nome\":\"Cliente " + i + "\",\"cpf\":\"" + String.format("%011d", 70_000_000_000L + i)
+							+ "\",\"saldo\":100.0}"));
+			long id = json.readTree(criada.getResponse().getContentAsString()).get("id").asLong();
+			ids.add(id);
+			executar(post("/contas/{id}/deposito", id).contentType(MediaType.APPLICATION_JSON).content("{\"valor\":50.0}"));
+		}
+
+		// Com 20 contas: a listagem não pode buscar o cliente de cada uma
+		assertTrue(comandos(executar(get("/contas"))) <= 2, "GET /contas com N+1");
+
+		long id = ids.get(0);
+		executar(get("/contas/{id}", id));
+		executar(get("/contas/{id}/saldo", id));
+		executar(get("/contas/{id}/extrato", id));
+		executar(get("/contas/{id}/extrato", id).accept(MediaType.APPLICATION_CBOR));
+		executar(post("/contas/{id}/saque", id).contentType(MediaType.APPLICATION_JSON).content("{\"valor\":10.0}"));
+		executar(put("/contas/{id}", id).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"saldo\":200.0,\"titular\":\"Cliente Renomeado\"}"));
+		executar(patch("/contas/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"saldo\":150.0}"));
+		executar(delete("/contas/{id}", id));
+
+		MvcResult encerramento = executar(post("/contas/encerramentos").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\":[" + ids.get(1) + "," + ids.get(2) + "]}"));
+		assertEquals(202, encerramento.getResponse().getStatus());
+		String job = json.readTree(encerramento.getResponse().getContentAsString()).get("id").asText();
+		executar(get("/contas/exclusoes/{job}", job));
+
+		assertEquals(0, monitor.acimaDoOrcamento().size(), "acima do orçamento: " + monitor.acimaDoOrcamento());
+	}
+
+	// Executa exigindo sucesso e o header Server-Timing
+	private MvcResult executar(RequestBuilder requisicao) throws Exception {
+		MvcResult resultado = mvc.perform(requisicao).andReturn();
+		int status = resultado.getResponse().getStatus();
+		assertTrue(status < 400, "status " + status + ": " + resultado.getResponse().getContentAsString());
+		comandos(resultado);
+		return resultado;
+	}
+
+	// Comandos SQL informados no Server-Timing
+	private static int comandos(MvcResult resultado) {
+		String serverTiming = resultado.getResponse().getHeader("Server-Timing");
+		assertNotNull(serverTiming, "sem Server-Timing");
+		Matcher comandos = COMANDOS.matcher(serverTiming);
+		assertTrue(comandos.find(), serverTiming);
+		return Integer.parseInt(comandos.group(1));
+	}
+}
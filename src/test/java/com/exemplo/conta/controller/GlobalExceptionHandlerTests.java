@@ -0,0 +1,64 @@
+package com.exemplo.conta.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTests {
+
+	private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new Recurso())
+			.setControllerAdvice(new GlobalExceptionHandler())
+			.build();
+
+	@Test
+	void jsonMalformadoEhDadosInvalidos() throws Exception {
+		mvc.perform(patch("/recurso/1").contentType(MediaType.APPLICATION_JSON).content("{\"saldo\":"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.codigo").value("DADOS_INVALIDOS"));
+	}
+
+	@Test
+	void idComTipoErradoEhDadosInvalidos() throws Exception {
+		mvc.perform(get("/recurso/abc"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.codigo").value("DADOS_INVALIDOS"))
+				.andExpect(jsonPath("$.mensagem").value("Parâmetro inválido: id"));
+	}
+
+	@Test
+	void erroInesperadoContinuaInterno() throws Exception {
+		mvc.perform(get("/recurso/0"))
+				.andExpect(status().isInternalServerError())
+				.andExpect(jsonPath("$.codigo").value("ERRO_INTERNO"));
+	}
+
+	@RestController
+	static class Recurso {
+
+		@GetMapping("/recurso/{id}")
+		Long buscar(@PathVariable Long id) {
+			if (id == 0) {
+				throw new IllegalStateException("ORA-00942: table or view does not exist");
+			}
+			return id;
+		}
+
+		@PatchMapping("/recurso/{id}")
+		Map<String, Object> alterar(@PathVariable Long id, @RequestBody Map<String, Object> dados) {
+			return dados;
+		}
+	}
+}
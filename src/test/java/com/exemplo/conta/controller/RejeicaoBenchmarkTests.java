@@ -0,0 +1,84 @@
+package com.exemplo.conta.controller;
+
+import com.exemplo.conta.exception.ContaNaoEncontradaException;
+import com.exemplo.conta.exception.NegocioException;
+import com.exemplo.conta.exception.SaldoInsuficienteException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Microbenchmark do caminho de rejeição (saldo insuficiente / conta não encontrada)
+ * Antes: RuntimeException com stack trace + ex.getMessage().contains(...)
+ * Depois: exceção tipada sem stack trace + switch no código de erro
+ *
+ * Executar com: mvn test -Dtest=RejeicaoBenchmarkTests -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RejeicaoBenchmarkTests {
+
+	// Profundidade aproximada da pilha de uma requisição Spring MVC + proxy transacional
+	private static final int PROFUNDIDADE = 80;
+	private static final int AQUECIMENTO = 200_000;
+	private static final int ITERACOES = 1_000_000;
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+	private int consumidor;
+
+	@Test
+	void compararCaminhoDeRejeicao() {
+		medir("antes  (RuntimeException + contains)", this::rejeicaoAntes);
+		medir("depois (NegocioException + switch)   ", this::rejeicaoDepois);
+		System.out.println("(ignorar) " + consumidor);
+	}
+
+	private void rejeicaoAntes(int i) {
+		try {
+			empilhar(PROFUNDIDADE, () -> {
+				if ((i & 1) == 0) {
+					throw new RuntimeException("Saldo insuficiente. Saldo atual: R$ " + String.format("%.2f", 10.0));
+				}
+				throw new RuntimeException("Conta não encontrada");
+			});
+		} catch (RuntimeException ex) {
+			// Lógica antiga do GlobalExceptionHandler.tratarRuntime
+			HttpStatus status = ex.getMessage().contains("Saldo insuficiente") ? HttpStatus.BAD_REQUEST : HttpStatus.NOT_FOUND;
+			ResponseEntity<String> resposta = ResponseEntity.status(status).body(ex.getMessage());
+			consumidor += resposta.getStatusCode().value();
+		}
+	}
+
+	private void rejeicaoDepois(int i) {
+		try {
+			empilhar(PROFUNDIDADE, () -> {
+				if ((i & 1) == 0) {
+					throw new SaldoInsuficienteException(10.0);
+				}
+				throw ContaNaoEncontradaException.INSTANCIA;
+			});
+		} catch (NegocioException ex) {
+			consumidor += handler.tratarNegocio(ex).getStatusCode().value();
+		}
+	}
+
+	private static void empilhar(int nivel, Runnable acao) {
+		if (nivel == 0) {
+			acao.run();
+		} else {
+			empilhar(nivel - 1, acao);
+		}
+	}
+
+	private static void medir(String nome, java.util.function.IntConsumer caminho) {
+		for (int i = 0; i < AQUECIMENTO; i++) {
+			caminho.accept(i);
+		}
+		long inicio = System.nanoTime();
+		for (int i = 0; i < ITERACOES; i++) {
+			caminho.accept(i);
+		}
+		double usPorOp = (System.nanoTime() - inicio) / 1_000.0 / ITERACOES;
+		System.out.printf("%s: %.2f us/op%n", nome, usPorOp);
+	}
+}
@@ -0,0 +1,111 @@
+package com.exemplo.conta.eventos;
+
+import com.exemplo.conta.exception.EventosExpiradosException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogEventosTests {
+
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void leituraPorOffsetAtravessaSegmentos() throws Exception {
+		try (LogEventos log = new LogEventos(diretorio, 2048, 100, false)) {
+			for (int lote = 0; lote < 30; lote++) {
+				log.anexar(eventos(lote * 10L, 10));
+			}
+			assertTrue(segmentos() > 5);
+			assertEquals(300, log.proximoOffset());
+
+			// Leitura no meio de um segmento, passando para os seguintes
+			List<Evento> lidos = log.ler(137, 100);
+			assertEquals(100, lidos.size());
+			for (int i = 0; i < lidos.size(); i++) {
+				Evento evento = lidos.get(i);
+				assertEquals(137 + i, evento.getOffset());
+				assertEquals(1137 + i, evento.getId());
+				assertEquals("DEPOSITO", evento.getTipo());
+				assertEquals("{\"valor\":" + (137 + i) + ".5,\"saldo\":1.0}", evento.getDados());
+			}
+			assertEquals(3, log.ler(297, 500).size());
+			assertTrue(log.ler(300, 500).isEmpty());
+		}
+	}
+
+	@Test
+	void reaberturaDescartaRegistroParcialNoFim() throws Exception {
+		try (LogEventos log = new LogEventos(diretorio, 1024 * 1024, 10, true)) {
+			log.anexar(eventos(0, 50));
+		}
+		// Queda no meio da escrita: metade de um registro no fim do segmento
+		Path segmento = ultimoSegmento();
+		try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			canal.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 90, 0, 0, 0, 0, 0, 0, 0, 50, 1, 2}));
+		}
+		long tamanhoComLixo = Files.size(segmento);
+
+		try (LogEventos log = new LogEventos(diretorio, 1024 * 1024, 10, true)) {
+			assertEquals(50, log.proximoOffset());
+			assertEquals(tamanhoComLixo - 14, Files.size(segmento));
+			// Continua a partir do mesmo offset
+			log.anexar(eventos(50, 5));
+			List<Evento> lidos = log.ler(45, 100);
+			assertEquals(10, lidos.size());
+			assertEquals(54, lidos.get(9).getOffset());
+			assertEquals(1054, lidos.get(9).getId());
+		}
+	}
+
+	@Test
+	void offsetApagadoPelaRetencaoEhInformado() throws Exception {
+		try (LogEventos log = new LogEventos(diretorio, 1024, 3, false)) {
+			for (int lote = 0; lote < 40; lote++) {
+				log.anexar(eventos(lote * 5L, 5));
+			}
+			assertEquals(3, segmentos());
+			long primeiro = log.primeiroOffset();
+			assertTrue(primeiro > 0);
+			EventosExpiradosException expirado = assertThrows(EventosExpiradosException.class, () -> log.ler(0, 10));
+			assertTrue(expirado.getMessage().contains(String.valueOf(primeiro)));
+			assertEquals(primeiro, log.ler(primeiro, 1).get(0).getOffset());
+			assertEquals(200, log.proximoOffset());
+		}
+	}
+
+	// Eventos com id = 1000 + offset esperado
+	private static List<Evento> eventos(long primeiroOffset, int quantidade) {
+		List<Evento> eventos = new ArrayList<>(quantidade);
+		for (long offset = primeiroOffset; offset < primeiroOffset + quantidade; offset++) {
+			eventos.add(new Evento(-1, 1000 + offset, "DEPOSITO", offset % 7, new Timestamp(1_700_000_000_000L + offset),
+					RegistroEventos.movimentacao(null, offset + 0.5, 1.0)));
+		}
+		return eventos;
+	}
+
+	private long segmentos() throws Exception {
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			return arquivos.count();
+		}
+	}
+
+	private Path ultimoSegmento() throws Exception {
+		try (Stream<Path> arquivos = Files.list(diretorio)) {
+			return arquivos.sorted().reduce((a, b) -> b).orElseThrow();
+		}
+	}
+}
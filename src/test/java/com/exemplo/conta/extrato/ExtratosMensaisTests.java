@@ -0,0 +1,87 @@
+package com.exemplo.conta.extrato;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExtratosMensaisTests {
+
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void geraUmArquivoPorContaERetomaDoCheckpoint() throws Exception {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:extratos;MODE=Oracle;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE CLIENTE (ID_CLIENTE BIGINT PRIMARY KEY, NOME VARCHAR(100) NOT NULL, CPF VARCHAR(11) NOT NULL)");
+		jdbc.execute("CREATE TABLE CONTA (ID_CONTA BIGINT PRIMARY KEY, ID_CLIENTE BIGINT NOT NULL, SALDO DOUBLE NOT NULL)");
+		jdbc.execute("CREATE TABLE MOVIMENTACAO (ID_MOV BIGINT PRIMARY KEY, ID_CONTA BIGINT NOT NULL,"
+				+ " TIPO VARCHAR(20) NOT NULL, VALOR DOUBLE NOT NULL, DATA_MOV TIMESTAMP(6))");
+		jdbc.execute("CREATE TABLE MOTOR_CHECKPOINT (NOME VARCHAR(50) PRIMARY KEY, SEQUENCIA BIGINT NOT NULL)");
+		// 3000 contas com IDs esparsos: em fevereiro depósito de 100,00 e saque de 30,00,
+		// em março depósito de 10,00; as de ID múltiplo de 7 sem movimentações
+		long idMov = 1;
+		for (long id = 1; id <= 3000; id++) {
+			long idConta = id * 2;
+			jdbc.update("INSERT INTO CLIENTE VALUES (?, ?, ?)", id, "Cliente Ção " + id, String.format("%011d", id));
+			boolean semMovimentacoes = id % 7 == 0;
+			jdbc.update("INSERT INTO CONTA VALUES (?, ?, ?)", idConta, id, semMovimentacoes ? 50.0 : 130.0);
+			if (!semMovimentacoes) {
+				jdbc.update("INSERT INTO MOVIMENTACAO VALUES (?, ?, 'DEPOSITO', 100.0, ?)", idMov++, idConta, data(2, 3, 9));
+				jdbc.update("INSERT INTO MOVIMENTACAO VALUES (?, ?, 'SAQUE', 30.0, ?)", idMov++, idConta, data(2, 29, 23));
+				jdbc.update("INSERT INTO MOVIMENTACAO VALUES (?, ?, 'DEPOSITO', 10.0, ?)", idMov++, idConta, data(3, 1, 0));
+			}
+		}
+		ExtratosMensais extratos = new ExtratosMensais(jdbc, false, diretorio.toString(), "03:00", 3, 8, 100);
+
+		Map<String, Object> primeira = extratos.executar(YearMonth.of(2024, 2));
+		assertEquals(3000L, primeira.get("contas"));
+		assertEquals(2572L * 2, primeira.get("movimentacoes"));
+		assertTrue(((List<?>) primeira.get("falhas")).isEmpty());
+
+		Path fevereiro = diretorio.resolve("2024-02");
+		String extrato = Files.readString(fevereiro.resolve("000002/extrato-2000.txt"), StandardCharsets.UTF_8);
+		assertTrue(extrato.startsWith("EXTRATO MENSAL 02/2024\nPeríodo: 2024-02-01 a 2024-02-29\nConta: 2000\n"));
+		assertTrue(extrato.contains("Titular: Cliente Ção 1000  CPF: 00000001000\n"));
+		assertTrue(extrato.contains("\nSaldo anterior                                         50.00\n"));
+		assertTrue(extrato.contains("\n2024-02-03 09:00:00  DEPOSITO         +100.00         150.00\n"));
+		assertTrue(extrato.contains("\n2024-02-29 23:00:00  SAQUE             -30.00         120.00\n"));
+		assertTrue(extrato.contains("\nSaldo final                                           120.00\n"));
+		assertTrue(extrato.endsWith("Movimentações: 2  Créditos: 100.00  Débitos: 30.00\n"));
+		assertFalse(extrato.contains("2024-03-01"));
+		String semMovimentacoes = Files.readString(fevereiro.resolve("000000/extrato-14.txt"), StandardCharsets.UTF_8);
+		assertTrue(semMovimentacoes.contains("Saldo final                                            50.00\n"));
+
+		// Mesmo mês de novo: nada a fazer
+		Map<String, Object> repetida = extratos.executar(YearMonth.of(2024, 2));
+		assertEquals(8, repetida.get("particoesJaConcluidas"));
+		assertEquals(0L, repetida.get("contas"));
+
+		// Partição interrompida no meio: só as contas acima do checkpoint são geradas de novo
+		// Partição 5 = (3750, 4500]: retomando de 4200, contas 4202..4500 (150 contas)
+		jdbc.update("UPDATE MOTOR_CHECKPOINT SET SEQUENCIA = 4200 WHERE NOME = 'extrato-2024-02/8/5'");
+		Files.delete(fevereiro.resolve("000004/extrato-4202.txt"));
+		Map<String, Object> retomada = extratos.executar(YearMonth.of(2024, 2));
+		assertEquals(7, retomada.get("particoesJaConcluidas"));
+		assertEquals(150L, retomada.get("contas"));
+		assertTrue(Files.exists(fevereiro.resolve("000004/extrato-4202.txt")));
+	}
+
+	private static Timestamp data(int mes, int dia, int hora) {
+		return Timestamp.valueOf(LocalDateTime.of(2024, mes, dia, hora, 0));
+	}
+}
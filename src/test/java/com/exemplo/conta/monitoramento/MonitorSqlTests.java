@@ -0,0 +1,104 @@
+package com.exemplo.conta.monitoramento;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MonitorSqlTests {
+
+	@Test
+	void normalizaLiteraisEspacosEListas() {
+		assertEquals("select * from CONTA where ID_CONTA = ? and NOME = ?",
+				NormalizadorSql.normalizar("select *\n  from CONTA where ID_CONTA = 42 and NOME = 'O''Brien'"));
+		assertEquals("select * from CLIENTE where ID_CLIENTE in (?...)",
+				NormalizadorSql.normalizar("select * from CLIENTE where ID_CLIENTE in (1, 2, 3)"));
+		assertEquals("select * from CLIENTE where ID_CLIENTE in (?...)",
+				NormalizadorSql.normalizar("select * from CLIENTE where ID_CLIENTE in (?,?)"));
+		assertEquals("select c1_0.ID_CONTA from CONTA c1_0",
+				NormalizadorSql.normalizar("select c1_0.ID_CONTA from CONTA c1_0"));
+	}
+
+	@Test
+	void contaExecucoesELinhasPorForma() throws Exception {
+		MonitorSql monitor = new MonitorSql(true, 60_000, 0.0, 500);
+		DataSourceMonitorado dataSource = new DataSourceMonitorado(
+				new DriverManagerDataSource("jdbc:h2:mem:monitor-sql;DB_CLOSE_DELAY=-1", "sa", ""), monitor);
+
+		try (Connection conexao = dataSource.getConnection()) {
+			try (Statement comando = conexao.createStatement()) {
+				comando.execute("create table T (ID bigint primary key, V int)");
+				comando.executeUpdate("insert into T values (1, 10)");
+				comando.executeUpdate("insert into T values (2, 20)");
+			}
+			try (PreparedStatement lote = conexao.prepareStatement("insert into T values (?, ?)")) {
+				for (int i = 3; i <= 5; i++) {
+					lote.setLong(1, i);
+					lote.setInt(2, i * 10);
+					lote.addBatch();
+				}
+				lote.executeBatch();
+			}
+			for (long id = 1; id <= 5; id++) {
+				try (PreparedStatement consulta = conexao.prepareStatement("select V from T where ID >= ?")) {
+					consulta.setLong(1, id);
+					try (ResultSet resultado = consulta.executeQuery()) {
+						while (resultado.next()) {
+							// só percorre
+						}
+					}
+				}
+			}
+		}
+
+		// Inserts com literais e o lote preparado têm a mesma forma: 2 + 1 execuções, 2 + 3 linhas
+		Map<String, Object> insert = forma(monitor, "insert into T values (?...)");
+		assertEquals(3L, insert.get("execucoes"));
+		assertEquals(5L, insert.get("linhas"));
+
+		Map<String, Object> consulta = forma(monitor, "select V from T where ID >= ?");
+		assertEquals(5L, consulta.get("execucoes"));
+		assertEquals(5L + 4 + 3 + 2 + 1, consulta.get("linhas"));
+
+		assertEquals(List.of("select V from T where ID >= ?", "insert into T values (?...)"),
+				monitor.top(2, "execucoes").stream().map(f -> f.get("sql")).toList());
+
+		monitor.limpar();
+		assertEquals(0L, monitor.resumo().get("execucoes"));
+	}
+
+	@Test
+	void contaLinhasSemFecharOResultSet() throws Exception {
+		MonitorSql monitor = new MonitorSql(true, 60_000, 0.0, 500);
+		DataSourceMonitorado dataSource = new DataSourceMonitorado(
+				new DriverManagerDataSource("jdbc:h2:mem:monitor-sql-linhas;DB_CLOSE_DELAY=-1", "sa", ""), monitor);
+
+		try (Connection conexao = dataSource.getConnection(); Statement comando = conexao.createStatement()) {
+			comando.execute("create table L (ID bigint primary key)");
+			comando.executeUpdate("insert into L values (1), (2), (3)");
+			// Só o Statement é fechado; o ResultSet fica aberto e lido pela metade
+			ResultSet resultado = comando.executeQuery("select ID from L");
+			resultado.next();
+			resultado.next();
+			assertSame(comando, resultado.getStatement());
+			assertSame(conexao, comando.getConnection());
+		}
+
+		assertEquals(2L, forma(monitor, "select ID from L").get("linhas"));
+	}
+
+	private static Map<String, Object> forma(MonitorSql monitor, String sql) {
+		return monitor.top(100, "tempo").stream()
+				.filter(f -> sql.equals(f.get("sql")))
+				.findFirst()
+				.orElseThrow();
+	}
+}
@@ -0,0 +1,96 @@
+package com.exemplo.conta.motor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TabelaSaldosTests {
+
+	@TempDir
+	Path diretorio;
+
+	@Test
+	void comportaSeComoHashMap() {
+		TabelaSaldos tabela = new TabelaSaldos(16);
+		Map<Long, Long> oraculo = new HashMap<>();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 200_000; i++) {
+			long id = 1 + random.nextInt(5_000);
+			if (random.nextInt(4) == 0) {
+				tabela.remover(id);
+				oraculo.remove(id);
+			} else {
+				long centavos = random.nextInt(1_000_000);
+				tabela.definir(id, centavos);
+				oraculo.put(id, centavos);
+			}
+		}
+
+		assertEquals(oraculo.size(), tabela.tamanho());
+		for (long id = 1; id <= 5_000; id++) {
+			assertEquals(oraculo.getOrDefault(id, TabelaSaldos.AUSENTE), tabela.obter(id));
+		}
+	}
+
+	@Test
+	void snapshotMaisDiarioReconstroemOsSaldos() throws Exception {
+		TabelaSaldos tabela = new TabelaSaldos(16);
+		tabela.definir(1, 10_000);
+		tabela.definir(2, 500);
+		SnapshotSaldos.gravar(diretorio.resolve("saldos.snapshot"), 2, tabela);
+
+		// Registros 3 e 4 no diário depois do snapshot; o registro 5 fica pela metade (queda)
+		Diario diario = new Diario(diretorio, true);
+		diario.abrirSegmento(3);
+		ByteBuffer lote = ByteBuffer.allocate(3 * Diario.TAMANHO_REGISTRO);
+		diario.adicionar(lote, 3, Diario.TIPO_SAQUE, 1, 2_500, 7_500, 0);
+		diario.adicionar(lote, 4, Diario.TIPO_REMOVER_CONTA, 2, 0, 0, 0);
+		diario.gravar(lote);
+		diario.adicionar(lote, 5, Diario.TIPO_DEPOSITO, 1, 100, 7_600, 0);
+		lote.flip().limit(Diario.TAMANHO_REGISTRO / 2);
+		try (FileChannel canal = FileChannel.open(Diario.caminhoSegmento(diretorio, 3), StandardOpenOption.APPEND)) {
+			canal.write(lote);
+		}
+		diario.close();
+
+		TabelaSaldos recuperada = new TabelaSaldos(16);
+		assertEquals(2, SnapshotSaldos.carregar(diretorio.resolve("saldos.snapshot"), recuperada, 0));
+		Diario.Registro registro = new Diario.Registro();
+		try (LeitorDiario leitor = new LeitorDiario(diretorio, 2)) {
+			while (leitor.proximo(Long.MAX_VALUE, registro)) {
+				if (registro.tipo == Diario.TIPO_REMOVER_CONTA) {
+					recuperada.remover(registro.idConta);
+				} else {
+					recuperada.definir(registro.idConta, registro.saldoResultante);
+				}
+			}
+			assertEquals(4, leitor.ultimaSeq());
+		}
+
+		assertEquals(7_500, recuperada.obter(1));
+		assertEquals(TabelaSaldos.AUSENTE, recuperada.obter(2));
+
+		// Snapshot mais antigo que o mínimo exigido não é usado
+		assertEquals(-1, SnapshotSaldos.carregar(diretorio.resolve("saldos.snapshot"), new TabelaSaldos(16), 3));
+
+		// Segmentos inteiramente cobertos são apagados, o último é mantido
+		Diario novo = new Diario(diretorio, false);
+		novo.abrirSegmento(5);
+		novo.close();
+		Diario.apagarAte(diretorio, 4);
+		assertFalse(Diario.segmentos(diretorio).contains(Diario.caminhoSegmento(diretorio, 3)));
+		assertTrue(Diario.segmentos(diretorio).contains(Diario.caminhoSegmento(diretorio, 5)));
+	}
+}
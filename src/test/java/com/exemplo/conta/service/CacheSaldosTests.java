@@ -0,0 +1,181 @@
+package com.exemplo.conta.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheSaldosTests {
+
+	@Test
+	void acompanhaMapaComumEDescartaVersoesAntigas() {
+		Random random = new Random(7);
+		Map<Long, Long> saldos = new HashMap<>();
+		Map<Long, Long> versoes = new HashMap<>();
+		CacheSaldos cache = new CacheSaldos(5_000);
+		for (int i = 0; i < 100_000; i++) {
+			// IDs esparsos e grandes para espalhar (e colidir) no hash
+			long id = 1 + random.nextInt(4_000) * 1_000_003L;
+			long centavos = random.nextInt(2_000_000) - 1_000_000;
+			long versao = 1 + random.nextInt(1_000);
+			boolean nova = versao > versoes.getOrDefault(id, 0L);
+			assertEquals(nova, cache.aplicar(id, centavos, versao));
+			if (nova) {
+				saldos.put(id, centavos);
+				versoes.put(id, versao);
+			}
+		}
+		assertEquals(saldos.size(), cache.tamanho());
+		saldos.forEach((id, centavos) -> assertEquals(centavos, cache.obter(id)));
+		assertEquals(CacheSaldos.AUSENTE, cache.obter(2));
+	}
+
+	@Test
+	void contaExcluidaNaoVolta() {
+		CacheSaldos cache = new CacheSaldos(10);
+		cache.aplicar(42, 100, 5);
+		cache.remover(42);
+		assertEquals(CacheSaldos.AUSENTE, cache.obter(42));
+		// Commit anterior à exclusão aplicado depois dela
+		assertFalse(cache.aplicar(42, 200, 6));
+		assertEquals(CacheSaldos.AUSENTE, cache.obter(42));
+	}
+
+	@Test
+	void lapidesExpiradasLiberamPosicoesParaContasNovas() {
+		CacheSaldos cache = new CacheSaldos(100, Runnable::run, 0);
+		for (long rodada = 0; rodada < 10; rodada++) {
+			// 100 contas novas por rodada, todas excluídas depois: sem reconstrução o cache encheria na 1ª
+			for (long id = rodada * 100 + 1; id <= rodada * 100 + 100; id++) {
+				// Cheio só de lápides: a recusa dispara a reconstrução e a conta entra na tentativa seguinte
+				assertTrue(cache.aplicar(id, id, 1) || cache.aplicar(id, id, 1), "conta " + id + " recusada");
+			}
+			for (long id = rodada * 100 + 1; id <= rodada * 100 + 100; id++) {
+				cache.remover(id);
+			}
+		}
+		assertTrue(cache.recusadas() < 10, "recusadas: " + cache.recusadas());
+		assertTrue(cache.reconstrucoes() > 0);
+		assertTrue(cache.lapides() < 100 / 8);
+		assertTrue(cache.aplicar(5_000, 7, 1));
+		assertEquals(1, cache.tamanho());
+		assertEquals(7, cache.obter(5_000));
+		assertEquals(CacheSaldos.AUSENTE, cache.obter(999));
+	}
+
+	@Test
+	void reconstrucaoMantemContasELapidesRecentes() {
+		CacheSaldos cache = new CacheSaldos(100);
+		for (long id = 1; id <= 80; id++) {
+			cache.aplicar(id, id * 10, 3);
+		}
+		for (long id = 1; id <= 40; id++) {
+			cache.remover(id);
+		}
+		assertEquals(40, cache.tamanho());
+		assertEquals(40, cache.lapides());
+
+		cache.reconstruir();
+
+		// Lápides com menos de um minuto continuam barrando commits atrasados
+		assertEquals(40, cache.lapides());
+		assertFalse(cache.aplicar(7, 1, 4));
+		assertEquals(CacheSaldos.AUSENTE, cache.obter(7));
+		for (long id = 41; id <= 80; id++) {
+			assertEquals(id * 10, cache.obter(id));
+		}
+		assertTrue(cache.aplicar(80, -5, 4));
+		assertEquals(-5, cache.obter(80));
+		assertEquals(40, cache.tamanho());
+	}
+
+	@Test
+	void reconstrucaoComEscritoresConcorrentes() throws Exception {
+		ExecutorService threads = Executors.newFixedThreadPool(4);
+		ExecutorService reconstrucao = Executors.newSingleThreadExecutor();
+		try {
+			CacheSaldos cache = new CacheSaldos(2_000, reconstrucao, 0);
+			Future<?>[] tarefas = new Future<?>[4];
+			for (int t = 0; t < 4; t++) {
+				long primeira = 1 + t * 100_000L;
+				// Cada thread cria e exclui as suas contas, mantendo as 100 últimas
+				tarefas[t] = threads.submit(() -> {
+					for (long id = primeira; id < primeira + 20_000; id++) {
+						while (!cache.aplicar(id, id, 1)) {
+							Thread.onSpinWait();
+						}
+						if (id >= primeira + 100) {
+							cache.remover(id - 100);
+						}
+					}
+				});
+			}
+			for (Future<?> tarefa : tarefas) {
+				tarefa.get();
+			}
+			reconstrucao.submit(() -> { }).get(); // espera a reconstrução em andamento
+			assertTrue(cache.reconstrucoes() > 0);
+			assertEquals(400, cache.tamanho());
+			for (int t = 0; t < 4; t++) {
+				long primeira = 1 + t * 100_000L;
+				assertEquals(CacheSaldos.AUSENTE, cache.obter(primeira + 19_899));
+				assertEquals(primeira + 19_900, cache.obter(primeira + 19_900));
+			}
+		} finally {
+			threads.shutdownNow();
+			reconstrucao.shutdownNow();
+		}
+	}
+
+	@Test
+	void cheioRecusaContasNovasMasAtualizaAsQueTem() {
+		CacheSaldos cache = new CacheSaldos(100);
+		for (long id = 1; id <= 150; id++) {
+			cache.aplicar(id, id, 1);
+		}
+		assertEquals(100, cache.tamanho());
+		assertEquals(50, cache.recusadas());
+		assertEquals(CacheSaldos.AUSENTE, cache.obter(150));
+		assertTrue(cache.aplicar(1, -1, 2));
+		assertEquals(-1, cache.obter(1));
+		// 100 / 0,75 posições de 24 bytes
+		assertEquals(134 * 24, cache.bytes());
+	}
+
+	@Test
+	void escritoresConcorrentesFicamComAMaiorVersao() throws Exception {
+		CacheSaldos cache = new CacheSaldos(1_000);
+		ExecutorService threads = Executors.newFixedThreadPool(8);
+		try {
+			Future<?>[] tarefas = new Future<?>[8];
+			for (int t = 0; t < 8; t++) {
+				int deslocamento = t;
+				// Cada thread aplica versões intercaladas das mesmas contas, fora de ordem entre threads
+				tarefas[t] = threads.submit(() -> {
+					for (long versao = 1 + deslocamento; versao <= 2_000; versao += 8) {
+						for (long id = 1; id <= 1_000; id++) {
+							cache.aplicar(id, id * 10_000 + versao, versao);
+						}
+					}
+				});
+			}
+			for (Future<?> tarefa : tarefas) {
+				tarefa.get();
+			}
+		} finally {
+			threads.shutdownNow();
+		}
+		assertEquals(1_000, cache.tamanho());
+		for (long id = 1; id <= 1_000; id++) {
+			assertEquals(id * 10_000 + 2_000, cache.obter(id));
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.exemplo.conta.service;
+
+import com.exemplo.conta.arquivo.ArquivoMovimentacoes;
+import com.exemplo.conta.repository.ContaRepository;
+import com.exemplo.conta.repository.MovimentacaoRepository;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EstatisticasServiceTests {
+
+	@Test
+	void alteracoesDuranteACargaNaoSePerdemNemContamDuasVezes() {
+		AtomicReference<EstatisticasService> servico = new AtomicReference<>();
+		// 100 contas com 100,00; a conta 95 já foi lida com o saldo alterado (commit antes da leitura)
+		ContaRepository contas = stub(ContaRepository.class, "streamIdSaldo", () -> LongStream.rangeClosed(1, 100)
+				.mapToObj(id -> {
+					if (id == 50) {
+						// Commits enquanto a leitura está no meio
+						servico.get().saldoAlterado(10L, 100.0, 300.0);   // conta já lida
+						servico.get().saldoAlterado(80L, 100.0, 50.0);    // conta ainda não lida (leitura vê 100,00)
+						servico.get().saldoAlterado(95L, 100.0, 40.0);    // leitura já vê 40,00
+						servico.get().saldoAlterado(20L, 100.0, null);    // exclusão de conta já lida
+						servico.get().saldoAlterado(500L, null, 70.0);    // conta nova
+						servico.get().movimentacaoRegistrada("SAQUE", 7.0); // já entra na soma do banco
+					}
+					return new Object[]{id, id == 95 ? 40.0 : 100.0};
+				}));
+		MovimentacaoRepository movimentacoes = stub(MovimentacaoRepository.class, "somarPorTipo", () -> {
+			servico.get().movimentacaoRegistrada("DEPOSITO", 5.0); // commit depois da soma
+			return List.<Object[]>of(new Object[]{"DEPOSITO", 1_000.0}, new Object[]{"SAQUE", 7.0});
+		});
+		servico.set(new EstatisticasService(contas, movimentacoes,
+				new ArquivoMovimentacoes(null, null, false, "arquivo-nao-usado", 90, 4, 7, 0), 10, 0.01));
+
+		servico.get().carregar();
+
+		// 96 x 100,00 + 300,00 + 50,00 + 40,00 + 70,00
+		Map<String, Object> resumo = servico.get().resumo();
+		assertEquals(100L, resumo.get("quantidadeContas"));
+		assertEquals(10_060.0, resumo.get("somaSaldos"));
+		assertEquals(1_005.0, resumo.get("totalDepositos"));
+		assertEquals(7.0, resumo.get("totalSaques"));
+		assertEquals(10L, servico.get().topSaldos(1).get(0).getIdConta());
+
+		// Depois da carga, aplicado na hora
+		servico.get().saldoAlterado(10L, 300.0, 100.0);
+		assertEquals(9_860.0, servico.get().resumo().get("somaSaldos"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T stub(Class<T> tipo, String metodo, Supplier<Object> resposta) {
+		return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, chamado, args) -> {
+			if (chamado.getName().equals(metodo)) {
+				return resposta.get();
+			}
+			throw new UnsupportedOperationException(chamado.getName());
+		});
+	}
+}
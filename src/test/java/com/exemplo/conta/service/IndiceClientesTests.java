@@ -0,0 +1,121 @@
+package com.exemplo.conta.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceClientesTests {
+
+	private static IndiceClientes indice() {
+		IndiceClientes.Construtor construtor = new IndiceClientes.Construtor();
+		construtor.adicionar(1, "João da Silva", "12345678901");
+		construtor.adicionar(2, "Maria Conceição Santos", "98765432100");
+		construtor.adicionar(3, "José Silveira", "12399988877");
+		return construtor.construir();
+	}
+
+	@Test
+	void buscaPorPrefixoSemAcento() {
+		IndiceClientes indice = indice();
+
+		assertEquals(List.of(1L), indice.buscar("JOAO", 10));
+		assertEquals(List.of(2L), indice.buscar("conceicao", 10));
+		assertEquals(List.of(1L, 3L), indice.buscar("silv", 10));
+		assertEquals(List.of(1L, 3L), indice.buscar("123", 10));
+		assertEquals(List.of(1L), indice.buscar("123.456", 10));
+		assertTrue(indice.buscar("da", 10).isEmpty());
+	}
+
+	@Test
+	void atualizacoesEntramNoDeltaEAparecemNaBusca() {
+		IndiceClientes indice = indice();
+
+		indice.indexar(4, "Ana Silva", "11122233344");
+		indice.indexar(1, "João Pereira", "12345678901");
+		indice.remover(3);
+
+		assertEquals(List.of(4L), indice.buscar("silva", 10));
+		assertEquals(List.of(1L), indice.buscar("pereira", 10));
+		assertTrue(indice.buscar("jose", 10).isEmpty());
+	}
+
+	@Test
+	void resultadosDaBaseEDoDeltaSaemEmOrdemAlfabetica() {
+		IndiceClientes indice = indice();
+
+		indice.indexar(4, "Ana Silva", "11122233344");
+		indice.indexar(5, "Pedro Silvano", "55566677788");
+
+		// silva (base), silva (delta), silvano (delta), silveira (base)
+		assertEquals(List.of(1L, 4L, 5L, 3L), indice.buscar("silv", 10));
+	}
+
+	@Test
+	void compactacaoEmSegundoPlanoNaoPerdeAlteracoes() {
+		List<Runnable> agendadas = new ArrayList<>();
+		IndiceClientes.Construtor construtor = new IndiceClientes.Construtor();
+		construtor.adicionar(1, "João da Silva", "12345678901");
+		construtor.adicionar(3, "José Silveira", "12399988877");
+		IndiceClientes indice = construtor.construir(agendadas::add);
+
+		// Delta grande o bastante para congelar (3 chaves por cliente)
+		for (long id = 100; id < 20_100; id++) {
+			indice.indexar(id, "Cliente Teste " + id, String.format("%011d", id));
+		}
+		assertEquals(1, agendadas.size());
+		assertTrue(indice.compactando());
+
+		// Alterações enquanto a compactação não terminou
+		indice.indexar(4, "Ana Silva", "11122233344");
+		indice.indexar(100, "Beatriz Silvana", "00000000100");
+		indice.remover(3);
+		List<Long> esperado = List.of(1L, 4L, 100L);
+		assertEquals(esperado, indice.buscar("silv", 10));
+
+		agendadas.get(0).run();
+		assertFalse(indice.compactando());
+		assertEquals(esperado, indice.buscar("silv", 10));
+		// Nome antigo do cliente 100 não volta (seria o primeiro, por ser o mais curto)
+		assertFalse(indice.buscar("cliente teste 100", 10).contains(100L));
+		assertEquals(List.of(101L), indice.buscar("cliente teste 101", 1));
+	}
+
+	/**
+	 * Executar com: mvn test -Dtest=IndiceClientesTests -Dbenchmark=true
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+	void latenciaComUmMilhaoDeClientes() {
+		String[] nomes = {"Ana", "Bruno", "Carla", "Diego", "Élida", "Fábio", "Gustavo", "Helena"};
+		String[] sobrenomes = {"Silva", "Santos", "Oliveira", "Souza", "Pereira", "Lima", "Conceição", "Araújo"};
+
+		long inicio = System.currentTimeMillis();
+		IndiceClientes.Construtor construtor = new IndiceClientes.Construtor();
+		for (int i = 0; i < 1_000_000; i++) {
+			String nome = nomes[i % 8] + " " + sobrenomes[(i / 8) % 8] + " " + sobrenomes[(i / 64) % 8] + " " + i;
+			construtor.adicionar(i, nome, String.format("%011d", i * 7919L % 100_000_000_000L));
+		}
+		IndiceClientes indice = construtor.construir();
+		System.out.printf("Montagem: %d ms, %d chaves, ~%.1f MB%n", System.currentTimeMillis() - inicio,
+				indice.chaves(), indice.memoriaEstimadaBytes() / 1024.0 / 1024.0);
+
+		String[] consultas = {"ana sil", "conceicao", "araujo", "12345", "helena lima pereira 99", "fab"};
+		for (int i = 0; i < 100_000; i++) {
+			indice.buscar(consultas[i % consultas.length], 20);
+		}
+		int repeticoes = 200_000;
+		inicio = System.nanoTime();
+		for (int i = 0; i < repeticoes; i++) {
+			indice.buscar(consultas[i % consultas.length], 20);
+		}
+		double microsPorBusca = (System.nanoTime() - inicio) / 1000.0 / repeticoes;
+		System.out.printf("Busca: %.2f us por consulta%n", microsPorBusca);
+		assertTrue(microsPorBusca < 1000);
+	}
+}
@@ -0,0 +1,92 @@
+package com.exemplo.conta.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JanelaDeslizanteTests {
+
+	@Test
+	void somaApenasBaldesDentroDaJanela() {
+		// 10 baldes de 1 segundo = janela de 10 segundos
+		JanelaDeslizante janela = new JanelaDeslizante(1_000, 10);
+
+		janela.registrar(0, 10_000, 1);
+		janela.registrar(5_000, 2_500, 1);
+		assertEquals(12_500, janela.somaValor(9_999));
+		assertEquals(2, janela.somaQuantidade(9_999));
+
+		// O primeiro saque sai da janela
+		assertEquals(2_500, janela.somaValor(10_000));
+		assertEquals(1, janela.somaQuantidade(10_000));
+
+		assertTrue(janela.vazia(15_000));
+	}
+
+	@Test
+	void reservaDesfeitaNaoFicaNegativa() {
+		JanelaDeslizante janela = new JanelaDeslizante(1_000, 10);
+
+		janela.registrar(0, 500, 1);
+		janela.registrar(0, -500, -1);
+		janela.registrar(0, -500, -1);
+
+		assertEquals(0, janela.somaValor(0));
+		assertEquals(0, janela.somaQuantidade(0));
+	}
+
+	@Test
+	void registroDeEpocaAntigaNaoApagaBaldeAtual() {
+		JanelaDeslizante janela = new JanelaDeslizante(1_000, 10);
+
+		// Época 12 ocupa o mesmo balde da época 2
+		janela.registrar(12_000, 3_000, 1);
+		// Desfazer atrasado de uma reserva da época 2 e saque antigo vindo fora de ordem
+		janela.registrar(2_500, -700, -1);
+		janela.registrar(2_000, 700, 1);
+
+		assertEquals(3_000, janela.somaValor(12_000));
+		assertEquals(1, janela.somaQuantidade(12_000));
+	}
+
+	@Test
+	void reservasConcorrentesNaoPassamDoLimite() throws Exception {
+		JanelaDeslizante janela = new JanelaDeslizante(1_000, 10);
+		AtomicInteger reservados = new AtomicInteger();
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			Thread thread = new Thread(() -> {
+				try {
+					largada.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < 1_000; i++) {
+					if (janela.reservar(500, 100, 1_000_000, 10) == JanelaDeslizante.RESERVADO) {
+						reservados.incrementAndGet();
+					}
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		largada.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// Limite de 10 saques: verificação e registro separados deixavam passar mais
+		assertEquals(10, reservados.get());
+		assertEquals(10, janela.somaQuantidade(500));
+		assertEquals(1_000, janela.somaValor(500));
+		assertEquals(JanelaDeslizante.EXCEDEU_VALOR, janela.reservar(500, 2_000, 2_500, 100));
+		assertEquals(10, janela.somaQuantidade(500));
+	}
+}
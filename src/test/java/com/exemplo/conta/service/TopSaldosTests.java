@@ -0,0 +1,90 @@
+package com.exemplo.conta.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopSaldosTests {
+
+	private static List<long[]> esperado(Map<Long, Long> saldos, int n) {
+		List<long[]> todos = new ArrayList<>();
+		saldos.forEach((id, centavos) -> todos.add(new long[]{centavos, id}));
+		todos.sort((a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(a[1], b[1]));
+		return todos.subList(0, Math.min(n, todos.size()));
+	}
+
+	@Test
+	void mantemOsMaioresSaldosContraForcaBruta() {
+		Random random = new Random(42);
+		Map<Long, Long> saldos = new HashMap<>();
+		TopSaldos top = new TopSaldos(20);
+		for (long id = 1; id <= 500; id++) {
+			long centavos = random.nextInt(1_000_000);
+			saldos.put(id, centavos);
+			top.semear(id, centavos);
+		}
+
+		for (int i = 0; i < 20_000; i++) {
+			long id = 1 + random.nextInt(600);
+			Long centavos = random.nextInt(10) == 0 ? null : (long) random.nextInt(1_000_000);
+			if (centavos == null) {
+				saldos.remove(id);
+			} else {
+				saldos.put(id, centavos);
+			}
+			top.atualizar(id, centavos, i + 1);
+
+			if (top.precisaRecarregar(10)) {
+				top.recarregar(esperado(saldos, top.capacidade()));
+			}
+			List<long[]> atual = top.primeiros(10);
+			List<long[]> correto = esperado(saldos, 10);
+			assertEquals(correto.size(), atual.size());
+			for (int j = 0; j < correto.size(); j++) {
+				assertArrayEquals(correto.get(j), atual.get(j));
+			}
+		}
+	}
+
+	@Test
+	void atualizacaoAtrasadaNaoVoltaSaldoAntigo() {
+		TopSaldos top = new TopSaldos(10);
+		top.semear(1, 100);
+		top.semear(2, 200);
+
+		// Commits da conta 1: versão 5 (900,00) e depois versão 6 (50,00), com os afterCommit invertidos
+		top.atualizar(1, 5_000L, 6);
+		top.atualizar(1, 90_000L, 5);
+		assertArrayEquals(new long[]{5_000, 1}, top.primeiros(1).get(0));
+
+		// Exclusão seguida de alteração atrasada: a conta não volta
+		top.atualizar(2, null, 8);
+		top.atualizar(2, 70_000L, 7);
+		assertEquals(1, top.primeiros(10).size());
+	}
+
+	@Test
+	void sketchDeQuantisRespeitaErroRelativo() {
+		SketchQuantis sketch = new SketchQuantis(0.01);
+		for (long centavos = 1; centavos <= 100_000; centavos++) {
+			sketch.adicionar(centavos * 100);
+		}
+		long mediana = sketch.quantil(0.5);
+		assertTrue(Math.abs(mediana - 5_000_000) <= 5_000_000 * 0.011, "mediana = " + mediana);
+
+		for (long centavos = 1; centavos <= 50_000; centavos++) {
+			sketch.remover(centavos * 100);
+		}
+		assertEquals(50_000, sketch.total());
+		long novaMediana = sketch.quantil(0.5);
+		assertTrue(Math.abs(novaMediana - 7_500_000) <= 7_500_000 * 0.011, "mediana = " + novaMediana);
+	}
+}